@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.manipulation;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -37,6 +39,13 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
+ * <p>
+ * The ASTs of a few recently active Java elements are kept as well, so that switching between
+ * editors does not require a new AST to be created. These ASTs are discarded when their element is
+ * reconciled or the Java model changes, or when the cache exceeds {@value #MAX_RECENT_ASTS} entries.
+ * The cache is bounded by its number of entries only: a resolved AST keeps its bindings and the
+ * compiler's lookup environment alive, which the size of its nodes does not reflect.
+ * </p>
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -56,9 +65,22 @@ public final class CoreASTProvider {
 
 	public static final String DEBUG_PREFIX= "ASTProvider > "; //$NON-NLS-1$
 
+	/**
+	 * Maximum number of ASTs of recently active Java elements that are kept in addition to the AST
+	 * of the active element.
+	 */
+	private static final int MAX_RECENT_ASTS= 4;
+
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
+
+	/**
+	 * The ASTs of recently active Java elements, least recently used first.
+	 */
+	private final LinkedHashMap<ITypeRoot, CompilationUnit> fRecentASTs= new LinkedHashMap<>(8, 0.75f, true);
+	private int fHitCount;
+	private int fMissCount;
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -135,11 +157,22 @@ public final class CoreASTProvider {
 		boolean isActiveElement;
 		synchronized (this) {
 			isActiveElement= input.equals(fActiveJavaElement);
+			if (!isActiveElement) {
+				CompilationUnit recent= fRecentASTs.get(input);
+				if (recent != null) {
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recent AST:" + toString(recent) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+					fHitCount++;
+					return recent;
+				}
+			}
 			if (isActiveElement) {
 				if (fAST != null) {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+					fHitCount++;
 					return fAST;
 				}
 				if (waitFlag == CoreASTProvider.WAIT_NO) {
@@ -195,6 +228,9 @@ public final class CoreASTProvider {
 
 
 		CompilationUnit ast= null;
+		synchronized (this) {
+			fMissCount++;
+		}
 		try {
 			ast= createAST(input, progressMonitor);
 			if (progressMonitor != null && progressMonitor.isCanceled()) {
@@ -255,6 +291,7 @@ public final class CoreASTProvider {
 			fIsReconciling= true;
 			this.fFinishReconciling = finishReconciling;
 		}
+		disposeRecentAST(javaElement);
 		cache(null, javaElement);
 	}
 
@@ -414,6 +451,74 @@ public final class CoreASTProvider {
 		cache(null, null);
 	}
 
+	/**
+	 * Informs that the given Java element has become the active one. The AST of the previously
+	 * active element is kept as a recently active AST, and the recently active AST of the new
+	 * element, if any, becomes the cached AST.
+	 *
+	 * @param javaElement the new active Java element, or <code>null</code> if there is none
+	 * @since 1.18
+	 */
+	public synchronized void activeJavaElementChanged(ITypeRoot javaElement) {
+		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)
+				&& fAST != null && !isReconciling(fActiveJavaElement)) {
+			rememberRecentAST(fActiveJavaElement, fAST);
+		}
+		fAST= null;
+		fActiveJavaElement= javaElement;
+
+		CompilationUnit ast= javaElement != null ? fRecentASTs.remove(javaElement) : null;
+		cache(ast, javaElement);
+	}
+
+	/**
+	 * Discards the recently active AST of the given Java element, e.g. because the Java model has
+	 * changed since the AST was created.
+	 *
+	 * @param javaElement the Java element, or <code>null</code> to discard all recently active
+	 *            ASTs
+	 * @since 1.18
+	 */
+	public synchronized void disposeRecentAST(ITypeRoot javaElement) {
+		if (javaElement == null) {
+			fRecentASTs.clear();
+			return;
+		}
+		CompilationUnit recent= fRecentASTs.remove(javaElement);
+		if (recent != null && JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "disposing recent AST: " + toString(recent) + " for: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private void rememberRecentAST(ITypeRoot javaElement, CompilationUnit ast) {
+		fRecentASTs.put(javaElement, ast);
+		Iterator<CompilationUnit> iterator= fRecentASTs.values().iterator();
+		while (fRecentASTs.size() > MAX_RECENT_ASTS && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the number of AST requests that were answered with the cached AST of the active
+	 * element or a recently active AST.
+	 *
+	 * @return the number of cache hits
+	 * @since 1.18
+	 */
+	public synchronized int getCacheHitCount() {
+		return fHitCount;
+	}
+
+	/**
+	 * Returns the number of AST requests that required a new AST to be created.
+	 *
+	 * @return the number of cache misses
+	 * @since 1.18
+	 */
+	public synchronized int getCacheMissCount() {
+		return fMissCount;
+	}
+
 	/**
 	 * Returns a string for the given Java element used for debugging.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,14 @@ public class ProblemLocationCore implements IProblemLocationCore {
 	private final boolean fIsError;
 	private final String fMarkerType;
 
+	/**
+	 * The node finder of the last AST that nodes were requested for, shared by all processors that
+	 * handle this location. Guarded by this.
+	 * @since 1.18
+	 */
+	private NodeFinder fNodeFinder;
+	private CompilationUnit fNodeFinderRoot;
+
 	public ProblemLocationCore(int offset, int length, int id, String[] arguments, boolean isError, String markerType) {
 		fId= id;
 		fArguments= arguments;
@@ -84,14 +92,20 @@ public class ProblemLocationCore implements IProblemLocationCore {
 
 	@Override
 	public ASTNode getCoveringNode(CompilationUnit astRoot) {
-		NodeFinder finder= new NodeFinder(astRoot, fOffset, fLength);
-		return finder.getCoveringNode();
+		return getNodeFinder(astRoot).getCoveringNode();
 	}
 
 	@Override
 	public ASTNode getCoveredNode(CompilationUnit astRoot) {
-		NodeFinder finder= new NodeFinder(astRoot, fOffset, fLength);
-		return finder.getCoveredNode();
+		return getNodeFinder(astRoot).getCoveredNode();
+	}
+
+	private synchronized NodeFinder getNodeFinder(CompilationUnit astRoot) {
+		if (fNodeFinder == null || fNodeFinderRoot != astRoot) {
+			fNodeFinder= new NodeFinder(astRoot, fOffset, fLength);
+			fNodeFinderRoot= astRoot;
+		}
+		return fNodeFinder;
 	}
 
 	@Override
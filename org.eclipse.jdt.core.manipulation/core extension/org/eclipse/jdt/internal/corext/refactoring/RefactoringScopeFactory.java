@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.jdt.internal.corext.refactoring;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -145,6 +146,42 @@ public class RefactoringScopeFactory {
 		return SearchEngine.createJavaSearchScope(getAllScopeElements(javaProject, sourceReferencesOnly), false);
 	}
 
+	/**
+	 * Creates the partitions of the search scope returned by
+	 * {@link #create(IJavaElement, boolean, boolean)}, one for each project whose package fragment
+	 * roots are part of the scope. Each package fragment root is contained in one partition only.
+	 * The partitions are sorted by project name, so searching them always yields the same order.
+	 *
+	 * @param javaElement the java element
+	 * @param considerVisibility consider visibility of javaElement iff <code>true</code>
+	 * @param sourceReferencesOnly consider references in source only (no references in binary)
+	 * @return the partitions of the search scope
+	 * @throws JavaModelException if an error occurs
+	 */
+	public static SearchScopePartition[] createPartitions(IJavaElement javaElement, boolean considerVisibility, boolean sourceReferencesOnly) throws JavaModelException {
+		if (considerVisibility && javaElement instanceof IMember && JdtFlags.isPrivate((IMember) javaElement)) {
+			IJavaSearchScope scope= create(javaElement, considerVisibility, sourceReferencesOnly);
+			return new SearchScopePartition[] { new SearchScopePartition(javaElement.getJavaProject().getElementName(), scope) };
+		}
+
+		List<IJavaProject> projects= new ArrayList<>(getReferencingProjects(javaElement.getJavaProject()));
+		projects.sort(Comparator.comparing(IJavaProject::getElementName));
+		List<SearchScopePartition> result= new ArrayList<>();
+		Set<IPath> paths= new HashSet<>();
+		for (IJavaProject javaProject : projects) {
+			List<IPackageFragmentRoot> roots= new ArrayList<>();
+			for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+				if ((!sourceReferencesOnly || root.getKind() == IPackageFragmentRoot.K_SOURCE) && paths.add(root.getPath()))
+					roots.add(root);
+			}
+			if (!roots.isEmpty()) {
+				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(roots.toArray(new IJavaElement[roots.size()]), false);
+				result.add(new SearchScopePartition(javaProject.getElementName(), scope));
+			}
+		}
+		return result.toArray(new SearchScopePartition[result.size()]);
+	}
+
 	/**
 	 * Creates a new search scope comprising <code>members</code>.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,20 +16,26 @@ package org.eclipse.jdt.internal.corext.refactoring;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -50,6 +56,25 @@ import org.eclipse.jdt.internal.corext.util.SearchUtils;
  */
 public class RefactoringSearchEngine {
 
+	/**
+	 * Receives the search result groups of a partitioned search in the order of the partitions,
+	 * as soon as the partition containing their compilation unit and all partitions before it
+	 * have been searched.
+	 *
+	 * @see RefactoringSearchEngine#search(Supplier, WorkingCopyOwner, SearchScopePartition[], Supplier, ISearchResultGroupRequestor, IProgressMonitor, RefactoringStatus)
+	 */
+	public interface ISearchResultGroupRequestor {
+
+		/**
+		 * Accepts the matches in one compilation unit. Called in the thread which started the
+		 * search, while later partitions may still be searched.
+		 *
+		 * @param group the matches in one compilation unit
+		 * @throws CoreException if the group could not be processed
+		 */
+		void acceptSearchResultGroup(SearchResultGroup group) throws CoreException;
+	}
+
 	private RefactoringSearchEngine(){
 		//no instances
 	}
@@ -149,6 +174,144 @@ public class RefactoringSearchEngine {
 		return groupByCu(requestor.getResults(), status);
 	}
 
+	/**
+	 * Searches the given partitions of a search scope concurrently, and groups the resulting
+	 * {@link SearchMatch}es by {@link SearchResultGroup#getCompilationUnit()}.
+	 *
+	 * @param patterns creates the search pattern of each partition
+	 * @param owner the working copy owner, or <code>null</code>
+	 * @param partitions the partitions of the search scope, which must not overlap
+	 * @param requestors creates the requestor of each partition
+	 * @param monitor the progress monitor
+	 * @param status an error is added here if inaccurate or non-cu matches have been found
+	 * @return the result groups of all partitions, in the order of the partitions
+	 * @throws JavaModelException when the search failed
+	 * @see #search(Supplier, WorkingCopyOwner, SearchScopePartition[], Supplier, ISearchResultGroupRequestor, IProgressMonitor, RefactoringStatus)
+	 */
+	//TODO: throw CoreException
+	public static SearchResultGroup[] search(Supplier<SearchPattern> patterns, WorkingCopyOwner owner, SearchScopePartition[] partitions, Supplier<? extends CollectingSearchRequestor> requestors,
+			IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+		return search(patterns, owner, partitions, requestors, null, monitor, status);
+	}
+
+	/**
+	 * Searches the given partitions of a search scope concurrently, and groups the resulting
+	 * {@link SearchMatch}es by {@link SearchResultGroup#getCompilationUnit()}.
+	 * <p>
+	 * Each partition is searched with its own pattern and requestor, since neither can be shared
+	 * between concurrent searches. Whenever the search of a partition has finished, its matches
+	 * are grouped in the calling thread while the remaining partitions are searched. The groups
+	 * are passed to <code>groupRequestor</code> in the order of the partitions, as soon as all
+	 * earlier partitions have been passed, so the order does not depend on which search finishes
+	 * first. The time taken by each partition is recorded in the partition.
+	 * </p>
+	 *
+	 * @param patterns creates the search pattern of each partition
+	 * @param owner the working copy owner, or <code>null</code>
+	 * @param partitions the partitions of the search scope, which must not overlap
+	 * @param requestors creates the requestor of each partition
+	 * @param groupRequestor the requestor to receive the result groups in the order of the partitions, or <code>null</code>
+	 * @param monitor the progress monitor
+	 * @param status an error is added here if inaccurate or non-cu matches have been found
+	 * @return the result groups of all partitions, in the order of the partitions
+	 * @throws JavaModelException when the search failed, or a result group could not be processed
+	 */
+	//TODO: throw CoreException
+	public static SearchResultGroup[] search(Supplier<SearchPattern> patterns, WorkingCopyOwner owner, SearchScopePartition[] partitions, Supplier<? extends CollectingSearchRequestor> requestors,
+			ISearchResultGroupRequestor groupRequestor, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+		SearchEngine searchEngine= owner != null ? new SearchEngine(owner) : new SearchEngine();
+		List<List<SearchResultGroup>> results= new ArrayList<>(partitions.length);
+		boolean[] errors= new boolean[2];
+		monitor.beginTask("", partitions.length); //$NON-NLS-1$
+		try {
+			if (partitions.length < 2) {
+				for (SearchScopePartition partition : partitions) {
+					List<SearchMatch> matches= searchPartition(searchEngine, patterns.get(), partition, requestors.get(), monitor);
+					results.add(Arrays.asList(groupByCu(matches, errors)));
+					acceptGroups(results, results.size() - 1, groupRequestor);
+					monitor.worked(1);
+				}
+			} else {
+				List<Future<Integer>> futures= new ArrayList<>(partitions.length);
+				List<List<SearchMatch>> matches= new ArrayList<>(partitions.length);
+				for (int i= 0; i < partitions.length; i++) {
+					results.add(null);
+					matches.add(null);
+				}
+				try {
+					for (int i= 0; i < partitions.length; i++) {
+						final int index= i;
+						final SearchPattern pattern= patterns.get();
+						final CollectingSearchRequestor requestor= requestors.get();
+						futures.add(SharedExecutor.getExecutor().submit(() -> {
+							matches.set(index, searchPartition(searchEngine, pattern, partitions[index], requestor, monitor));
+							return index;
+						}));
+					}
+					List<Future<Integer>> pending= new ArrayList<>(futures);
+					int accepted= 0;
+					for (int i= 0; i < partitions.length; i++) {
+						int index= getResult(SharedExecutor.takeCompleted(pending, monitor));
+						results.set(index, Arrays.asList(groupByCu(matches.get(index), errors)));
+						for (; accepted < partitions.length && results.get(accepted) != null; accepted++)
+							acceptGroups(results, accepted, groupRequestor);
+						monitor.worked(1);
+					}
+				} finally {
+					for (Future<Integer> future : futures)
+						future.cancel(false);
+				}
+			}
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
+		} finally {
+			monitor.done();
+		}
+		List<SearchResultGroup> result= new ArrayList<>();
+		for (List<SearchResultGroup> groups : results)
+			result.addAll(groups);
+		addStatusErrors(status, errors[0], errors[1]);
+		return result.toArray(new SearchResultGroup[result.size()]);
+	}
+
+	private static List<SearchMatch> searchPartition(SearchEngine searchEngine, SearchPattern pattern, SearchScopePartition partition, CollectingSearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		long start= System.currentTimeMillis();
+		searchEngine.search(pattern, SearchUtils.getDefaultSearchParticipants(), partition.getScope(), requestor, new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+		});
+		List<SearchMatch> results= requestor.getResults();
+		partition.searched(System.currentTimeMillis() - start, results.size());
+		return results;
+	}
+
+	private static void acceptGroups(List<List<SearchResultGroup>> results, int index, ISearchResultGroupRequestor groupRequestor) throws CoreException {
+		if (groupRequestor != null) {
+			for (SearchResultGroup group : results.get(index))
+				groupRequestor.acceptSearchResultGroup(group);
+		}
+	}
+
+	private static int getResult(Future<Integer> future) throws CoreException {
+		try {
+			return SharedExecutor.join(future);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
 	public static SearchResultGroup[] groupByCu(SearchMatch[] matches, RefactoringStatus status) {
 		return groupByCu(Arrays.asList(matches), status);
 	}
@@ -159,7 +322,17 @@ public class RefactoringSearchEngine {
 	 * @return a SearchResultGroup[], grouped by SearchMatch#getResource()
 	 */
 	public static SearchResultGroup[] groupByCu(List<SearchMatch> matchList, RefactoringStatus status) {
-		Map<IResource, List<SearchMatch>> grouped= new HashMap<>();
+		boolean[] errors= new boolean[2];
+		SearchResultGroup[] result= groupByCu(matchList, errors);
+		addStatusErrors(status, errors[0], errors[1]);
+		return result;
+	}
+
+	/*
+	 * errors[0] is set if there are potential matches, errors[1] if there are non-cu matches
+	 */
+	private static SearchResultGroup[] groupByCu(List<SearchMatch> matchList, boolean[] errors) {
+		Map<IResource, List<SearchMatch>> grouped= new LinkedHashMap<>();
 		boolean hasPotentialMatches= false;
 		boolean hasNonCuMatches= false;
 
@@ -189,7 +362,8 @@ public class RefactoringSearchEngine {
 			result[i]= new SearchResultGroup(resource, matchArray);
 			i++;
 		}
-		addStatusErrors(status, hasPotentialMatches, hasNonCuMatches);
+		errors[0]|= hasPotentialMatches;
+		errors[1]|= hasNonCuMatches;
 		return result;
 	}
 
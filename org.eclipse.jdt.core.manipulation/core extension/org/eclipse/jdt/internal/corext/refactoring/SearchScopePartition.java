@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+/**
+ * A part of a search scope which can be searched independently of the other parts, typically
+ * the package fragment roots of one project.
+ * <p>
+ * Partitions are created by {@link RefactoringScopeFactory} and searched concurrently by
+ * {@link RefactoringSearchEngine}, which records how long the last search of each partition
+ * took.
+ * </p>
+ */
+public final class SearchScopePartition {
+
+	private final String fName;
+	private final IJavaSearchScope fScope;
+
+	private volatile long fElapsedTime= -1;
+	private volatile int fMatchCount;
+
+	/**
+	 * Creates a new partition.
+	 *
+	 * @param name the name of the partition, usually the name of its project
+	 * @param scope the search scope of the partition
+	 */
+	public SearchScopePartition(String name, IJavaSearchScope scope) {
+		Assert.isNotNull(name);
+		Assert.isNotNull(scope);
+		fName= name;
+		fScope= scope;
+	}
+
+	public String getName() {
+		return fName;
+	}
+
+	public IJavaSearchScope getScope() {
+		return fScope;
+	}
+
+	/**
+	 * Returns the time the last search of this partition took.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if the partition has not been searched
+	 */
+	public long getElapsedTime() {
+		return fElapsedTime;
+	}
+
+	/**
+	 * Returns the number of matches collected by the last search of this partition.
+	 *
+	 * @return the number of matches
+	 */
+	public int getMatchCount() {
+		return fMatchCount;
+	}
+
+	void searched(long elapsedTime, int matchCount) {
+		fElapsedTime= elapsedTime;
+		fMatchCount= matchCount;
+	}
+
+	@Override
+	public String toString() {
+		return fName + " (" + fElapsedTime + " ms, " + fMatchCount + " matches)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2019 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.corext.refactoring.base;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -26,7 +27,8 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 
 public class ReferencesInBinaryContext extends RefactoringStatusContext {
 
-	private List<SearchMatch> fMatches= new ArrayList<>();
+	// matches may be added by several searches running concurrently
+	private List<SearchMatch> fMatches= Collections.synchronizedList(new ArrayList<>());
 
 	private final String fDescription;
 
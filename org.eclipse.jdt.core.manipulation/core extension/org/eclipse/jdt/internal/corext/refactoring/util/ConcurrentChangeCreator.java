@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * Creates the changes of independent compilation units concurrently.
+ * <p>
+ * Each compilation unit is processed by one thread, with its own {@link RefactoringStatus}.
+ * Once all compilation units have been processed, their statuses are merged and their changes
+ * are added to the change manager in the order of the compilation units, so the result does
+ * not depend on the number of threads. If processing a compilation unit fails, the exception of
+ * the first failed compilation unit is rethrown.
+ * </p>
+ */
+public final class ConcurrentChangeCreator {
+
+	/**
+	 * Creates the change of one compilation unit. Implementations are called concurrently, and
+	 * must only modify state owned by the compilation unit.
+	 */
+	public interface IChangeCreator {
+
+		/**
+		 * Creates the change of the given compilation unit.
+		 *
+		 * @param cu the compilation unit
+		 * @param status the status of this compilation unit
+		 * @return the change, or <code>null</code> if the compilation unit does not change
+		 * @throws CoreException if the change could not be created
+		 */
+		TextChange createChange(ICompilationUnit cu, RefactoringStatus status) throws CoreException;
+	}
+
+	private static final class Result {
+		private final RefactoringStatus fStatus= new RefactoringStatus();
+		private TextChange fChange;
+	}
+
+	private ConcurrentChangeCreator() {
+	}
+
+	/**
+	 * Creates the changes of the given compilation units.
+	 *
+	 * @param cus the compilation units, which must be distinct
+	 * @param creator the creator of the changes
+	 * @param manager the manager to add the changes to
+	 * @param status the status to merge the statuses of the compilation units into
+	 * @param pm the progress monitor, which is advanced by one for each compilation unit
+	 * @throws CoreException if the change of a compilation unit could not be created
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public static void createChanges(ICompilationUnit[] cus, IChangeCreator creator, TextChangeManager manager, RefactoringStatus status, IProgressMonitor pm) throws CoreException {
+		createChanges(cus, creator, manager, status, pm, cus.length > 1 && Runtime.getRuntime().availableProcessors() > 1);
+	}
+
+	/**
+	 * Creates the changes of the given compilation units, either concurrently or one after the
+	 * other. Both produce the same result; the choice is only exposed for testing.
+	 *
+	 * @param cus the compilation units, which must be distinct
+	 * @param creator the creator of the changes
+	 * @param manager the manager to add the changes to
+	 * @param status the status to merge the statuses of the compilation units into
+	 * @param pm the progress monitor, which is advanced by one for each compilation unit
+	 * @param concurrently <code>true</code> to create the changes concurrently,
+	 *            <code>false</code> to create them in the calling thread
+	 * @throws CoreException if the change of a compilation unit could not be created
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public static void createChanges(ICompilationUnit[] cus, IChangeCreator creator, TextChangeManager manager, RefactoringStatus status, IProgressMonitor pm, boolean concurrently) throws CoreException {
+		Result[] results= new Result[cus.length];
+		if (!concurrently) {
+			for (int i= 0; i < cus.length; i++) {
+				results[i]= createChange(cus[i], creator, pm);
+				pm.worked(1);
+			}
+		} else {
+			List<Future<Result>> futures= new ArrayList<>(cus.length);
+			try {
+				for (ICompilationUnit cu : cus)
+					futures.add(SharedExecutor.getExecutor().submit(() -> createChange(cu, creator, pm)));
+				for (int i= 0; i < cus.length; i++) {
+					results[i]= getResult(futures.get(i));
+					pm.worked(1);
+				}
+			} finally {
+				for (Future<Result> future : futures)
+					future.cancel(false);
+			}
+		}
+		for (int i= 0; i < cus.length; i++) {
+			status.merge(results[i].fStatus);
+			if (results[i].fChange != null)
+				manager.manage(cus[i], results[i].fChange);
+		}
+	}
+
+	private static Result createChange(ICompilationUnit cu, IChangeCreator creator, IProgressMonitor pm) throws CoreException {
+		if (pm.isCanceled())
+			throw new OperationCanceledException();
+		Result result= new Result();
+		result.fChange= creator.createChange(cu, result.fStatus);
+		return result;
+	}
+
+	private static Result getResult(Future<Result> future) throws CoreException {
+		try {
+			return SharedExecutor.join(future);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+}
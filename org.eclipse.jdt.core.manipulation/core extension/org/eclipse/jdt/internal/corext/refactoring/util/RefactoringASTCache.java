@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.lang.ref.SoftReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.IUndoManager;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.UndoManagerAdapter;
+import org.eclipse.ltk.core.refactoring.history.IRefactoringExecutionListener;
+import org.eclipse.ltk.core.refactoring.history.RefactoringExecutionEvent;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Cache for the ASTs created by {@link RefactoringASTParser} while the refactorings of a
+ * refactoring history or script are performed.
+ * <p>
+ * The cache is only active in the thread performing the refactorings, from
+ * {@link IRefactoringExecutionListener#historyAboutToBePerformed()} to
+ * {@link IRefactoringExecutionListener#historyPerformed()}. An AST is reused as long as the
+ * resource of its type root has not been modified, and the AST itself has not been modified.
+ * </p>
+ * <p>
+ * ASTs with resolved bindings are additionally dropped as soon as a compilation unit of their
+ * project or of a project on its build path changes, since their bindings refer to the previous
+ * state of that project. Such changes are detected from the Java element deltas and, since these
+ * may only be reported once the whole history has been performed, from the objects affected by the
+ * changes performed through the undo manager. The granularity is the
+ * project: ASTs with bindings of projects which are not affected by a refactoring are reused by the
+ * following refactorings, while a refactoring changing a project drops all ASTs with bindings of
+ * that project and of the projects requiring it. If a change does not tell its affected objects,
+ * all ASTs with bindings are dropped.
+ * </p>
+ * <p>
+ * The listeners are registered by {@link #install()} once Java refactorings are created. The cache
+ * holds a limited number of ASTs, which are only softly referenced.
+ * </p>
+ * <p>
+ * Cached ASTs are shared, and must not be modified by clients. Clients annotating nodes with
+ * properties must use keys which are unique to them.
+ * </p>
+ */
+public final class RefactoringASTCache implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= 32;
+
+	private static final ThreadLocal<RefactoringASTCache> fgCurrent= new ThreadLocal<>();
+
+	private static final class Key {
+		private final ITypeRoot fTypeRoot;
+		private final int fLevel;
+		private final boolean fResolveBindings;
+		private final boolean fStatementsRecovery;
+		private final boolean fBindingsRecovery;
+
+		Key(ITypeRoot typeRoot, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery) {
+			fTypeRoot= typeRoot;
+			fLevel= level;
+			fResolveBindings= resolveBindings;
+			fStatementsRecovery= statementsRecovery;
+			fBindingsRecovery= bindingsRecovery;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fTypeRoot, fLevel, fResolveBindings, fStatementsRecovery, fBindingsRecovery);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fTypeRoot.equals(other.fTypeRoot) && fLevel == other.fLevel && fResolveBindings == other.fResolveBindings
+					&& fStatementsRecovery == other.fStatementsRecovery && fBindingsRecovery == other.fBindingsRecovery;
+		}
+	}
+
+	private static final class Entry {
+		private final SoftReference<CompilationUnit> fAST;
+		private final long fModificationStamp;
+		private final long fModificationCount;
+
+		Entry(CompilationUnit ast, long modificationStamp) {
+			fAST= new SoftReference<>(ast);
+			fModificationStamp= modificationStamp;
+			fModificationCount= ast.getAST().modificationCount();
+		}
+	}
+
+	/**
+	 * The execution listener which activates a cache in the thread performing a refactoring history.
+	 */
+	public static final IRefactoringExecutionListener LISTENER= new IRefactoringExecutionListener() {
+
+		@Override
+		public void executionNotification(RefactoringExecutionEvent event) {
+			// The changes are tracked by the undo listener
+		}
+
+		@Override
+		public void historyAboutToBePerformed() {
+			RefactoringASTCache cache= fgCurrent.get();
+			if (cache == null) {
+				install();
+				cache= new RefactoringASTCache();
+				JavaCore.addElementChangedListener(cache, ElementChangedEvent.POST_CHANGE);
+				fgCurrent.set(cache);
+			}
+			cache.fDepth++;
+		}
+
+		@Override
+		public void historyPerformed() {
+			RefactoringASTCache cache= fgCurrent.get();
+			if (cache != null && --cache.fDepth == 0) {
+				fgCurrent.remove();
+				JavaCore.removeElementChangedListener(cache);
+				cache.clear();
+			}
+		}
+	};
+
+	/**
+	 * The undo listener which drops the ASTs with bindings affected by a change, both before and
+	 * after the change is performed, in the thread performing the change.
+	 */
+	private static final UndoManagerAdapter UNDO_LISTENER= new UndoManagerAdapter() {
+
+		@Override
+		public void aboutToPerformChange(IUndoManager manager, Change change) {
+			RefactoringASTCache cache= fgCurrent.get();
+			if (cache != null)
+				cache.invalidate(change);
+		}
+
+		@Override
+		public void changePerformed(IUndoManager manager, Change change) {
+			RefactoringASTCache cache= fgCurrent.get();
+			if (cache != null)
+				cache.invalidate(change);
+		}
+	};
+
+	private static boolean fgInstalled;
+
+	private final Map<Key, Entry> fEntries= new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/** number of nested refactoring histories performed in the owning thread */
+	private int fDepth;
+
+	private RefactoringASTCache() {
+	}
+
+	/**
+	 * Registers the listeners activating and invalidating the caches, unless already done. Called
+	 * lazily once Java refactorings are created, so that starting this plug-in does not start the
+	 * refactoring history service.
+	 */
+	public static synchronized void install() {
+		if (!fgInstalled) {
+			RefactoringCore.getHistoryService().addExecutionListener(LISTENER);
+			RefactoringCore.getUndoManager().addListener(UNDO_LISTENER);
+			fgInstalled= true;
+		}
+	}
+
+	/**
+	 * Removes the listeners registered by {@link #install()}, if any.
+	 */
+	public static synchronized void uninstall() {
+		if (fgInstalled) {
+			RefactoringCore.getHistoryService().removeExecutionListener(LISTENER);
+			RefactoringCore.getUndoManager().removeListener(UNDO_LISTENER);
+			fgInstalled= false;
+		}
+	}
+
+	/**
+	 * Returns the cache of the current thread.
+	 *
+	 * @return the cache, or <code>null</code> if no refactoring history is performed by the
+	 *         current thread
+	 */
+	public static RefactoringASTCache getCurrent() {
+		return fgCurrent.get();
+	}
+
+	/**
+	 * Returns whether ASTs of the given type root can be cached. Only type roots of the primary
+	 * owner are cached, since working copies of other owners are private to a refactoring. Primary
+	 * working copies are not cached either, since their buffer can change without a modification of
+	 * their resource.
+	 *
+	 * @param typeRoot the type root
+	 * @param owner the working copy owner used for parsing, or <code>null</code>
+	 * @return <code>true</code> if ASTs can be cached
+	 */
+	public static boolean isCacheable(ITypeRoot typeRoot, WorkingCopyOwner owner) {
+		if (owner != null)
+			return false;
+		if (typeRoot instanceof ICompilationUnit) {
+			ICompilationUnit unit= (ICompilationUnit) typeRoot;
+			return unit.getOwner() == null && !unit.isWorkingCopy();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a cached AST which is still valid.
+	 *
+	 * @param typeRoot the type root
+	 * @param level the AST level
+	 * @param resolveBindings whether bindings are resolved
+	 * @param statementsRecovery whether statements recovery is enabled
+	 * @param bindingsRecovery whether bindings recovery is enabled
+	 * @return the AST, or <code>null</code>
+	 */
+	public CompilationUnit get(ITypeRoot typeRoot, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery) {
+		Key key= new Key(typeRoot, level, resolveBindings, statementsRecovery, bindingsRecovery);
+		Entry entry;
+		synchronized (fEntries) {
+			entry= fEntries.get(key);
+		}
+		if (entry == null)
+			return null;
+		CompilationUnit ast= entry.fAST.get();
+		if (ast != null && entry.fModificationStamp == getModificationStamp(typeRoot) && entry.fModificationCount == ast.getAST().modificationCount())
+			return ast;
+		synchronized (fEntries) {
+			fEntries.remove(key);
+		}
+		return null;
+	}
+
+	/**
+	 * Adds an AST to the cache.
+	 *
+	 * @param typeRoot the type root
+	 * @param level the AST level
+	 * @param resolveBindings whether bindings are resolved
+	 * @param statementsRecovery whether statements recovery is enabled
+	 * @param bindingsRecovery whether bindings recovery is enabled
+	 * @param ast the AST of the type root
+	 */
+	public void put(ITypeRoot typeRoot, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, CompilationUnit ast) {
+		if (ast == null)
+			return;
+		synchronized (fEntries) {
+			fEntries.put(new Key(typeRoot, level, resolveBindings, statementsRecovery, bindingsRecovery), new Entry(ast, getModificationStamp(typeRoot)));
+		}
+	}
+
+	private void clear() {
+		synchronized (fEntries) {
+			fEntries.clear();
+		}
+	}
+
+	private void clearBindings() {
+		synchronized (fEntries) {
+			fEntries.keySet().removeIf(key -> key.fResolveBindings);
+		}
+	}
+
+	/*
+	 * Type roots without a resource, like class files in external archives, only change together
+	 * with the build path of their project.
+	 */
+	private static long getModificationStamp(ITypeRoot typeRoot) {
+		IResource resource= typeRoot.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	private void invalidate(Change change) {
+		Object[] affected= change.getAffectedObjects();
+		if (affected == null) {
+			clearBindings();
+			return;
+		}
+		Set<IJavaElement> units= new HashSet<>();
+		Set<String> projects= new HashSet<>();
+		for (Object object : affected) {
+			IJavaElement element= null;
+			if (object instanceof IJavaElement) {
+				element= (IJavaElement) object;
+			} else if (object instanceof IResource) {
+				IProject project= ((IResource) object).getProject();
+				if (project == null) {
+					clearBindings();
+					return;
+				}
+				projects.add(project.getName());
+				element= JavaCore.create((IResource) object);
+			} else {
+				clearBindings();
+				return;
+			}
+			if (element != null) {
+				IJavaProject project= element.getJavaProject();
+				if (project == null) {
+					clearBindings();
+					return;
+				}
+				projects.add(project.getElementName());
+				if (element instanceof ITypeRoot)
+					units.add(element);
+			}
+		}
+		invalidate(units, projects);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		Set<IJavaElement> units= new HashSet<>();
+		Set<String> projects= new HashSet<>();
+		collectChanges(event.getDelta(), units, projects);
+		invalidate(units, projects);
+	}
+
+	private void invalidate(Set<IJavaElement> units, Set<String> projects) {
+		if (units.isEmpty() && projects.isEmpty())
+			return;
+		synchronized (fEntries) {
+			for (Iterator<Map.Entry<Key, Entry>> iterator= fEntries.entrySet().iterator(); iterator.hasNext();) {
+				Key key= iterator.next().getKey();
+				if (units.contains(key.fTypeRoot) || key.fResolveBindings && dependsOn(key.fTypeRoot.getJavaProject(), projects))
+					iterator.remove();
+			}
+		}
+	}
+
+	private static void collectChanges(IJavaElementDelta delta, Set<IJavaElement> units, Set<String> projects) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0 || delta.getKind() != IJavaElementDelta.CHANGED)
+					projects.add(element.getElementName());
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				units.add(element);
+				projects.add(element.getJavaProject().getElementName());
+				return;
+			default:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0)
+					projects.add(element.getJavaProject().getElementName());
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren())
+			collectChanges(child, units, projects);
+	}
+
+	private static boolean dependsOn(IJavaProject project, Set<String> names) {
+		if (names.isEmpty())
+			return false;
+		Set<String> visited= new HashSet<>();
+		return dependsOn(project, names, visited);
+	}
+
+	private static boolean dependsOn(IJavaProject project, Set<String> names, Set<String> visited) {
+		if (!visited.add(project.getElementName()))
+			return false;
+		if (names.contains(project.getElementName()))
+			return true;
+		try {
+			for (String required : project.getRequiredProjectNames()) {
+				if (dependsOn(project.getJavaModel().getJavaProject(required), names, visited))
+					return true;
+			}
+		} catch (JavaModelException e) {
+			return true;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,8 +38,11 @@ public class RefactoringASTParser {
 
 	private ASTParser fParser;
 
+	private final int fLevel;
+
 	public RefactoringASTParser(int level) {
 		fParser= ASTParser.newParser(level);
+		fLevel= level;
 	}
 
 	public CompilationUnit parse(ITypeRoot typeRoot, boolean resolveBindings) {
@@ -54,7 +57,33 @@ public class RefactoringASTParser {
 		return parse(typeRoot, owner, resolveBindings, false, false, pm);
 	}
 
+	/**
+	 * Parses the given type root. While the refactorings of a refactoring history are performed,
+	 * ASTs of the primary owner are taken from and added to the {@link RefactoringASTCache} of the
+	 * current thread. Such ASTs are shared, and must not be modified.
+	 *
+	 * @param typeRoot the type root
+	 * @param owner the working copy owner, or <code>null</code> for the primary owner
+	 * @param resolveBindings whether bindings are to be resolved
+	 * @param statementsRecovery whether statements recovery should be enabled
+	 * @param bindingsRecovery whether bindings recovery should be enabled
+	 * @param pm an {@link IProgressMonitor}, or <code>null</code>
+	 * @return the parsed CompilationUnit
+	 */
 	public CompilationUnit parse(ITypeRoot typeRoot, WorkingCopyOwner owner, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, IProgressMonitor pm) {
+		RefactoringASTCache cache= RefactoringASTCache.getCurrent();
+		if (cache != null && RefactoringASTCache.isCacheable(typeRoot, owner)) {
+			CompilationUnit result= cache.get(typeRoot, fLevel, resolveBindings, statementsRecovery, bindingsRecovery);
+			if (result == null) {
+				result= createAST(typeRoot, owner, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+				cache.put(typeRoot, fLevel, resolveBindings, statementsRecovery, bindingsRecovery, result);
+			}
+			return result;
+		}
+		return createAST(typeRoot, owner, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+	}
+
+	private CompilationUnit createAST(ITypeRoot typeRoot, WorkingCopyOwner owner, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, IProgressMonitor pm) {
 		fParser.setResolveBindings(resolveBindings);
 		fParser.setStatementsRecovery(statementsRecovery);
 		fParser.setBindingsRecovery(bindingsRecovery);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,9 @@ package org.eclipse.jdt.internal.corext.refactoring.util;
 
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
 
@@ -28,10 +28,17 @@ import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 /**
  * A <code>TextChangeManager</code> manages associations between <code>ICompilationUnit</code>
  * or <code>IFile</code> and <code>TextEditBasedChange</code> objects.
+ * <p>
+ * The manager can be populated by several threads at once, each compilation unit getting its
+ * own change. The changes and compilation units are always returned in the same order,
+ * independent of the order in which they have been added.
+ * </p>
  */
 public class TextEditBasedChangeManager {
 
-	private Map<ICompilationUnit, TextEditBasedChange> fMap= new HashMap<>(10);
+	private static final Comparator<ICompilationUnit> CU_ORDER= Comparator.comparing(ICompilationUnit::getElementName).thenComparing(ICompilationUnit::getHandleIdentifier);
+
+	private Map<ICompilationUnit, TextEditBasedChange> fMap= new ConcurrentHashMap<>(10);
 
 	private final boolean fKeepExecutedTextEdits;
 
@@ -48,10 +55,14 @@ public class TextEditBasedChangeManager {
 	 * change to this manager.
 	 *
 	 * @param cu the compilation unit (key)
-	 * @param change the change associated with the compilation unit
+	 * @param change the change associated with the compilation unit, or <code>null</code>
+	 * to remove the association
 	 */
 	public void manage(ICompilationUnit cu, TextEditBasedChange change) {
-		fMap.put(cu, change);
+		if (change == null)
+			fMap.remove(cu);
+		else
+			fMap.put(cu, change);
 	}
 
 	/**
@@ -62,13 +73,11 @@ public class TextEditBasedChangeManager {
 	 * @return the text change associated with the given compilation unit.
 	 */
 	public TextEditBasedChange get(ICompilationUnit cu) {
-		TextEditBasedChange result= fMap.get(cu);
-		if (result == null) {
-			result= new CompilationUnitChange(cu.getElementName(), cu);
+		return fMap.computeIfAbsent(cu, unit -> {
+			TextEditBasedChange result= new CompilationUnitChange(unit.getElementName(), unit);
 			result.setKeepPreviewEdits(fKeepExecutedTextEdits);
-			fMap.put(cu, result);
-		}
-		return result;
+			return result;
+		});
 	}
 
 	/**
@@ -88,10 +97,7 @@ public class TextEditBasedChangeManager {
 	 * @return all text changes managed by this instance
 	 */
 	public TextEditBasedChange[] getAllChanges(){
-		Set<ICompilationUnit> cuSet= fMap.keySet();
-		ICompilationUnit[] cus= cuSet.toArray(new ICompilationUnit[cuSet.size()]);
-		// sort by cu name:
-		Arrays.sort(cus, Comparator.comparing(ICompilationUnit::getElementName));
+		ICompilationUnit[] cus= getAllCompilationUnits();
 		TextEditBasedChange[] textChanges= new TextEditBasedChange[cus.length];
 		for (int i= 0; i < cus.length; i++) {
 			textChanges[i]= fMap.get(cus[i]);
@@ -100,12 +106,15 @@ public class TextEditBasedChangeManager {
 	}
 
 	/**
-	 * Returns all compilation units managed by this instance.
+	 * Returns all compilation units managed by this instance, sorted by name.
 	 *
 	 * @return all compilation units managed by this instance
 	 */
 	public ICompilationUnit[] getAllCompilationUnits(){
-		return fMap.keySet().toArray(new ICompilationUnit[fMap.size()]);
+		Set<ICompilationUnit> cuSet= fMap.keySet();
+		ICompilationUnit[] cus= cuSet.toArray(new ICompilationUnit[cuSet.size()]);
+		Arrays.sort(cus, CU_ORDER);
+		return cus;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -107,6 +107,20 @@ public class CompilationUnitChange extends TextFileChange {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A compilation unit change may be performed without acquiring its document if the compilation
+	 * unit is not a working copy. The Java model then updates the compilation unit from the
+	 * resource delta of the written file. Subclasses are not performed this way unless they
+	 * override this method.
+	 * </p>
+	 */
+	@Override
+	protected boolean canPerformWithoutBuffer() {
+		return getClass() == CompilationUnitChange.class && !fCUnit.isWorkingCopy();
+	}
+
 	@Override
 	protected Change createUndoChange(UndoEdit edit, ContentStamp stampToRestore) {
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.ltk.core.refactoring.RefactoringContribution;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTCache;
+
 /**
  * Partial implementation of a Java refactoring contribution.
  * <p>
@@ -36,6 +38,14 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
  */
 public abstract class JavaRefactoringContribution extends RefactoringContribution {
 
+	/**
+	 * Creates a new Java refactoring contribution.
+	 */
+	public JavaRefactoringContribution() {
+		// Java refactorings can be performed from now on, so let them share their ASTs
+		RefactoringASTCache.install();
+	}
+
 	@Override
 	public final Map<String, String> retrieveArgumentMap(final RefactoringDescriptor descriptor) {
 		Assert.isNotNull(descriptor);
@@ -62,6 +62,11 @@ public class JUnitLaunchConfigurationConstants {
 	public static final String ATTR_TEST_METHOD_NAME= ATTR_TEST_NAME;
 
 	public static final String ATTR_KEEPRUNNING = JUnitCorePlugin.PLUGIN_ID+ ".KEEPRUNNING_ATTR"; //$NON-NLS-1$
+	/**
+	 * Boolean attribute: keep the test runner VM alive in any launch mode, so that reruns from the
+	 * JUnit view reuse it and only reload the test classes.
+	 */
+	public static final String ATTR_KEEP_WARM= JUnitCorePlugin.PLUGIN_ID+".KEEP_WARM"; //$NON-NLS-1$
 	/**
 	 * The launch container, or "" iff running a single test type.
 	 */
@@ -15,16 +15,21 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -377,33 +382,73 @@ public final class JUnitModel {
 	}
 
 	/**
-	 * Imports a test run session from the given file.
+	 * Imports a test run session from the given file. The session is added to the model as soon
+	 * as its header has been read, and its elements become visible while the rest of the file is
+	 * being read. The file may be gzip-compressed.
 	 *
 	 * @param file a file containing a test run session transcript
 	 * @return the imported test run session
 	 * @throws CoreException if the import failed
 	 */
 	public static TestRunSession importTestRunSession(File file) throws CoreException {
-		try {
+		TestRunHandler handler= new TestRunHandler();
+		long startTime= System.currentTimeMillis();
+		try (InputStream in= openReport(new FileInputStream(file))) {
 			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
-			TestRunHandler handler= new TestRunHandler();
-			parser.parse(file, handler);
+			parser.parse(in, handler, file.toURI().toString());
 			TestRunSession session= handler.getTestRunSession();
-			JUnitCorePlugin.getModel().addTestRunSession(session);
+			if (session == null)
+				throw new SAXException("No test run found"); //$NON-NLS-1$
+			session.importEnded(true, System.currentTimeMillis() - startTime);
 			return session;
 		} catch (ParserConfigurationException | SAXException e) {
+			abortImport(handler, startTime);
 			throwImportError(file, e);
 		} catch (IOException e) {
+			abortImport(handler, startTime);
 			throwImportError(file, e);
 		} catch (IllegalArgumentException e) {
 			// Bug in parser: can throw IAE even if file is not null
+			abortImport(handler, startTime);
 			throwImportError(file, e);
 		}
 		return null; // does not happen
 	}
 
+	/**
+	 * Opens a test run report for reading. Gzip-compressed reports (e.g. CI artifacts) are
+	 * recognized by their magic number and decompressed on the fly.
+	 *
+	 * @param in the raw input stream
+	 * @return a buffered stream with the uncompressed report
+	 * @throws IOException if reading failed
+	 */
+	private static InputStream openReport(InputStream in) throws IOException {
+		BufferedInputStream buffered= new BufferedInputStream(in);
+		buffered.mark(2);
+		int magic= buffered.read() | (buffered.read() << 8);
+		buffered.reset();
+		if (magic == GZIPInputStream.GZIP_MAGIC)
+			return new BufferedInputStream(new GZIPInputStream(buffered));
+		return buffered;
+	}
+
+	/**
+	 * Removes a partially imported session from the model again.
+	 *
+	 * @param handler the handler that has read the session
+	 * @param startTime the start time of the import
+	 */
+	private static void abortImport(TestRunHandler handler, long startTime) {
+		TestRunSession session= handler.getTestRunSession();
+		if (session != null) {
+			session.importEnded(false, System.currentTimeMillis() - startTime);
+			JUnitCorePlugin.getModel().removeTestRunSession(session);
+		}
+	}
+
 	/**
 	 * Imports a test run session from the given URL.
 	 *
@@ -418,6 +463,7 @@ public final class JUnitModel {
 		monitor.beginTask(ModelMessages.JUnitModel_importing_from_url, IProgressMonitor.UNKNOWN);
 		final String trimmedUrl= url.trim().replaceAll("\r\n?|\n", ""); //$NON-NLS-1$ //$NON-NLS-2$
 		final TestRunHandler handler= new TestRunHandler(monitor);
+		final long startTime= System.currentTimeMillis();
 
 		final CoreException[] exception= { null };
 		final TestRunSession[] session= { null };
@@ -429,10 +475,17 @@ public final class JUnitModel {
 					SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //					parserFactory.setValidating(true); // TODO: add DTD and debug flag
 					SAXParser parser= parserFactory.newSAXParser();
-					parser.parse(trimmedUrl, handler);
-					session[0]= handler.getTestRunSession();
+					try (InputStream in= openReport(new URL(trimmedUrl).openStream())) {
+						parser.parse(in, handler, trimmedUrl);
+					}
+					TestRunSession imported= handler.getTestRunSession();
+					if (imported == null)
+						throw new SAXException("No test run found"); //$NON-NLS-1$
+					imported.importEnded(true, System.currentTimeMillis() - startTime);
+					session[0]= imported;
 				} catch (OperationCanceledException e) {
 					// canceled
+					abortImport(handler, startTime);
 				} catch (ParserConfigurationException | SAXException e) {
 					storeImportError(e);
 				} catch (IOException e) {
@@ -443,6 +496,7 @@ public final class JUnitModel {
 				}
 			}
 			private void storeImportError(Exception e) {
+				abortImport(handler, startTime);
 				exception[0]= new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
 						JUnitCorePlugin.getPluginId(), ModelMessages.JUnitModel_could_not_import, e));
 			}
@@ -465,7 +519,6 @@ public final class JUnitModel {
 			}
 		}
 
-		JUnitCorePlugin.getModel().addTestRunSession(session[0]);
 		monitor.done();
 		return session[0];
 	}
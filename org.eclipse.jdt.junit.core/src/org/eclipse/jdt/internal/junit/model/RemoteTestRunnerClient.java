@@ -606,6 +606,23 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	/**
+	 * Requests a warm test runner to run tests again.
+	 *
+	 * @param arguments the request arguments, see {@link MessageIds#TEST_RUN_REQUEST}
+	 */
+	public void requestTestRun(String[] arguments) {
+		if (isRunning()) {
+			fActualResult.setLength(0);
+			fExpectedResult.setLength(0);
+			fWriter.println(MessageIds.TEST_RUN_REQUEST + arguments.length);
+			for (String argument : arguments) {
+				fWriter.println(argument);
+			}
+			fWriter.flush();
+		}
+	}
+
 	public void rerunTest(String testId, String className, String testName) {
 		if (isRunning()) {
 			fActualResult.setLength(0);
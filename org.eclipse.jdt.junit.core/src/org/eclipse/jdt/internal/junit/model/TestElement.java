@@ -167,6 +167,15 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	private final TestSuiteElement fParent;
+
+	/**
+	 * The test id if it is a non-negative <code>int</code>, otherwise <code>-1</code>.
+	 */
+	private final int fIntId;
+
+	/**
+	 * The test id, or <code>null</code> if it is stored in {@link #fIntId}.
+	 */
 	private final String fId;
 	private String fTestName;
 
@@ -190,9 +199,13 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+
+	/*
+	 * Handles of the texts in the root's TestElementStore:
+	 */
+	private long fTrace= TestElementStore.NO_TEXT;
+	private long fExpected= TestElementStore.NO_TEXT;
+	private long fActual= TestElementStore.NO_TEXT;
 
 	private boolean fAssumptionFailed;
 
@@ -222,7 +235,8 @@ public abstract class TestElement implements ITestElement {
 		Assert.isNotNull(id);
 		Assert.isNotNull(testName);
 		fParent= parent;
-		fId= id;
+		fIntId= TestElementStore.toIntId(id);
+		fId= fIntId < 0 ? id : null;
 		fTestName= testName;
 		fDisplayName= displayName;
 		fParameterTypes= parameterTypes;
@@ -262,8 +276,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && fTrace != TestElementStore.NO_TEXT)) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -276,7 +290,15 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getId() {
-		return fId;
+		return fId != null ? fId : Integer.toString(fIntId);
+	}
+
+	/**
+	 * @return the test id as a non-negative <code>int</code>, or <code>-1</code> if the id is not
+	 *         numeric
+	 */
+	int getIntId() {
+		return fIntId;
 	}
 
 	public String getTestName() {
@@ -304,13 +326,15 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		TestElementStore store= getElementStore();
+		if (trace != null && fTrace != TestElementStore.NO_TEXT) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			String firstTrace= store.read(fTrace);
+			fTrace= store.spill(firstTrace != null ? firstTrace + trace : trace);
 		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			fTrace= store.spill(trace);
+			fExpected= store.spill(expected);
+			fActual= store.spill(actual);
 		}
 		setStatus(status);
 	}
@@ -320,19 +344,19 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return getElementStore().read(fTrace);
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return getElementStore().read(fExpected);
 	}
 
 	public String getActual() {
-		return fActual;
+		return getElementStore().read(fActual);
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		return fExpected != TestElementStore.NO_TEXT && fActual != TestElementStore.NO_TEXT;
 	}
 
 	/**
@@ -367,6 +391,10 @@ public abstract class TestElement implements ITestElement {
 		return getParent().getRoot();
 	}
 
+	private TestElementStore getElementStore() {
+		return getRoot().getElementStore();
+	}
+
 	public void setElapsedTimeInSeconds(double time) {
 		fTime= time;
 	}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Holds the bulky parts of a test element tree outside of the {@link TestElement}s themselves:
+ * <ul>
+ * <li>a pool of interned names, shared by all elements of the tree,</li>
+ * <li>an index from test id to element that avoids boxing numeric ids,</li>
+ * <li>an append-only spill file for failure traces, expected and actual values, which are read
+ * back on demand.</li>
+ * </ul>
+ * Each {@link TestRoot} owns one store. Spilled texts are addressed by <code>long</code> handles:
+ * {@link #NO_TEXT} stands for <code>null</code>, non-negative handles are offsets into the spill
+ * file, and other negative handles index an in-memory fallback list that is used if the spill file
+ * cannot be written.
+ */
+public final class TestElementStore {
+
+	/**
+	 * Handle for a <code>null</code> text.
+	 */
+	public static final long NO_TEXT= -1;
+
+	private static final String SPILL_FILE_PREFIX= "traces"; //$NON-NLS-1$
+	private static final String SPILL_FILE_SUFFIX= ".bin"; //$NON-NLS-1$
+
+	private final HashMap<String, String> fNames= new HashMap<>();
+
+	/**
+	 * Elements with non-negative numeric ids, indexed by id. The test runners number the tests
+	 * consecutively, so this array is dense.
+	 */
+	private TestElement[] fElementsById= new TestElement[16];
+
+	/**
+	 * Elements with ids that are not non-negative integers, e.g. the root (<code>"-1"</code>) or
+	 * the unrooted tests suite (<code>"-2"</code>).
+	 */
+	private final HashMap<String, TestElement> fOtherElements= new HashMap<>();
+
+	private File fSpillFile;
+	private RandomAccessFile fSpill;
+	private boolean fSpillFailed;
+	private boolean fDisposed;
+
+	/**
+	 * Texts that could not be spilled to disk.
+	 */
+	private List<String> fInMemoryTexts;
+
+	/**
+	 * Returns the pooled instance of the given name.
+	 *
+	 * @param name the name, can be <code>null</code>
+	 * @return the pooled name, or <code>null</code> if <code>name</code> was <code>null</code>
+	 */
+	public synchronized String intern(String name) {
+		if (name == null)
+			return null;
+		String pooled= fNames.putIfAbsent(name, name);
+		return pooled != null ? pooled : name;
+	}
+
+	/**
+	 * Interns all names in the given array in place.
+	 *
+	 * @param names the names, can be <code>null</code>
+	 * @return the given array
+	 */
+	public String[] intern(String[] names) {
+		if (names != null) {
+			for (int i= 0; i < names.length; i++) {
+				names[i]= intern(names[i]);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Converts a test id to its compact form.
+	 *
+	 * @param id the test id
+	 * @return the id as a non-negative <code>int</code>, or <code>-1</code> if the id is not the
+	 *         canonical decimal representation of a non-negative <code>int</code>
+	 */
+	public static int toIntId(String id) {
+		int length= id.length();
+		if (length == 0 || length > 9 || (length > 1 && id.charAt(0) == '0'))
+			return -1;
+		int result= 0;
+		for (int i= 0; i < length; i++) {
+			char c= id.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			result= result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	public synchronized void putElement(TestElement element) {
+		int intId= element.getIntId();
+		if (intId < 0) {
+			fOtherElements.put(element.getId(), element);
+			return;
+		}
+		if (intId >= fElementsById.length) {
+			fElementsById= Arrays.copyOf(fElementsById, Math.max(intId + 1, fElementsById.length * 2));
+		}
+		fElementsById[intId]= element;
+	}
+
+	public synchronized TestElement getElement(String id) {
+		int intId= toIntId(id);
+		if (intId < 0)
+			return fOtherElements.get(id);
+		return intId < fElementsById.length ? fElementsById[intId] : null;
+	}
+
+	/**
+	 * Appends the given text to the spill file.
+	 *
+	 * @param text the text, can be <code>null</code>
+	 * @return the handle to pass to {@link #read(long)}
+	 */
+	public synchronized long spill(String text) {
+		if (text == null)
+			return NO_TEXT;
+		RandomAccessFile spill= getSpill();
+		if (spill != null) {
+			try {
+				long offset= spill.length();
+				byte[] bytes= text.getBytes(StandardCharsets.UTF_8);
+				spill.seek(offset);
+				spill.writeInt(bytes.length);
+				spill.write(bytes);
+				return offset;
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+				fSpillFailed= true;
+			}
+		}
+		if (fInMemoryTexts == null)
+			fInMemoryTexts= new ArrayList<>();
+		fInMemoryTexts.add(text);
+		return -1 - fInMemoryTexts.size();
+	}
+
+	/**
+	 * Reads back a text that has been passed to {@link #spill(String)}.
+	 *
+	 * @param handle the handle returned by {@link #spill(String)}
+	 * @return the text, or <code>null</code> if the handle is {@link #NO_TEXT} or the store has
+	 *         been disposed
+	 */
+	public synchronized String read(long handle) {
+		if (handle == NO_TEXT || fDisposed)
+			return null;
+		if (handle < 0)
+			return fInMemoryTexts.get((int) (-2 - handle));
+		try {
+			fSpill.seek(handle);
+			byte[] bytes= new byte[fSpill.readInt()];
+			fSpill.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	private RandomAccessFile getSpill() {
+		if (fSpill == null && !fSpillFailed && !fDisposed) {
+			try {
+				fSpillFile= File.createTempFile(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, JUnitCorePlugin.getHistoryDirectory());
+				fSpillFile.deleteOnExit();
+				fSpill= new RandomAccessFile(fSpillFile, "rw"); //$NON-NLS-1$
+			} catch (IOException | IllegalStateException e) {
+				// plug-in not running or state location not writable: keep texts in memory
+				fSpillFailed= true;
+			}
+		}
+		return fSpill;
+	}
+
+	/**
+	 * Releases the spill file. Texts of elements of this store cannot be read afterwards.
+	 */
+	public synchronized void dispose() {
+		fDisposed= true;
+		fNames.clear();
+		fOtherElements.clear();
+		fElementsById= new TestElement[0];
+		fInMemoryTexts= null;
+		if (fSpill != null) {
+			try {
+				fSpill.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			fSpill= null;
+		}
+		if (fSpillFile != null) {
+			fSpillFile.delete();
+			fSpillFile= null;
+		}
+	}
+}
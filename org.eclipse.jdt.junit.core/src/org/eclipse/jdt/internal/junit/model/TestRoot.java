@@ -19,9 +19,19 @@ public class TestRoot extends TestSuiteElement {
 
 	private final ITestRunSession fSession;
 
+	private final TestElementStore fElementStore;
+
 	public TestRoot(ITestRunSession session) {
 		super(null, "-1", session.getTestRunName(), 1, session.getTestRunName(), null, null); //$NON-NLS-1$
 		fSession= session;
+		fElementStore= new TestElementStore();
+	}
+
+	/**
+	 * @return the store for names, ids and failure traces of the elements of this tree
+	 */
+	public TestElementStore getElementStore() {
+		return fElementStore;
 	}
 
 	@Override
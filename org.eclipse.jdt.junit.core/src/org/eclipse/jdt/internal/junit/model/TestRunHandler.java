@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.IJavaModel;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.model.TestElement.Status;
 
 public class TestRunHandler extends DefaultHandler {
@@ -65,16 +66,25 @@ public class TestRunHandler extends DefaultHandler {
 	private IProgressMonitor fMonitor;
 	private int fLastReportedLine;
 
-	public TestRunHandler() {
+	/**
+	 * <code>true</code> iff a new session is read from an external report. The session is then
+	 * added to the {@link JUnitModel} as soon as it has been created, and its elements are shown
+	 * while the rest of the report is still being read.
+	 */
+	private final boolean fStreaming;
 
+	public TestRunHandler() {
+		fStreaming= true;
 	}
 
 	public TestRunHandler(IProgressMonitor monitor) {
 		fMonitor= monitor;
+		fStreaming= true;
 	}
 
 	public TestRunHandler(TestRunSession testRunSession) {
 		fTestRunSession= testRunSession;
+		fStreaming= false;
 	}
 
 	@Override
@@ -121,6 +131,7 @@ public class TestRunHandler extends DefaultHandler {
 					fTestRunSession.setExcludeTags(excludeTags);
 				}
 				//TODO: read counts?
+				sessionCreated();
 
 			} else {
 				fTestRunSession.reset();
@@ -137,6 +148,7 @@ public class TestRunHandler extends DefaultHandler {
 					// support standalone suites and Ant's 'junitreport' task:
 					fTestRunSession= new TestRunSession(name, null);
 					fTestSuite= fTestRunSession.getTestRoot();
+					sessionCreated();
 				}	String pack= attributes.getValue(IXMLTags.ATTR_PACKAGE);
 				String suiteName= pack == null ? name : pack + "." + name; //$NON-NLS-1$
 				String displayName= attributes.getValue(IXMLTags.ATTR_DISPLAY_NAME);
@@ -219,6 +231,13 @@ public class TestRunHandler extends DefaultHandler {
 		}
 	}
 
+	private void sessionCreated() {
+		if (fStreaming) {
+			fTestRunSession.importStarted();
+			JUnitCorePlugin.getModel().addTestRunSession(fTestRunSession);
+		}
+	}
+
 	private void readTime(TestElement testElement, Attributes attributes) {
 		String timeString= attributes.getValue(IXMLTags.ATTR_TIME);
 		if (timeString != null) {
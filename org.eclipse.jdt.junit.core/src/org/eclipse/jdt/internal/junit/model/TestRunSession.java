@@ -21,7 +21,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -83,11 +82,6 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private Result fTestResult;
 
-	/**
-	 * Map from testId to testElement.
-	 */
-	private HashMap<String, TestElement> fIdToTest;
-
 	/**
 	 * The TestSuites for which additional children are expected.
 	 */
@@ -148,6 +142,12 @@ public class TestRunSession implements ITestRunSession {
 
 	volatile boolean fIsStopped;
 
+	/**
+	 * <code>true</code> while this session is being read from an external report. Added, ended and
+	 * failed elements are then forwarded to the session listeners as they are read.
+	 */
+	private volatile boolean fIsImporting;
+
 
 	/**
 	 * Creates a test run session.
@@ -167,7 +167,6 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
 
 		fTestRunnerClient= null;
 
@@ -191,7 +190,6 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
 
 		fTestRunnerClient= new RemoteTestRunnerClient();
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -236,9 +234,10 @@ public class TestRunSession implements ITestRunSession {
 		fIgnoredCount= 0;
 		fTotalCount= 0;
 
+		if (fTestRoot != null)
+			fTestRoot.getElementStore().dispose();
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
 	}
 
 	@Override
@@ -372,9 +371,9 @@ public class TestRunSession implements ITestRunSession {
 
 			JUnitModel.exportTestRunSession(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
+			fTestRoot.getElementStore().dispose();
 			fTestRoot= null;
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
@@ -389,10 +388,12 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 
-	public void removeSwapFile() {
+	public synchronized void removeSwapFile() {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		if (fTestRoot != null)
+			fTestRoot.getElementStore().dispose();
 	}
 
 	private File getSwapFile() throws IllegalStateException {
@@ -440,10 +441,68 @@ public class TestRunSession implements ITestRunSession {
 			}
 
 		} else {
+			return isKeptWarm();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> iff the runtime VM of this test session is kept warm, so that the
+	 *         tests can be run again in it without a new launch
+	 * @see JUnitLaunchConfigurationConstants#ATTR_KEEP_WARM
+	 */
+	public boolean isKeptWarm() {
+		if (fTestRunnerClient == null || fLaunch == null || !fTestRunnerClient.isRunning())
+			return false;
+		ILaunchConfiguration config= fLaunch.getLaunchConfiguration();
+		try {
+			return config != null && config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEP_WARM, false);
+		} catch (CoreException e) {
 			return false;
 		}
 	}
 
+	/**
+	 * Runs the tests of this session again in its warm runtime VM. The runner reloads the test
+	 * classes, so changes since the last run are picked up. The test tree of this session is
+	 * replaced by the results of the new run.
+	 *
+	 * @param failuresFirst <code>true</code> iff the currently failed tests should be run first
+	 * @return <code>false</code> iff the rerun could not be started
+	 */
+	public boolean rerunTestRun(boolean failuresFirst) {
+		List<String> arguments= new ArrayList<>();
+		if (failuresFirst) {
+			arguments.add("-failures"); //$NON-NLS-1$
+			for (TestElement failure : getAllFailedTestElements()) {
+				arguments.add(failure.getTestName());
+			}
+		}
+		return requestTestRun(arguments);
+	}
+
+	/**
+	 * Runs the given test classes in the warm runtime VM of this session.
+	 *
+	 * @param classNames the fully qualified names of the test classes
+	 * @return <code>false</code> iff the run could not be started
+	 * @see #rerunTestRun(boolean)
+	 */
+	public boolean rerunTestClasses(String[] classNames) {
+		List<String> arguments= new ArrayList<>();
+		arguments.add("-classnames"); //$NON-NLS-1$
+		arguments.addAll(Arrays.asList(classNames));
+		return requestTestRun(arguments);
+	}
+
+	private synchronized boolean requestTestRun(List<String> arguments) {
+		if (isRunning() || !isKeptWarm())
+			return false;
+		reset();
+		fIsStopped= false;
+		fTestRunnerClient.requestTestRun(arguments.toArray(new String[arguments.size()]));
+		return true;
+	}
+
 	/**
 	 * @return <code>true</code> iff this session has been started, but not ended nor stopped nor terminated
 	 */
@@ -473,8 +532,40 @@ public class TestRunSession implements ITestRunSession {
 		return false;
 	}
 
+	/**
+	 * Marks this session as running while its elements are imported, so that listeners can show
+	 * the elements as they are read.
+	 */
+	void importStarted() {
+		fIsImporting= true;
+		fIsRunning= true;
+		for (ITestSessionListener listener : fSessionListeners) {
+			listener.sessionStarted();
+		}
+	}
+
+	/**
+	 * Ends an import that has been started with {@link #importStarted()}.
+	 *
+	 * @param completed <code>false</code> iff the import has been aborted
+	 * @param elapsedTime the time spent on the import
+	 */
+	void importEnded(boolean completed, long elapsedTime) {
+		fIsImporting= false;
+		fIsRunning= false;
+		if (!completed)
+			fIsStopped= true;
+		for (ITestSessionListener listener : fSessionListeners) {
+			if (completed)
+				listener.sessionEnded(elapsedTime);
+			else
+				listener.sessionStopped(elapsedTime);
+		}
+	}
+
 	public TestElement getTestElement(String id) {
-		return fIdToTest.get(id);
+		TestRoot testRoot= fTestRoot;
+		return testRoot != null ? testRoot.getElementStore().getElement(id) : null;
 	}
 
 	private TestElement addTreeEntry(String treeEntry) {
@@ -568,6 +659,10 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		TestElementStore store= parent.getRoot().getElementStore();
+		testName= store.intern(testName);
+		displayName= store.intern(displayName);
+		parameterTypes= store.intern(parameterTypes);
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
@@ -579,7 +674,12 @@ public class TestRunSession implements ITestRunSession {
 		} else {
 			testElement= new TestCaseElement(parent, id, testName, displayName, isDynamicTest, parameterTypes, uniqueId);
 		}
-		fIdToTest.put(id, testElement);
+		store.putElement(testElement);
+		if (fIsImporting) {
+			for (ITestSessionListener listener : fSessionListeners) {
+				listener.testAdded(testElement);
+			}
+		}
 		return testElement;
 	}
 
@@ -821,6 +921,11 @@ public class TestRunSession implements ITestRunSession {
 				fFailureCount++;
 			}
 		}
+		if (fIsImporting) {
+			for (ITestSessionListener listener : fSessionListeners) {
+				listener.testFailed(testElement, status, trace, expected, actual);
+			}
+		}
 	}
 
 	public void registerTestEnded(TestElement testElement, boolean completed) {
@@ -835,6 +940,11 @@ public class TestRunSession implements ITestRunSession {
 			}
 			if (! testElement.getStatus().isErrorOrFailure())
 				setStatus(testElement, Status.OK);
+			if (fIsImporting) {
+				for (ITestSessionListener listener : fSessionListeners) {
+					listener.testEnded((TestCaseElement) testElement);
+				}
+			}
 		}
 
 		if (testElement.isAssumptionFailure()) {
@@ -94,6 +94,7 @@ import org.eclipse.jdt.launching.VMRunnerConfiguration;
 public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigurationDelegate {
 
 	private boolean fKeepAlive= false;
+	private boolean fKeepWarm= false;
 	private int fPort;
 	private IJavaElement[] fTestElements;
 
@@ -153,6 +154,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 
 			fKeepAlive= ILaunchManager.DEBUG_MODE.equals(mode) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
+			fKeepWarm= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEP_WARM, false);
 			fPort= evaluatePort();
 			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
@@ -439,7 +441,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
-		if (fKeepAlive)
+		if (fKeepWarm)
+			programArguments.add(0, "-keepwarm"); //$NON-NLS-1$
+		else if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
 		ITestKind testRunnerKind= getTestRunnerKind(configuration);
@@ -133,6 +133,18 @@ public class MessageIds {
 	 * TEST_RERUN + testId + " " + testClass + " "+testName
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
+	/**
+	 * Request to run tests again in a warm test runner (started with <code>-keepwarm</code>).
+	 * TEST_RUN_REQUEST + argumentCount, followed by argumentCount lines with one argument each.<br>
+	 * Without arguments, the tests of the initial run are run again. Supported arguments:<br>
+	 * <code>-classnames</code> followed by the names of the test classes to run<br>
+	 * <code>-test</code> followed by testClass + ":" + testName<br>
+	 * <code>-failures</code> followed by the names of the tests to run first
+	 * (see {@link #TEST_IDENTIFIER_MESSAGE_FORMAT})<br>
+	 * The runner answers with the messages of a complete test run, starting with
+	 * {@link #TEST_RUN_START}.
+	 */
+	public static final String TEST_RUN_REQUEST=	">RUNREQ "; //$NON-NLS-1$
 
 	/**
 	 * MessageFormat to encode test method identifiers:
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.StringTokenizer;
+import java.util.Vector;
+
+/**
+ * A child-first class loader over the test class path. A warm test runner (<code>-keepwarm</code>)
+ * creates a new instance for every rerun, so that test classes that have been changed since the
+ * previous run are loaded again without restarting the VM.
+ * <p>
+ * Classes of the JDK, of the test frameworks and of the test runner itself are always loaded by
+ * the parent, so that the test loaders and the reloaded tests agree on the framework types.
+ * </p>
+ */
+public class ReloadingTestClassLoader extends URLClassLoader {
+
+	private static final String[] SHARED_PACKAGE_PREFIXES= {
+			"java.", //$NON-NLS-1$
+			"javax.", //$NON-NLS-1$
+			"jdk.", //$NON-NLS-1$
+			"sun.", //$NON-NLS-1$
+			"com.sun.", //$NON-NLS-1$
+			"junit.", //$NON-NLS-1$
+			"org.junit.", //$NON-NLS-1$
+			"org.hamcrest.", //$NON-NLS-1$
+			"org.opentest4j.", //$NON-NLS-1$
+			"org.apiguardian.", //$NON-NLS-1$
+			"org.eclipse.jdt.internal.junit.", //$NON-NLS-1$
+			"org.eclipse.jdt.internal.junit4.", //$NON-NLS-1$
+			"org.eclipse.jdt.internal.junit5.", //$NON-NLS-1$
+	};
+
+	static {
+		registerAsParallelCapable();
+	}
+
+	/**
+	 * @param parent the class loader that loaded the first test run
+	 */
+	public ReloadingTestClassLoader(ClassLoader parent) {
+		super(getClassPath(parent), parent);
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if (isShared(name))
+			return super.loadClass(name, resolve);
+
+		synchronized (getClassLoadingLock(name)) {
+			Class<?> clazz= findLoadedClass(name);
+			if (clazz == null) {
+				try {
+					clazz= findClass(name);
+				} catch (ClassNotFoundException e) {
+					return super.loadClass(name, resolve);
+				}
+			}
+			if (resolve)
+				resolveClass(clazz);
+			return clazz;
+		}
+	}
+
+	private static boolean isShared(String className) {
+		for (String prefix : SHARED_PACKAGE_PREFIXES) {
+			if (className.startsWith(prefix))
+				return true;
+		}
+		return false;
+	}
+
+	private static URL[] getClassPath(ClassLoader parent) {
+		if (parent instanceof URLClassLoader)
+			return ((URLClassLoader) parent).getURLs();
+
+		Vector<URL> urls= new Vector<>();
+		StringTokenizer tokenizer= new StringTokenizer(System.getProperty("java.class.path", ""), File.pathSeparator); //$NON-NLS-1$ //$NON-NLS-2$
+		while (tokenizer.hasMoreTokens()) {
+			try {
+				urls.add(new File(tokenizer.nextToken()).toURI().toURL());
+			} catch (MalformedURLException e) {
+				// skip invalid entry
+			}
+		}
+		return urls.toArray(new URL[urls.size()]);
+	}
+}
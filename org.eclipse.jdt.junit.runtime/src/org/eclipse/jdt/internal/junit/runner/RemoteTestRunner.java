@@ -111,6 +111,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * This allows to rerun tests.
 	 */
 	private boolean fKeepAlive= false;
+	/**
+	 * Keep the test run server alive and reload the test classes with a fresh
+	 * {@link ReloadingTestClassLoader} for every rerun and run request.
+	 * Implies {@link #fKeepAlive}.
+	 */
+	private boolean fKeepWarm= false;
+	/**
+	 * The class loader for the current rerun of a warm test runner, or <code>null</code>.
+	 */
+	private ReloadingTestClassLoader fReloadingClassLoader;
 	/**
 	 * Has the server been stopped
 	 */
@@ -119,6 +129,11 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Queue of rerun requests.
 	 */
 	private Vector<RerunRequest> fRerunRequests= new Vector<>(10);
+	/**
+	 * Queue of run requests, each given by its arguments.
+	 * @see MessageIds#TEST_RUN_REQUEST
+	 */
+	private Vector<String[]> fRunRequests= new Vector<>(10);
 	/**
 	 * Thread reading from the socket
 	 */
@@ -174,6 +189,18 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 								RemoteTestRunner.this.notifyAll();
 							}
 						}
+
+						else if (message.startsWith(MessageIds.TEST_RUN_REQUEST)) {
+							int count= Integer.parseInt(message.substring(MessageIds.MSG_HEADER_LENGTH).trim());
+							String[] arguments= new String[count];
+							for (int i= 0; i < count; i++) {
+								arguments[i]= fReader.readLine();
+							}
+							synchronized(RemoteTestRunner.this) {
+								fRunRequests.add(arguments);
+								RemoteTestRunner.this.notifyAll();
+							}
+						}
 					}
 				}
 			} catch (Exception e) {
@@ -201,6 +228,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -keepwarm: keep the process alive and reload test classes for reruns
      * </pre>
      */
 	public static void main(String[] args) {
@@ -300,6 +328,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equals(args[i].toLowerCase())) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-keepwarm".equals(args[i].toLowerCase())) { //$NON-NLS-1$
+				fKeepAlive= true;
+				fKeepWarm= true;
+			}
 			else if("-debugging".equals(args[i].toLowerCase()) || "-debug".equals(args[i].toLowerCase())){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -462,21 +494,99 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	}
 
 	/**
-	 * Waits for rerun requests until an explicit stop request
+	 * Waits for rerun and run requests until an explicit stop request
 	 */
 	private synchronized void waitForReruns() {
 		while (!fStopped) {
 			try {
-				wait();
+				if (fRerunRequests.isEmpty() && fRunRequests.isEmpty())
+					wait();
 				if (!fStopped && fRerunRequests.size() > 0) {
 					RerunRequest r= fRerunRequests.remove(0);
 					rerunTest(r);
+				} else if (!fStopped && fRunRequests.size() > 0) {
+					String[] arguments= fRunRequests.remove(0);
+					runRequested(arguments);
 				}
 			} catch (InterruptedException e) {
 			}
 		}
 	}
 
+	/**
+	 * Runs the tests of a {@link MessageIds#TEST_RUN_REQUEST}. Arguments that are not given
+	 * default to the test selection of the initial run.
+	 *
+	 * @param arguments the request arguments
+	 */
+	private void runRequested(String[] arguments) {
+		String[] testClassNames= fTestClassNames;
+		String testName= fTestName;
+		String[] packageNames= fPackageNames;
+		String[] failureNames= fFailureNames;
+		String uniqueId= fUniqueId;
+		try {
+			fFailureNames= null;
+			for (int i= 0; i < arguments.length; i++) {
+				if ("-classnames".equals(arguments[i])) { //$NON-NLS-1$
+					Vector<String> list= new Vector<>();
+					while (i + 1 < arguments.length && !arguments[i + 1].startsWith("-")) //$NON-NLS-1$
+						list.add(arguments[++i]);
+					fTestClassNames= list.toArray(new String[list.size()]);
+					fTestName= null;
+					fPackageNames= null;
+					fUniqueId= null;
+				} else if ("-test".equals(arguments[i]) && i + 1 < arguments.length) { //$NON-NLS-1$
+					String test= arguments[++i];
+					int p= test.indexOf(':');
+					if (p == -1)
+						continue; // malformed, keep the previous selection
+					fTestClassNames= new String[] { test.substring(0, p) };
+					fTestName= test.substring(p + 1);
+					fPackageNames= null;
+					fUniqueId= null;
+				} else if ("-failures".equals(arguments[i])) { //$NON-NLS-1$
+					Vector<String> list= new Vector<>();
+					while (i + 1 < arguments.length && !arguments[i + 1].startsWith("-")) //$NON-NLS-1$
+						list.add(arguments[++i]);
+					fFailureNames= list.toArray(new String[list.size()]);
+				}
+			}
+			if (fDebugMode)
+				System.out.println("run request: " + String.join(" ", arguments)); //$NON-NLS-1$ //$NON-NLS-2$
+
+			renewClassLoader();
+			fExecution= new TestExecution(firstRunExecutionListener(), getClassifier());
+			runTests(fTestClassNames, fTestName, fExecution);
+		} finally {
+			fTestClassNames= testClassNames;
+			fTestName= testName;
+			fPackageNames= packageNames;
+			fFailureNames= failureNames;
+			fUniqueId= uniqueId;
+		}
+	}
+
+	/**
+	 * Replaces the class loader of the previous rerun by a fresh one, so that changed test
+	 * classes are loaded again. Does nothing unless the runner is kept warm.
+	 */
+	private void renewClassLoader() {
+		if (!fKeepWarm)
+			return;
+		if (fReloadingClassLoader != null) {
+			try {
+				fReloadingClassLoader.close();
+			} catch (IOException e) {
+				if (fDebugMode)
+					e.printStackTrace();
+			}
+		}
+		fReloadingClassLoader= new ReloadingTestClassLoader(getTestClassLoader());
+		// e.g. the JUnit Platform discovers packages through the context class loader
+		Thread.currentThread().setContextClassLoader(fReloadingClassLoader);
+	}
+
 	public void runFailed(String message, Exception exception) {
 		//TODO: remove System.err.println?
 		System.err.println(message);
@@ -556,6 +666,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param r rerun request
 	 */
 	public void rerunTest(RerunRequest r) {
+		renewClassLoader();
 		final Class<?>[] classes= loadClasses(new String[] { r.fRerunClassName });
 		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
 		RerunExecutionListener service= rerunExecutionListener();
@@ -763,7 +874,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	public Class<?> loadClass(String className, RemoteTestRunner listener) {
 		Class<?> clazz= null;
 		try {
-			clazz= getTestClassLoader().loadClass(className);
+			ClassLoader classLoader= fReloadingClassLoader != null ? fReloadingClassLoader : getTestClassLoader();
+			clazz= classLoader.loadClass(className);
 		} catch (ClassNotFoundException e) {
 			listener.runFailed(JUnitMessages.getFormattedString("RemoteTestRunner.error.classnotfound", className), e); //$NON-NLS-1$
 		}
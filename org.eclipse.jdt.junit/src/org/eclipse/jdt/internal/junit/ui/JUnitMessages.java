@@ -142,6 +142,8 @@ public final class JUnitMessages extends NLS {
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
 
+	public static String JUnitLaunchConfigurationTab_label_keepwarm;
+
 	public static String JUnitLaunchConfigurationTab_label_method;
 
 	public static String JUnitLaunchConfigurationTab_label_oneTest;
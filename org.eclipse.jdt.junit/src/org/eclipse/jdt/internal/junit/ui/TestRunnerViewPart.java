@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -513,7 +513,7 @@ public class TestRunnerViewPart extends ViewPart {
 			if (lastPath != null) {
 				importDialog.setFilterPath(lastPath);
 			}
-			importDialog.setFilterExtensions(new String[] {"*.xml", "*.*"}); //$NON-NLS-1$ //$NON-NLS-2$
+			importDialog.setFilterExtensions(new String[] {"*.xml;*.xml.gz", "*.*"}); //$NON-NLS-1$ //$NON-NLS-2$
 			String path= importDialog.open();
 			if (path == null)
 				return;
@@ -521,11 +521,21 @@ public class TestRunnerViewPart extends ViewPart {
 			//TODO: MULTI: getFileNames()
 			File file= new File(path);
 
+			// import in the background, so that the view can show the session while it is read
 			try {
-				JUnitModel.importTestRunSession(file);
-			} catch (CoreException e) {
-				JUnitPlugin.log(e);
-				ErrorDialog.openError(fShell, JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, e.getStatus().getMessage(), e.getStatus());
+				PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+					try {
+						JUnitModel.importTestRunSession(file);
+					} catch (CoreException e) {
+						throw new InvocationTargetException(e);
+					}
+				});
+			} catch (InterruptedException e) {
+				// cancelled
+			} catch (InvocationTargetException e) {
+				CoreException ce= (CoreException) e.getCause();
+				JUnitPlugin.log(ce);
+				ErrorDialog.openError(fShell, JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, ce.getStatus().getMessage(), ce.getStatus());
 			}
 		}
 	}
@@ -1401,6 +1411,10 @@ public class TestRunnerViewPart extends ViewPart {
 	 * Stops the currently running test and shuts down the RemoteTestRunner
 	 */
 	public void rerunTestRun() {
+		if (fTestRunSession != null && fTestRunSession.rerunTestRun(false)) {
+			// rerun in the warm test VM
+			return;
+		}
 		if (lastLaunchIsKeptAlive()) {
 			// prompt for terminating the existing run
 			if (MessageDialog.openQuestion(getSite().getShell(), JUnitMessages.TestRunnerViewPart_terminate_title, JUnitMessages.TestRunnerViewPart_terminate_message)) {
@@ -1437,6 +1451,10 @@ public class TestRunnerViewPart extends ViewPart {
 	}
 
 	public void rerunTestFailedFirst() {
+		if (fTestRunSession != null && fTestRunSession.rerunTestRun(true)) {
+			// rerun in the warm test VM
+			return;
+		}
 		if (lastLaunchIsKeptAlive()) {
 			// prompt for terminating the existing run
 			if (MessageDialog.openQuestion(getSite().getShell(), JUnitMessages.TestRunnerViewPart_terminate_title, JUnitMessages.TestRunnerViewPart_terminate_message)) {
@@ -2227,6 +2245,12 @@ action enablement
 	}
 
 	public void rerunTest(String testId, String className, String testName, String testDisplayName, String uniqueId, String launchMode) {
+		if (testName == null && fTestRunSession != null && fTestRunSession.getLaunch() != null
+				&& fTestRunSession.getLaunch().getLaunchMode().equals(launchMode)
+				&& fTestRunSession.rerunTestClasses(new String[] { className })) {
+			// rerun the whole class in the warm test VM
+			return;
+		}
 		if (lastLaunchIsKeptAlive()) {
 			fTestRunSession.rerunTest(testId, className, testName);
 			TestCaseElement testCaseElement= (TestCaseElement) fTestRunSession.getTestElement(testId);
@@ -139,6 +139,7 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 	private Text fProjText;
 	private Button fProjButton;
 	private Button fKeepRunning;
+	private Button fKeepWarm;
 
 	// Test class UI widgets
 	private Text fTestText;
@@ -438,6 +439,23 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		gd.horizontalAlignment= GridData.FILL;
 		gd.horizontalSpan= 2;
 		fKeepRunning.setLayoutData(gd);
+
+		fKeepWarm= new Button(comp, SWT.CHECK);
+		fKeepWarm.addSelectionListener(new SelectionListener() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+
+			@Override
+			public void widgetDefaultSelected(SelectionEvent e) {
+			}
+		});
+		fKeepWarm.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_keepwarm);
+		gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 2;
+		fKeepWarm.setLayoutData(gd);
 	}
 
 	private static Image createImage(String path) {
@@ -486,11 +504,14 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 
 	private void updateKeepRunning(ILaunchConfiguration config) {
 		boolean running= false;
+		boolean warm= false;
 		try {
 			running= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
+			warm= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEP_WARM, false);
 		} catch (CoreException ce) {
 		}
 		fKeepRunning.setSelection(running);
+		fKeepWarm.setSelection(warm);
 	}
 
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
@@ -555,6 +576,7 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEP_WARM, fKeepWarm.getSelection());
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
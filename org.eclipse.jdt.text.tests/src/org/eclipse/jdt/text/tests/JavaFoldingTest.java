@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Tests that the folding structure that is updated while typing is the same as the one computed
+ * from scratch.
+ *
+ * @since 3.28
+ */
+public class JavaFoldingTest {
+
+	private static final String CONTENTS= "/*\n" +
+			" * Header\n" +
+			" */\n" +
+			"package p;\n" +
+			"\n" +
+			"import java.util.List;\n" +
+			"import java.util.Map;\n" +
+			"\n" +
+			"/**\n" +
+			" * Type\n" +
+			" */\n" +
+			"public class A {\n" +
+			"	/**\n" +
+			"	 * Foo\n" +
+			"	 */\n" +
+			"	void foo() {\n" +
+			"		System.out.println();\n" +
+			"	}\n" +
+			"\n" +
+			"	class Inner {\n" +
+			"		void bar() {\n" +
+			"			System.out.println();\n" +
+			"		}\n" +
+			"	}\n" +
+			"\n" +
+			"	void baz(List<String> list, Map<String, String> map) {\n" +
+			"		System.out.println();\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fProject;
+	private JavaEditor fEditor;
+	private ProjectionViewer fViewer;
+	private IDocument fDocument;
+	private boolean fWasFoldingEnabled;
+
+	@Before
+	public void setUp() throws Exception {
+		fWasFoldingEnabled= EditorTestHelper.enableFolding(true);
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", true, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", CONTENTS, true, null);
+		fEditor= (JavaEditor) EditorUtility.openInEditor(cu);
+		fViewer= (ProjectionViewer) fEditor.getViewer();
+		fDocument= fEditor.getDocumentProvider().getDocument(fEditor.getEditorInput());
+		joinReconciler();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fProject);
+		EditorTestHelper.enableFolding(fWasFoldingEnabled);
+	}
+
+	private void joinReconciler() {
+		assertTrue(EditorTestHelper.joinReconciler(fViewer, 0, 10000, 100));
+		EditorTestHelper.runEventQueue(fEditor);
+	}
+
+	private Set<String> getFoldingRegions() {
+		Set<String> regions= new TreeSet<>();
+		ProjectionAnnotationModel model= fViewer.getProjectionAnnotationModel();
+		for (Iterator<?> iterator= model.getAnnotationIterator(); iterator.hasNext();) {
+			Object annotation= iterator.next();
+			if (annotation instanceof ProjectionAnnotation) {
+				Position position= model.getPosition((ProjectionAnnotation) annotation);
+				if (position != null && !position.isDeleted()) {
+					regions.add(position.getOffset() + ":" + position.getLength());
+				}
+			}
+		}
+		return regions;
+	}
+
+	/*
+	 * Compares the folding regions after incremental updates with the regions computed when
+	 * projection is enabled again.
+	 */
+	private void assertSameAsRecomputed() {
+		Set<String> updated= getFoldingRegions();
+		fViewer.doOperation(ProjectionViewer.TOGGLE);
+		fViewer.doOperation(ProjectionViewer.TOGGLE);
+		assertEquals(getFoldingRegions(), updated);
+	}
+
+	private void replace(String text, String replacement) throws Exception {
+		int offset= fDocument.get().indexOf(text);
+		assertTrue(text, offset >= 0);
+		fDocument.replace(offset, text.length(), replacement);
+		joinReconciler();
+	}
+
+	@Test
+	public void testInitialStructure() throws Exception {
+		assertTrue(getFoldingRegions().size() >= 6); // header, imports, Javadoc, foo, Inner, bar, baz
+		assertSameAsRecomputed();
+	}
+
+	@Test
+	public void testEditInsideMethod() throws Exception {
+		replace("		System.out.println();\n	}\n\n	class", "		System.out.println();\n		System.out.println();\n		System.out.println();\n	}\n\n	class");
+		assertSameAsRecomputed();
+	}
+
+	@Test
+	public void testInsertMember() throws Exception {
+		replace("	class Inner {", "	void added() {\n		System.out.println();\n	}\n\n	class Inner {");
+		assertSameAsRecomputed();
+
+		replace("	void baz(", "	/**\n	 * Javadoc\n	 */\n	void baz(");
+		assertSameAsRecomputed();
+	}
+
+	@Test
+	public void testDeleteMember() throws Exception {
+		replace("	/**\n	 * Foo\n	 */\n	void foo() {\n		System.out.println();\n	}\n\n", "");
+		assertSameAsRecomputed();
+
+		replace("	void baz(List<String> list, Map<String, String> map) {\n		System.out.println();\n	}\n", "");
+		assertSameAsRecomputed();
+	}
+
+	@Test
+	public void testNestedRegions() throws Exception {
+		replace("		void bar() {", "		class Nested {\n			void nested() {\n				System.out.println();\n			}\n		}\n\n		void bar() {");
+		assertSameAsRecomputed();
+
+		replace("			System.out.println();\n		}\n	}", "			System.out.println();\n			System.out.println();\n		}\n	}");
+		assertSameAsRecomputed();
+
+		replace("	class Inner {", "	static class Inner {");
+		assertSameAsRecomputed();
+	}
+
+	@Test
+	public void testEditHeader() throws Exception {
+		replace(" * Header\n", " * Header\n * more\n");
+		assertSameAsRecomputed();
+
+		replace("import java.util.Map;\n", "");
+		assertSameAsRecomputed();
+	}
+}
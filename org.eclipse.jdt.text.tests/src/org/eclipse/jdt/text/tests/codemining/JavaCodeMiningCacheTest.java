@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaCodeMiningCache;
+
+public class JavaCodeMiningCacheTest {
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private JavaCodeMiningCache fCache;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.createPackageFragment("p", true, null);
+		fCache= JavaCodeMiningCache.getDefault();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private IType createTypeA() throws Exception {
+		String contents= "package p;\n" +
+				"public class A {\n" +
+				"	public void foo() {}\n" +
+				"	public void bar() {}\n" +
+				"	public int count;\n" +
+				"}\n";
+		return fPackage.createCompilationUnit("A.java", contents, true, null).getType("A");
+	}
+
+	private long getReferenceCount(IType type, String methodName) throws Exception {
+		return fCache.getReferenceCount(type.getMethod(methodName, new String[0]), new NullProgressMonitor());
+	}
+
+	@Test
+	public void testMembersCountedWithOneSearch() throws Exception {
+		IType a= createTypeA();
+		String contents= "package p;\n" +
+				"public class B {\n" +
+				"	void m(A a) {\n" +
+				"		a.foo();\n" +
+				"		a.foo();\n" +
+				"		a.bar();\n" +
+				"		a.count++;\n" +
+				"	}\n" +
+				"}\n";
+		fPackage.createCompilationUnit("B.java", contents, true, null);
+
+		int searchCount= fCache.getSearchCount();
+		assertEquals(2, getReferenceCount(a, "foo"));
+		assertEquals(1, getReferenceCount(a, "bar"));
+		assertEquals(1, fCache.getReferenceCount(a.getField("count"), new NullProgressMonitor()));
+		assertEquals(searchCount + 1, fCache.getSearchCount());
+	}
+
+	@Test
+	public void testInvalidatedByReferringUnit() throws Exception {
+		IType a= createTypeA();
+		String contents= "package p;\n" +
+				"public class B {\n" +
+				"	void m(A a) {\n" +
+				"		a.foo();\n" +
+				"	}\n" +
+				"}\n";
+		fPackage.createCompilationUnit("B.java", contents, true, null);
+		assertEquals(1, getReferenceCount(a, "foo"));
+		assertEquals(0, getReferenceCount(a, "bar"));
+
+		contents= "package p;\n" +
+				"public class B {\n" +
+				"	void m(A a) {\n" +
+				"		a.foo();\n" +
+				"		a.bar();\n" +
+				"	}\n" +
+				"}\n";
+		fPackage.createCompilationUnit("B.java", contents, true, null);
+		int searchCount= fCache.getSearchCount();
+		assertEquals(1, getReferenceCount(a, "bar"));
+		assertEquals(searchCount + 1, fCache.getSearchCount());
+
+		fPackage.getCompilationUnit("B.java").delete(true, null);
+		assertEquals(0, getReferenceCount(a, "foo"));
+		assertEquals(0, getReferenceCount(a, "bar"));
+	}
+
+	@Test
+	public void testFallbackForUnattributedReferences() throws Exception {
+		IType a= createTypeA();
+		// the name of the referenced method is not in the source at the match location
+		String contents= "package p;\n" +
+				"public class B {\n" +
+				"	void m(A a) {\n" +
+				"		a.f\\u006f\\u006f();\n" +
+				"		a.bar();\n" +
+				"	}\n" +
+				"}\n";
+		fPackage.createCompilationUnit("B.java", contents, true, null);
+
+		int searchCount= fCache.getSearchCount();
+		assertEquals(1, getReferenceCount(a, "foo"));
+		assertEquals(searchCount + 2, fCache.getSearchCount()); // failed batched search, then one search for foo
+
+		// the failed attribution is remembered for the unchanged type root
+		assertEquals(1, getReferenceCount(a, "bar"));
+		assertEquals(searchCount + 3, fCache.getSearchCount());
+	}
+
+	@Test
+	public void testShutdown() throws Exception {
+		IType a= createTypeA();
+		assertEquals(0, getReferenceCount(a, "foo"));
+
+		JavaCodeMiningCache.shutdown();
+		JavaCodeMiningCache stopped= fCache;
+		fCache= JavaCodeMiningCache.getDefault();
+		assertNotSame(stopped, fCache);
+
+		String contents= "package p;\n" +
+				"public class B {\n" +
+				"	void m(A a) {\n" +
+				"		a.foo();\n" +
+				"	}\n" +
+				"}\n";
+		fPackage.createCompilationUnit("B.java", contents, true, null);
+		assertEquals(1, getReferenceCount(a, "foo"));
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.contentassist.CompletionProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
+
+/**
+ * Completion proposal computers used by {@link ConcurrentComputationTest}. They only contribute
+ * when the document contains their trigger string.
+ */
+public class ConcurrentCompletionProposalComputers {
+
+	private static abstract class TriggeredComputer implements IJavaCompletionProposalComputer {
+		private final String fTrigger;
+
+		TriggeredComputer(String trigger) {
+			fTrigger= trigger;
+		}
+
+		@Override
+		public void sessionStarted() {
+		}
+
+		@Override
+		public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			if (context.getDocument().get().contains(fTrigger))
+				return Collections.singletonList(compute(monitor));
+			return Collections.emptyList();
+		}
+
+		abstract ICompletionProposal compute(IProgressMonitor monitor);
+
+		@Override
+		public List<IContextInformation> computeContextInformation(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public String getErrorMessage() {
+			return null;
+		}
+
+		@Override
+		public void sessionEnded() {
+		}
+	}
+
+	static ICompletionProposal createProposal(String displayString) {
+		return new CompletionProposal(displayString, 0, 0, 0, null, displayString, null, null);
+	}
+
+	public static final String MERGE_TRIGGER= "mergeTrigger";
+	public static final String UI_THREAD_PROPOSAL= "uiThreadProposal";
+	public static final String CONCURRENT_PROPOSAL= "concurrentProposal";
+
+	/**
+	 * Runs on the UI thread.
+	 */
+	public static class UIThreadComputer extends TriggeredComputer {
+		public UIThreadComputer() {
+			super(MERGE_TRIGGER);
+		}
+
+		@Override
+		ICompletionProposal compute(IProgressMonitor monitor) {
+			return createProposal(UI_THREAD_PROPOSAL);
+		}
+	}
+
+	/**
+	 * Runs concurrently with the other computers.
+	 */
+	public static class ConcurrentComputer extends TriggeredComputer {
+		public ConcurrentComputer() {
+			super(MERGE_TRIGGER);
+		}
+
+		@Override
+		ICompletionProposal compute(IProgressMonitor monitor) {
+			return createProposal(CONCURRENT_PROPOSAL);
+		}
+	}
+
+	public static final String SLOW_TRIGGER= "slowTrigger";
+	public static final String SLOW_PROPOSAL= "slowProposal";
+
+	/** Counted down when the monitor of the {@link SlowComputer} has been canceled. */
+	public static volatile CountDownLatch fgSlowComputerCanceled= new CountDownLatch(1);
+
+	/**
+	 * Runs concurrently with a budget of 200ms, but only returns when its monitor is canceled.
+	 */
+	public static class SlowComputer extends TriggeredComputer {
+		public SlowComputer() {
+			super(SLOW_TRIGGER);
+		}
+
+		@Override
+		ICompletionProposal compute(IProgressMonitor monitor) {
+			long deadline= System.currentTimeMillis() + 20000;
+			while (!monitor.isCanceled() && System.currentTimeMillis() < deadline) {
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			if (monitor.isCanceled())
+				fgSlowComputerCanceled.countDown();
+			return createProposal(SLOW_PROPOSAL);
+		}
+	}
+}
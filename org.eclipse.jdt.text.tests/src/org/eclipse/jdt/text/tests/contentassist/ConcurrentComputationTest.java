@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
+
+/**
+ * Tests the concurrent computation of completion proposals, using the computers of
+ * {@link ConcurrentCompletionProposalComputers}.
+ */
+public class ConcurrentComputationTest {
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private JavaCompletionProcessor fProcessor;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		fPackage= JavaProjectHelper.addSourceContainer(fProject, "src").createPackageFragment("test1", false, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private List<String> computeProposals(String contents, String before, boolean concurrent) throws Exception {
+		JavaPlugin.getDefault().getPreferenceStore().setValue(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION, concurrent);
+		ICompilationUnit cu= fPackage.createCompilationUnit("A.java", contents, true, null);
+		JavaEditor editor= (JavaEditor) JavaUI.openInEditor(cu);
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		fProcessor= new JavaCompletionProcessor(editor, assistant, IDocument.DEFAULT_CONTENT_TYPE);
+		ICompletionProposal[] proposals= fProcessor.computeCompletionProposals(editor.getViewer(), contents.indexOf(before));
+		List<String> displayStrings= new ArrayList<>();
+		for (ICompletionProposal proposal : proposals) {
+			displayStrings.add(proposal.getDisplayString());
+		}
+		return displayStrings;
+	}
+
+	@Test
+	public void testSameProposalsAsSequential() throws Exception {
+		String contents= "package test1;\n" +
+				"public class A {\n" +
+				"	void m() {\n" +
+				"		// " + ConcurrentCompletionProposalComputers.MERGE_TRIGGER + "\n" +
+				"		Str\n" +
+				"	}\n" +
+				"}\n";
+		List<String> sequential= computeProposals(contents, "\n	}\n}", false);
+		List<String> concurrent= computeProposals(contents, "\n	}\n}", true);
+
+		assertTrue(concurrent.contains(ConcurrentCompletionProposalComputers.UI_THREAD_PROPOSAL));
+		assertTrue(concurrent.contains(ConcurrentCompletionProposalComputers.CONCURRENT_PROPOSAL));
+		assertTrue(concurrent.stream().anyMatch(s -> s.startsWith("String - java.lang")));
+		assertEquals(sequential, concurrent);
+	}
+
+	@Test
+	public void testComputerCanceledWhenOverBudget() throws Exception {
+		CountDownLatch canceled= new CountDownLatch(1);
+		ConcurrentCompletionProposalComputers.fgSlowComputerCanceled= canceled;
+		String contents= "package test1;\n" +
+				"public class A {\n" +
+				"	void m() {\n" +
+				"		// " + ConcurrentCompletionProposalComputers.SLOW_TRIGGER + "\n" +
+				"		Str\n" +
+				"	}\n" +
+				"}\n";
+		long start= System.currentTimeMillis();
+		List<String> proposals= computeProposals(contents, "\n	}\n}", true);
+		long elapsed= System.currentTimeMillis() - start;
+
+		assertTrue("waited " + elapsed + "ms", elapsed < 10000);
+		assertFalse(proposals.contains(ConcurrentCompletionProposalComputers.SLOW_PROPOSAL));
+		assertTrue(proposals.stream().anyMatch(s -> s.startsWith("String - java.lang")));
+		String errorMessage= fProcessor.getErrorMessage();
+		assertTrue(errorMessage, errorMessage != null && errorMessage.contains("SlowCompletionProposalComputer"));
+		assertTrue("monitor not canceled", canceled.await(5, TimeUnit.SECONDS));
+	}
+}
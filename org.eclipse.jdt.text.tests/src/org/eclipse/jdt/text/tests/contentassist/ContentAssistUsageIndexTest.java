@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.text.java.ContentAssistUsageIndex;
+
+public class ContentAssistUsageIndexTest {
+	private static final String LIST= "java.util.List";
+	private static final String MAP= "java.util.Map";
+	private static final String SET= "java.util.Set";
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	@Rule
+	public TemporaryFolder folder= new TemporaryFolder();
+
+	private ContentAssistUsageIndex createIndex() {
+		return new ContentAssistUsageIndex(new File(folder.getRoot(), "usage.bin"));
+	}
+
+	@Test
+	public void testTypeRank() {
+		ContentAssistUsageIndex index= createIndex();
+		IJavaProject project= pts.getProject();
+		assertEquals(0.0f, index.getTypeRank(project, LIST), 0.0f);
+
+		index.rememberType(project, LIST);
+		index.rememberType(project, LIST);
+		index.rememberType(project, MAP);
+
+		assertEquals(1.0f, index.getTypeRank(project, LIST), 0.0f);
+		float mapRank= index.getTypeRank(project, MAP);
+		assertTrue(mapRank > 0.0f && mapRank < 1.0f);
+		assertEquals(0.0f, index.getTypeRank(project, SET), 0.0f);
+		assertEquals(0.0f, index.getTypeRank(null, LIST), 0.0f);
+	}
+
+	@Test
+	public void testDecay() {
+		ContentAssistUsageIndex index= createIndex();
+		IJavaProject project= pts.getProject();
+
+		index.rememberType(project, LIST);
+		index.rememberType(project, MAP);
+
+		assertTrue("more recent selections must weigh more", index.getTypeRank(project, MAP) > index.getTypeRank(project, LIST));
+	}
+
+	@Test
+	public void testMemberRank() {
+		ContentAssistUsageIndex index= createIndex();
+		IJavaProject project= pts.getProject();
+		char[] declaration= "Ljava.util.List;".toCharArray();
+
+		index.rememberMember(project, declaration, "add".toCharArray(), "(Ljava.lang.Object;)Z".toCharArray());
+
+		assertEquals(1.0f, index.getMemberRank(project, declaration, "add".toCharArray(), "(Ljava.lang.Object;)Z".toCharArray()), 0.0f);
+		assertEquals("overloads must be distinguished", 0.0f, index.getMemberRank(project, declaration, "add".toCharArray(), "(ILjava.lang.Object;)V".toCharArray()), 0.0f);
+		assertEquals(0.0f, index.getTypeRank(project, LIST), 0.0f);
+	}
+
+	@Test
+	public void testLoadSave() {
+		ContentAssistUsageIndex index= createIndex();
+		IJavaProject project= pts.getProject();
+
+		index.rememberType(project, LIST);
+		index.rememberType(project, LIST);
+		index.rememberType(project, MAP);
+		index.save();
+
+		ContentAssistUsageIndex loaded= createIndex();
+		loaded.load();
+
+		assertEquals(index.getTypeRank(project, LIST), loaded.getTypeRank(project, LIST), 0.0f);
+		assertEquals(index.getTypeRank(project, MAP), loaded.getTypeRank(project, MAP), 0.0f);
+		assertEquals(0.0f, loaded.getTypeRank(project, SET), 0.0f);
+	}
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.refactoring.IJavaRefactorings;
+import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
+
+import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests that the compilation unit changes of a rename that updates many units are performed in
+ * bulk, without making the units working copies.
+ */
+public class BulkPerformRenameTests extends GenericRefactoringTest {
+
+	/** More than the minimum number of changes that are performed in bulk. */
+	private static final int REFERENCING_UNITS= 80;
+
+	public BulkPerformRenameTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	private static void collectWorkingCopies(IJavaElementDelta delta, Set<String> result) {
+		if (delta.getElement() instanceof ICompilationUnit && (delta.getFlags() & IJavaElementDelta.F_PRIMARY_WORKING_COPY) != 0)
+			result.add(delta.getElement().getElementName());
+		for (IJavaElementDelta child : delta.getAffectedChildren())
+			collectWorkingCopies(child, result);
+	}
+
+	@Test
+	public void testRenameTypePerformedInBulk() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		ICompilationUnit[] referencing= new ICompilationUnit[REFERENCING_UNITS];
+		for (int i= 0; i < REFERENCING_UNITS; i++)
+			referencing[i]= createCU(getPackageP(), "C" + i + ".java", "package p;\nclass C" + i + " {\n	A fA= new A();\n}\n");
+		IType type= a.getType("A");
+
+		RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(IJavaRefactorings.RENAME_TYPE);
+		descriptor.setJavaElement(type);
+		descriptor.setNewName("B");
+		descriptor.setUpdateReferences(true);
+
+		Set<String> workingCopies= Collections.synchronizedSet(new HashSet<>());
+		IElementChangedListener listener= (ElementChangedEvent event) -> collectWorkingCopies(event.getDelta(), workingCopies);
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+		try {
+			assertNull("was supposed to pass", performRefactoring(descriptor));
+		} finally {
+			JavaCore.removeElementChangedListener(listener);
+		}
+
+		for (int i= 0; i < REFERENCING_UNITS; i++) {
+			assertEquals("package p;\nclass C" + i + " {\n	B fA= new B();\n}\n", referencing[i].getSource());
+			assertTrue(referencing[i].getElementName(), !workingCopies.contains(referencing[i].getElementName()));
+		}
+		assertTrue(getPackageP().getCompilationUnit("B.java").exists());
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.InsertEdit;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator;
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator.IChangeCreator;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests that the changes created concurrently by {@link ConcurrentChangeCreator} are the same as
+ * the ones created one after the other.
+ */
+public class ConcurrentChangeCreatorTests extends GenericRefactoringTest {
+
+	private static final int UNITS= 8;
+
+	public ConcurrentChangeCreatorTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	private ICompilationUnit[] createUnits() throws Exception {
+		ICompilationUnit[] cus= new ICompilationUnit[UNITS];
+		for (int i= 0; i < UNITS; i++)
+			cus[i]= createCU(getPackageP(), "A" + i + ".java", "package p;\nclass A" + i + " {\n}\n");
+		return cus;
+	}
+
+	private static TextChange createChange(ICompilationUnit cu, RefactoringStatus status, int index) {
+		if (index % 3 == 0)
+			return null;
+		if (index % 2 == 0)
+			status.addWarning(cu.getElementName());
+		CompilationUnitChange change= new CompilationUnitChange(cu.getElementName(), cu);
+		change.setEdit(new InsertEdit(0, "// " + cu.getElementName() + "\n"));
+		return change;
+	}
+
+	private static List<String> describe(TextChangeManager manager, RefactoringStatus status) throws CoreException {
+		List<String> result= new ArrayList<>();
+		for (ICompilationUnit cu : manager.getAllCompilationUnits()) {
+			TextChange change= manager.get(cu);
+			result.add(cu.getElementName() + ": " + change.getPreviewContent(new NullProgressMonitor()));
+		}
+		for (RefactoringStatusEntry entry : status.getEntries())
+			result.add(entry.getSeverity() + ": " + entry.getMessage());
+		return result;
+	}
+
+	private static List<String> createChanges(ICompilationUnit[] cus, IChangeCreator creator, boolean concurrently) throws CoreException {
+		TextChangeManager manager= new TextChangeManager();
+		RefactoringStatus status= new RefactoringStatus();
+		ConcurrentChangeCreator.createChanges(cus, creator, manager, status, new NullProgressMonitor(), concurrently);
+		return describe(manager, status);
+	}
+
+	private static int indexOf(ICompilationUnit[] cus, ICompilationUnit cu) {
+		for (int i= 0; i < cus.length; i++) {
+			if (cus[i].equals(cu))
+				return i;
+		}
+		throw new IllegalArgumentException(cu.getElementName());
+	}
+
+	@Test
+	public void testSameChanges() throws Exception {
+		ICompilationUnit[] cus= createUnits();
+		IChangeCreator creator= (cu, status) -> createChange(cu, status, indexOf(cus, cu));
+
+		List<String> sequential= createChanges(cus, creator, false);
+		List<String> concurrent= createChanges(cus, creator, true);
+		assertArrayEquals(sequential.toArray(), concurrent.toArray());
+
+		// units 1, 2, 4, 5 and 7 change, units 2 and 4 have warnings
+		assertEquals(7, sequential.size());
+		assertEquals("A1.java: // A1.java\npackage p;\nclass A1 {\n}\n", sequential.get(0));
+		assertEquals(RefactoringStatus.WARNING + ": A2.java", sequential.get(5));
+		assertEquals(RefactoringStatus.WARNING + ": A4.java", sequential.get(6));
+	}
+
+	@Test
+	public void testFirstErrorRethrown() throws Exception {
+		ICompilationUnit[] cus= createUnits();
+		IChangeCreator creator= (cu, status) -> {
+			int index= indexOf(cus, cu);
+			if (index == 1) {
+				try {
+					// let the later unit fail first
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (index == 1 || index == 3)
+				throw new CoreException(new Status(IStatus.ERROR, JavaTestPlugin.getPluginId(), cu.getElementName()));
+			return createChange(cu, status, index);
+		};
+
+		for (boolean concurrently : new boolean[] { false, true }) {
+			try {
+				createChanges(cus, creator, concurrently);
+				fail("exception expected");
+			} catch (CoreException e) {
+				assertEquals("concurrently: " + concurrently, "A1.java", e.getStatus().getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.history.IRefactoringExecutionListener;
+import org.eclipse.ltk.core.refactoring.history.RefactoringExecutionEvent;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.refactoring.IJavaRefactorings;
+import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
+
+import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTCache;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests the reuse of ASTs while the refactorings of a refactoring history are performed. The
+ * tests replay a history step by step, in the way {@link RefactoringASTCache#LISTENER} is notified
+ * when a history is performed.
+ */
+public class RefactoringASTCacheTests extends GenericRefactoringTest {
+
+	private static final String CONTENTS_A= "package p;\n" +
+			"public class A {\n" +
+			"	public void foo() {}\n" +
+			"}\n";
+
+	private static final String CONTENTS_C= "package p;\n" +
+			"public class C {\n" +
+			"	A fA;\n" +
+			"}\n";
+
+	public RefactoringASTCacheTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@After
+	public void after() {
+		// end the replay if a test has failed
+		while (RefactoringASTCache.getCurrent() != null)
+			RefactoringASTCache.LISTENER.historyPerformed();
+	}
+
+	private static CompilationUnit parse(ICompilationUnit unit, boolean resolveBindings) {
+		return new RefactoringASTParser(AST.getJLSLatest()).parse(unit, resolveBindings, null);
+	}
+
+	private static Set<String> getMethodsOfFieldType(CompilationUnit ast) {
+		TypeDeclaration type= (TypeDeclaration) ast.types().get(0);
+		ITypeBinding binding= type.getFields()[0].getType().resolveBinding();
+		assertNotNull(binding);
+		Set<String> names= new HashSet<>();
+		for (IMethodBinding method : binding.getDeclaredMethods())
+			names.add(method.getName());
+		return names;
+	}
+
+	@Test
+	public void testReplayResolvesChangedType() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", CONTENTS_A);
+		ICompilationUnit c= createCU(getPackageP(), "C.java", CONTENTS_C);
+
+		RefactoringASTCache.LISTENER.historyAboutToBePerformed();
+		assertNotNull(RefactoringASTCache.getCurrent());
+
+		// step 1 analyzes the unit which it does not change
+		CompilationUnit before= parse(c, true);
+		assertSame(before, parse(c, true));
+		assertTrue(getMethodsOfFieldType(before).contains("foo"));
+		CompilationUnit withoutBindings= parse(c, false);
+
+		// step 1 changes the API of the type
+		RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(IJavaRefactorings.RENAME_METHOD);
+		descriptor.setJavaElement(a.getType("A").getMethod("foo", new String[0]));
+		descriptor.setNewName("bar");
+		descriptor.setUpdateReferences(true);
+		CompilationUnit[] cached= new CompilationUnit[2];
+		IRefactoringExecutionListener listener= event -> {
+			// the Java element deltas of the change have not been reported yet
+			if (event.getEventType() == RefactoringExecutionEvent.PERFORMED) {
+				RefactoringASTCache cache= RefactoringASTCache.getCurrent();
+				cached[0]= cache.get(c, AST.getJLSLatest(), true, false, false);
+				cached[1]= cache.get(c, AST.getJLSLatest(), false, false, false);
+			}
+		};
+		RefactoringCore.getHistoryService().addExecutionListener(listener);
+		try {
+			assertNull("was supposed to pass", performRefactoring(descriptor));
+		} finally {
+			RefactoringCore.getHistoryService().removeExecutionListener(listener);
+		}
+		assertEquals(CONTENTS_C, c.getSource());
+		assertNull("AST with bindings should be dropped once the refactoring has been performed", cached[0]);
+		assertSame(withoutBindings, cached[1]);
+
+		// step 2 resolves the type from the unchanged unit
+		CompilationUnit after= parse(c, true);
+		assertNotSame(before, after);
+		Set<String> methods= getMethodsOfFieldType(after);
+		assertTrue(methods.toString(), methods.contains("bar"));
+		assertFalse(methods.toString(), methods.contains("foo"));
+
+		// the AST without bindings of the unchanged unit is still shared
+		assertSame(withoutBindings, parse(c, false));
+
+		RefactoringASTCache.LISTENER.historyPerformed();
+		assertNull(RefactoringASTCache.getCurrent());
+	}
+
+	@Test
+	public void testBindingsOfUnaffectedProjectReused() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", CONTENTS_A);
+		IJavaProject other= JavaProjectHelper.createJavaProject("Other", "bin");
+		try {
+			JavaProjectHelper.addRTJar(other);
+			IPackageFragment pack= JavaProjectHelper.addSourceContainer(other, "src").createPackageFragment("q", true, null);
+			ICompilationUnit d= pack.createCompilationUnit("D.java", "package q;\npublic class D {\n	D fD;\n}\n", true, null);
+
+			RefactoringASTCache.LISTENER.historyAboutToBePerformed();
+			CompilationUnit unaffected= parse(d, true);
+
+			RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(IJavaRefactorings.RENAME_METHOD);
+			descriptor.setJavaElement(a.getType("A").getMethod("foo", new String[0]));
+			descriptor.setNewName("bar");
+			descriptor.setUpdateReferences(true);
+			assertNull("was supposed to pass", performRefactoring(descriptor));
+
+			// the project of D does not depend on the changed project
+			assertSame(unaffected, parse(d, true));
+			RefactoringASTCache.LISTENER.historyPerformed();
+		} finally {
+			JavaProjectHelper.delete(other);
+		}
+	}
+
+	@Test
+	public void testModifiedUnitParsedAgain() throws Exception {
+		ICompilationUnit c= createCU(getPackageP(), "C.java", CONTENTS_C);
+
+		RefactoringASTCache.LISTENER.historyAboutToBePerformed();
+		CompilationUnit before= parse(c, false);
+		assertSame(before, parse(c, false));
+
+		c.getBuffer().setContents(CONTENTS_C.replace("A fA;", "A fA, fB;"));
+		c.save(null, true);
+		CompilationUnit after= parse(c, false);
+		assertNotSame(before, after);
+		assertEquals(2, ((TypeDeclaration) after.types().get(0)).getFields()[0].fragments().size());
+		RefactoringASTCache.LISTENER.historyPerformed();
+	}
+
+	@Test
+	public void testWorkingCopiesNotShared() throws Exception {
+		ICompilationUnit c= createCU(getPackageP(), "C.java", CONTENTS_C);
+
+		RefactoringASTCache.LISTENER.historyAboutToBePerformed();
+		c.becomeWorkingCopy(null);
+		try {
+			assertNotSame(parse(c, false), parse(c, false));
+		} finally {
+			c.discardWorkingCopy();
+		}
+		assertSame(parse(c, false), parse(c, false));
+		RefactoringASTCache.LISTENER.historyPerformed();
+	}
+}
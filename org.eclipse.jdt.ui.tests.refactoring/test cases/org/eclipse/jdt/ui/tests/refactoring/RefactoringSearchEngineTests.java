@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+import org.eclipse.jdt.internal.corext.refactoring.CollectingSearchRequestor;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine.ISearchResultGroupRequestor;
+import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+import org.eclipse.jdt.internal.corext.refactoring.SearchScopePartition;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameTypeProcessor;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests that searching the partitions of a refactoring scope concurrently finds the same result
+ * groups as searching the whole scope, in the order of the partitions.
+ */
+public class RefactoringSearchEngineTests extends GenericRefactoringTest {
+
+	private static final int REFERENCING_PROJECTS= 3;
+
+	private final List<IJavaProject> fReferencingProjects= new ArrayList<>();
+
+	public RefactoringSearchEngineTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@Before
+	public void before() throws Exception {
+		for (int i= 0; i < REFERENCING_PROJECTS; i++) {
+			IJavaProject project= JavaProjectHelper.createJavaProject("Referencing" + i, "bin");
+			fReferencingProjects.add(project);
+			JavaProjectHelper.addRTJar(project);
+			JavaProjectHelper.addRequiredProject(project, rts.getProject());
+			IPackageFragment pack= JavaProjectHelper.addSourceContainer(project, "src").createPackageFragment("q", true, null);
+			for (int j= 0; j <= i; j++) {
+				pack.createCompilationUnit("B" + j + ".java", "package q;\nimport p.A;\nclass B" + j + " {\n	A fA;\n	A foo(A a) {\n		return a;\n	}\n}\n", true, null);
+			}
+		}
+	}
+
+	@After
+	public void after() throws Exception {
+		for (IJavaProject project : fReferencingProjects)
+			JavaProjectHelper.delete(project);
+	}
+
+	private static Set<String> describe(SearchResultGroup[] groups) {
+		Set<String> result= new TreeSet<>();
+		for (SearchResultGroup group : groups) {
+			for (SearchMatch match : group.getSearchResults())
+				result.add(group.getResource().getFullPath() + ":" + match.getOffset() + ":" + match.getLength() + ":" + match.getAccuracy());
+		}
+		return result;
+	}
+
+	private static List<String> getPaths(SearchResultGroup[] groups) {
+		List<String> result= new ArrayList<>();
+		for (SearchResultGroup group : groups)
+			result.add(group.getResource().getFullPath().toString());
+		return result;
+	}
+
+	private static SearchPattern createPattern(IType type) {
+		return SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES);
+	}
+
+	@Test
+	public void testSameGroups() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		createCU(getPackageP(), "C.java", "package p;\nclass C {\n	A fA;\n}\n");
+		IType type= a.getType("A");
+
+		RefactoringStatus status= new RefactoringStatus();
+		SearchResultGroup[] groups= RefactoringSearchEngine.search(createPattern(type), RefactoringScopeFactory.create(type, true, false), new NullProgressMonitor(), status);
+
+		SearchScopePartition[] partitions= RefactoringScopeFactory.createPartitions(type, true, false);
+		assertEquals(REFERENCING_PROJECTS + 1, partitions.length);
+		RefactoringStatus partitionedStatus= new RefactoringStatus();
+		SearchResultGroup[] partitionedGroups= RefactoringSearchEngine.search(() -> createPattern(type), null, partitions, CollectingSearchRequestor::new, new NullProgressMonitor(), partitionedStatus);
+
+		// C, and B0 to B2 in the referencing projects
+		assertEquals(1 + REFERENCING_PROJECTS * (REFERENCING_PROJECTS + 1) / 2, groups.length);
+		assertEquals(groups.length, partitionedGroups.length);
+		Set<String> matches= describe(groups);
+		assertEquals(matches, describe(partitionedGroups));
+		assertEquals(status.getSeverity(), partitionedStatus.getSeverity());
+
+		int matchCount= 0;
+		for (SearchScopePartition partition : partitions) {
+			assertTrue(partition.toString(), partition.getElapsedTime() >= 0);
+			matchCount+= partition.getMatchCount();
+		}
+		assertEquals(matches.size(), matchCount);
+	}
+
+	@Test
+	public void testProcessorPartitions() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		IType type= a.getType("A");
+		RenameTypeProcessor processor= new RenameTypeProcessor(type);
+		processor.setNewElementName("B");
+		assertFalse(processor.initializeReferences(new NullProgressMonitor()).hasError());
+
+		SearchScopePartition[] partitions= processor.getSearchPartitions();
+		assertNotNull(partitions);
+		assertEquals(REFERENCING_PROJECTS + 1, partitions.length);
+		int matchCount= 0;
+		for (SearchScopePartition partition : partitions) {
+			assertTrue(partition.toString(), partition.getElapsedTime() >= 0);
+			matchCount+= partition.getMatchCount();
+		}
+		SearchResultGroup[] groups= RefactoringSearchEngine.search(createPattern(type), RefactoringScopeFactory.create(type, true, false), new NullProgressMonitor(), new RefactoringStatus());
+		assertEquals(describe(groups).size(), matchCount);
+	}
+
+	@Test
+	public void testPartitionOrder() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		IType type= a.getType("A");
+
+		SearchScopePartition[] partitions= RefactoringScopeFactory.createPartitions(type, true, false);
+		List<String> names= new ArrayList<>();
+		for (SearchScopePartition partition : partitions)
+			names.add(partition.getName());
+		List<String> sorted= new ArrayList<>(names);
+		sorted.sort(null);
+		assertEquals(sorted, names);
+
+		List<String> paths= null;
+		for (int i= 0; i < 5; i++) {
+			List<SearchResultGroup> accepted= new ArrayList<>();
+			ISearchResultGroupRequestor groupRequestor= accepted::add;
+			SearchResultGroup[] groups= RefactoringSearchEngine.search(() -> createPattern(type), null, RefactoringScopeFactory.createPartitions(type, true, false), CollectingSearchRequestor::new,
+					groupRequestor, new NullProgressMonitor(), new RefactoringStatus());
+
+			// the requestor receives the returned groups in the same order
+			assertEquals(Arrays.asList(groups), accepted);
+
+			// the groups of each project follow the groups of the projects before it
+			int partition= 0;
+			for (SearchResultGroup group : groups) {
+				int index= names.indexOf(group.getResource().getProject().getName());
+				assertTrue(group.getResource().toString(), index >= partition);
+				partition= index;
+			}
+
+			if (paths == null)
+				paths= getPaths(groups);
+			else
+				assertEquals(paths, getPaths(groups));
+		}
+		assertEquals(REFERENCING_PROJECTS * (REFERENCING_PROJECTS + 1) / 2, paths.size());
+	}
+
+	@Test
+	public void testProcessorStreamsSimilarElements() throws Exception {
+		ICompilationUnit a= createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n");
+		IType type= a.getType("A");
+
+		List<IJavaElement> similar= null;
+		for (int i= 0; i < 3; i++) {
+			RenameTypeProcessor processor= new RenameTypeProcessor(type);
+			processor.setNewElementName("B");
+			processor.setUpdateSimilarDeclarations(true);
+			assertFalse(processor.initializeReferences(new NullProgressMonitor()).hasError());
+
+			Map<IJavaElement, String> newNames= processor.getSimilarElementsToNewNames();
+			List<IJavaElement> elements= new ArrayList<>(newNames.keySet());
+			if (similar == null)
+				similar= elements;
+			else
+				assertEquals(similar, elements);
+		}
+
+		// the parameters of B0 to B2 in the referencing projects, in the order of the partitions
+		int parameters= 0;
+		String previous= "";
+		for (IJavaElement element : similar) {
+			if (element instanceof ILocalVariable)
+				parameters++;
+			String project= element.getJavaProject().getElementName();
+			assertTrue(project, previous.compareTo(project) <= 0);
+			previous= project;
+		}
+		assertEquals(REFERENCING_PROJECTS * (REFERENCING_PROJECTS + 1) / 2, parameters);
+	}
+}
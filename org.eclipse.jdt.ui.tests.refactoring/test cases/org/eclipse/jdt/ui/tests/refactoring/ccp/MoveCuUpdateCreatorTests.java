@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.ccp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.refactoring.reorg.MoveCuUpdateCreator;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+
+import org.eclipse.jdt.ui.tests.refactoring.GenericRefactoringTest;
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests the updates that {@link MoveCuUpdateCreator} creates when compilation units are moved,
+ * with the compilation units updated concurrently.
+ */
+public class MoveCuUpdateCreatorTests extends GenericRefactoringTest {
+
+	public MoveCuUpdateCreatorTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	private IPackageFragment createPackage(String name) throws Exception {
+		return getRoot().createPackageFragment(name, true, null);
+	}
+
+	private static Map<String, String> describe(TextChangeManager manager) throws Exception {
+		Map<String, String> result= new LinkedHashMap<>();
+		for (ICompilationUnit cu : manager.getAllCompilationUnits()) {
+			TextChange change= manager.get(cu);
+			result.put(cu.getElementName(), change.getPreviewContent(new NullProgressMonitor()));
+		}
+		return result;
+	}
+
+	private static Map<String, String> createUpdates(ICompilationUnit[] cus, IPackageFragment destination) throws Exception {
+		RefactoringStatus status= new RefactoringStatus();
+		Map<String, String> concurrent= describe(new MoveCuUpdateCreator(cus, destination).createChangeManager(new NullProgressMonitor(), status, true));
+		assertTrue(status.toString(), status.isOK());
+
+		Map<String, String> sequential= describe(new MoveCuUpdateCreator(cus, destination).createChangeManager(new NullProgressMonitor(), new RefactoringStatus(), false));
+		assertEquals(sequential, concurrent);
+		return concurrent;
+	}
+
+	@Test
+	public void testSeveralPackages() throws Exception {
+		IPackageFragment p1= createPackage("p1");
+		IPackageFragment p2= createPackage("p2");
+		IPackageFragment r= createPackage("r");
+		IPackageFragment d= createPackage("d");
+		ICompilationUnit a= createCU(p1, "A.java", "package p1;\npublic class A {\n	S fS;\n}\n");
+		createCU(p1, "S.java", "package p1;\npublic class S {\n}\n");
+		createCU(p1, "T.java", "package p1;\nclass T {\n	A fA;\n}\n");
+		ICompilationUnit c= createCU(p2, "C.java", "package p2;\npublic class C {\n	p1.A fA;\n}\n");
+		createCU(r, "R.java", "package r;\nimport p1.A;\nimport p2.C;\nclass R {\n	A fA;\n	C fC;\n	p1.A fQualified;\n}\n");
+
+		Map<String, String> updates= createUpdates(new ICompilationUnit[] { a, c }, d);
+
+		// S stays in p1, so the moved A has to import it
+		assertTrue(updates.get("A.java"), updates.get("A.java").contains("import p1.S;"));
+		assertFalse(updates.containsKey("S.java"));
+		// T stays in p1, so it has to import the moved A
+		assertTrue(updates.get("T.java"), updates.get("T.java").contains("import d.A;"));
+		assertTrue(updates.get("C.java"), updates.get("C.java").contains("	d.A fA;"));
+		String updatedR= updates.get("R.java");
+		assertTrue(updatedR, updatedR.contains("import d.A;"));
+		assertTrue(updatedR, updatedR.contains("import d.C;"));
+		assertTrue(updatedR, updatedR.contains("	d.A fQualified;"));
+		assertFalse(updatedR, updatedR.contains("p1."));
+		assertFalse(updatedR, updatedR.contains("p2."));
+	}
+
+	@Test
+	public void testStaticImports() throws Exception {
+		IPackageFragment p1= createPackage("p1");
+		IPackageFragment r= createPackage("r");
+		IPackageFragment d= createPackage("d");
+		ICompilationUnit a= createCU(p1, "A.java", "package p1;\npublic class A {\n	public static final int BAR= 0;\n	public static void foo() {\n	}\n}\n");
+		createCU(r, "R.java", "package r;\nimport static p1.A.foo;\nimport static p1.A.*;\nclass R {\n	int fBar= BAR;\n	{\n		foo();\n	}\n}\n");
+
+		Map<String, String> updates= createUpdates(new ICompilationUnit[] { a }, d);
+
+		String updatedR= updates.get("R.java");
+		assertTrue(updatedR, updatedR.contains("import static d.A.foo;"));
+		assertTrue(updatedR, updatedR.contains("import static d.A.*;"));
+		assertFalse(updatedR, updatedR.contains("p1."));
+	}
+
+	@Test
+	public void testFromDefaultPackage() throws Exception {
+		IPackageFragment defaultPackage= getRoot().getPackageFragment("");
+		IPackageFragment d= createPackage("d");
+		ICompilationUnit x= createCU(defaultPackage, "X.java", "public class X {\n}\n");
+		createCU(defaultPackage, "Y.java", "class Y {\n	X fX;\n}\n");
+		ICompilationUnit z= createCU(d, "Z.java", "package d;\nclass Z {\n}\n");
+
+		Map<String, String> updates= createUpdates(new ICompilationUnit[] { x }, d);
+
+		assertTrue(updates.get("Y.java"), updates.get("Y.java").contains("import d.X;"));
+		assertFalse(updates.containsKey(z.getElementName()));
+	}
+
+	@Test
+	public void testToDefaultPackage() throws Exception {
+		IPackageFragment p1= createPackage("p1");
+		IPackageFragment r= createPackage("r");
+		IPackageFragment defaultPackage= getRoot().getPackageFragment("");
+		ICompilationUnit a= createCU(p1, "A.java", "package p1;\npublic class A {\n}\n");
+		ICompilationUnit b= createCU(p1, "B.java", "package p1;\npublic class B {\n	A fA;\n}\n");
+		createCU(r, "R.java", "package r;\nclass R {\n	p1.A fA;\n	p1.B fB;\n}\n");
+
+		Map<String, String> updates= createUpdates(new ICompilationUnit[] { a, b }, defaultPackage);
+
+		assertEquals("package r;\nclass R {\n	A fA;\n	B fB;\n}\n", updates.get("R.java"));
+		// A and B are moved together, so B does not need an import
+		String updatedB= updates.get("B.java");
+		assertTrue(updatedB, updatedB == null || !updatedB.contains("import"));
+	}
+}
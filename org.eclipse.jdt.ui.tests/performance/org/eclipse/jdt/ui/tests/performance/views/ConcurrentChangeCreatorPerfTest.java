@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator;
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator.IChangeCreator;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Compares creating the changes of all units of the JUnit sources one after the other and
+ * concurrently. Each change resolves the bindings of its unit and rewrites its AST, like the
+ * changes of the Java refactorings.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ConcurrentChangeCreatorPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static class MyTestSetup extends ExternalResource {
+		public static final String SRC_CONTAINER= "src";
+
+		public static IJavaProject fJProject1;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+			JavaProjectHelper.addSourceContainerWithImport(fJProject1, SRC_CONTAINER, junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists()) {
+					JavaProjectHelper.delete(fJProject1);
+				}
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	private static final IChangeCreator CREATOR= (cu, status) -> {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		CompilationUnit root= (CompilationUnit) parser.createAST(null);
+		if (root.types().isEmpty())
+			return null;
+		AbstractTypeDeclaration type= (AbstractTypeDeclaration) root.types().get(0);
+		if (type.resolveBinding() == null)
+			return null;
+		AST ast= root.getAST();
+		ASTRewrite rewrite= ASTRewrite.create(ast);
+		VariableDeclarationFragment fragment= ast.newVariableDeclarationFragment();
+		fragment.setName(ast.newSimpleName("fAdded"));
+		FieldDeclaration field= ast.newFieldDeclaration(fragment);
+		field.setType(ast.newSimpleType(ast.newName(type.getName().getIdentifier())));
+		rewrite.getListRewrite(type, type.getBodyDeclarationsProperty()).insertFirst(field, null);
+		CompilationUnitChange change= new CompilationUnitChange(cu.getElementName(), cu);
+		change.setEdit(rewrite.rewriteAST());
+		return change;
+	};
+
+	private void addAllCUs(IJavaElement[] children, List<ICompilationUnit> result) throws CoreException {
+		for (IJavaElement element : children) {
+			if (element instanceof ICompilationUnit) {
+				result.add((ICompilationUnit) element);
+			} else if (element instanceof IPackageFragmentRoot) {
+				addAllCUs(((IPackageFragmentRoot) element).getChildren(), result);
+			} else if (element instanceof IPackageFragment) {
+				addAllCUs(((IPackageFragment) element).getChildren(), result);
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		tagAsSummary("Create changes concurrently", Dimension.ELAPSED_PROCESS);
+		measure(Performance.getDefault().getNullPerformanceMeter(), 2, true);
+		measure(fPerformanceMeter, 10, true);
+		commitMeasurements();
+		Performance.getDefault().assertPerformance(fPerformanceMeter);
+	}
+
+	@Test
+	public void testSequential() throws Exception {
+		measure(Performance.getDefault().getNullPerformanceMeter(), 2, false);
+		measure(fPerformanceMeter, 10, false);
+		commitMeasurements();
+		Performance.getDefault().assertPerformance(fPerformanceMeter);
+	}
+
+	private void measure(PerformanceMeter performanceMeter, int runs, boolean concurrently) throws Exception {
+		List<ICompilationUnit> cusList= new ArrayList<>();
+		addAllCUs(MyTestSetup.fJProject1.getChildren(), cusList);
+		ICompilationUnit[] cus= cusList.toArray(new ICompilationUnit[cusList.size()]);
+		for (int j= 0; j < runs; j++) {
+			TextChangeManager manager= new TextChangeManager();
+			RefactoringStatus status= new RefactoringStatus();
+
+			joinBackgroudActivities();
+
+			performanceMeter.start();
+			ConcurrentChangeCreator.createChanges(cus, CREATOR, manager, status, new NullProgressMonitor(), concurrently);
+			performanceMeter.stop();
+
+			assertTrue(status.isOK());
+			assertTrue(manager.getAllChanges().length > 0);
+		}
+	}
+}
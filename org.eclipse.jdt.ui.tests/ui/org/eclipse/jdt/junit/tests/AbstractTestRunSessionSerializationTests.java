@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jdt.junit.JUnitCore;
 import org.eclipse.jdt.junit.TestRunListener;
@@ -125,6 +126,24 @@ public class AbstractTestRunSessionSerializationTests {
 					e.printStackTrace();
 				}
 		}
+
+		IFile gzipFile= JUnitWorkspaceTestSetup.getJavaProject().getProject().getFile("testresult.xml.gz");
+		try {
+			ByteArrayOutputStream compressed= new ByteArrayOutputStream();
+			try (GZIPOutputStream out= new GZIPOutputStream(compressed)) {
+				out.write(serializationResult.fSerialized.getBytes());
+			}
+			gzipFile.create(new ByteArrayInputStream(compressed.toByteArray()), true, null);
+			TestRunSession imported= JUnitModel.importTestRunSession(gzipFile.getLocation().toFile());
+			assertEqualSessions(serializationResult.fTestRunSession, imported);
+		} finally {
+			if (gzipFile.exists())
+				try {
+					gzipFile.delete(true, null);
+				} catch (CoreException e) {
+					e.printStackTrace();
+				}
+		}
 	}
 
 	private void assertEqualXML(String expected, String actual) {
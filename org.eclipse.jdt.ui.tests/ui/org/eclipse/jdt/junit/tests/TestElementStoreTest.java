@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestElementStore;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestElementStoreTest {
+
+	@Test
+	public void testIntIds() throws Exception {
+		assertEquals(0, TestElementStore.toIntId("0"));
+		assertEquals(4711, TestElementStore.toIntId("4711"));
+		assertEquals(-1, TestElementStore.toIntId("-1"));
+		assertEquals(-1, TestElementStore.toIntId("007"));
+		assertEquals(-1, TestElementStore.toIntId("1a"));
+		assertEquals(-1, TestElementStore.toIntId(""));
+		assertEquals(-1, TestElementStore.toIntId("12345678901"));
+	}
+
+	@Test
+	public void testElementLookup() throws Exception {
+		TestRunSession session= new TestRunSession("run", null);
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "p.Suite", true, 0, false, null, null, null);
+		TestElement test= session.createTestElement(suite, "2", "test(p.Suite)", false, 0, false, null, null, null);
+		TestElement other= session.createTestElement(suite, "x-3", "test(p.Suite)", false, 0, false, null, null, null);
+
+		assertSame(suite, session.getTestElement("1"));
+		assertSame(test, session.getTestElement("2"));
+		assertSame(other, session.getTestElement("x-3"));
+		assertNull(session.getTestElement("3"));
+		assertEquals("2", test.getId());
+		assertEquals("x-3", other.getId());
+		assertSame(test.getTestName(), other.getTestName());
+	}
+
+	@Test
+	public void testSpilledTraces() throws Exception {
+		TestRunSession session= new TestRunSession("run", null);
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "p.Suite", true, 0, false, null, null, null);
+		TestCaseElement test= (TestCaseElement) session.createTestElement(suite, "2", "test(p.Suite)", false, 0, false, null, null, null);
+
+		session.registerTestFailureStatus(test, Status.FAILURE, "trace1\n", "a\u00e4", "b");
+		assertTrue(test.isComparisonFailure());
+		FailureTrace failureTrace= test.getFailureTrace();
+		assertEquals("trace1\n", failureTrace.getTrace());
+		assertEquals("a\u00e4", failureTrace.getExpected());
+		assertEquals("b", failureTrace.getActual());
+
+		session.registerTestFailureStatus(test, Status.FAILURE, "trace2\n", null, null);
+		assertEquals("trace1\ntrace2\n", test.getTrace());
+		assertEquals("a\u00e4", test.getExpected());
+
+		TestCaseElement ok= (TestCaseElement) session.createTestElement(suite, "3", "ok(p.Suite)", false, 0, false, null, null, null);
+		assertNull(ok.getTrace());
+		assertFalse(ok.isComparisonFailure());
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.junit.TestRunListener;
+import org.eclipse.jdt.junit.launcher.JUnitLaunchShortcut;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.core.ILaunchManager;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+public class TestRunSessionRerunTest extends AbstractTestRunListenerTest {
+
+	private static class WarmLaunchShortcut extends JUnitLaunchShortcut {
+		public static ILaunchConfigurationWorkingCopy createConfiguration(IJavaElement element) throws CoreException {
+			ILaunchConfigurationWorkingCopy copy= new WarmLaunchShortcut().createLaunchConfiguration(element, null);
+			copy.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_RUNNER_KIND, TestKindRegistry.JUNIT4_TEST_KIND_ID);
+			copy.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEP_WARM, true);
+			return copy;
+		}
+	}
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestRunListenerTest", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH));
+		JavaProjectHelper.addRTJar15(fProject);
+	}
+
+	@Test
+	public void testNoRerunWithoutWarmVM() throws Exception {
+		TestRunSession session= new TestRunSession("run", null);
+		assertFalse(session.isKeptWarm());
+		assertFalse(session.rerunTestClasses(new String[] { "pack.ATestCase" }));
+		assertFalse(session.rerunTestRun(false));
+		assertFalse(session.rerunTestRun(true));
+	}
+
+	@Test
+	public void testRerunTestClassesInWarmVM() throws Exception {
+		String source=
+				"package pack;\n" +
+				"import org.junit.Test;\n"+
+				"public class ATestCase {\n" +
+				"    @Test public void testSucceed() { }\n" +
+				"}";
+		IType aTestCase= createType(source, "pack", "ATestCase.java");
+		String source2=
+				"package pack;\n" +
+				"import org.junit.Test;\n"+
+				"public class BTestCase {\n" +
+				"    @Test public void testOther() { }\n" +
+				"}";
+		createType(source2, "pack", "BTestCase.java");
+		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.FULL_BUILD, null);
+
+		ILaunchManager lm= DebugPlugin.getDefault().getLaunchManager();
+		lm.removeLaunches(lm.getLaunches());
+		ILaunchConfigurationWorkingCopy configuration= WarmLaunchShortcut.createConfiguration(aTestCase.getPackageFragment());
+		ILaunch launch= null;
+		try {
+			TestRunLog log= new TestRunLog();
+			TestRunListener listener= new TestRunListeners.SequenceTest(log);
+			JUnitCore.addTestRunListener(listener);
+			try {
+				launch= configuration.launch(ILaunchManager.RUN_MODE, null);
+				waitUntilDone(log);
+			} finally {
+				JUnitCore.removeTestRunListener(listener);
+			}
+
+			TestRunSession session= JUnitCorePlugin.getModel().getTestRunSessions().get(0);
+			assertTrue(session.isKeptWarm());
+
+			TestRunLog rerunLog= new TestRunLog();
+			listener= new TestRunListeners.SequenceTest(rerunLog);
+			JUnitCore.addTestRunListener(listener);
+			try {
+				assertTrue(session.rerunTestClasses(new String[] { "pack.BTestCase" }));
+				waitUntilDone(rerunLog);
+			} finally {
+				JUnitCore.removeTestRunListener(listener);
+			}
+
+			String[] actual= rerunLog.getLog();
+			List<String> entries= Arrays.asList(actual);
+			assertTrue(entries.contains("testCaseFinished-" + TestRunListeners.testCaseAsString("testOther", "pack.BTestCase", ProgressState.COMPLETED, Result.OK, null, 0)));
+			assertTrue(actual[actual.length - 1].startsWith("sessionFinished-"));
+			for (String entry : actual) {
+				assertFalse(entry, entry.contains("pack.ATestCase"));
+			}
+			assertTrue(session.isKeptWarm());
+		} finally {
+			if (launch != null)
+				launch.terminate();
+			lm.removeLaunches(lm.getLaunches());
+			configuration.delete();
+		}
+	}
+
+	private static void waitUntilDone(final TestRunLog log) {
+		boolean success= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return log.isDone();
+			}
+		}.waitForCondition(Display.getCurrent(), 30 * 1000, 100);
+		assertTrue("test run has not finished", success);
+	}
+}
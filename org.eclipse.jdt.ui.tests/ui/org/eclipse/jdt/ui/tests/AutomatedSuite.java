@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,8 @@ import org.eclipse.jdt.ui.tests.buildpath.BuildpathTestSuite;
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyContentProviderTest;
 import org.eclipse.jdt.ui.tests.core.CoreTestSuite;
 import org.eclipse.jdt.ui.tests.core.CoreTests;
+import org.eclipse.jdt.ui.tests.hover.AttachedJavadocIndexTests;
+import org.eclipse.jdt.ui.tests.hover.JavadocHTMLCacheTests;
 import org.eclipse.jdt.ui.tests.hover.JavadocHoverTests;
 import org.eclipse.jdt.ui.tests.hover.PackageJavadocTests;
 import org.eclipse.jdt.ui.tests.jarexport.JarExportTests;
@@ -78,7 +80,9 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 	JarExportTests.class,
 	PackageJavadocTests.class,
-	JavadocHoverTests.class
+	JavadocHoverTests.class,
+	JavadocHTMLCacheTests.class,
+	AttachedJavadocIndexTests.class
 })
 public class AutomatedSuite {
 	@Before
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -40,7 +42,10 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
@@ -141,6 +146,55 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testRecentASTs() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[6];
+		CompilationUnit[] asts= new CompilationUnit[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", "package test1;\npublic class E" + i + " {\n}\n", false, null);
+			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+			parser.setSource(cus[i]);
+			parser.setResolveBindings(true);
+			asts[i]= (CompilationUnit) parser.createAST(null);
+		}
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		try {
+			provider.activeJavaElementChanged(cus[0]);
+			provider.cache(asts[0], cus[0]);
+			provider.activeJavaElementChanged(cus[1]);
+			provider.cache(asts[1], cus[1]);
+
+			// the AST of the previously active element is reused
+			int hits= provider.getCacheHitCount();
+			assertSame(asts[0], provider.getAST(cus[0], CoreASTProvider.WAIT_NO, null));
+			assertEquals(hits + 1, provider.getCacheHitCount());
+
+			// and becomes the active AST again
+			provider.activeJavaElementChanged(cus[0]);
+			assertSame(asts[0], provider.getAST(cus[0], CoreASTProvider.WAIT_NO, null));
+			assertSame(asts[1], provider.getAST(cus[1], CoreASTProvider.WAIT_NO, null));
+
+			// the least recently active ASTs are evicted once more than four are kept
+			for (int i= 2; i < cus.length; i++) {
+				provider.activeJavaElementChanged(cus[i]);
+				provider.cache(asts[i], cus[i]);
+			}
+			provider.activeJavaElementChanged(null);
+			assertNull(provider.getAST(cus[1], CoreASTProvider.WAIT_NO, null));
+			for (int i= 2; i < cus.length; i++) {
+				assertSame(asts[i], provider.getAST(cus[i], CoreASTProvider.WAIT_NO, null));
+			}
+
+			provider.disposeRecentAST(cus[2]);
+			assertNull(provider.getAST(cus[2], CoreASTProvider.WAIT_NO, null));
+		} finally {
+			provider.activeJavaElementChanged(null);
+			provider.disposeRecentAST(null);
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
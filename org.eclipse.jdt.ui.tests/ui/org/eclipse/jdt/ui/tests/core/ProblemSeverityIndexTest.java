@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityIndex;
+
+public class ProblemSeverityIndexTest {
+
+	private IProject fProject;
+	private IFolder fFolderA;
+	private IFolder fFolderB;
+	private IFile fFileX;
+	private IFile fFileY;
+	private IFile fFileZ;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getSimpleName());
+		fProject.create(null);
+		fProject.open(null);
+		fFolderA= fProject.getFolder("a");
+		fFolderA.create(true, true, null);
+		fFolderB= fFolderA.getFolder("b");
+		fFolderB.create(true, true, null);
+		// a sibling whose name starts with the name of folder a
+		IFolder folderAB= fProject.getFolder("ab");
+		folderAB.create(true, true, null);
+		fFileX= createFile(fFolderB, "X.txt");
+		fFileY= createFile(fFolderA, "Y.txt");
+		fFileZ= createFile(folderAB, "Z.txt");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete(true, true, null);
+	}
+
+	private static IFile createFile(IFolder folder, String name) throws CoreException {
+		IFile file= folder.getFile(name);
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+		return file;
+	}
+
+	private static IMarker createProblem(IResource resource, int severity) throws CoreException {
+		IMarker marker= resource.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private static void assertSeverity(ProblemSeverityIndex index, IResource resource) throws CoreException {
+		for (int depth : new int[] { IResource.DEPTH_ZERO, IResource.DEPTH_ONE, IResource.DEPTH_INFINITE }) {
+			assertEquals(resource + " at depth " + depth, resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth), index.getMaxSeverity(resource, depth));
+		}
+	}
+
+	private void assertSeverities(ProblemSeverityIndex index) throws CoreException {
+		for (IResource resource : new IResource[] { fProject, fFolderA, fFolderB, fFileX, fFileY, fFileZ, fProject.getFolder("ab") }) {
+			assertSeverity(index, resource);
+		}
+	}
+
+	private ProblemSeverityIndex buildIndex() throws CoreException {
+		ProblemSeverityIndex index= new ProblemSeverityIndex();
+		assertFalse(index.isAvailable());
+		index.build(ResourcesPlugin.getWorkspace().getRoot());
+		assertTrue(index.isAvailable());
+		return index;
+	}
+
+	@Test
+	public void testBuild() throws Exception {
+		createProblem(fFileX, IMarker.SEVERITY_ERROR);
+		createProblem(fFileY, IMarker.SEVERITY_WARNING);
+		createProblem(fFileY, IMarker.SEVERITY_INFO);
+		createProblem(fFolderA, IMarker.SEVERITY_INFO);
+
+		ProblemSeverityIndex index= buildIndex();
+		assertSeverities(index);
+		assertEquals(IMarker.SEVERITY_WARNING, index.getMaxSeverity(fFolderA, IResource.DEPTH_ONE));
+		assertEquals(IMarker.SEVERITY_ERROR, index.getMaxSeverity(fFolderA, IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		IMarker marker= createProblem(fFileX, IMarker.SEVERITY_WARNING);
+		createProblem(fFileY, IMarker.SEVERITY_WARNING);
+		ProblemSeverityIndex index= buildIndex();
+
+		marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		Set<IResource> changed= new HashSet<>();
+		index.update(fFileX, changed);
+		assertSeverities(index);
+		Set<IResource> expected= new HashSet<>();
+		expected.add(fFileX);
+		expected.add(fFolderB);
+		expected.add(fFolderA);
+		expected.add(fProject);
+		assertEquals(expected, changed);
+
+		// the children of the project still have warnings only, so only the rolled up severities change
+		marker.delete();
+		changed.clear();
+		index.update(fFileX, changed);
+		assertSeverities(index);
+		assertEquals(expected, changed);
+
+		createProblem(fFileX, IMarker.SEVERITY_INFO);
+		changed.clear();
+		index.update(fFileX, changed);
+		assertSeverities(index);
+		expected.remove(fFolderA); // still a warning at any depth
+		expected.remove(fProject);
+		assertEquals(expected, changed);
+	}
+
+	@Test
+	public void testRemoveSubtree() throws Exception {
+		createProblem(fFileX, IMarker.SEVERITY_ERROR);
+		createProblem(fFileY, IMarker.SEVERITY_WARNING);
+		createProblem(fFolderA, IMarker.SEVERITY_INFO);
+		createProblem(fFileZ, IMarker.SEVERITY_WARNING);
+		ProblemSeverityIndex index= buildIndex();
+
+		Set<IResource> changed= new HashSet<>();
+		index.remove(fFolderA, changed);
+		assertTrue(changed.contains(fFileX));
+		assertTrue(changed.contains(fFileY));
+		assertTrue(changed.contains(fFolderA));
+		assertFalse(changed.contains(fFileZ));
+		for (IResource resource : new IResource[] { fFolderA, fFolderB, fFileX, fFileY }) {
+			assertEquals(-1, index.getMaxSeverity(resource, IResource.DEPTH_INFINITE));
+		}
+		// the sibling folder sorts next to the removed folder, but is not below it
+		assertSeverity(index, fFileZ);
+		assertEquals(IMarker.SEVERITY_WARNING, index.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void testUpdatesDuringBuildTakePrecedence() throws Exception {
+		createProblem(fFileX, IMarker.SEVERITY_ERROR);
+		createProblem(fFileZ, IMarker.SEVERITY_WARNING);
+		ProblemSeverityIndex index= new ProblemSeverityIndex();
+
+		// e.g. the project has been closed while the index was built
+		index.remove(fFolderA, new HashSet<>());
+		index.build(ResourcesPlugin.getWorkspace().getRoot());
+		assertEquals(-1, index.getMaxSeverity(fFileX, IResource.DEPTH_ZERO));
+		assertEquals(-1, index.getMaxSeverity(fFolderA, IResource.DEPTH_INFINITE));
+		assertSeverity(index, fFileZ);
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.operation.IRunnableContext;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.typehierarchy.ITypeHierarchyLifeCycleListener;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
+
+public class TypeHierarchyLifeCycleTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private TypeHierarchyLifeCycle fLifeCycle;
+
+	private final List<IType[]> fChanges= new ArrayList<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fLifeCycle != null) {
+			fLifeCycle.freeHierarchy();
+		}
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private void createLifeCycle(IType input) throws Exception {
+		IRunnableContext context= (fork, cancelable, runnable) -> runnable.run(new NullProgressMonitor());
+		fLifeCycle= new TypeHierarchyLifeCycle(false);
+		fLifeCycle.ensureRefreshedTypeHierarchy(input, context);
+		ITypeHierarchyLifeCycleListener listener= (typeHierarchyProvider, changedTypes) -> fChanges.add(changedTypes);
+		fLifeCycle.addChangedListener(listener);
+	}
+
+	@Test
+	public void testMemberChangeDoesNotRebuild() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		IType base= pack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", false, null).getType("A");
+		pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", false, null);
+
+		createLifeCycle(base);
+		assertEquals(1, fLifeCycle.getRebuildCount());
+
+		ICompilationUnit cu= pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n\tvoid foo() {}\n}\n", true, null);
+		assertEquals(1, fLifeCycle.getIncrementalUpdateCount());
+		assertEquals(1, fLifeCycle.getRebuildCount());
+		for (IType[] changedTypes : fChanges) {
+			assertEquals(1, changedTypes.length);
+			assertEquals(cu.getType("B"), changedTypes[0]);
+		}
+	}
+
+	@Test
+	public void testSupertypeChangeRebuilds() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		IType base= pack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", false, null).getType("A");
+		pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", false, null);
+
+		createLifeCycle(base);
+
+		pack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends A {\n}\n", false, null);
+		assertEquals(0, fLifeCycle.getIncrementalUpdateCount());
+		assertEquals(1, fChanges.size());
+		assertNull(fChanges.get(0));
+	}
+
+	@Test
+	public void testSubtypeAddedAfterMemberChange() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		IType base= pack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", false, null).getType("A");
+		pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", false, null);
+
+		createLifeCycle(base);
+
+		pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n\tvoid foo() {}\n}\n", true, null);
+		assertEquals(1, fLifeCycle.getIncrementalUpdateCount());
+		fChanges.clear();
+
+		IType subtype= pack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends A {\n}\n", false, null).getType("C");
+		assertEquals(1, fChanges.size());
+		assertNull(fChanges.get(0));
+
+		IRunnableContext context= (fork, cancelable, runnable) -> runnable.run(new NullProgressMonitor());
+		fLifeCycle.ensureRefreshedTypeHierarchy(base, context);
+		assertEquals(2, fLifeCycle.getRebuildCount());
+		assertTrue(Arrays.asList(fLifeCycle.getHierarchy().getSubclasses(base)).contains(subtype));
+	}
+
+	@Test
+	public void testImportChangeRebuilds() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment packA= sourceFolder.createPackageFragment("a", false, null);
+		IPackageFragment packB= sourceFolder.createPackageFragment("b", false, null);
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		IType base= packA.createCompilationUnit("Foo.java", "package a;\npublic class Foo {\n}\n", false, null).getType("Foo");
+		packB.createCompilationUnit("Foo.java", "package b;\npublic class Foo {\n}\n", false, null);
+		pack1.createCompilationUnit("B.java", "package pack1;\nimport a.Foo;\npublic class B extends Foo {\n}\n", false, null);
+
+		createLifeCycle(base);
+
+		// the super type is still called Foo, but it is another type
+		pack1.createCompilationUnit("B.java", "package pack1;\nimport b.Foo;\npublic class B extends Foo {\n}\n", true, null);
+		assertEquals(0, fLifeCycle.getIncrementalUpdateCount());
+		assertEquals(1, fChanges.size());
+		assertNull(fChanges.get(0));
+	}
+
+	@Test
+	public void testImportChangeInWorkingCopyRebuilds() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment packA= sourceFolder.createPackageFragment("a", false, null);
+		IPackageFragment packB= sourceFolder.createPackageFragment("b", false, null);
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		IType base= packA.createCompilationUnit("Foo.java", "package a;\npublic class Foo {\n}\n", false, null).getType("Foo");
+		packB.createCompilationUnit("Foo.java", "package b;\npublic class Foo {\n}\n", false, null);
+		ICompilationUnit cu= pack1.createCompilationUnit("B.java", "package pack1;\nimport a.Foo;\npublic class B extends Foo {\n}\n", false, null);
+
+		createLifeCycle(base);
+
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().setContents("package pack1;\nimport b.Foo;\npublic class B extends Foo {\n}\n");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			cu.commitWorkingCopy(true, null);
+		} finally {
+			cu.discardWorkingCopy();
+		}
+		assertEquals(0, fLifeCycle.getIncrementalUpdateCount());
+		assertTrue(fChanges.contains(null));
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class TypeNameIndexTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("pack", false, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private List<TypeNameMatch> getCandidates(String pattern, int matchKind) throws Exception {
+		TypeNameIndex index= TypeNameIndex.getDefault();
+		for (int i= 0; i < 100; i++) {
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+			List<TypeNameMatch> candidates= index.getCandidates(pattern, matchKind);
+			if (candidates != null)
+				return candidates;
+			Thread.sleep(100);
+		}
+		return null;
+	}
+
+	private static boolean contains(List<TypeNameMatch> candidates, String qualifiedName) {
+		for (TypeNameMatch match : candidates) {
+			if (qualifiedName.equals(match.getFullyQualifiedName()))
+				return true;
+		}
+		return false;
+	}
+
+	@Test
+	public void testPrefixAndCamelCase() throws Exception {
+		fPack.createCompilationUnit("NullPointerHandler.java", "package pack;\npublic class NullPointerHandler {\n}\n", false, null);
+		fPack.createCompilationUnit("Other.java", "package pack;\npublic class Other {\n}\n", false, null);
+
+		List<TypeNameMatch> candidates= getCandidates("nullpoint", SearchPattern.R_PREFIX_MATCH);
+		assertNotNull(candidates);
+		assertTrue(contains(candidates, "pack.NullPointerHandler"));
+		assertFalse(contains(candidates, "pack.Other"));
+
+		candidates= getCandidates("NPHa", SearchPattern.R_CAMELCASE_MATCH);
+		assertTrue(contains(candidates, "pack.NullPointerHandler"));
+		assertFalse(contains(candidates, "pack.Other"));
+
+		candidates= getCandidates("*Pointer*", SearchPattern.R_PATTERN_MATCH);
+		assertTrue(contains(candidates, "pack.NullPointerHandler"));
+		assertFalse(contains(candidates, "pack.Other"));
+	}
+
+	@Test
+	public void testUpdatedByDeltas() throws Exception {
+		ICompilationUnit cu= fPack.createCompilationUnit("First.java", "package pack;\npublic class First {\n}\n", false, null);
+		assertTrue(contains(getCandidates("First", SearchPattern.R_PREFIX_MATCH), "pack.First"));
+
+		cu.createType("class SecondInFirst {\n}\n", null, true, null);
+		assertTrue(contains(getCandidates("SecondIn", SearchPattern.R_PREFIX_MATCH), "pack.SecondInFirst"));
+
+		cu.delete(true, null);
+		assertFalse(contains(getCandidates("First", SearchPattern.R_PREFIX_MATCH), "pack.First"));
+		assertFalse(contains(getCandidates("SecondIn", SearchPattern.R_PREFIX_MATCH), "pack.SecondInFirst"));
+	}
+}
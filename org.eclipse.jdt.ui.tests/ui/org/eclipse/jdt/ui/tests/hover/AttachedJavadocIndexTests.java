@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.internal.corext.javadoc.AttachedJavadocIndex;
+
+public class AttachedJavadocIndexTests {
+
+	private static final String PAGE= ""
+			+ "<html><head><meta http-equiv=\"Content-Type\" content=\"text/html; charset=UTF-8\"></head><body>\n"
+			+ "<section class=\"class-description\" id=\"class-description\">\n"
+			+ "<pre>public class Sample</pre>\n"
+			+ "<div class=\"block\">A sample type.</div>\n"
+			+ "</section>\n"
+			+ "<section class=\"summary\">...</section>\n"
+			+ "<section class=\"details\">\n"
+			+ "<section class=\"detail\" id=\"run(java.lang.String,int)\">\n"
+			+ "<h3>run</h3>\n"
+			+ "<div class=\"member-signature\">public void run(String s, int i)</div>\n"
+			+ "<div class=\"block\">Runs the sample.</div>\n"
+			+ "</section>\n"
+			+ "<section class=\"detail\" id=\"stop()\">\n"
+			+ "<h3>stop</h3>\n"
+			+ "<div class=\"block\">Stops the sample.</div>\n"
+			+ "</section>\n"
+			+ "</section>\n"
+			+ "</body></html>\n";
+
+	@Rule
+	public TemporaryFolder folder= new TemporaryFolder();
+
+	private File createArchive() throws Exception {
+		return createArchive("doc.zip");
+	}
+
+	private File createArchive(String name) throws Exception {
+		File archive= new File(folder.getRoot(), name);
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(archive))) {
+			out.putNextEntry(new ZipEntry("api/p/Sample.html"));
+			out.write(PAGE.getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("api/p/Other.html"));
+			out.write("<html></html>".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+		return archive;
+	}
+
+	@Test
+	public void testPagesFromIndex() throws Exception {
+		File archive= createArchive();
+		AttachedJavadocIndex index= new AttachedJavadocIndex(folder.newFolder("index"));
+
+		// the first lookup schedules the build
+		index.getPage(archive, "api/p/Sample.html");
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+
+		assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), index.getPage(archive, "api/p/Sample.html"));
+		assertEquals("<html></html>", new String(index.getPage(archive, "api/p/Other.html"), StandardCharsets.UTF_8));
+		assertNull(index.getPage(archive, "api/p/Missing.html"));
+	}
+
+	@Test
+	public void testStoredAndDeflatedPagesFromArchive() throws Exception {
+		StringBuilder large= new StringBuilder(PAGE);
+		for (int i= 0; i < 1000; i++)
+			large.append("<!-- ").append(i).append(" -->\n");
+		byte[] deflated= large.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] stored= PAGE.getBytes(StandardCharsets.UTF_8);
+
+		File archive= new File(folder.getRoot(), "mixed.zip");
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(archive))) {
+			out.putNextEntry(new ZipEntry("api/p/Large.html"));
+			out.write(deflated);
+			out.closeEntry();
+			ZipEntry entry= new ZipEntry("api/p/Stored.html");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(stored.length);
+			entry.setCompressedSize(stored.length);
+			CRC32 crc= new CRC32();
+			crc.update(stored);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(stored);
+			out.closeEntry();
+			out.setComment("archive comment");
+		}
+		File indexFolder= folder.newFolder("index");
+		AttachedJavadocIndex index= new AttachedJavadocIndex(indexFolder);
+		index.getPage(archive, "api/p/Large.html");
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+
+		assertArrayEquals(deflated, index.getPage(archive, "api/p/Large.html"));
+		assertArrayEquals(stored, index.getPage(archive, "api/p/Stored.html"));
+		assertNull(index.getPage(archive, "api/p/Stored.htm"));
+
+		// the index refers to the pages in the archive instead of holding copies
+		String[] indexFiles= list(indexFolder, ".idx");
+		assertEquals(1, indexFiles.length);
+		assertTrue(new File(indexFolder, indexFiles[0]).length() < stored.length);
+	}
+
+	@Test
+	public void testIndexIsReusedFromDisk() throws Exception {
+		File archive= createArchive();
+		File indexFolder= folder.newFolder("index");
+		new AttachedJavadocIndex(indexFolder).getPage(archive, "api/p/Sample.html");
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+
+		AttachedJavadocIndex index= new AttachedJavadocIndex(indexFolder);
+		assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), index.getPage(archive, "api/p/Sample.html"));
+	}
+
+	@Test
+	public void testExtractFragments() throws Exception {
+		assertEquals("<div class=\"block\">A sample type.</div>\n</section>\n", AttachedJavadocIndex.extractTypeFragment(PAGE));
+
+		String run= AttachedJavadocIndex.extractMemberFragment(PAGE, "run(java.lang.String, int)");
+		assertEquals("<div class=\"block\">Runs the sample.</div>\n", run);
+
+		String stop= AttachedJavadocIndex.extractMemberFragment(PAGE, "stop()");
+		assertTrue(stop.contains("Stops the sample."));
+		assertTrue(!stop.contains("Runs the sample."));
+
+		assertNull(AttachedJavadocIndex.extractMemberFragment(PAGE, "missing()"));
+	}
+
+	private static String[] list(File indexFolder, String suffix) {
+		String[] names= indexFolder.list((dir, name) -> name.endsWith(suffix));
+		return names == null ? new String[0] : names;
+	}
+
+	@Test
+	public void testFailedArchiveIsNotRetried() throws Exception {
+		File archive= new File(folder.getRoot(), "broken.zip");
+		Files.write(archive.toPath(), "not an archive".getBytes(StandardCharsets.UTF_8));
+		File indexFolder= folder.newFolder("index");
+		AttachedJavadocIndex index= new AttachedJavadocIndex(indexFolder);
+
+		assertNull(index.getPage(archive, "api/p/Sample.html"));
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+		assertEquals(0, list(indexFolder, ".tmp").length);
+		assertEquals(0, list(indexFolder, ".idx").length);
+
+		assertNull(index.getPage(archive, "api/p/Sample.html"));
+		assertEquals(0, Job.getJobManager().find(AttachedJavadocIndex.FAMILY).length);
+
+		// a replaced archive is indexed again
+		long lastModified= archive.lastModified();
+		archive.delete();
+		createArchive("broken.zip");
+		archive.setLastModified(lastModified + 2000);
+		index.getPage(archive, "api/p/Sample.html");
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+		assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), index.getPage(archive, "api/p/Sample.html"));
+	}
+
+	@Test
+	public void testPruneDetachedAndStaleIndexes() throws Exception {
+		File attached= createArchive("attached.zip");
+		File detached= createArchive("detached.zip");
+		File indexFolder= folder.newFolder("index");
+		AttachedJavadocIndex index= new AttachedJavadocIndex(indexFolder);
+		index.getPage(attached, "api/p/Sample.html");
+		index.getPage(detached, "api/p/Sample.html");
+		Job.getJobManager().join(AttachedJavadocIndex.FAMILY, null);
+		assertEquals(2, list(indexFolder, ".idx").length);
+
+		index.prune(Collections.singleton(attached));
+		assertEquals(1, list(indexFolder, ".idx").length);
+		assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), index.getPage(attached, "api/p/Sample.html"));
+
+		assertTrue(attached.setLastModified(attached.lastModified() + 2000));
+		index.prune(Collections.singleton(attached));
+		assertEquals(0, list(indexFolder, ".idx").length);
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentAccess2;
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocHTMLCache;
+
+public class JavadocHTMLCacheTests {
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("p", false, null);
+		JavadocHTMLCache.getDefault().clear();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void testRepeatedRequestIsCached() throws Exception {
+		ICompilationUnit cu= fPack.createCompilationUnit("A.java", "package p;\n/** First version. */\npublic class A {\n}\n", false, null);
+		IType type= cu.getType("A");
+		JavadocHTMLCache cache= JavadocHTMLCache.getDefault();
+
+		long hits= cache.getHitCount();
+		String first= JavadocContentAccess2.getHTMLContent(type, true);
+		String second= JavadocContentAccess2.getHTMLContent(type, true);
+
+		assertTrue(first.contains("First version."));
+		assertSame(first, second);
+		assertEquals(hits + 1, cache.getHitCount());
+		assertTrue(cache.getSize() > 0);
+	}
+
+	@Test
+	public void testChangedUnitIsNotServedFromCache() throws Exception {
+		ICompilationUnit cu= fPack.createCompilationUnit("A.java", "package p;\n/** First version. */\npublic class A {\n}\n", false, null);
+		IType type= cu.getType("A");
+		assertTrue(JavadocContentAccess2.getHTMLContent(type, true).contains("First version."));
+
+		fPack.createCompilationUnit("A.java", "package p;\n/** Second version. */\npublic class A {\n}\n", true, null);
+		String html= JavadocContentAccess2.getHTMLContent(type, true);
+		assertTrue(html.contains("Second version."));
+		assertFalse(html.contains("First version."));
+	}
+
+	@Test
+	public void testInheritedDocIsInvalidated() throws Exception {
+		fPack.createCompilationUnit("Base.java", "package p;\npublic class Base {\n\t/** Base doc. */\n\tpublic void m() {}\n}\n", false, null);
+		ICompilationUnit cu= fPack.createCompilationUnit("Sub.java", "package p;\npublic class Sub extends Base {\n\t/** {@inheritDoc} */\n\t@Override\n\tpublic void m() {}\n}\n", false, null);
+		IType sub= cu.getType("Sub");
+		assertTrue(JavadocContentAccess2.getHTMLContent(sub.getMethod("m", new String[0]), true).contains("Base doc."));
+
+		fPack.createCompilationUnit("Base.java", "package p;\npublic class Base {\n\t/** Changed doc. */\n\tpublic void m() {}\n}\n", true, null);
+		assertTrue(JavadocContentAccess2.getHTMLContent(sub.getMethod("m", new String[0]), true).contains("Changed doc."));
+	}
+
+	@Test
+	public void testEntriesWithoutJavadocAreCounted() throws Exception {
+		ICompilationUnit cu= fPack.createCompilationUnit("A.java", "package p;\npublic class A {\n\tpublic void m1() {}\n\tpublic void m2() {}\n}\n", false, null);
+		IType type= cu.getType("A");
+		JavadocHTMLCache cache= JavadocHTMLCache.getDefault();
+
+		JavadocContentAccess2.getHTMLContent(type.getMethod("m1", new String[0]), true);
+		long size= cache.getSize();
+		assertTrue(size > 0);
+		JavadocContentAccess2.getHTMLContent(type.getMethod("m2", new String[0]), true);
+		assertTrue(cache.getSize() > size);
+	}
+
+	@Test
+	public void testReconcileDiscardsOnlyReconciledUnit() throws Exception {
+		ICompilationUnit a= fPack.createCompilationUnit("A.java", "package p;\n/** Doc of A. */\npublic class A {\n}\n", false, null);
+		ICompilationUnit b= fPack.createCompilationUnit("B.java", "package p;\n/** Doc of B. */\npublic class B {\n}\n", false, null);
+		a.becomeWorkingCopy(null);
+		try {
+			JavadocHTMLCache cache= JavadocHTMLCache.getDefault();
+			assertTrue(JavadocContentAccess2.getHTMLContent(a.getType("A"), true).contains("Doc of A."));
+			assertTrue(JavadocContentAccess2.getHTMLContent(b.getType("B"), true).contains("Doc of B."));
+			long size= cache.getSize();
+
+			a.getBuffer().replace(a.getSource().indexOf("Doc of A."), "Doc of A.".length(), "Edited doc.");
+			a.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertTrue(cache.getSize() < size);
+			assertTrue(cache.getSize() > 0);
+
+			long hits= cache.getHitCount();
+			assertTrue(JavadocContentAccess2.getHTMLContent(b.getType("B"), true).contains("Doc of B."));
+			assertEquals(hits + 1, cache.getHitCount());
+			assertTrue(JavadocContentAccess2.getHTMLContent(a.getType("A"), true).contains("Edited doc."));
+		} finally {
+			a.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testReconcileDiscardsInheritedDoc() throws Exception {
+		ICompilationUnit base= fPack.createCompilationUnit("Base.java", "package p;\npublic class Base {\n\t/** Base doc. */\n\tpublic void m() {}\n}\n", false, null);
+		ICompilationUnit cu= fPack.createCompilationUnit("Sub.java", "package p;\n/** Doc of Sub. */\npublic class Sub extends Base {\n\t/** {@inheritDoc} */\n\t@Override\n\tpublic void m() {}\n}\n", false, null);
+		IType sub= cu.getType("Sub");
+		base.becomeWorkingCopy(null);
+		try {
+			JavadocHTMLCache cache= JavadocHTMLCache.getDefault();
+			assertTrue(JavadocContentAccess2.getHTMLContent(sub.getMethod("m", new String[0]), true).contains("Base doc."));
+			assertTrue(JavadocContentAccess2.getHTMLContent(sub, true).contains("Doc of Sub."));
+
+			base.getBuffer().replace(base.getSource().indexOf("Base doc."), "Base doc.".length(), "Edited doc.");
+			base.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			String html= JavadocContentAccess2.getHTMLContent(sub.getMethod("m", new String[0]), true);
+			assertTrue(html.contains("Edited doc."));
+			assertFalse(html.contains("Base doc."));
+
+			// the type does not inherit Javadoc and stays cached
+			long hits= cache.getHitCount();
+			assertTrue(JavadocContentAccess2.getHTMLContent(sub, true).contains("Doc of Sub."));
+			assertEquals(hits + 1, cache.getHitCount());
+		} finally {
+			base.discardWorkingCopy();
+		}
+	}
+}
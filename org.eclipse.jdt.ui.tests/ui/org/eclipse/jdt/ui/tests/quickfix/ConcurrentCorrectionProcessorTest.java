@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.ILogListener;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jface.text.source.Annotation;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
+import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
+
+/**
+ * Tests the concurrent collection of quick assists, using the processors of
+ * {@link ConcurrentQuickAssistProcessors}.
+ */
+public class ConcurrentCorrectionProcessorTest extends QuickFixTest {
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+	private IPackageFragmentRoot fSourceFolder;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= projectSetup.getProject();
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, projectSetup.getDefaultClasspath());
+	}
+
+	private AssistContext createContext(String trigger) throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String contents= "package test1;\n" +
+				"public class Concurrent {\n" +
+				"    // " + trigger + "\n" +
+				"    public String foo() {\n" +
+				"        return \"hello\";\n" +
+				"    }\n" +
+				"}\n";
+		ICompilationUnit cu= pack1.createCompilationUnit("Concurrent.java", contents, false, null);
+		return getCorrectionContext(cu, contents.indexOf("hello"), 0);
+	}
+
+	private static List<String> getDisplayStrings(List<IJavaCompletionProposal> proposals) {
+		List<String> displayStrings= new ArrayList<>();
+		for (IJavaCompletionProposal proposal : proposals) {
+			displayStrings.add(proposal.getDisplayString());
+		}
+		return displayStrings;
+	}
+
+	@Test
+	public void testSameOrderAsSequential() throws Exception {
+		AssistContext context= createContext(ConcurrentQuickAssistProcessors.PROPOSAL_TRIGGER);
+
+		List<IJavaCompletionProposal> sequential= new ArrayList<>();
+		IStatus status= JavaCorrectionProcessor.collectProposals(context, null, new Annotation[0], true, true, sequential);
+		assertTrue(status.isOK());
+
+		List<IJavaCompletionProposal> concurrent= new ArrayList<>();
+		status= JavaCorrectionProcessor.collectProposalsConcurrently(context, null, new Annotation[0], true, true, concurrent, 30000);
+		assertTrue(status.isOK());
+
+		List<String> displayStrings= getDisplayStrings(concurrent);
+		assertTrue(displayStrings.contains(ConcurrentQuickAssistProcessors.PROPOSAL));
+		assertTrue(displayStrings.size() > 1); // the processors of jdt.ui contribute as well
+		assertEquals(getDisplayStrings(sequential), displayStrings);
+	}
+
+	@Test
+	public void testProcessorsShareOneAST() throws Exception {
+		AssistContext context= createContext(ConcurrentQuickAssistProcessors.PROPOSAL_TRIGGER + " " + ConcurrentQuickAssistProcessors.THROWING_TRIGGER);
+		ConcurrentQuickAssistProcessors.fgASTs.clear();
+
+		List<IJavaCompletionProposal> proposals= new ArrayList<>();
+		JavaCorrectionProcessor.collectProposalsConcurrently(context, null, new Annotation[0], true, true, proposals, 30000);
+
+		// the processors of other bundles share one AST, which is not the one of the context
+		assertEquals(1, ConcurrentQuickAssistProcessors.fgASTs.size());
+		assertFalse(ConcurrentQuickAssistProcessors.fgASTs.contains(context.getASTRoot()));
+	}
+
+	@Test
+	public void testThrowingProcessor() throws Exception {
+		AssistContext context= createContext(ConcurrentQuickAssistProcessors.PROPOSAL_TRIGGER + " " + ConcurrentQuickAssistProcessors.THROWING_TRIGGER);
+
+		List<IJavaCompletionProposal> proposals= new ArrayList<>();
+		IStatus status= JavaCorrectionProcessor.collectProposalsConcurrently(context, null, new Annotation[0], true, true, proposals, 30000);
+
+		assertEquals(IStatus.ERROR, status.getSeverity());
+		assertTrue(getDisplayStrings(proposals).contains(ConcurrentQuickAssistProcessors.PROPOSAL));
+	}
+
+	@Test
+	public void testSlowProcessorCanceled() throws Exception {
+		AssistContext context= createContext(ConcurrentQuickAssistProcessors.PROPOSAL_TRIGGER + " " + ConcurrentQuickAssistProcessors.SLOW_TRIGGER);
+		CountDownLatch released= new CountDownLatch(1);
+		ConcurrentQuickAssistProcessors.fgSlowProcessorReleased= released;
+		ConcurrentQuickAssistProcessors.fgSlowProcessorInterrupted= false;
+		List<IStatus> warnings= new ArrayList<>();
+		ILogListener listener= (status, plugin) -> {
+			if (status.getSeverity() == IStatus.WARNING && status.getMessage().contains(ConcurrentQuickAssistProcessors.SLOW_PROCESSOR_ID)) {
+				synchronized (warnings) {
+					warnings.add(status);
+				}
+			}
+		};
+		JavaPlugin.getDefault().getLog().addLogListener(listener);
+		try {
+			List<IJavaCompletionProposal> proposals= new ArrayList<>();
+			long start= System.currentTimeMillis();
+			IStatus status= JavaCorrectionProcessor.collectProposalsConcurrently(context, null, new Annotation[0], true, true, proposals, 1000);
+			long elapsed= System.currentTimeMillis() - start;
+
+			assertTrue(status.isOK());
+			assertTrue("waited " + elapsed + "ms", elapsed < 10000);
+			List<String> displayStrings= getDisplayStrings(proposals);
+			assertFalse(displayStrings.contains(ConcurrentQuickAssistProcessors.SLOW_PROPOSAL));
+			assertTrue(displayStrings.contains(ConcurrentQuickAssistProcessors.PROPOSAL));
+			synchronized (warnings) {
+				assertEquals(1, warnings.size());
+			}
+		} finally {
+			released.countDown();
+			JavaPlugin.getDefault().getLog().removeLogListener(listener);
+		}
+		// the late processor is left to finish
+		assertFalse("processor interrupted", ConcurrentQuickAssistProcessors.fgSlowProcessorInterrupted);
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.ltk.core.refactoring.NullChange;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.text.java.IInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jdt.ui.text.java.IProblemLocation;
+import org.eclipse.jdt.ui.text.java.IQuickAssistProcessor;
+import org.eclipse.jdt.ui.text.java.correction.ChangeCorrectionProposal;
+
+/**
+ * Quick assist processors used by {@link ConcurrentCorrectionProcessorTest}. They only contribute
+ * when the compilation unit contains their trigger string.
+ */
+public class ConcurrentQuickAssistProcessors {
+
+	/** The ASTs of the contexts the triggered processors got. */
+	public static final Set<CompilationUnit> fgASTs= Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	private static abstract class TriggeredProcessor implements IQuickAssistProcessor {
+		private final String fTrigger;
+
+		TriggeredProcessor(String trigger) {
+			fTrigger= trigger;
+		}
+
+		@Override
+		public boolean hasAssists(IInvocationContext context) throws CoreException {
+			return isTriggered(context);
+		}
+
+		@Override
+		public IJavaCompletionProposal[] getAssists(IInvocationContext context, IProblemLocation[] locations) throws CoreException {
+			if (isTriggered(context)) {
+				fgASTs.add(context.getASTRoot());
+				return new IJavaCompletionProposal[] { compute() };
+			}
+			return null;
+		}
+
+		private boolean isTriggered(IInvocationContext context) throws CoreException {
+			return context.getCompilationUnit().getSource().contains(fTrigger);
+		}
+
+		abstract IJavaCompletionProposal compute();
+	}
+
+	static IJavaCompletionProposal createProposal(String name) {
+		return new ChangeCorrectionProposal(name, new NullChange(name), 0, null);
+	}
+
+	public static final String PROPOSAL_TRIGGER= "proposalTrigger";
+	public static final String PROPOSAL= "Contributed proposal";
+
+	public static class ProposalProcessor extends TriggeredProcessor {
+		public ProposalProcessor() {
+			super(PROPOSAL_TRIGGER);
+		}
+
+		@Override
+		IJavaCompletionProposal compute() {
+			return createProposal(PROPOSAL);
+		}
+	}
+
+	public static final String THROWING_TRIGGER= "throwingTrigger";
+
+	public static class ThrowingProcessor extends TriggeredProcessor {
+		public ThrowingProcessor() {
+			super(THROWING_TRIGGER);
+		}
+
+		@Override
+		IJavaCompletionProposal compute() {
+			throw new IllegalStateException("expected by the test");
+		}
+	}
+
+	public static final String SLOW_TRIGGER= "slowTrigger";
+	public static final String SLOW_PROPOSAL= "Slow proposal";
+	public static final String SLOW_PROCESSOR_ID= "org.eclipse.jdt.ui.tests.quickfix.SlowQuickAssistProcessor";
+
+	/** Counted down by the test to let the {@link SlowProcessor} return. */
+	public static volatile CountDownLatch fgSlowProcessorReleased= new CountDownLatch(0);
+
+	/** Set when the {@link SlowProcessor} has been interrupted. */
+	public static volatile boolean fgSlowProcessorInterrupted;
+
+	/**
+	 * Only returns when it is released by the test, or after 20 seconds.
+	 */
+	public static class SlowProcessor extends TriggeredProcessor {
+		public SlowProcessor() {
+			super(SLOW_TRIGGER);
+		}
+
+		@Override
+		IJavaCompletionProposal compute() {
+			try {
+				fgSlowProcessorReleased.await(20, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				fgSlowProcessorInterrupted= true;
+			}
+			return createProposal(SLOW_PROPOSAL);
+		}
+	}
+}
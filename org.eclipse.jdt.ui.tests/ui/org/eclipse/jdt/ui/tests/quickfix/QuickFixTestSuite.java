@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,7 +70,8 @@ import org.junit.runners.Suite;
 	NullAnnotationsQuickFixTest1d8Mix.class,
 	AnnotateAssistTest1d5.class,
 	AnnotateAssistTest1d8.class,
-	TypeAnnotationQuickFixTest.class
+	TypeAnnotationQuickFixTest.class,
+	ConcurrentCorrectionProcessorTest.class
 })
 public class QuickFixTestSuite {
 }
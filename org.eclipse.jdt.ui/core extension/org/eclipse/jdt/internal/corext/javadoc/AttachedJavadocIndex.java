@@ -0,0 +1,726 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.javadoc;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * An on-disk index of the HTML pages of Javadoc archives that are attached with a
+ * <code>jar:file:</code> URL.
+ * <p>
+ * The index of an archive is built once in the background and stored in the plug-in state
+ * location. It does not copy the pages, but holds an open addressing table from the hash of the
+ * page path to the path and the position, size and compression method of the page data in the
+ * archive, and is memory-mapped for lookups. A lookup compares the path of the slot with the
+ * requested one and then reads and, if needed, inflates only that page; the central directory of
+ * the archive is never read again. Member and type fragments are cut out of the page by their
+ * anchor; if that fails, <code>null</code> is returned and clients fall back to
+ * {@link IJavaElement#getAttachedJavadoc(IProgressMonitor)}.
+ * </p>
+ * <p>
+ * Only pages that are stored or deflated are indexed, and archives that need ZIP64 extensions
+ * are not indexed at all.
+ * </p>
+ * <p>
+ * An index is only valid for the size and time stamp of its archive, a replaced archive is
+ * indexed again. An archive that cannot be indexed is not tried again until its time stamp
+ * changes. Index files of archives that changed or are no longer attached to any library are
+ * deleted by a background job when the index is first used.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class AttachedJavadocIndex {
+
+	public static final String FAMILY= AttachedJavadocIndex.class.getName();
+
+	private static final int MAGIC= 0x4A444958; // "JDIX"
+	private static final int VERSION= 3;
+	private static final int HEADER_SIZE= 4 + 4 + 8 + 8 + 4 + 4 + 4;
+	private static final int SLOT_SIZE= 16;
+	/** Data offset, compressed size, size and method of a page, followed by its path. */
+	private static final int RECORD_SIZE= 8 + 4 + 4 + 2;
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE= 30;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE= 46;
+	private static final int END_SIGNATURE= 0x06054b50;
+	private static final int END_SIZE= 22;
+	private static final int STORED= 0;
+	private static final int DEFLATED= 8;
+	private static final long ZIP64_MARKER= 0xffffffffL;
+
+	private static final long FNV_OFFSET= 0xcbf29ce484222325L;
+	private static final long FNV_PRIME= 0x100000001b3L;
+
+	private static final String INDEX_FOLDER= "attachedJavadoc"; //$NON-NLS-1$
+	private static final String JAR_FILE_PREFIX= "jar:file:"; //$NON-NLS-1$
+	private static final String ARCHIVE_SEPARATOR= "!/"; //$NON-NLS-1$
+	private static final String INDEX_SUFFIX= ".idx"; //$NON-NLS-1$
+	private static final String TEMP_SUFFIX= ".tmp"; //$NON-NLS-1$
+
+	/**
+	 * The index of one archive.
+	 */
+	private static final class ArchiveIndex {
+		final long fLastModified;
+		final long fLength;
+		final MappedByteBuffer fBuffer;
+		final int fSlotCount;
+
+		ArchiveIndex(long lastModified, long length, MappedByteBuffer buffer, int slotCount) {
+			fLastModified= lastModified;
+			fLength= length;
+			fBuffer= buffer;
+			fSlotCount= slotCount;
+		}
+
+		boolean isValid(File archive) {
+			return archive.lastModified() == fLastModified && archive.length() == fLength;
+		}
+
+		/**
+		 * Returns the raw bytes of the page with the given path, or <code>null</code> if the
+		 * archive has no such page.
+		 */
+		byte[] getPage(File archive, String path) throws IOException {
+			byte[] name= path.getBytes(StandardCharsets.UTF_8);
+			long hash= hash(path);
+			int mask= fSlotCount - 1;
+			for (int i= (int) hash & mask, probes= 0; probes < fSlotCount; i= (i + 1) & mask, probes++) {
+				int slot= HEADER_SIZE + i * SLOT_SIZE;
+				long key= fBuffer.getLong(slot);
+				if (key == 0)
+					return null;
+				int record= fBuffer.getInt(slot + 8);
+				if (key == hash && fBuffer.getInt(slot + 12) == name.length && hasName(record + RECORD_SIZE, name))
+					return readPage(archive, fBuffer.getLong(record), fBuffer.getInt(record + 8), fBuffer.getInt(record + 12), fBuffer.getShort(record + 16));
+			}
+			return null;
+		}
+
+		private boolean hasName(int offset, byte[] name) {
+			for (int i= 0; i < name.length; i++) {
+				if (fBuffer.get(offset + i) != name[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private class BuildJob extends Job {
+		private final File fArchive;
+
+		public BuildJob(File archive) {
+			super(CorextMessages.AttachedJavadocIndex_job_name);
+			fArchive= archive;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			long lastModified= fArchive.lastModified();
+			ArchiveIndex index= null;
+			boolean canceled= false;
+			try {
+				index= build(fArchive, monitor);
+			} catch (OperationCanceledException e) {
+				canceled= true;
+				return Status.CANCEL_STATUS;
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+			} finally {
+				synchronized (AttachedJavadocIndex.this) {
+					fBuilding.remove(fArchive);
+					if (index != null)
+						fIndexes.put(fArchive, index);
+					else if (!canceled)
+						fFailed.put(fArchive, Long.valueOf(lastModified));
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	/**
+	 * Deletes the index files of archives that changed or are no longer attached.
+	 */
+	private class PruneJob extends Job {
+		public PruneJob() {
+			super(CorextMessages.AttachedJavadocIndex_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				prune(getAttachedArchives());
+			} catch (JavaModelException e) {
+				JavaPlugin.log(e);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	private static AttachedJavadocIndex fgInstance;
+
+	private final File fIndexFolder;
+
+	private final Map<File, ArchiveIndex> fIndexes= new HashMap<>();
+	private final Map<File, BuildJob> fBuilding= new HashMap<>();
+	/** The time stamps of the archives that could not be indexed. */
+	private final Map<File, Long> fFailed= new HashMap<>();
+
+	public static synchronized AttachedJavadocIndex getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new AttachedJavadocIndex(JavaPlugin.getDefault().getStateLocation().append(INDEX_FOLDER).toFile());
+			fgInstance.new PruneJob().schedule();
+		}
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		Job.getJobManager().cancel(FAMILY);
+		fgInstance= null;
+	}
+
+	/**
+	 * Creates an index that stores its files in the given folder.
+	 *
+	 * @param indexFolder the folder for the index files
+	 */
+	public AttachedJavadocIndex(File indexFolder) {
+		fIndexFolder= indexFolder;
+	}
+
+	/**
+	 * Returns the attached Javadoc of a type, method or field, if it is attached as a local
+	 * archive that has been indexed.
+	 *
+	 * @param element the element
+	 * @return the Javadoc fragment in HTML, or <code>null</code> if the index cannot provide it
+	 * @throws JavaModelException if the Javadoc location cannot be determined
+	 */
+	public String getAttachedJavadoc(IJavaElement element) throws JavaModelException {
+		int type= element.getElementType();
+		if (type != IJavaElement.TYPE && type != IJavaElement.METHOD && type != IJavaElement.FIELD)
+			return null;
+		IPackageFragmentRoot root= JavaModelUtil.getPackageFragmentRoot(element);
+		if (root == null || root.getKind() != IPackageFragmentRoot.K_BINARY)
+			return null;
+		URL location= JavaDocLocations.getJavadocLocation(element, true);
+		if (location == null)
+			return null;
+		String url= location.toExternalForm();
+		File archive= getArchive(url);
+		if (archive == null)
+			return null;
+
+		String pagePath;
+		String anchor;
+		try {
+			URI page= new URI(url.substring(url.indexOf(ARCHIVE_SEPARATOR) + ARCHIVE_SEPARATOR.length()));
+			pagePath= page.getPath();
+			anchor= page.getFragment();
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+		if (pagePath == null)
+			return null;
+
+		byte[] page= getPage(archive, pagePath);
+		if (page == null)
+			return null;
+		String html= decode(page);
+		return type == IJavaElement.TYPE ? extractTypeFragment(html) : extractMemberFragment(html, anchor);
+	}
+
+	/**
+	 * Returns the raw bytes of a page of the given archive. If the archive has not been indexed
+	 * yet, the index is built in the background and <code>null</code> is returned.
+	 *
+	 * @param archive the Javadoc archive
+	 * @param pagePath the path of the page in the archive
+	 * @return the page, or <code>null</code> if not (yet) available
+	 */
+	public byte[] getPage(File archive, String pagePath) {
+		ArchiveIndex index;
+		synchronized (this) {
+			index= fIndexes.get(archive);
+			if (index == null || !index.isValid(archive)) {
+				fIndexes.remove(archive);
+				index= load(archive);
+				if (index != null) {
+					fIndexes.put(archive, index);
+				} else if (!fBuilding.containsKey(archive) && archive.isFile() && !hasFailed(archive)) {
+					BuildJob job= new BuildJob(archive);
+					fBuilding.put(archive, job);
+					job.schedule();
+				}
+			}
+		}
+		if (index == null)
+			return null;
+		try {
+			return index.getPage(archive, pagePath);
+		} catch (IOException e) {
+			return null; // the archive has been replaced meanwhile, the next lookup indexes it again
+		}
+	}
+
+	private boolean hasFailed(File archive) {
+		Long lastModified= fFailed.get(archive);
+		if (lastModified == null)
+			return false;
+		if (lastModified.longValue() == archive.lastModified())
+			return true;
+		fFailed.remove(archive); // changed, try again
+		return false;
+	}
+
+	private File getIndexFile(File archive) {
+		String name= Long.toHexString(hash(archive.getAbsolutePath())) + '-' + Long.toHexString(archive.lastModified()) + INDEX_SUFFIX;
+		return new File(fIndexFolder, name);
+	}
+
+	private ArchiveIndex load(File archive) {
+		File indexFile= getIndexFile(archive);
+		if (!indexFile.isFile())
+			return null;
+		try (FileChannel channel= FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				return null;
+			MappedByteBuffer buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+				return null;
+			long lastModified= buffer.getLong(8);
+			long length= buffer.getLong(16);
+			int slotCount= buffer.getInt(24);
+			ArchiveIndex index= new ArchiveIndex(lastModified, length, buffer, slotCount);
+			return index.isValid(archive) ? index : null;
+		} catch (IOException | IndexOutOfBoundsException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	private ArchiveIndex build(File archive, IProgressMonitor monitor) throws IOException {
+		long lastModified= archive.lastModified();
+		long length= archive.length();
+		File indexFile= getIndexFile(archive);
+		fIndexFolder.mkdirs();
+		File temp= new File(indexFile.getPath() + TEMP_SUFFIX);
+
+		try {
+			if (!write(archive, lastModified, length, temp, monitor) || !temp.renameTo(indexFile))
+				return null;
+		} finally {
+			temp.delete();
+		}
+		deleteStaleIndexFiles(archive, indexFile);
+		return load(archive);
+	}
+
+	private static boolean write(File archive, long lastModified, long length, File temp, IProgressMonitor monitor) throws IOException {
+		try (FileChannel zip= FileChannel.open(archive.toPath(), StandardOpenOption.READ); FileChannel channel= FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer directory= readCentralDirectory(zip);
+			if (directory == null)
+				return false;
+
+			ByteBuffer records= ByteBuffer.allocate(directory.capacity()); // a record is smaller than its directory entry
+			List<long[]> pages= new ArrayList<>(); // hash, record offset and path length
+			while (directory.remaining() >= CENTRAL_HEADER_SIZE && directory.getInt(directory.position()) == CENTRAL_HEADER_SIGNATURE) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				int entry= directory.position();
+				int flags= Short.toUnsignedInt(directory.getShort(entry + 8));
+				int method= Short.toUnsignedInt(directory.getShort(entry + 10));
+				long compressedSize= Integer.toUnsignedLong(directory.getInt(entry + 20));
+				long size= Integer.toUnsignedLong(directory.getInt(entry + 24));
+				int nameLength= Short.toUnsignedInt(directory.getShort(entry + 28));
+				int extraLength= Short.toUnsignedInt(directory.getShort(entry + 30));
+				int commentLength= Short.toUnsignedInt(directory.getShort(entry + 32));
+				long localHeader= Integer.toUnsignedLong(directory.getInt(entry + 42));
+				if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localHeader == ZIP64_MARKER)
+					return false;
+				if (directory.remaining() < CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength)
+					return false; // damaged
+				byte[] name= new byte[nameLength];
+				directory.position(entry + CENTRAL_HEADER_SIZE);
+				directory.get(name);
+				directory.position(directory.position() + extraLength + commentLength);
+
+				boolean encrypted= (flags & 1) != 0;
+				if (encrypted || (method != STORED && method != DEFLATED) || size > Integer.MAX_VALUE || compressedSize > Integer.MAX_VALUE
+						|| !new String(name, StandardCharsets.UTF_8).endsWith(".html")) //$NON-NLS-1$
+					continue;
+				long data= getDataOffset(zip, localHeader);
+				if (data == -1)
+					return false;
+				pages.add(new long[] { hash(new String(name, StandardCharsets.UTF_8)), records.position(), nameLength });
+				records.putLong(data).putInt((int) compressedSize).putInt((int) size).putShort((short) method).put(name);
+			}
+
+			int slotCount= Integer.highestOneBit(Math.max(pages.size(), 1) * 2 - 1) << 1;
+			ByteBuffer slots= ByteBuffer.allocate(slotCount * SLOT_SIZE);
+			long recordsStart= HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+			long position= recordsStart + records.position();
+			byte[] path= archive.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+			if (position + path.length > Integer.MAX_VALUE)
+				return false; // too large to be mapped
+
+			for (long[] page : pages) {
+				long hash= page[0];
+				int mask= slotCount - 1;
+				int i= (int) hash & mask;
+				while (slots.getLong(i * SLOT_SIZE) != 0) // equal hashes get their own slots, the path tells them apart
+					i= (i + 1) & mask;
+				slots.putLong(i * SLOT_SIZE, hash);
+				slots.putInt(i * SLOT_SIZE + 8, (int) (recordsStart + page[1]));
+				slots.putInt(i * SLOT_SIZE + 12, (int) page[2]);
+			}
+
+			records.flip();
+			channel.write(records, recordsStart);
+			channel.write(ByteBuffer.wrap(path), position);
+
+			ByteBuffer header= ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putLong(lastModified).putLong(length).putInt(slotCount).putInt((int) position).putInt(path.length).flip();
+			channel.write(header, 0);
+			channel.write(slots, HEADER_SIZE);
+		}
+		return true;
+	}
+
+	/*
+	 * Returns the central directory of the given archive in little-endian order, or null if it
+	 * cannot be found or needs ZIP64 extensions.
+	 */
+	private static ByteBuffer readCentralDirectory(FileChannel zip) throws IOException {
+		long size= zip.size();
+		int tailLength= (int) Math.min(size, END_SIZE + 0xffff);
+		ByteBuffer tail= ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(zip, tail, size - tailLength);
+		int end= tailLength - END_SIZE;
+		while (end >= 0 && tail.getInt(end) != END_SIGNATURE)
+			end--; // skip the archive comment
+		if (end < 0)
+			return null;
+		long directorySize= Integer.toUnsignedLong(tail.getInt(end + 12));
+		long directoryOffset= Integer.toUnsignedLong(tail.getInt(end + 16));
+		if (directorySize == ZIP64_MARKER || directoryOffset == ZIP64_MARKER || directoryOffset + directorySize > size || directorySize > Integer.MAX_VALUE)
+			return null;
+		ByteBuffer directory= ByteBuffer.allocate((int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(zip, directory, directoryOffset);
+		directory.flip();
+		return directory;
+	}
+
+	/*
+	 * Returns the offset of the data of the entry with the given local header, or -1 if there is
+	 * no local header at that offset.
+	 */
+	private static long getDataOffset(FileChannel zip, long localHeader) throws IOException {
+		ByteBuffer header= ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(zip, header, localHeader);
+		if (header.getInt(0) != LOCAL_HEADER_SIGNATURE)
+			return -1;
+		return localHeader + LOCAL_HEADER_SIZE + Short.toUnsignedInt(header.getShort(26)) + Short.toUnsignedInt(header.getShort(28));
+	}
+
+	private static byte[] readPage(File archive, long offset, int compressedSize, int size, int method) throws IOException {
+		ByteBuffer data= ByteBuffer.allocate(compressedSize);
+		try (FileChannel zip= FileChannel.open(archive.toPath(), StandardOpenOption.READ)) {
+			readFully(zip, data, offset);
+		}
+		if (method == STORED)
+			return data.array();
+
+		Inflater inflater= new Inflater(true);
+		try {
+			inflater.setInput(data.array());
+			byte[] page= new byte[size];
+			int length= 0;
+			while (length < size) {
+				int inflated= inflater.inflate(page, length, size - length);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				length+= inflated;
+			}
+			if (length != size)
+				throw new ZipException(archive.getPath());
+			return page;
+		} catch (DataFormatException e) {
+			throw new ZipException(e.getMessage());
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				throw new EOFException();
+		}
+	}
+
+	private void deleteStaleIndexFiles(File archive, File current) {
+		String prefix= Long.toHexString(hash(archive.getAbsolutePath())) + '-';
+		File[] files= fIndexFolder.listFiles((dir, name) -> name.startsWith(prefix));
+		if (files == null)
+			return;
+		for (File file : files) {
+			if (!file.equals(current))
+				file.delete(); // may fail while still mapped, is retried on the next build
+		}
+	}
+
+	/**
+	 * Deletes the index files of archives that are not in the given set or have changed since they
+	 * were indexed, and left-over temporary files.
+	 *
+	 * @param attachedArchives the Javadoc archives that are attached to libraries
+	 */
+	public void prune(Set<File> attachedArchives) {
+		File[] files= fIndexFolder.listFiles((dir, name) -> name.endsWith(INDEX_SUFFIX) || name.endsWith(TEMP_SUFFIX));
+		if (files == null)
+			return;
+		for (File file : files) {
+			if (file.getName().endsWith(INDEX_SUFFIX)) {
+				File archive= readArchive(file);
+				if (archive != null && attachedArchives.contains(archive))
+					continue;
+				if (archive != null) {
+					synchronized (this) {
+						if (fBuilding.containsKey(archive))
+							continue;
+						fIndexes.remove(archive);
+					}
+				}
+			} else {
+				synchronized (this) {
+					if (!fBuilding.isEmpty())
+						continue; // may be written right now
+				}
+			}
+			file.delete(); // may fail while still mapped, is retried on the next prune
+		}
+	}
+
+	/*
+	 * Returns the archive of the given index file if the index is still valid for it, and null
+	 * otherwise.
+	 */
+	private static File readArchive(File indexFile) {
+		try (FileChannel channel= FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer header= ByteBuffer.allocate(HEADER_SIZE);
+			if (channel.read(header, 0) != HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+				return null;
+			ByteBuffer path= ByteBuffer.allocate(header.getInt(32));
+			channel.read(path, header.getInt(28));
+			File archive= new File(new String(path.array(), 0, path.position(), StandardCharsets.UTF_8));
+			if (archive.lastModified() != header.getLong(8) || archive.length() != header.getLong(16))
+				return null;
+			return archive;
+		} catch (IOException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Returns the local Javadoc archives that are attached to the libraries of the Java projects
+	 * in the workspace.
+	 */
+	private static Set<File> getAttachedArchives() throws JavaModelException {
+		Set<File> archives= new HashSet<>();
+		for (IJavaProject project : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+			if (!project.getProject().isOpen())
+				continue;
+			for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+				if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY)
+					continue;
+				URL location= JavaDocLocations.getLibraryJavadocLocation(entry);
+				File archive= location == null ? null : getArchive(location.toExternalForm());
+				if (archive != null)
+					archives.add(archive);
+			}
+		}
+		return archives;
+	}
+
+	private static File getArchive(String url) {
+		if (!url.startsWith(JAR_FILE_PREFIX))
+			return null;
+		int separator= url.indexOf(ARCHIVE_SEPARATOR);
+		if (separator == -1)
+			return null;
+		try {
+			return new File(new URI(url.substring(JAR_FILE_PREFIX.length() - "file:".length(), separator))); //$NON-NLS-1$
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static long hash(String path) {
+		long hash= FNV_OFFSET;
+		for (int i= 0, length= path.length(); i < length; i++) {
+			hash= (hash ^ path.charAt(i)) * FNV_PRIME;
+		}
+		return hash == 0 ? 1 : hash; // zero marks an empty slot
+	}
+
+	private static String decode(byte[] page) {
+		Charset charset= StandardCharsets.UTF_8;
+		String head= new String(page, 0, Math.min(page.length, 1024), StandardCharsets.ISO_8859_1);
+		int index= head.indexOf("charset="); //$NON-NLS-1$
+		if (index != -1) {
+			int start= index + "charset=".length(); //$NON-NLS-1$
+			int end= start;
+			while (end < head.length() && (Character.isLetterOrDigit(head.charAt(end)) || head.charAt(end) == '-' || head.charAt(end) == '_'))
+				end++;
+			try {
+				charset= Charset.forName(head.substring(start, end));
+			} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+				// keep UTF-8
+			}
+		}
+		return new String(page, charset);
+	}
+
+	/**
+	 * Cuts the description of the type out of its page.
+	 *
+	 * @param html the page of the type
+	 * @return the description, or <code>null</code> if not found
+	 */
+	public static String extractTypeFragment(String html) {
+		int start= indexOfAny(html, 0, "<section class=\"class-description\"", "<section class=\"description\"", "<div class=\"description\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (start == -1)
+			return null;
+		int end= indexOfAny(html, start, "<section class=\"summary\"", "<div class=\"summary\"", "<!-- ======== NESTED CLASS SUMMARY", "<!-- =========== FIELD SUMMARY", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				"<!-- ======== CONSTRUCTOR SUMMARY", "<!-- ========== METHOD SUMMARY", "<!-- ========= END OF CLASS DATA"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (end == -1)
+			return null;
+		int blockStart= indexOfAny(html.substring(start, end), 0, "<div class=\"deprecation-block\"", "<div class=\"deprecationBlock\"", "<div class=\"block\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return blockStart == -1 ? null : html.substring(start + blockStart, end);
+	}
+
+	/**
+	 * Cuts the description of a member out of the page of its declaring type.
+	 *
+	 * @param html the page of the declaring type
+	 * @param anchor the anchor of the member
+	 * @return the description, or <code>null</code> if not found
+	 */
+	public static String extractMemberFragment(String html, String anchor) {
+		if (anchor == null)
+			return null;
+		int anchorIndex= indexOfAnchor(html, anchor);
+		if (anchorIndex == -1 && anchor.indexOf(", ") != -1) //$NON-NLS-1$
+			anchorIndex= indexOfAnchor(html, anchor.replace(", ", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+		if (anchorIndex == -1 && anchor.indexOf(',') != -1)
+			anchorIndex= indexOfAnchor(html, anchor.replace(",", ", ")); //$NON-NLS-1$ //$NON-NLS-2$
+		if (anchorIndex == -1)
+			return null;
+
+		int start= html.lastIndexOf('<', anchorIndex);
+		int end;
+		if (html.startsWith("<section", start)) { //$NON-NLS-1$
+			end= html.indexOf("</section>", start); //$NON-NLS-1$
+		} else {
+			int tagEnd= html.indexOf('>', anchorIndex);
+			end= tagEnd == -1 ? -1 : indexOfAny(html, tagEnd, "<a id=\"", "<a name=\"", "<!-- ====", "<section class=\"detail\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+		if (end == -1)
+			return null;
+		String member= html.substring(start, end);
+		int blockStart= indexOfAny(member, 0, "<div class=\"deprecation-block\"", "<div class=\"deprecationBlock\"", "<div class=\"block\"", "<dl"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		return blockStart == -1 ? null : member.substring(blockStart);
+	}
+
+	private static int indexOfAnchor(String html, String anchor) {
+		int index= html.indexOf("id=\"" + anchor + '"'); //$NON-NLS-1$
+		if (index == -1)
+			index= html.indexOf("name=\"" + anchor + '"'); //$NON-NLS-1$
+		return index;
+	}
+
+	private static int indexOfAny(String text, int from, String... candidates) {
+		int result= -1;
+		for (String candidate : candidates) {
+			int index= text.indexOf(candidate, from);
+			if (index != -1 && (result == -1 || index < result))
+				result= index;
+		}
+		return result;
+	}
+}
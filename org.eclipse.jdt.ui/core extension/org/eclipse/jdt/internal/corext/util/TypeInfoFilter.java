@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -238,6 +238,14 @@ public class TypeInfoFilter {
 		return fSearchScope;
 	}
 
+	/**
+	 * @return whether the search scope is the workspace scope
+	 * @since 3.28
+	 */
+	public boolean isWorkspaceScope() {
+		return fIsWorkspaceScope;
+	}
+
 	public int getPackageFlags() {
 		if (fPackageMatcher == null)
 			return SearchPattern.R_EXACT_MATCH;
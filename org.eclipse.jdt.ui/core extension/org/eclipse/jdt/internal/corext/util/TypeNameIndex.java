@@ -0,0 +1,610 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * An in-memory index of the simple names of all types in the workspace scope. The open type
+ * dialogs use it to narrow down the types that can match a name pattern before the candidates are
+ * verified with a {@link TypeInfoFilter}.
+ * <p>
+ * The index is built once in the background with {@link SearchEngine#searchAllTypeNames} and is
+ * then kept up to date with Java element deltas: changed compilation units and source packages are
+ * indexed again, all other structural changes (class path, archives, projects) rebuild the index.
+ * While the index is built or rebuilt, {@link #getCandidates(String, int)} returns
+ * <code>null</code> and clients fall back to the search engine.
+ * </p>
+ * <p>
+ * Every indexed type gets an id. The postings of the index are sorted <code>int</code> arrays of
+ * ids: one per lower case trigram of the simple names, one per upper case character (the starts
+ * of camel case humps) and one per lower case first character. The postings of a pattern are
+ * intersected to get a superset of the matching types. Removed types leave a gap in the id space
+ * until the index is compacted.
+ * </p>
+ *
+ * @since 3.28
+ */
+public class TypeNameIndex {
+
+	private static final class Postings {
+		private int[] fIds= new int[4];
+		private int fSize;
+
+		void add(int id) {
+			if (fSize > 0 && fIds[fSize - 1] == id)
+				return;
+			if (fSize == fIds.length)
+				fIds= Arrays.copyOf(fIds, fSize * 2);
+			fIds[fSize++]= id;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(fIds, fSize);
+		}
+	}
+
+	private class UpdateJob extends Job {
+		public UpdateJob() {
+			super(CorextMessages.TypeNameIndex_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				if (fNeedsRebuild)
+					build(monitor);
+				processPendingElements();
+			} catch (OperationCanceledException e) {
+				fNeedsRebuild= !fReady;
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				fNeedsRebuild= !fReady;
+				JavaPlugin.log(e);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	private class IndexDeltaListener implements IElementChangedListener {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (processDelta(event.getDelta()))
+				fUpdateJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	/**
+	 * The job family of the jobs that build and update the index.
+	 */
+	public static final String FAMILY= TypeNameIndex.class.getName();
+
+	/**
+	 * Delay in milliseconds before pending changes are indexed in the background.
+	 */
+	private static final long UPDATE_DELAY= 200;
+
+	/**
+	 * Minimum number of removed entries before the index is compacted.
+	 */
+	private static final int COMPACT_THRESHOLD= 4096;
+
+	private static TypeNameIndex fgInstance;
+
+	private final IElementChangedListener fDeltaListener;
+	private final UpdateJob fUpdateJob;
+
+	// Need to be volatile since they are read without synchronization.
+	private volatile boolean fNeedsRebuild;
+	private volatile boolean fReady;
+
+	/* Compilation units and source packages to index again, guarded by this */
+	private final Set<IJavaElement> fPendingElements= new LinkedHashSet<>();
+
+	/* Serializes the indexing of pending elements */
+	private final Object fPendingLock= new Object();
+
+	/* index data, guarded by this */
+	private TypeNameMatch[] fEntries= new TypeNameMatch[0];
+	private int fEntryCount;
+	private int fRemovedCount;
+	private Map<Long, Postings> fTrigrams= new HashMap<>();
+	private Map<Character, Postings> fHumps= new HashMap<>();
+	private Map<Character, Postings> fInitials= new HashMap<>();
+	private Map<ICompilationUnit, Postings> fUnits= new HashMap<>();
+
+	/**
+	 * Returns the index and starts to build it if this is the first access.
+	 *
+	 * @return the type name index
+	 */
+	public static synchronized TypeNameIndex getDefault() {
+		if (fgInstance == null)
+			fgInstance= new TypeNameIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		fgInstance.doShutdown();
+		fgInstance= null;
+	}
+
+	private TypeNameIndex() {
+		fDeltaListener= new IndexDeltaListener();
+		JavaCore.addElementChangedListener(fDeltaListener);
+		fUpdateJob= new UpdateJob();
+		fNeedsRebuild= true;
+		fUpdateJob.schedule();
+	}
+
+	private void doShutdown() {
+		JavaCore.removeElementChangedListener(fDeltaListener);
+		fUpdateJob.cancel();
+	}
+
+	/**
+	 * Returns the types in the workspace scope whose simple names can match the given pattern. The
+	 * result is a superset of the matching types; clients must verify the candidates with the
+	 * {@link TypeInfoFilter} the pattern was taken from.
+	 *
+	 * @param namePattern the name pattern, see {@link TypeInfoFilter#getNamePattern()}
+	 * @param matchKind the match kind of the name pattern, see
+	 *            {@link TypeInfoFilter#getSearchFlags()}
+	 * @return the candidate types, or <code>null</code> if the index is not available yet
+	 */
+	public List<TypeNameMatch> getCandidates(String namePattern, int matchKind) {
+		if (fNeedsRebuild) {
+			fUpdateJob.schedule();
+			return null;
+		}
+		try {
+			processPendingElements();
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+
+		synchronized (this) {
+			if (!fReady || fNeedsRebuild)
+				return null;
+			int[] ids= getCandidateIds(namePattern, matchKind);
+			List<TypeNameMatch> result= new ArrayList<>(ids == null ? fEntryCount - fRemovedCount : ids.length);
+			if (ids == null) {
+				for (int id= 0; id < fEntryCount; id++) {
+					if (fEntries[id] != null)
+						result.add(fEntries[id]);
+				}
+			} else {
+				for (int id : ids) {
+					if (fEntries[id] != null)
+						result.add(fEntries[id]);
+				}
+			}
+			return result;
+		}
+	}
+
+	private void build(IProgressMonitor monitor) throws JavaModelException {
+		synchronized (this) {
+			fReady= false;
+			reset(0);
+		}
+		fNeedsRebuild= false;
+		List<TypeNameMatch> matches= new ArrayList<>();
+		TypeNameMatchRequestor requestor= new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				matches.add(match);
+			}
+		};
+		// consider primary working copies, like the open type dialog
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(
+				null,
+				SearchPattern.R_EXACT_MATCH,
+				null,
+				SearchPattern.R_EXACT_MATCH,
+				IJavaSearchConstants.TYPE,
+				SearchEngine.createWorkspaceScope(),
+				requestor,
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+				monitor);
+
+		synchronized (this) {
+			reset(matches.size());
+			for (TypeNameMatch match : matches) {
+				addEntry(match);
+			}
+			fReady= true;
+		}
+	}
+
+	private void reset(int capacity) {
+		fEntries= new TypeNameMatch[Math.max(capacity, 16)];
+		fEntryCount= 0;
+		fRemovedCount= 0;
+		fTrigrams= new HashMap<>();
+		fHumps= new HashMap<>();
+		fInitials= new HashMap<>();
+		fUnits= new HashMap<>();
+	}
+
+	private void addEntry(TypeNameMatch match) {
+		if (fEntryCount == fEntries.length)
+			fEntries= Arrays.copyOf(fEntries, fEntryCount * 2);
+		int id= fEntryCount++;
+		fEntries[id]= match;
+
+		String name= match.getSimpleTypeName();
+		if (name.length() > 0)
+			fInitials.computeIfAbsent(Character.toLowerCase(name.charAt(0)), k -> new Postings()).add(id);
+		for (int i= 0; i < name.length(); i++) {
+			char ch= name.charAt(i);
+			if (Character.isUpperCase(ch))
+				fHumps.computeIfAbsent(ch, k -> new Postings()).add(id);
+			if (i + 2 < name.length())
+				fTrigrams.computeIfAbsent(trigram(name, i), k -> new Postings()).add(id);
+		}
+
+		IType type= match.getType();
+		ICompilationUnit unit= type != null ? type.getCompilationUnit() : null;
+		if (unit != null)
+			fUnits.computeIfAbsent(unit.getPrimary(), k -> new Postings()).add(id);
+	}
+
+	private void removeUnit(ICompilationUnit unit) {
+		Postings ids= fUnits.remove(unit);
+		if (ids == null)
+			return;
+		for (int i= 0; i < ids.fSize; i++) {
+			fEntries[ids.fIds[i]]= null;
+		}
+		fRemovedCount+= ids.fSize;
+	}
+
+	private void compactIfNeeded() {
+		if (fRemovedCount < COMPACT_THRESHOLD || fRemovedCount < fEntryCount / 4)
+			return;
+		TypeNameMatch[] entries= fEntries;
+		int count= fEntryCount;
+		reset(count - fRemovedCount);
+		for (int id= 0; id < count; id++) {
+			if (entries[id] != null)
+				addEntry(entries[id]);
+		}
+	}
+
+	private static long trigram(CharSequence name, int start) {
+		return ((long) Character.toLowerCase(name.charAt(start)) << 32)
+				| ((long) Character.toLowerCase(name.charAt(start + 1)) << 16)
+				| Character.toLowerCase(name.charAt(start + 2));
+	}
+
+	//---- queries
+
+	/*
+	 * Returns the sorted candidate ids for the pattern, or null if all types are candidates.
+	 */
+	private int[] getCandidateIds(String pattern, int matchKind) {
+		switch (matchKind) {
+			case SearchPattern.R_PATTERN_MATCH:
+				return getPatternCandidates(pattern);
+			case SearchPattern.R_CAMELCASE_MATCH:
+				// the pattern matcher falls back to a prefix match
+				return union(getCamelCaseCandidates(pattern), getPrefixCandidates(pattern));
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH:
+				return getCamelCaseCandidates(pattern);
+			default: // exact and prefix match
+				return getPrefixCandidates(pattern);
+		}
+	}
+
+	private int[] getPrefixCandidates(String pattern) {
+		if (pattern.length() == 0)
+			return null;
+		int[] result= getPostings(fInitials, Character.toLowerCase(pattern.charAt(0)));
+		return intersect(result, getTrigramCandidates(pattern));
+	}
+
+	/*
+	 * '*' and '?' separate the segments that must occur in the name. The pattern is anchored at
+	 * the start of the name.
+	 */
+	private int[] getPatternCandidates(String pattern) {
+		int[] result= null;
+		if (pattern.length() > 0 && pattern.charAt(0) != '*' && pattern.charAt(0) != '?')
+			result= getPostings(fInitials, Character.toLowerCase(pattern.charAt(0)));
+		int start= 0;
+		for (int i= 0; i <= pattern.length(); i++) {
+			if (i == pattern.length() || pattern.charAt(i) == '*' || pattern.charAt(i) == '?') {
+				result= intersect(result, getTrigramCandidates(pattern.substring(start, i)));
+				start= i + 1;
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Every upper case character of a camel case pattern matches the same upper case character of
+	 * the name, and the lower case characters that follow it match the characters that follow in
+	 * the name.
+	 */
+	private int[] getCamelCaseCandidates(String pattern) {
+		if (pattern.length() == 0)
+			return null;
+		int[] result= getPostings(fInitials, Character.toLowerCase(pattern.charAt(0)));
+		int start= 0;
+		for (int i= 0; i <= pattern.length(); i++) {
+			char ch= i < pattern.length() ? pattern.charAt(i) : ' ';
+			if (Character.isUpperCase(ch))
+				result= intersect(result, getPostings(fHumps, ch));
+			if (i == pattern.length() || Character.isUpperCase(ch) || !Character.isLetter(ch)) {
+				result= intersect(result, getTrigramCandidates(pattern.substring(start, i)));
+				start= Character.isUpperCase(ch) ? i : i + 1;
+			}
+		}
+		return result;
+	}
+
+	private int[] getTrigramCandidates(String segment) {
+		int[] result= null;
+		for (int i= 0; i + 2 < segment.length(); i++) {
+			Postings postings= fTrigrams.get(trigram(segment, i));
+			if (postings == null)
+				return new int[0];
+			result= intersect(result, postings.toArray());
+		}
+		return result;
+	}
+
+	private static <K> int[] getPostings(Map<K, Postings> postingsByKey, K key) {
+		Postings postings= postingsByKey.get(key);
+		return postings == null ? new int[0] : postings.toArray();
+	}
+
+	private static int[] intersect(int[] ids1, int[] ids2) {
+		if (ids1 == null)
+			return ids2;
+		if (ids2 == null)
+			return ids1;
+		int[] result= new int[Math.min(ids1.length, ids2.length)];
+		int size= 0;
+		for (int i= 0, k= 0; i < ids1.length && k < ids2.length;) {
+			if (ids1[i] < ids2[k]) {
+				i++;
+			} else if (ids1[i] > ids2[k]) {
+				k++;
+			} else {
+				result[size++]= ids1[i];
+				i++;
+				k++;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	private static int[] union(int[] ids1, int[] ids2) {
+		if (ids1 == null || ids2 == null)
+			return null;
+		int[] result= new int[ids1.length + ids2.length];
+		int size= 0;
+		int i= 0;
+		int k= 0;
+		while (i < ids1.length || k < ids2.length) {
+			if (k == ids2.length || (i < ids1.length && ids1[i] < ids2[k])) {
+				result[size++]= ids1[i++];
+			} else if (i == ids1.length || ids1[i] > ids2[k]) {
+				result[size++]= ids2[k++];
+			} else {
+				result[size++]= ids1[i++];
+				k++;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	//---- updates
+
+	/*
+	 * Indexes the pending compilation units and packages again. Java model access happens outside
+	 * of the index lock.
+	 */
+	private void processPendingElements() throws JavaModelException {
+		synchronized (fPendingLock) {
+			List<IJavaElement> pending;
+			synchronized (this) {
+				if (!fReady || fPendingElements.isEmpty())
+					return;
+				pending= new ArrayList<>(fPendingElements);
+				fPendingElements.clear();
+			}
+
+			Set<ICompilationUnit> units= new HashSet<>();
+			Map<ICompilationUnit, List<TypeNameMatch>> matchesByUnit= new HashMap<>();
+			for (IJavaElement element : pending) {
+				if (element instanceof IPackageFragment) {
+					IPackageFragment pack= (IPackageFragment) element;
+					synchronized (this) {
+						for (ICompilationUnit unit : fUnits.keySet()) {
+							if (pack.equals(unit.getParent()))
+								units.add(unit);
+						}
+					}
+					if (pack.exists())
+						units.addAll(Arrays.asList(pack.getCompilationUnits()));
+				} else {
+					units.add((ICompilationUnit) element);
+				}
+			}
+			for (ICompilationUnit unit : units) {
+				matchesByUnit.put(unit, getTypeNameMatches(unit));
+			}
+
+			synchronized (this) {
+				for (Map.Entry<ICompilationUnit, List<TypeNameMatch>> entry : matchesByUnit.entrySet()) {
+					ICompilationUnit unit= entry.getKey();
+					List<TypeNameMatch> matches= entry.getValue();
+					if (isIndexed(unit, matches))
+						continue;
+					removeUnit(unit);
+					for (TypeNameMatch match : matches) {
+						addEntry(match);
+					}
+				}
+				compactIfNeeded();
+			}
+		}
+	}
+
+	private static List<TypeNameMatch> getTypeNameMatches(ICompilationUnit unit) {
+		List<TypeNameMatch> result= new ArrayList<>();
+		if (!unit.exists())
+			return result;
+		try {
+			for (IType type : unit.getAllTypes()) {
+				result.add(SearchEngine.createTypeNameMatch(type, type.getFlags()));
+			}
+		} catch (JavaModelException e) {
+			// not on the build path or not parseable, remove its types from the index
+			result.clear();
+		}
+		return result;
+	}
+
+	private boolean isIndexed(ICompilationUnit unit, List<TypeNameMatch> matches) {
+		Postings ids= fUnits.get(unit);
+		if (ids == null)
+			return matches.isEmpty();
+		if (ids.fSize != matches.size())
+			return false;
+		Iterator<TypeNameMatch> iterator= matches.iterator();
+		for (int i= 0; i < ids.fSize; i++) {
+			TypeNameMatch indexed= fEntries[ids.fIds[i]];
+			TypeNameMatch match= iterator.next();
+			if (!indexed.getFullyQualifiedName().equals(match.getFullyQualifiedName()) || indexed.getModifiers() != match.getModifiers())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Records the changes of the given delta.
+	 *
+	 * @param delta the Java element delta
+	 * @return <code>true</code> if the index needs to be updated
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement elem= delta.getElement();
+		boolean isChanged= delta.getKind() == IJavaElementDelta.CHANGED;
+		int flags= delta.getFlags();
+
+		switch (elem.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return processChildrenDelta(delta);
+			case IJavaElement.JAVA_PROJECT:
+				if (!isChanged || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+						| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return requestRebuild();
+				}
+				return processChildrenDelta(delta);
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (!isChanged || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return requestRebuild();
+				}
+				return processChildrenDelta(delta);
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (isChanged)
+					return processChildrenDelta(delta);
+				if (!isSourcePackage(elem))
+					return requestRebuild();
+				return addPendingElement(elem);
+			case IJavaElement.COMPILATION_UNIT:
+				return addPendingElement(((ICompilationUnit) elem).getPrimary());
+			case IJavaElement.CLASS_FILE:
+				return requestRebuild();
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isSourcePackage(IJavaElement pack) {
+		try {
+			return ((IPackageFragmentRoot) pack.getParent()).getKind() == IPackageFragmentRoot.K_SOURCE;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private boolean processChildrenDelta(IJavaElementDelta delta) {
+		boolean result= false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			result|= processDelta(child);
+		}
+		return result;
+	}
+
+	private boolean requestRebuild() {
+		fNeedsRebuild= true;
+		return true;
+	}
+
+	private synchronized boolean addPendingElement(IJavaElement element) {
+		fPendingElements.add(element);
+		return true;
+	}
+}
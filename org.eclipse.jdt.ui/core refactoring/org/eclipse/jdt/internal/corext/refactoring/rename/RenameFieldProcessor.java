@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -80,6 +80,7 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+import org.eclipse.jdt.internal.corext.refactoring.SearchScopePartition;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
 import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationRefactoringChange;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
@@ -124,6 +125,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 	private boolean fIsCompactConstructor;
 	/* Record Related Fields End*/
 	private SearchResultGroup[] fReferences;
+	private SearchScopePartition[] fSearchPartitions;
 	private TextChangeManager fChangeManager;
 	protected boolean fUpdateReferences;
 	protected boolean fUpdateTextualMatches;
@@ -497,6 +499,17 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		return count;
 	}
 
+	/**
+	 * Returns the partitions of the scope searched for references by the last condition check,
+	 * with the time taken by each partition and the number of its matches.
+	 *
+	 * @return the searched partitions, or <code>null</code> if references have not been searched
+	 * @since 3.28
+	 */
+	public SearchScopePartition[] getSearchPartitions() {
+		return fSearchPartitions;
+	}
+
 	@Override
 	public int getSaveMode() {
 		return RefactoringSaveHelper.SAVE_REFACTORING;
@@ -536,6 +549,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 				pm.setTaskName(RefactoringCoreMessages.RenameFieldRefactoring_checking);
 			} else {
 				fReferences= new SearchResultGroup[0];
+				fSearchPartitions= null;
 				pm.worked(3);
 			}
 
@@ -711,6 +725,10 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		return RefactoringScopeFactory.create(fField, true, false);
 	}
 
+	private SearchScopePartition[] createRefactoringScopePartitions() throws CoreException{
+		return RefactoringScopeFactory.createPartitions(fField, true, false);
+	}
+
 	private SearchResultGroup[] getReferences(IProgressMonitor pm, RefactoringStatus status) throws CoreException{
 		String binaryRefsDescription= Messages.format(RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description , BasicElementLabels.getJavaElementName(getCurrentElementName()));
 		ReferencesInBinaryContext binaryRefs= new ReferencesInBinaryContext(binaryRefsDescription);
@@ -719,8 +737,9 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		if (searchPattern == null) {
 			return new SearchResultGroup[0];
 		}
-		SearchResultGroup[] result= RefactoringSearchEngine.search(searchPattern, createRefactoringScope(),
-				new CuCollectingSearchRequestor(binaryRefs), pm, status);
+		fSearchPartitions= createRefactoringScopePartitions();
+		SearchResultGroup[] result= RefactoringSearchEngine.search(this::createSearchPattern, null, fSearchPartitions,
+				() -> new CuCollectingSearchRequestor(binaryRefs), pm, status);
 		binaryRefs.addErrorIfNecessary(status);
 		result= filterAccessorMethods(result, true);
 		return result;
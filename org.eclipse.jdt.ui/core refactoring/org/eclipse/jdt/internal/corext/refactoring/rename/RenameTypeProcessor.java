@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -100,7 +100,9 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine.ISearchResultGroupRequestor;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+import org.eclipse.jdt.internal.corext.refactoring.SearchScopePartition;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
 import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationRefactoringChange;
 import org.eclipse.jdt.internal.corext.refactoring.changes.RenameCompilationUnitChange;
@@ -144,6 +146,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 	private IType fType;
 	private SearchResultGroup[] fReferences;
+	private SearchScopePartition[] fSearchPartitions;
 	private TextChangeManager fChangeManager;
 	private QualifiedNameSearchResult fQualifiedNameSearchResult;
 
@@ -439,6 +442,17 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return keys.toArray(new IJavaElement[keys.size()]);
 	}
 
+	/**
+	 * Returns the partitions of the scope searched for references by the last condition check,
+	 * with the time taken by each partition and the number of its matches.
+	 *
+	 * @return the searched partitions, or <code>null</code> if references have not been searched
+	 * @since 3.28
+	 */
+	public SearchScopePartition[] getSearchPartitions() {
+		return fSearchPartitions;
+	}
+
 	@Override
 	public IResource getRefactoredResource(IResource element) {
 		if (element instanceof IFile) {
@@ -615,114 +629,130 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 
 		try {
-			SearchPattern pattern= SearchPattern.createPattern(fType, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-			Assert.isNotNull(pattern);
-
 			String binaryRefsDescription= Messages.format(RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description , BasicElementLabels.getJavaElementName(fType.getElementName()));
 			ReferencesInBinaryContext binaryRefs= new ReferencesInBinaryContext(binaryRefsDescription);
 
+			fPreloadedElementToName= new LinkedHashMap<>();
+			fPreloadedElementToSelection= new HashMap<>();
+
+			// the similarly named elements are collected while later partitions are still searched
+			final ISearchResultGroupRequestor similarElements;
+			if (getUpdateSimilarDeclarations()) {
+				final RenamingNameSuggestor sugg= new RenamingNameSuggestor(fRenamingStrategy);
+				similarElements= reference -> {
+					addSimilarElements(reference, sugg);
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+				};
+			} else {
+				similarElements= null;
+			}
+
+			fSearchPartitions= RefactoringScopeFactory.createPartitions(fType, true, false);
 			fReferences= RefactoringSearchEngine.search(
-					pattern,
-					RefactoringScopeFactory.create(fType, true, false),
-					new TypeOccurrenceCollector(fType, binaryRefs),
+					this::createSearchPattern,
+					null,
+					fSearchPartitions,
+					() -> new TypeOccurrenceCollector(fType, binaryRefs),
+					similarElements,
 					monitor,
 					fCachedRefactoringStatus);
 
 			binaryRefs.addErrorIfNecessary(fCachedRefactoringStatus);
 			fReferences= Checks.excludeCompilationUnits(fReferences, fCachedRefactoringStatus);
 
-			fPreloadedElementToName= new LinkedHashMap<>();
-			fPreloadedElementToSelection= new HashMap<>();
-
-			final String unQualifiedTypeName= fType.getElementName();
-
-			monitor.beginTask("", fReferences.length); //$NON-NLS-1$
-
-			if (getUpdateSimilarDeclarations()) {
-
-				RenamingNameSuggestor sugg= new RenamingNameSuggestor(fRenamingStrategy);
+			for (IJavaElement element : fPreloadedElementToName.keySet()) {
+				fPreloadedElementToSelection.put(element, Boolean.TRUE);
+			}
+			fPreloadedElementToNameDefault= new LinkedHashMap<>(fPreloadedElementToName);
 
-				for (SearchResultGroup reference : fReferences) {
-					final ICompilationUnit cu= reference.getCompilationUnit();
-					if (cu == null)
-						continue;
+		} catch (OperationCanceledException e) {
+			fReferences= null;
+			fPreloadedElementToName= null;
+			throw new OperationCanceledException();
+		}
+		return fCachedRefactoringStatus;
+	}
 
-					final SearchMatch[] results= reference.getSearchResults();
+	/**
+	 * Collects the similarly named elements referencing the type in one compilation unit.
+	 *
+	 * @param reference the references to the type in one compilation unit
+	 * @param sugg the name suggestor
+	 * @throws JavaModelException if the elements could not be accessed
+	 */
+	private void addSimilarElements(SearchResultGroup reference, RenamingNameSuggestor sugg) throws JavaModelException {
+		final ICompilationUnit cu= reference.getCompilationUnit();
+		// these units are excluded from the references once the search has finished
+		if (cu == null || !cu.isStructureKnown())
+			return;
 
-					for (SearchMatch result : results) {
+		final String unQualifiedTypeName= fType.getElementName();
+		final SearchMatch[] results= reference.getSearchResults();
 
-						if (! (result instanceof TypeReferenceMatch))
-							continue;
+		for (SearchMatch result : results) {
+			if (! (result instanceof TypeReferenceMatch))
+				continue;
 
-						final TypeReferenceMatch match= (TypeReferenceMatch) result;
-						final List<IJavaElement> matches= new ArrayList<>();
+			final TypeReferenceMatch match= (TypeReferenceMatch) result;
+			final List<IJavaElement> matches= new ArrayList<>();
 
-						if (match.getLocalElement() != null) {
-							if (match.getLocalElement() instanceof ILocalVariable) {
-								matches.add(match.getLocalElement());
-							}
-							// else don't update (e.g. match in type parameter, annotation, ...)
-						} else {
-							matches.add((IJavaElement) match.getElement());
-						}
+			if (match.getLocalElement() != null) {
+				if (match.getLocalElement() instanceof ILocalVariable) {
+					matches.add(match.getLocalElement());
+				}
+				// else don't update (e.g. match in type parameter, annotation, ...)
+			} else {
+				matches.add((IJavaElement) match.getElement());
+			}
 
-						final IJavaElement[] others= match.getOtherElements();
-						if (others != null)
-							matches.addAll(Arrays.asList(others));
+			final IJavaElement[] others= match.getOtherElements();
+			if (others != null)
+				matches.addAll(Arrays.asList(others));
 
-						for (IJavaElement element : matches) {
-							if (! (element instanceof IMethod) && ! (element instanceof IField) && ! (element instanceof ILocalVariable))
-								continue;
+			for (IJavaElement element : matches) {
+				if (! (element instanceof IMethod) && ! (element instanceof IField) && ! (element instanceof ILocalVariable))
+					continue;
 
-							if (!isInDeclaredType(match.getOffset(), element))
-								continue;
+				if (!isInDeclaredType(match.getOffset(), element))
+					continue;
 
-							if (element instanceof IField) {
-								final IField currentField= (IField) element;
-								final String newFieldName= sugg.suggestNewFieldName(currentField.getJavaProject(), currentField.getElementName(), Flags.isStatic(currentField.getFlags()),
-										unQualifiedTypeName, getNewElementName());
+				if (element instanceof IField) {
+					final IField currentField= (IField) element;
+					final String newFieldName= sugg.suggestNewFieldName(currentField.getJavaProject(), currentField.getElementName(), Flags.isStatic(currentField.getFlags()),
+							unQualifiedTypeName, getNewElementName());
 
-								if (newFieldName != null)
-									fPreloadedElementToName.put(currentField, newFieldName);
+					if (newFieldName != null)
+						fPreloadedElementToName.put(currentField, newFieldName);
 
-							} else if (element instanceof IMethod) {
-								final IMethod currentMethod= (IMethod) element;
-								addMethodRename(unQualifiedTypeName, sugg, currentMethod);
+				} else if (element instanceof IMethod) {
+					final IMethod currentMethod= (IMethod) element;
+					addMethodRename(unQualifiedTypeName, sugg, currentMethod);
 
-							} else if (element instanceof ILocalVariable) {
-								final ILocalVariable currentLocal= (ILocalVariable) element;
-								final boolean isParameter;
+				} else if (element instanceof ILocalVariable) {
+					final ILocalVariable currentLocal= (ILocalVariable) element;
+					final boolean isParameter;
 
-								if (currentLocal.isParameter()) {
-									addMethodRename(unQualifiedTypeName, sugg, (IMethod) currentLocal.getParent());
-									isParameter= true;
-								} else
-									isParameter= false;
+					if (currentLocal.isParameter()) {
+						addMethodRename(unQualifiedTypeName, sugg, (IMethod) currentLocal.getParent());
+						isParameter= true;
+					} else
+						isParameter= false;
 
-								final String newLocalName= sugg
-										.suggestNewLocalName(currentLocal.getJavaProject(), currentLocal.getElementName(), isParameter, unQualifiedTypeName, getNewElementName());
+					final String newLocalName= sugg
+							.suggestNewLocalName(currentLocal.getJavaProject(), currentLocal.getElementName(), isParameter, unQualifiedTypeName, getNewElementName());
 
-								if (newLocalName != null)
-									fPreloadedElementToName.put(currentLocal, newLocalName);
-							}
-						}
-					}
-					if (monitor.isCanceled())
-						throw new OperationCanceledException();
+					if (newLocalName != null)
+						fPreloadedElementToName.put(currentLocal, newLocalName);
 				}
 			}
-
-			for (IJavaElement element : fPreloadedElementToName.keySet()) {
-				fPreloadedElementToSelection.put(element, Boolean.TRUE);
-			}
-			fPreloadedElementToNameDefault= new LinkedHashMap<>(fPreloadedElementToName);
-
-		} catch (OperationCanceledException e) {
-			fReferences= null;
-			fPreloadedElementToName= null;
-			throw new OperationCanceledException();
 		}
-		return fCachedRefactoringStatus;
+	}
+
+	private SearchPattern createSearchPattern() {
+		SearchPattern pattern= SearchPattern.createPattern(fType, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		Assert.isNotNull(pattern);
+		return pattern;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,13 +17,16 @@ package org.eclipse.jdt.internal.corext.refactoring.reorg;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.core.resources.IResource;
@@ -40,7 +43,9 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IImportDeclaration;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -49,6 +54,7 @@ import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -65,7 +71,7 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
-import org.eclipse.jdt.internal.corext.refactoring.structure.ReferenceFinderUtil;
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -73,13 +79,86 @@ import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 
+/**
+ * Creates the updates of the compilation units referencing moved compilation units, and of the
+ * moved compilation units themselves.
+ * <p>
+ * The references to all moved types are found by a single search, whatever the number of source
+ * packages. The old and new fully qualified names of the moved types are indexed, so import
+ * declarations are rewritten by a lookup instead of by attributing each reference to a moved unit.
+ * The types of the source packages referenced by the moved units, which have to be imported once
+ * the units are moved, are found by a second single search. The import and reference updates are
+ * then created concurrently, one compilation unit at a time, with a single {@link ImportRewrite}
+ * for each compilation unit.
+ * </p>
+ */
 public class MoveCuUpdateCreator {
 
+	/**
+	 * A moved type whose fully qualified name changes.
+	 */
+	private static final class MovedType {
+		private final IPackageFragment fSource;
+		private final String fNewName;
+
+		private MovedType(IPackageFragment source, String newName) {
+			fSource= source;
+			fNewName= newName;
+		}
+	}
+
+	/**
+	 * The updates of one compilation unit.
+	 */
+	private static final class CuUpdate {
+		private final ICompilationUnit fCu;
+		private ImportRewrite fImportRewrite;
+		private TextChange fChange;
+
+		private CuUpdate(ICompilationUnit cu) {
+			fCu= cu;
+		}
+
+		private ImportRewrite getImportRewrite() throws CoreException {
+			if (fImportRewrite == null)
+				fImportRewrite= StubUtility.createImportRewrite(fCu, true);
+			return fImportRewrite;
+		}
+
+		private TextChange getChange() {
+			if (fChange == null)
+				fChange= new CompilationUnitChange(fCu.getElementName(), fCu);
+			return fChange;
+		}
+
+		private TextChange createChange() throws CoreException {
+			if (fImportRewrite != null && fImportRewrite.hasRecordedChanges())
+				TextChangeCompatibility.addTextEdit(getChange(), RefactoringCoreMessages.MoveCuUpdateCreator_update_imports, fImportRewrite.rewriteImports(null));
+			return fChange;
+		}
+	}
+
 	private final String fNewPackage;
 	private ICompilationUnit[] fCus;
 	private IPackageFragment fDestination;
 
-	private Map<ICompilationUnit, ImportRewrite> fImportRewrites; //ICompilationUnit -> ImportEdit
+	private Set<ICompilationUnit> fCuSet;
+
+	/** The moved compilation units whose imports are updated */
+	private Set<ICompilationUnit> fUpdatedCus;
+
+	/** The moved types by their old fully qualified name */
+	private Map<String, MovedType> fMovedTypes;
+
+	/** The old fully qualified names of the moved top-level types by their simple name */
+	private Map<String, List<String>> fSimpleNames;
+
+	private Map<ICompilationUnit, List<SearchMatch>> fReferences; //ICompilationUnit -> references to moved types
+
+	/** The types of the source package that each moved compilation unit has to import */
+	private Map<ICompilationUnit, Set<String>> fSourcePackageImports;
+
+	private String[] fDestinationTypeNames;
 
 	public MoveCuUpdateCreator(ICompilationUnit cu, IPackageFragment pack){
 		this(new ICompilationUnit[]{cu}, pack);
@@ -90,112 +169,252 @@ public class MoveCuUpdateCreator {
 		Assert.isNotNull(pack);
 		fCus= cus;
 		fDestination= pack;
-		fImportRewrites= new HashMap<>();
+		fCuSet= new HashSet<>(Arrays.asList(cus));
 		fNewPackage= fDestination.isDefaultPackage() ? "" : fDestination.getElementName() + '.'; //$NON-NLS-1$
 	}
 
 	public TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus status) throws JavaModelException{
-		pm.beginTask("", 5); //$NON-NLS-1$
+		return createChangeManager(pm, status, Runtime.getRuntime().availableProcessors() > 1);
+	}
+
+	/**
+	 * Creates the updates, either concurrently or one compilation unit after the other. Both
+	 * produce the same result; the choice is only exposed for testing.
+	 *
+	 * @param pm the progress monitor
+	 * @param status the status to report problems to
+	 * @param concurrently <code>true</code> to update the compilation units concurrently
+	 * @return the change manager holding the updates
+	 * @throws JavaModelException if the updates could not be created
+	 */
+	public TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus status, boolean concurrently) throws JavaModelException{
+		pm.beginTask("", 6); //$NON-NLS-1$
 		try{
 			TextChangeManager changeManager= new TextChangeManager();
-			addUpdates(changeManager, new SubProgressMonitor(pm, 4), status);
-			addImportRewriteUpdates(changeManager);
+			fUpdatedCus= new LinkedHashSet<>();
+			fMovedTypes= new HashMap<>();
+			fSimpleNames= new HashMap<>();
+			fReferences= new LinkedHashMap<>();
+			fSourcePackageImports= new HashMap<>();
+			fDestinationTypeNames= getDestinationPackageTypeNames();
+			IType[] movedTypes= indexMovedTypes();
+			findReferences(movedTypes, new SubProgressMonitor(pm, 2), status);
+			findSourcePackageTypeReferences(new SubProgressMonitor(pm, 1));
+			addUpdates(changeManager, new SubProgressMonitor(pm, 3), status, concurrently);
 			return changeManager;
 		} catch (JavaModelException e){
 			throw e;
 		} catch (CoreException e){
 			throw new JavaModelException(e);
 		} finally{
+			fMovedTypes= null;
+			fSimpleNames= null;
+			fReferences= null;
+			fSourcePackageImports= null;
 			pm.done();
 		}
 
 	}
 
-	private void addImportRewriteUpdates(TextChangeManager changeManager) throws CoreException {
-		for (Map.Entry<ICompilationUnit, ImportRewrite> entry : fImportRewrites.entrySet()) {
-			ICompilationUnit cu = entry.getKey();
-			ImportRewrite importRewrite= entry.getValue();
-			if (importRewrite != null && importRewrite.hasRecordedChanges()) {
-				TextChangeCompatibility.addTextEdit(changeManager.get(cu), RefactoringCoreMessages.MoveCuUpdateCreator_update_imports, importRewrite.rewriteImports(null));
+	/*
+	 * Builds the index of the fully qualified names that change, and returns the moved top-level types.
+	 */
+	private IType[] indexMovedTypes() throws JavaModelException {
+		List<IType> result= new ArrayList<>();
+		for (ICompilationUnit cu : fCus) {
+			if (isInAnotherFragmentOfSamePackage(cu, fDestination))
+				continue;
+			fUpdatedCus.add(cu);
+			IPackageFragment source= (IPackageFragment) cu.getParent();
+			int oldPackLength= source.isDefaultPackage() ? 0 : source.getElementName().length() + 1;
+			for (IType type : cu.getAllTypes()) {
+				String oldName= type.getFullyQualifiedName('.');
+				fMovedTypes.put(oldName, new MovedType(source, fNewPackage + oldName.substring(oldPackLength)));
+			}
+			for (IType type : cu.getTypes()) {
+				fSimpleNames.computeIfAbsent(type.getElementName(), name -> new ArrayList<>(1)).add(type.getFullyQualifiedName('.'));
+				result.add(type);
 			}
 		}
+		return result.toArray(new IType[result.size()]);
 	}
 
-	private void addUpdates(TextChangeManager changeManager, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
-		pm.beginTask("", fCus.length);  //$NON-NLS-1$
-		for (ICompilationUnit cu : fCus) {
-			if (pm.isCanceled())
-				throw new OperationCanceledException();
-			addUpdates(changeManager, cu, new SubProgressMonitor(pm, 1), status);
+	private void findReferences(IType[] movedTypes, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
+		for (SearchResultGroup searchResultGroup : getReferences(movedTypes, pm, status)) {
+			ICompilationUnit referencingCu= searchResultGroup.getCompilationUnit();
+			if (referencingCu != null)
+				fReferences.computeIfAbsent(referencingCu, cu -> new ArrayList<>()).addAll(Arrays.asList(searchResultGroup.getSearchResults()));
 		}
 	}
 
-	private void addUpdates(TextChangeManager changeManager, ICompilationUnit movedUnit, IProgressMonitor pm, RefactoringStatus status) throws CoreException{
-		try{
-			pm.beginTask("", 3);  //$NON-NLS-1$
-		  	pm.subTask(Messages.format(RefactoringCoreMessages.MoveCuUpdateCreator_searching, BasicElementLabels.getFileName(movedUnit)));
-
-			if (isInAnotherFragmentOfSamePackage(movedUnit, fDestination)){
-				pm.worked(3);
+	/*
+	 * Finds the types that the moved compilation units reference in their source packages without
+	 * importing them, by one search for references to all types that stay in the source packages.
+	 */
+	private void findSourcePackageTypeReferences(IProgressMonitor pm) throws CoreException {
+		pm.beginTask("", 1); //$NON-NLS-1$
+		try {
+			Map<String, IPackageFragment> sources= new LinkedHashMap<>();
+			for (ICompilationUnit cu : fUpdatedCus) {
+				IPackageFragment source= (IPackageFragment) cu.getParent();
+				sources.putIfAbsent(source.getJavaProject().getElementName() + '/' + source.getElementName(), source);
+			}
+			List<IType> stayingTypes= new ArrayList<>();
+			for (IPackageFragment source : sources.values())
+				addStayingTypes(source, stayingTypes);
+			if (stayingTypes.isEmpty())
 				return;
+			Set<String> stayingNames= new HashSet<>();
+			for (IType type : stayingTypes)
+				stayingNames.add(type.getFullyQualifiedName('.'));
+
+			SearchPattern pattern= RefactoringSearchEngine.createOrPattern(stayingTypes.toArray(new IType[stayingTypes.size()]), IJavaSearchConstants.REFERENCES);
+			IJavaSearchScope scope= SearchEngine.createJavaSearchScope(fUpdatedCus.toArray(new IJavaElement[fUpdatedCus.size()]));
+			CollectingSearchRequestor requestor= new CollectingSearchRequestor();
+			new SearchEngine().search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, new SubProgressMonitor(pm, 1));
+
+			IScanner scanner= createScanner(fUpdatedCus.iterator().next().getJavaProject());
+			for (SearchMatch match : requestor.getResults()) {
+				IJavaElement element= JavaCore.create(match.getResource());
+				if (!(element instanceof ICompilationUnit) || !fUpdatedCus.contains(element))
+					continue;
+				ICompilationUnit movedUnit= (ICompilationUnit) element;
+				String packageName= ((IPackageFragment) movedUnit.getParent()).getElementName();
+				String typeName= getReferencedTopLevelType(scanner, movedUnit.getBuffer().getText(match.getOffset(), match.getLength()), packageName);
+				if (typeName != null && stayingNames.contains(typeName))
+					fSourcePackageImports.computeIfAbsent(movedUnit, cu -> new LinkedHashSet<>()).add(typeName);
 			}
-
-		  	addImportToSourcePackageTypes(movedUnit, new SubProgressMonitor(pm, 1));
-			removeImportsToDestinationPackageTypes(movedUnit);
-			addReferenceUpdates(changeManager, movedUnit, new SubProgressMonitor(pm, 2), status);
-		} finally{
+		} finally {
 			pm.done();
 		}
 	}
 
-	private void addReferenceUpdates(TextChangeManager changeManager, ICompilationUnit movedUnit, IProgressMonitor pm, RefactoringStatus status) throws JavaModelException, CoreException {
-		List<ICompilationUnit> cuList= Arrays.asList(fCus);
-		for (SearchResultGroup searchResultGroup : getReferences(movedUnit, pm, status)) {
-			ICompilationUnit referencingCu= searchResultGroup.getCompilationUnit();
-			if (referencingCu == null)
+	private void addStayingTypes(IPackageFragment source, List<IType> result) throws JavaModelException {
+		for (IPackageFragmentRoot root : source.getJavaProject().getAllPackageFragmentRoots()) {
+			IPackageFragment pack= root.getPackageFragment(source.getElementName());
+			if (!pack.exists())
 				continue;
-			boolean simpleReferencesNeedNewImport= simpleReferencesNeedNewImport(movedUnit, referencingCu, cuList);
-			for (SearchMatch result : searchResultGroup.getSearchResults()) {
-				// TODO: should update type references with results from addImport
-				TypeReference reference= (TypeReference) result;
-				if (reference.isImportDeclaration()) {
-					ImportRewrite rewrite= getImportRewrite(referencingCu);
-					IImportDeclaration importDecl= (IImportDeclaration) SearchUtils.getEnclosingJavaElement(result);
-					if (Flags.isStatic(importDecl.getFlags())) {
-						rewrite.removeStaticImport(importDecl.getElementName());
-						addStaticImport(movedUnit, importDecl, rewrite);
-					} else {
-						rewrite.removeImport(importDecl.getElementName());
-						rewrite.addImport(createStringForNewImport(movedUnit, importDecl));
-					}
-				} else if (reference.isQualified()) {
-					TextChange textChange= changeManager.get(referencingCu);
-					String changeName= RefactoringCoreMessages.MoveCuUpdateCreator_update_references;
-					TextEdit replaceEdit= new ReplaceEdit(reference.getOffset(), reference.getSimpleNameStart() - reference.getOffset(), fNewPackage);
-					TextChangeCompatibility.addTextEdit(textChange, changeName, replaceEdit);
-				} else if (simpleReferencesNeedNewImport) {
-					ImportRewrite importEdit= getImportRewrite(referencingCu);
-					String typeName= reference.getSimpleName();
-					importEdit.addImport(getQualifiedType(fDestination.getElementName(), typeName));
+			if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+				for (ICompilationUnit cu : pack.getCompilationUnits()) {
+					if (!fCuSet.contains(cu))
+						result.addAll(Arrays.asList(cu.getAllTypes()));
+				}
+			} else {
+				for (IOrdinaryClassFile classFile : pack.getOrdinaryClassFiles())
+					result.add(classFile.getType());
+			}
+		}
+	}
+
+	/*
+	 * Returns the fully qualified name of the top-level type of the given package that a reference
+	 * starts with, or null if the reference is qualified with the package name.
+	 */
+	private static String getReferencedTopLevelType(IScanner scanner, String reference, String packageName) {
+		List<String> identifiers= new ArrayList<>();
+		scanner.setSource(reference.toCharArray());
+		try {
+			int tokenType= scanner.getNextToken();
+			while (tokenType != ITerminalSymbols.TokenNameEOF) {
+				if (tokenType == ITerminalSymbols.TokenNameIdentifier)
+					identifiers.add(new String(scanner.getCurrentTokenSource()));
+				tokenType= scanner.getNextToken();
+			}
+		} catch (InvalidInputException e) {
+			JavaPlugin.log(e);
+		}
+		if (identifiers.isEmpty())
+			return null;
+		if (packageName.length() > 0 && String.join(".", identifiers).startsWith(packageName + '.')) //$NON-NLS-1$
+			return null;
+		return packageName.length() == 0 ? identifiers.get(0) : packageName + '.' + identifiers.get(0);
+	}
+
+	private void addUpdates(TextChangeManager changeManager, IProgressMonitor pm, RefactoringStatus status, boolean concurrently) throws CoreException {
+		Set<ICompilationUnit> cus= new LinkedHashSet<>(fUpdatedCus);
+		cus.addAll(fReferences.keySet());
+		pm.beginTask("", cus.size()); //$NON-NLS-1$
+		ConcurrentChangeCreator.createChanges(cus.toArray(new ICompilationUnit[cus.size()]), (cu, cuStatus) -> createChange(cu), changeManager, status, pm, concurrently && cus.size() > 1);
+		pm.done();
+	}
+
+	private TextChange createChange(ICompilationUnit cu) throws CoreException {
+		CuUpdate update= new CuUpdate(cu);
+		if (fUpdatedCus.contains(cu)) {
+			addImportToSourcePackageTypes(update);
+			removeImportsToDestinationPackageTypes(update);
+		}
+		List<SearchMatch> references= fReferences.get(cu);
+		if (references != null)
+			addReferenceUpdates(update, references);
+		return update.createChange();
+	}
+
+	private void addReferenceUpdates(CuUpdate update, List<SearchMatch> references) throws CoreException {
+		ICompilationUnit referencingCu= update.fCu;
+		Map<IPackageFragment, Boolean> simpleReferencesNeedNewImport= new HashMap<>();
+		for (SearchMatch result : references) {
+			// TODO: should update type references with results from addImport
+			TypeReference reference= (TypeReference) result;
+			if (reference.isImportDeclaration()) {
+				ImportRewrite rewrite= update.getImportRewrite();
+				IImportDeclaration importDecl= (IImportDeclaration) SearchUtils.getEnclosingJavaElement(result);
+				String newName= getNewName(importDecl.getElementName());
+				if (newName == null)
+					continue;
+				if (Flags.isStatic(importDecl.getFlags())) {
+					rewrite.removeStaticImport(importDecl.getElementName());
+					addStaticImport(newName, rewrite);
+				} else {
+					rewrite.removeImport(importDecl.getElementName());
+					rewrite.addImport(newName);
 				}
+			} else if (reference.isQualified()) {
+				TextChange textChange= update.getChange();
+				String changeName= RefactoringCoreMessages.MoveCuUpdateCreator_update_references;
+				TextEdit replaceEdit= new ReplaceEdit(reference.getOffset(), reference.getSimpleNameStart() - reference.getOffset(), fNewPackage);
+				TextChangeCompatibility.addTextEdit(textChange, changeName, replaceEdit);
+			} else if (simpleReferenceNeedsNewImport(reference.getSimpleName(), referencingCu, simpleReferencesNeedNewImport)) {
+				ImportRewrite importEdit= update.getImportRewrite();
+				String typeName= reference.getSimpleName();
+				importEdit.addImport(getQualifiedType(fDestination.getElementName(), typeName));
 			}
 		}
 	}
 
-	private void addStaticImport(ICompilationUnit movedUnit, IImportDeclaration importDecl, ImportRewrite rewrite) {
-		String old= importDecl.getElementName();
-		int oldPackLength= movedUnit.getParent().getElementName().length();
+	/*
+	 * Returns the new name of an imported element, looked up by the longest prefix which is the old
+	 * name of a moved type, or null if the element is not a moved type or one of its members.
+	 */
+	private String getNewName(String importName) {
+		String prefix= importName;
+		while (true) {
+			MovedType type= fMovedTypes.get(prefix);
+			if (type != null)
+				return type.fNewName + importName.substring(prefix.length());
+			int index= prefix.lastIndexOf('.');
+			if (index <= 0)
+				return null;
+			prefix= prefix.substring(0, index);
+		}
+	}
 
-		StringBuilder result= new StringBuilder(fDestination.getElementName());
-		if (oldPackLength == 0) // move FROM default package
-			result.append('.').append(old);
-		else if (result.length() == 0) // move TO default package
-			result.append(old.substring(oldPackLength + 1)); // cut "."
-		else
-			result.append(old.substring(oldPackLength));
-		int index= result.lastIndexOf("."); //$NON-NLS-1$
-		if (index > 0 && index < result.length() - 1)
-			rewrite.addStaticImport(result.substring(0, index), result.substring(index + 1, result.length()), true);
+	private boolean simpleReferenceNeedsNewImport(String simpleName, ICompilationUnit referencingCu, Map<IPackageFragment, Boolean> cache) {
+		List<String> oldNames= simpleName != null ? fSimpleNames.get(simpleName) : null;
+		if (oldNames == null)
+			return false;
+		for (String oldName : oldNames) {
+			IPackageFragment source= fMovedTypes.get(oldName).fSource;
+			if (cache.computeIfAbsent(source, pack -> Boolean.valueOf(simpleReferencesNeedNewImport(pack, referencingCu))).booleanValue())
+				return true;
+		}
+		return false;
+	}
+
+	private static void addStaticImport(String newName, ImportRewrite rewrite) {
+		int index= newName.lastIndexOf('.');
+		if (index > 0 && index < newName.length() - 1)
+			rewrite.addStaticImport(newName.substring(0, index), newName.substring(index + 1), true);
 	}
 
 	private String getQualifiedType(String packageName, String typeName) {
@@ -205,89 +424,60 @@ public class MoveCuUpdateCreator {
 			return packageName + '.' + typeName;
 	}
 
-    private String createStringForNewImport(ICompilationUnit movedUnit, IImportDeclaration importDecl) {
-    	String old= importDecl.getElementName();
-		int oldPackLength= movedUnit.getParent().getElementName().length();
-
-		StringBuilder result= new StringBuilder(fDestination.getElementName());
-		if (oldPackLength == 0) // move FROM default package
-			result.append('.').append(old);
-		else if (result.length() == 0) // move TO default package
-			result.append(old.substring(oldPackLength + 1)); // cut "."
-		else
-			result.append(old.substring(oldPackLength));
-		return result.toString();
-    }
-
-	private void removeImportsToDestinationPackageTypes(ICompilationUnit movedUnit) throws CoreException{
-		ImportRewrite importEdit= getImportRewrite(movedUnit);
-		for (IType destinationType : getDestinationPackageTypes()) {
-			importEdit.removeImport(destinationType.getFullyQualifiedName('.'));
+	private void removeImportsToDestinationPackageTypes(CuUpdate update) throws CoreException{
+		ImportRewrite importEdit= update.getImportRewrite();
+		for (String destinationTypeName : fDestinationTypeNames) {
+			importEdit.removeImport(destinationTypeName);
 		}
 		importEdit.removeImport(fDestination.getElementName().concat(".*")); //$NON-NLS-1$
 	}
 
-	private IType[] getDestinationPackageTypes() throws JavaModelException {
-		List<IType> types= new ArrayList<>();
+	private String[] getDestinationPackageTypeNames() throws JavaModelException {
+		List<String> types= new ArrayList<>();
 		if (fDestination.exists()) {
 			for (ICompilationUnit cu : fDestination.getCompilationUnits()) {
-				types.addAll(Arrays.asList(cu.getTypes()));
+				for (IType type : cu.getTypes()) {
+					types.add(type.getFullyQualifiedName('.'));
+				}
 			}
 		}
-		return types.toArray(new IType[types.size()]);
+		return types.toArray(new String[types.size()]);
 	}
 
-	private void addImportToSourcePackageTypes(ICompilationUnit movedUnit, IProgressMonitor pm) throws CoreException{
-		List<ICompilationUnit> cuList= Arrays.asList(fCus);
-		IType[] allCuTypes= movedUnit.getAllTypes();
-		ImportRewrite importEdit= getImportRewrite(movedUnit);
+	private void addImportToSourcePackageTypes(CuUpdate update) throws CoreException{
+		ImportRewrite importEdit= update.getImportRewrite();
 		importEdit.setFilterImplicitImports(false);
-		IPackageFragment srcPack= (IPackageFragment)movedUnit.getParent();
-		for (IType type : ReferenceFinderUtil.getTypesReferencedIn(allCuTypes, pm)) {
-			if (! type.exists())
-				continue;
-			if (!JavaModelUtil.isSamePackage(type.getPackageFragment(), srcPack))
-				continue;
-			if (cuList.contains(type.getCompilationUnit()))
-				continue;
-			importEdit.addImport(type.getFullyQualifiedName('.'));
+		Set<String> typeNames= fSourcePackageImports.get(update.fCu);
+		if (typeNames != null) {
+			for (String typeName : typeNames)
+				importEdit.addImport(typeName);
 		}
 	}
 
-	private ImportRewrite getImportRewrite(ICompilationUnit cu) throws CoreException{
-		if (fImportRewrites.containsKey(cu))
-			return fImportRewrites.get(cu);
-		ImportRewrite importEdit= StubUtility.createImportRewrite(cu, true);
-		fImportRewrites.put(cu, importEdit);
-		return importEdit;
-	}
-
-	private boolean simpleReferencesNeedNewImport(ICompilationUnit movedUnit, ICompilationUnit referencingCu, List<ICompilationUnit> cuList) {
-		if (referencingCu.equals(movedUnit))
-			return false;
-		if (cuList.contains(referencingCu))
+	private boolean simpleReferencesNeedNewImport(IPackageFragment source, ICompilationUnit referencingCu) {
+		if (fCuSet.contains(referencingCu))
 			return false;
-		if (isReferenceInAnotherFragmentOfSamePackage(referencingCu, movedUnit)) {
+		if (isReferenceInAnotherFragmentOfSamePackage(referencingCu, source)) {
 			/* Destination package is different from source, since
-			 * isDestinationAnotherFragmentOfSamePackage(movedUnit) was false in addUpdates(.) */
+			 * isDestinationAnotherFragmentOfSamePackage(movedUnit) was false in findReferences(.) */
 			return true;
 		}
 
 		//heuristic
-		if (referencingCu.getImport(movedUnit.getParent().getElementName() + ".*").exists()) //$NON-NLS-1$
+		if (referencingCu.getImport(source.getElementName() + ".*").exists()) //$NON-NLS-1$
 			return true; // has old star import
-		if (referencingCu.getParent().equals(movedUnit.getParent()))
+		if (referencingCu.getParent().equals(source))
 			return true; //is moved away from same package
 		return false;
 	}
 
-	private boolean isReferenceInAnotherFragmentOfSamePackage(ICompilationUnit referencingCu, ICompilationUnit movedUnit) {
+	private boolean isReferenceInAnotherFragmentOfSamePackage(ICompilationUnit referencingCu, IPackageFragment source) {
 		if (referencingCu == null)
 			return false;
 		if (! (referencingCu.getParent() instanceof IPackageFragment))
 			return false;
 		IPackageFragment pack= (IPackageFragment) referencingCu.getParent();
-		return isInAnotherFragmentOfSamePackage(movedUnit, pack);
+		return ! source.equals(pack) && JavaModelUtil.isSamePackage(source, pack);
 	}
 
 	private static boolean isInAnotherFragmentOfSamePackage(ICompilationUnit cu, IPackageFragment pack) {
@@ -297,36 +487,49 @@ public class MoveCuUpdateCreator {
 		return ! cuPack.equals(pack) && JavaModelUtil.isSamePackage(cuPack, pack);
 	}
 
-	private static SearchResultGroup[] getReferences(ICompilationUnit unit, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
-		final SearchPattern pattern= RefactoringSearchEngine.createOrPattern(unit.getTypes(), IJavaSearchConstants.REFERENCES);
+	private SearchResultGroup[] getReferences(IType[] movedTypes, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
+		String name;
+		if (fUpdatedCus.size() == 1) {
+			name= BasicElementLabels.getFileName(fUpdatedCus.iterator().next());
+		} else {
+			Set<String> sources= new LinkedHashSet<>();
+			for (ICompilationUnit cu : fUpdatedCus)
+				sources.add(BasicElementLabels.getJavaElementName(cu.getParent().getElementName()));
+			name= String.join(", ", sources); //$NON-NLS-1$
+		}
+		pm.subTask(Messages.format(RefactoringCoreMessages.MoveCuUpdateCreator_searching, name));
+		final SearchPattern pattern= RefactoringSearchEngine.createOrPattern(movedTypes, IJavaSearchConstants.REFERENCES);
 		if (pattern != null) {
-			String binaryRefsDescription= Messages.format(RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description , BasicElementLabels.getFileName(unit));
+			String binaryRefsDescription= fUpdatedCus.size() == 1
+					? Messages.format(RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description, name)
+					: RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description_plural;
 			ReferencesInBinaryContext binaryRefs= new ReferencesInBinaryContext(binaryRefsDescription);
-			Collector requestor= new Collector(((IPackageFragment) unit.getParent()), binaryRefs);
-			IJavaSearchScope scope= RefactoringScopeFactory.create(unit, true, false);
+			Collector requestor= new Collector(movedTypes[0].getJavaProject(), binaryRefs);
+			IJavaSearchScope scope= RefactoringScopeFactory.createProjectsScope(movedTypes, false);
 
-			SearchResultGroup[] result= RefactoringSearchEngine.search(pattern, scope, requestor, new SubProgressMonitor(pm, 1), status);
+			SearchResultGroup[] result= RefactoringSearchEngine.search(pattern, scope, requestor, pm, status);
 			binaryRefs.addErrorIfNecessary(status);
 			return result;
 		}
+		pm.done();
 		return new SearchResultGroup[] {};
 	}
 
+	private static IScanner createScanner(IJavaProject javaProject) {
+		if (javaProject != null) {
+			String sourceLevel= javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
+			String complianceLevel= javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+			return ToolFactory.createScanner(false, false, false, sourceLevel, complianceLevel);
+		}
+		return ToolFactory.createScanner(false, false, false, false);
+	}
+
 	private final static class Collector extends CollectingSearchRequestor {
-		private IPackageFragment fSource;
 		private IScanner fScanner;
 
-		public Collector(IPackageFragment source, ReferencesInBinaryContext binaryRefs) {
+		public Collector(IJavaProject javaProject, ReferencesInBinaryContext binaryRefs) {
 			super(binaryRefs);
-			fSource= source;
-			IJavaProject javaProject= source.getJavaProject();
-	        if (javaProject != null) {
-	            String sourceLevel = javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
-	            String complianceLevel = javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
-	            fScanner = ToolFactory.createScanner(false, false, false, sourceLevel, complianceLevel);
-	        } else {
-	        	fScanner= ToolFactory.createScanner(false, false, false, false);
-	        }
+			fScanner= createScanner(javaProject);
 		}
 
 		@Override
@@ -352,16 +555,13 @@ public class MoveCuUpdateCreator {
 				if (unit != null) {
 					IBuffer buffer= unit.getBuffer();
 					String matchText= buffer.getText(start, length);
-					if (fSource.isDefaultPackage()) {
-						collectMatch(TypeReference.createSimpleReference(element, accuracy, start, length, insideDocComment, res, matchText));
+					// assert: matchText doesn't start nor end with comment
+					// types of the default package are never qualified
+					int simpleNameStart= getLastSimpleNameStart(matchText);
+					if (simpleNameStart > 0) {
+						collectMatch(TypeReference.createQualifiedReference(element, accuracy, start, length, insideDocComment, res, start + simpleNameStart));
 					} else {
-						// assert: matchText doesn't start nor end with comment
-						int simpleNameStart= getLastSimpleNameStart(matchText);
-						if (simpleNameStart != 0) {
-							collectMatch(TypeReference.createQualifiedReference(element, accuracy, start, length, insideDocComment, res, start + simpleNameStart));
-						} else {
-							collectMatch(TypeReference.createSimpleReference(element, accuracy, start, length, insideDocComment, res, matchText));
-						}
+						collectMatch(TypeReference.createSimpleReference(element, accuracy, start, length, insideDocComment, res, matchText));
 					}
 				}
 			}
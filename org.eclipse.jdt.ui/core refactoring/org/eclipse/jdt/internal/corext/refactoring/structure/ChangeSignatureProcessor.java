@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -153,6 +153,7 @@ import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringAnalyzeUtil
 import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodFinder2;
 import org.eclipse.jdt.internal.corext.refactoring.rename.TempOccurrenceAnalyzer;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IDelegateUpdating;
+import org.eclipse.jdt.internal.corext.refactoring.util.ConcurrentChangeCreator;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavadocUtil;
@@ -1368,57 +1369,87 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 	private TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus result) throws CoreException {
 		pm.beginTask(RefactoringCoreMessages.ChangeSignatureRefactoring_preview, 2);
 		fChangeManager= new TextChangeManager();
-		boolean isNoArgConstructor= isNoArgConstructor();
 		Map<ICompilationUnit, Set<IType>> namedSubclassMapping= null;
-		if (isNoArgConstructor){
+		if (isNoArgConstructor()){
 			//create only when needed;
 			namedSubclassMapping= createNamedSubclassMapping(new SubProgressMonitor(pm, 1));
 		}else{
 			pm.worked(1);
 		}
-		for (SearchResultGroup occurrence : fOccurrences) {
-			if (pm.isCanceled())
-				throw new OperationCanceledException();
-			SearchResultGroup group= occurrence;
+		final Map<ICompilationUnit, Set<IType>> subclassMapping= namedSubclassMapping;
+		Map<ICompilationUnit, SearchResultGroup> groups= new LinkedHashMap<>();
+		for (SearchResultGroup group : fOccurrences) {
 			ICompilationUnit cu= group.getCompilationUnit();
 			if (cu == null)
 				continue;
-			CompilationUnitRewrite cuRewrite;
 			if (cu.equals(getCu())) {
-				cuRewrite= fBaseCuRewrite;
+				// the base compilation unit is rewritten by fBaseCuRewrite, which is shared
+				TextChange change= createChange(group, fBaseCuRewrite, subclassMapping, result);
+				if (change != null)
+					fChangeManager.manage(cu, change);
 			} else {
-				cuRewrite= new CompilationUnitRewrite(cu);
-				cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
-			}
-			//IntroduceParameterObjectRefactoring needs to update declarations first:
-			List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
-			for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
-				OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
-				if (update instanceof DeclarationUpdate) {
-					update.updateNode();
-				} else {
-					deferredUpdates.add(update);
-				}
+				groups.put(cu, group);
 			}
-			for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
-				occurrenceUpdate.updateNode();
+		}
+		ICompilationUnit[] cus= groups.keySet().toArray(new ICompilationUnit[groups.size()]);
+		IProgressMonitor subMonitor= new SubProgressMonitor(pm, 1);
+		subMonitor.beginTask("", cus.length); //$NON-NLS-1$
+		if (canCreateChangesConcurrently()) {
+			ConcurrentChangeCreator.createChanges(cus, (cu, status) -> createChange(groups.get(cu), createCompilationUnitRewrite(cu), subclassMapping, status), fChangeManager, result, subMonitor);
+		} else {
+			for (ICompilationUnit cu : cus) {
+				if (subMonitor.isCanceled())
+					throw new OperationCanceledException();
+				TextChange change= createChange(groups.get(cu), createCompilationUnitRewrite(cu), subclassMapping, result);
+				if (change != null)
+					fChangeManager.manage(cu, change);
+				subMonitor.worked(1);
 			}
+		}
+		subMonitor.done();
+		pm.done();
+		return fChangeManager;
+	}
 
-			if (isNoArgConstructor && namedSubclassMapping.containsKey(cu)){
-				//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
-				for (IType subtype : namedSubclassMapping.get(cu)) {
-					AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
-					if (subtypeNode != null)
-						modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
-				}
+	/*
+	 * The occurrences in different compilation units are independent of each other, unless a
+	 * body updater or default value advisor is shared between them.
+	 */
+	private boolean canCreateChangesConcurrently() {
+		return fBodyUpdater == null && fDefaultValueAdvisor == null;
+	}
+
+	private static CompilationUnitRewrite createCompilationUnitRewrite(ICompilationUnit cu) {
+		CompilationUnitRewrite cuRewrite= new CompilationUnitRewrite(cu);
+		cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
+		return cuRewrite;
+	}
+
+	private TextChange createChange(SearchResultGroup group, CompilationUnitRewrite cuRewrite, Map<ICompilationUnit, Set<IType>> namedSubclassMapping, RefactoringStatus result) throws CoreException {
+		//IntroduceParameterObjectRefactoring needs to update declarations first:
+		List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
+		for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
+			OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
+			if (update instanceof DeclarationUpdate) {
+				update.updateNode();
+			} else {
+				deferredUpdates.add(update);
 			}
-			TextChange change= cuRewrite.createChange(true);
-			if (change != null)
-				fChangeManager.manage(cu, change);
+		}
+		for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
+			occurrenceUpdate.updateNode();
 		}
 
-		pm.done();
-		return fChangeManager;
+		ICompilationUnit cu= group.getCompilationUnit();
+		if (namedSubclassMapping != null && namedSubclassMapping.containsKey(cu)){
+			//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
+			for (IType subtype : namedSubclassMapping.get(cu)) {
+				AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
+				if (subtypeNode != null)
+					modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
+			}
+		}
+		return cuRewrite.createChange(true);
 	}
 
 	private Map<ICompilationUnit, Set<IType>> createNamedSubclassMapping(IProgressMonitor pm) throws JavaModelException{
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
@@ -96,6 +97,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -469,6 +471,20 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	@Override
 	protected void fillContentProvider(AbstractContentProvider provider, ItemsFilter itemsFilter, IProgressMonitor progressMonitor) throws CoreException {
 		TypeItemsFilter typeSearchFilter= (TypeItemsFilter) itemsFilter;
+		if (typeSearchFilter.isWorkspaceScope()) {
+			// the index only narrows down the candidates, the filter verifies them
+			List<TypeNameMatch> candidates= TypeNameIndex.getDefault().getCandidates(typeSearchFilter.getNamePattern(), typeSearchFilter.getMatchRule());
+			if (candidates != null) {
+				for (TypeNameMatch match : candidates) {
+					if (progressMonitor.isCanceled())
+						throw new OperationCanceledException();
+					if (!TypeFilter.isFiltered(match))
+						provider.add(match, typeSearchFilter);
+				}
+				return;
+			}
+		}
+
 		TypeSearchRequestor requestor= new TypeSearchRequestor(provider, typeSearchFilter);
 		SearchEngine engine= new SearchEngine((WorkingCopyOwner) null);
 		String packPattern= typeSearchFilter.getPackagePattern();
@@ -951,6 +967,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fTypeInfoFilter.getSearchScope();
 		}
 
+		public boolean isWorkspaceScope() {
+			return fTypeInfoFilter.isWorkspaceScope();
+		}
+
 		public int getMyTypeFilterVersion() {
 			return fMyTypeFilterVersion;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,11 @@ public final class ASTProvider implements IASTSharedValues {
 					System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "closed active editor: " + ref.getTitle()); //$NON-NLS-1$ //$NON-NLS-2$
 
 				activeJavaEditorChanged(null);
+			} else {
+				IWorkbenchPart part= ref.getPart(false);
+				ITypeRoot javaElement= part instanceof JavaEditor ? ((JavaEditor) part).getInputJavaElement() : null;
+				if (javaElement != null)
+					INSTANCE.disposeRecentAST(javaElement);
 			}
 		}
 
@@ -222,8 +227,7 @@ public final class ASTProvider implements IASTSharedValues {
 
 		synchronized (this) {
 			fActiveEditor= editor;
-			INSTANCE.setActiveJavaElement(javaElement);
-			INSTANCE.cache(null, javaElement);
+			INSTANCE.activeJavaElementChanged(javaElement);
 		}
 
 		if (JavaPlugin.DEBUG_AST_PROVIDER)
@@ -268,6 +272,7 @@ public final class ASTProvider implements IASTSharedValues {
 		fActivationListener= null;
 
 		INSTANCE.disposeAST();
+		INSTANCE.disposeRecentAST(null);
 		INSTANCE.waitLockNotifyAll();
 
 	}
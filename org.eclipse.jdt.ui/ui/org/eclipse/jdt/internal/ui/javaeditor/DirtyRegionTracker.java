@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
+
+/**
+ * Tracks the lines of the document of a compilation unit editor that are modified between two
+ * reconciles.
+ *
+ * @since 3.28
+ */
+public final class DirtyRegionTracker implements IDocumentListener, IJavaReconcilingListener {
+
+	/**
+	 * The lines of the document that have been modified. The end of the region is kept as the
+	 * distance to the end of the document, so that the region covers all modifications, no matter
+	 * whether later modifications happen before or after it.
+	 */
+	public static final class DirtyRegion {
+		private int fStart= Integer.MAX_VALUE;
+		private int fDistanceToEnd= Integer.MAX_VALUE;
+
+		void add(int start, int distanceToEnd) {
+			fStart= Math.min(fStart, start);
+			fDistanceToEnd= Math.min(fDistanceToEnd, distanceToEnd);
+		}
+
+		void add(DirtyRegion region) {
+			add(region.fStart, region.fDistanceToEnd);
+		}
+
+		/**
+		 * Tells whether the given range intersects or touches this region.
+		 *
+		 * @param offset the offset of the range
+		 * @param end the end offset of the range
+		 * @param length the length of the source that the range refers to
+		 * @return <code>true</code> if the range intersects or touches this region
+		 */
+		public boolean intersects(int offset, int end, int length) {
+			return end >= fStart && length - offset >= fDistanceToEnd;
+		}
+	}
+
+	private final CompilationUnitEditor fCompilationUnitEditor;
+	private IDocument fDocument;
+	/** The lines modified since the last reconcile started. */
+	private DirtyRegion fDirtyRegion= new DirtyRegion();
+	/** The lines modified before the running reconcile, or <code>null</code>. */
+	private DirtyRegion fReconcilingRegion;
+
+	/**
+	 * Creates a tracker for the given editor. The tracker starts tracking once it is
+	 * {@link #reset(IDocument) reset} to a document.
+	 *
+	 * @param editor the editor
+	 */
+	public DirtyRegionTracker(CompilationUnitEditor editor) {
+		fCompilationUnitEditor= editor;
+		fCompilationUnitEditor.addReconcileListener(this);
+	}
+
+	/**
+	 * Forgets all modifications and tracks the given document from now on.
+	 *
+	 * @param document the document, or <code>null</code> to stop tracking
+	 */
+	public synchronized void reset(IDocument document) {
+		if (fDocument != document) {
+			if (fDocument != null)
+				fDocument.removeDocumentListener(this);
+			fDocument= document;
+			if (fDocument != null)
+				fDocument.addDocumentListener(this);
+		}
+		fDirtyRegion= new DirtyRegion();
+		fReconcilingRegion= null;
+	}
+
+	/**
+	 * Stops tracking.
+	 */
+	public void dispose() {
+		fCompilationUnitEditor.removeReconcileListener(this);
+		reset(null);
+	}
+
+	/**
+	 * Returns the lines that have been modified since the running reconcile started, and any
+	 * lines that have been modified in the meantime.
+	 *
+	 * @return the modified lines or <code>null</code> if no reconcile is running
+	 */
+	public synchronized DirtyRegion takeReconcilingRegion() {
+		if (fReconcilingRegion == null)
+			return null;
+		DirtyRegion region= fReconcilingRegion;
+		region.add(fDirtyRegion);
+		fReconcilingRegion= null;
+		return region;
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		IDocument document= event.getDocument();
+		int start= 0;
+		int end= document.getLength();
+		try {
+			int offset= event.getOffset();
+			start= document.getLineOffset(document.getLineOfOffset(offset));
+			int endLine= document.getLineOfOffset(offset + (event.getText() == null ? 0 : event.getText().length()));
+			end= document.getLineOffset(endLine) + document.getLineLength(endLine);
+		} catch (BadLocationException x) {
+			// consider the whole document as modified
+		}
+		synchronized (this) {
+			fDirtyRegion.add(start, document.getLength() - end);
+		}
+	}
+
+	@Override
+	public synchronized void aboutToBeReconciled() {
+		if (fReconcilingRegion != null)
+			fDirtyRegion.add(fReconcilingRegion); // the previous reconcile did not report a change
+		fReconcilingRegion= fDirtyRegion;
+		fDirtyRegion= new DirtyRegion();
+	}
+
+	@Override
+	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+	}
+}
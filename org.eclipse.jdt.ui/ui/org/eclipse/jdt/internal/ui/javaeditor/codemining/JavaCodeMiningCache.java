@@ -0,0 +1,563 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.ui.NewSearchUI;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Caches the results of the searches behind the Java element code minings. The cache is shared
+ * by all editors and holds:
+ * <ul>
+ * <li>reference counts, which are computed for all members of a type root with one search,</li>
+ * <li>the type hierarchies that are used to count implementations.</li>
+ * </ul>
+ * A reference count is discarded when a unit that referred to its element changes, or when the
+ * changed source of a unit contains the simple name of its element. Type hierarchies are discarded
+ * when they report a change.
+ * <p>
+ * Type roots whose references could not be attributed to their members are remembered with the
+ * modification stamp of their resource, and their members are searched one by one until the type
+ * root changes.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavaCodeMiningCache implements IElementChangedListener, ITypeHierarchyChangedListener {
+
+	private static final class ReferenceCount {
+		final long fCount;
+		final Set<ITypeRoot> fReferringUnits;
+
+		ReferenceCount(long count, Set<ITypeRoot> referringUnits) {
+			fCount= count;
+			fReferringUnits= referringUnits;
+		}
+	}
+
+	/**
+	 * Maximum number of cached reference counts. Only the most recently used ones are kept.
+	 */
+	private static final int MAX_REFERENCE_COUNTS= 10000;
+
+	/**
+	 * Maximum number of remembered type roots whose references could not be attributed.
+	 */
+	private static final int MAX_UNATTRIBUTED_TYPE_ROOTS= 1000;
+
+	/**
+	 * Maximum number of cached type hierarchies. Each hierarchy listens to Java element changes,
+	 * so only the most recently used ones are kept.
+	 */
+	private static final int MAX_HIERARCHIES= 16;
+
+	private static JavaCodeMiningCache fgInstance;
+
+	private final Map<IJavaElement, ReferenceCount> fReferenceCounts= createLRUMap(MAX_REFERENCE_COUNTS);
+	private final LinkedHashMap<IType, ITypeHierarchy> fHierarchies= new LinkedHashMap<>(MAX_HIERARCHIES, 0.75f, true);
+	private final Map<ITypeRoot, Long> fUnattributedTypeRoots= createLRUMap(MAX_UNATTRIBUTED_TYPE_ROOTS);
+	private boolean fIgnoreInaccurate;
+	private int fSearchCount;
+
+	/**
+	 * Locks per type root that serialize the searches for the members of one type root, so that
+	 * concurrently resolved minings of one editor wait for the batched search instead of starting
+	 * their own. Searches for different type roots run in parallel.
+	 */
+	private final Map<Object, Object> fSearchLocks= new ConcurrentHashMap<>();
+
+	private JavaCodeMiningCache() {
+		fIgnoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public static synchronized JavaCodeMiningCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new JavaCodeMiningCache();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Removes the listeners of the shared cache and releases it. Called when the plug-in is
+	 * stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance == null) {
+			return;
+		}
+		fgInstance.dispose();
+		fgInstance= null;
+	}
+
+	private void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		List<ITypeHierarchy> hierarchies;
+		synchronized (this) {
+			hierarchies= new ArrayList<>(fHierarchies.values());
+			fHierarchies.clear();
+			fReferenceCounts.clear();
+			fUnattributedTypeRoots.clear();
+		}
+		for (ITypeHierarchy hierarchy : hierarchies) {
+			hierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+
+	/*
+	 * Returns a map in access order that drops its least recently used entry when it grows beyond
+	 * the given size.
+	 */
+	private static <K, V> Map<K, V> createLRUMap(int maxSize) {
+		return new LinkedHashMap<K, V>(16, 0.75f, true) {
+			private static final long serialVersionUID= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of references to the given element. On a cache miss, the references to
+	 * all members of the element's type root are counted with one search.
+	 *
+	 * @param element the type, method or field
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search fails
+	 */
+	public long getReferenceCount(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		Long cached= getCachedReferenceCount(element);
+		if (cached != null) {
+			return cached;
+		}
+		ITypeRoot typeRoot= getTypeRoot(element);
+		Object lockKey= typeRoot != null ? typeRoot : element;
+		Object lock= fSearchLocks.computeIfAbsent(lockKey, k -> new Object());
+		try {
+			synchronized (lock) {
+				return searchReferenceCount(element, typeRoot, monitor);
+			}
+		} finally {
+			fSearchLocks.remove(lockKey, lock);
+		}
+	}
+
+	/**
+	 * Returns the number of searches run so far.
+	 *
+	 * @return the number of searches
+	 */
+	public synchronized int getSearchCount() {
+		return fSearchCount;
+	}
+
+	private long searchReferenceCount(IJavaElement element, ITypeRoot typeRoot, IProgressMonitor monitor) throws CoreException {
+		Long cached= getCachedReferenceCount(element);
+		if (cached != null) {
+			return cached;
+		}
+		if (typeRoot != null) {
+			countReferencesInTypeRoot(element, typeRoot, monitor);
+			cached= getCachedReferenceCount(element);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		// the name of the element is shared with other members, e.g. an overloaded method, or the
+		// references in its type root cannot be attributed
+		Map<IJavaElement, ReferenceCount> counts= new HashMap<>();
+		search(new IJavaElement[] { element }, element, counts, monitor);
+		putReferenceCounts(counts);
+		return counts.get(element).fCount;
+	}
+
+	private static ITypeRoot getTypeRoot(IJavaElement element) {
+		ITypeRoot typeRoot= (ITypeRoot) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (typeRoot == null) {
+			typeRoot= (ITypeRoot) element.getAncestor(IJavaElement.CLASS_FILE);
+		}
+		return typeRoot;
+	}
+
+	private static long getModificationStamp(ITypeRoot typeRoot) {
+		IResource resource= typeRoot.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	/**
+	 * Returns the type hierarchy of the given type.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return the type hierarchy
+	 * @throws JavaModelException if the hierarchy cannot be created
+	 */
+	ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		synchronized (this) {
+			ITypeHierarchy hierarchy= fHierarchies.get(type);
+			if (hierarchy != null) {
+				return hierarchy;
+			}
+		}
+		ITypeHierarchy hierarchy= type.newTypeHierarchy(monitor);
+		ITypeHierarchy evicted= null;
+		synchronized (this) {
+			ITypeHierarchy existing= fHierarchies.putIfAbsent(type, hierarchy);
+			if (existing != null) {
+				return existing;
+			}
+			if (fHierarchies.size() > MAX_HIERARCHIES) {
+				Iterator<ITypeHierarchy> iterator= fHierarchies.values().iterator();
+				evicted= iterator.next();
+				iterator.remove();
+			}
+		}
+		hierarchy.addTypeHierarchyChangedListener(this);
+		if (evicted != null) {
+			evicted.removeTypeHierarchyChangedListener(this);
+		}
+		return hierarchy;
+	}
+
+	@Override
+	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+		typeHierarchy.removeTypeHierarchyChangedListener(this);
+		synchronized (this) {
+			fHierarchies.values().remove(typeHierarchy);
+		}
+	}
+
+	private synchronized Long getCachedReferenceCount(IJavaElement element) {
+		boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		if (ignoreInaccurate != fIgnoreInaccurate) {
+			fIgnoreInaccurate= ignoreInaccurate;
+			fReferenceCounts.clear();
+		}
+		ReferenceCount count= fReferenceCounts.get(element);
+		return count != null ? Long.valueOf(count.fCount) : null;
+	}
+
+	private synchronized void putReferenceCounts(Map<IJavaElement, ReferenceCount> counts) {
+		fReferenceCounts.putAll(counts);
+	}
+
+	/*
+	 * Counts the references to all members of the type root of the given element whose simple
+	 * names are unique within the type root. Matches are attributed to the members by the name at
+	 * the match location.
+	 */
+	private void countReferencesInTypeRoot(IJavaElement element, ITypeRoot typeRoot, IProgressMonitor monitor) throws CoreException {
+		long stamp= getModificationStamp(typeRoot);
+		synchronized (this) {
+			Long unattributedStamp= fUnattributedTypeRoots.get(typeRoot);
+			if (unattributedStamp != null && unattributedStamp.longValue() == stamp) {
+				return;
+			}
+		}
+		Map<String, IJavaElement> membersByName= new HashMap<>();
+		Set<String> sharedNames= new HashSet<>();
+		collectMembers(typeRoot, membersByName, sharedNames);
+		for (String name : sharedNames) {
+			membersByName.remove(name);
+		}
+		if (!membersByName.containsKey(element.getElementName())) {
+			return;
+		}
+		synchronized (this) {
+			membersByName.values().removeIf(fReferenceCounts::containsKey);
+		}
+		Map<IJavaElement, ReferenceCount> counts= new HashMap<>();
+		if (search(membersByName.values().toArray(new IJavaElement[membersByName.size()]), element, counts, monitor)) {
+			putReferenceCounts(counts);
+		} else {
+			synchronized (this) {
+				fUnattributedTypeRoots.put(typeRoot, Long.valueOf(stamp));
+			}
+		}
+	}
+
+	private static void collectMembers(IParent parent, Map<String, IJavaElement> membersByName, Set<String> sharedNames) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			int type= child.getElementType();
+			if (type == IJavaElement.TYPE || type == IJavaElement.METHOD || type == IJavaElement.FIELD) {
+				if (membersByName.putIfAbsent(child.getElementName(), child) != null) {
+					sharedNames.add(child.getElementName());
+				}
+				if (type == IJavaElement.TYPE) {
+					collectMembers((IType) child, membersByName, sharedNames);
+				}
+			}
+		}
+	}
+
+	/*
+	 * Searches the references to the given elements with one OR pattern. Returns false if a match
+	 * could not be attributed to one of the elements.
+	 */
+	private boolean search(IJavaElement[] elements, IJavaElement scopeElement, Map<IJavaElement, ReferenceCount> counts, IProgressMonitor monitor) throws CoreException {
+		Map<String, IJavaElement> elementsByName= new HashMap<>();
+		SearchPattern pattern= null;
+		for (IJavaElement element : elements) {
+			counts.put(element, new ReferenceCount(0, new HashSet<>()));
+			SearchPattern elementPattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+			if (elementPattern == null) {
+				continue;
+			}
+			elementsByName.put(element.getElementName(), element);
+			pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+		}
+		if (pattern == null) {
+			return true;
+		}
+		synchronized (this) {
+			fSearchCount++;
+		}
+		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		final Map<IJavaElement, Long> matchCounts= new HashMap<>();
+		final boolean[] attributed= { true };
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+				createSearchScope(scopeElement), new SearchRequestor() {
+
+					@Override
+					public void acceptSearchMatch(SearchMatch match) throws CoreException {
+						if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+							return;
+						}
+						Object o= match.getElement();
+						if (!(o instanceof IJavaElement)) {
+							return;
+						}
+						IJavaElement e= (IJavaElement) o;
+						if (e.getAncestor(IJavaElement.COMPILATION_UNIT) == null && e.getAncestor(IJavaElement.CLASS_FILE) == null) {
+							return;
+						}
+						IJavaElement referenced= elements.length == 1 ? elements[0] : getReferencedElement(e, match, elementsByName);
+						if (referenced == null) {
+							attributed[0]= false;
+							return;
+						}
+						matchCounts.merge(referenced, Long.valueOf(1), Long::sum);
+						IOpenable openable= e.getOpenable();
+						if (openable instanceof ITypeRoot) {
+							counts.get(referenced).fReferringUnits.add((ITypeRoot) openable);
+						}
+					}
+				}, monitor);
+
+		for (Map.Entry<IJavaElement, Long> entry : matchCounts.entrySet()) {
+			IJavaElement element= entry.getKey();
+			counts.put(element, new ReferenceCount(entry.getValue().longValue(), counts.get(element).fReferringUnits));
+		}
+		return attributed[0];
+	}
+
+	/*
+	 * Returns the element whose name is at the location of the match: the last identifier before
+	 * any arguments, e.g. 'foo' in 'foo(bar())' or 'Inner' in 'p.Outer.Inner<T>', or else the first
+	 * identifier that names one of the elements.
+	 */
+	private static IJavaElement getReferencedElement(IJavaElement enclosing, SearchMatch match, Map<String, IJavaElement> elementsByName) throws JavaModelException {
+		IOpenable openable= enclosing.getOpenable();
+		IBuffer buffer= openable != null ? openable.getBuffer() : null;
+		if (buffer == null || match.getOffset() < 0 || match.getOffset() + match.getLength() > buffer.getLength()) {
+			return null;
+		}
+		String text= buffer.getText(match.getOffset(), match.getLength());
+		int end= 0;
+		while (end < text.length() && text.charAt(end) != '(' && text.charAt(end) != '<') {
+			end++;
+		}
+		List<String> namesBeforeArguments= getIdentifiers(text.substring(0, end));
+		if (!namesBeforeArguments.isEmpty()) {
+			IJavaElement element= elementsByName.get(namesBeforeArguments.get(namesBeforeArguments.size() - 1));
+			if (element != null) {
+				return element;
+			}
+		}
+		for (String identifier : getIdentifiers(text)) {
+			IJavaElement element= elementsByName.get(identifier);
+			if (element != null) {
+				return element;
+			}
+		}
+		return null;
+	}
+
+	private static List<String> getIdentifiers(String text) {
+		List<String> identifiers= new ArrayList<>();
+		int start= -1;
+		for (int i= 0; i <= text.length(); i++) {
+			boolean isIdentifierPart= i < text.length() && Character.isJavaIdentifierPart(text.charAt(i));
+			if (isIdentifierPart && start == -1) {
+				start= i;
+			} else if (!isIdentifierPart && start != -1) {
+				identifiers.add(text.substring(start, i));
+				start= -1;
+			}
+		}
+		return identifiers;
+	}
+
+	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		boolean isInsideJRE= factory.isInsideJRE(element);
+		return factory.createWorkspaceScope(isInsideJRE);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fReferenceCounts.isEmpty() && fUnattributedTypeRoots.isEmpty()) {
+				return;
+			}
+		}
+		Set<ITypeRoot> changedUnits= new HashSet<>();
+		StringBuilder changedSource= new StringBuilder();
+		if (!processDelta(event.getDelta(), changedUnits, changedSource)) {
+			synchronized (this) {
+				fReferenceCounts.clear();
+				fUnattributedTypeRoots.clear();
+			}
+			return;
+		}
+		if (changedUnits.isEmpty()) {
+			return;
+		}
+		String source= changedSource.toString();
+		synchronized (this) {
+			fUnattributedTypeRoots.keySet().removeAll(changedUnits);
+			for (Iterator<Map.Entry<IJavaElement, ReferenceCount>> iterator= fReferenceCounts.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<IJavaElement, ReferenceCount> entry= iterator.next();
+				if (source.contains(entry.getKey().getElementName())) {
+					iterator.remove(); // a reference may have been added
+					continue;
+				}
+				for (ITypeRoot unit : entry.getValue().fReferringUnits) {
+					if (changedUnits.contains(unit)) {
+						iterator.remove(); // a reference may have been removed
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * Collects the changed units and their changed source. Returns false if the change cannot be
+	 * narrowed down to units, e.g. for class path changes.
+	 */
+	private boolean processDelta(IJavaElementDelta delta, Set<ITypeRoot> changedUnits, StringBuilder changedSource) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return false;
+				}
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!processDelta(child, changedUnits, changedSource)) {
+						return false;
+					}
+				}
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				ITypeRoot unit= (ITypeRoot) element;
+				if (delta.getKind() == IJavaElementDelta.CHANGED && (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == 0) {
+					return true; // e.g. became a working copy, or markers changed
+				}
+				if ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0) {
+					if (delta.getAffectedChildren().length > 0) {
+						changedUnits.add(unit);
+						appendChangedSource(delta, changedSource);
+					}
+					return true; // no changed members, e.g. comments or white space changed
+				}
+				changedUnits.add(unit);
+				if (delta.getKind() != IJavaElementDelta.REMOVED) {
+					appendSource(unit, changedSource);
+				}
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	private void appendChangedSource(IJavaElementDelta delta, StringBuilder changedSource) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (child.getKind() != IJavaElementDelta.REMOVED) {
+				IJavaElement element= child.getElement();
+				if (child.getAffectedChildren().length > 0) {
+					appendChangedSource(child, changedSource);
+				} else if (element instanceof ISourceReference) {
+					appendSource((ISourceReference) element, changedSource);
+				}
+			}
+		}
+	}
+
+	private void appendSource(ISourceReference reference, StringBuilder changedSource) {
+		try {
+			String source= reference.getSource();
+			if (source != null) {
+				changedSource.append(source).append('\n');
+			}
+		} catch (JavaModelException e) {
+			// element does not exist anymore
+		}
+	}
+}
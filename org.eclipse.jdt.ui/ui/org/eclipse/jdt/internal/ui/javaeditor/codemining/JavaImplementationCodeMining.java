@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Angelo Zerr and others.
+ * Copyright (c) 2019, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -162,7 +162,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getTypeHierarchy(type, monitor).getAllSubtypes(type);
 		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).count();
 	}
 
@@ -175,7 +175,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static IType getTypeImplementation(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getTypeHierarchy(type, monitor).getAllSubtypes(type);
 		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).findFirst().get();
 	}
 
@@ -192,7 +192,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 			return 0;
 		}
 		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getTypeHierarchy(type, monitor).getAllSubtypes(type);
 		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
 		long count= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
 		return count;
@@ -208,7 +208,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 */
 	private static IMethod getMethodImplementation(IMethod method, IProgressMonitor monitor) throws CoreException {
 		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getTypeHierarchy(type, monitor).getAllSubtypes(type);
 		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
 		Optional<IType> foundType= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).findFirst();
 		return foundType.get().getMethod(method.getElementName(), method.getParameterTypes());
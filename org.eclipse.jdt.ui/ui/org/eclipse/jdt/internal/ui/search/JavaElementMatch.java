@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,21 +19,33 @@ import org.eclipse.search.ui.text.Match;
  * A search match with additional java-specific info.
  */
 public class JavaElementMatch extends Match {
+
+	/*
+	 * Searches can report millions of matches, so the flags are packed into a single field.
+	 */
+	private static final int WRITE_ACCESS= 1 << 0;
+	private static final int READ_ACCESS= 1 << 1;
+	private static final int JAVADOC= 1 << 2;
+	private static final int SUPER_INVOCATION= 1 << 3;
+
 	private final int fAccuracy;
 	private final int fMatchRule;
-	private final boolean fIsWriteAccess;
-	private final boolean fIsReadAccess;
-	private final boolean fIsJavadoc;
-	private final boolean fIsSuperInvocation;
+	private final byte fFlags;
 
 	JavaElementMatch(Object element, int matchRule, int offset, int length, int accuracy, boolean isReadAccess, boolean isWriteAccess, boolean isJavadoc, boolean isSuperInvocation) {
 		super(element, offset, length);
 		fAccuracy= accuracy;
 		fMatchRule= matchRule;
-		fIsWriteAccess= isWriteAccess;
-		fIsReadAccess= isReadAccess;
-		fIsJavadoc= isJavadoc;
-		fIsSuperInvocation= isSuperInvocation;
+		int flags= 0;
+		if (isWriteAccess)
+			flags|= WRITE_ACCESS;
+		if (isReadAccess)
+			flags|= READ_ACCESS;
+		if (isJavadoc)
+			flags|= JAVADOC;
+		if (isSuperInvocation)
+			flags|= SUPER_INVOCATION;
+		fFlags= (byte) flags;
 	}
 
 	public int getAccuracy() {
@@ -41,19 +53,19 @@ public class JavaElementMatch extends Match {
 	}
 
 	public boolean isWriteAccess() {
-		return fIsWriteAccess;
+		return (fFlags & WRITE_ACCESS) != 0;
 	}
 
 	public boolean isReadAccess() {
-		return fIsReadAccess;
+		return (fFlags & READ_ACCESS) != 0;
 	}
 
 	public boolean isJavadoc() {
-		return fIsJavadoc;
+		return (fFlags & JAVADOC) != 0;
 	}
 
 	public boolean isSuperInvocation() {
-		return fIsSuperInvocation;
+		return (fFlags & SUPER_INVOCATION) != 0;
 	}
 
 	public int getMatchRule() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,7 +20,6 @@ import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Item;
-import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.Tree;
 
 import org.eclipse.core.runtime.CoreException;
@@ -330,8 +329,7 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		fSortingLabelProvider= new SortingLabelProvider(this);
 		viewer.setLabelProvider(new DecoratingJavaLabelProvider(fSortingLabelProvider, false));
 		fContentProvider=new JavaSearchTableContentProvider(this);
-		viewer.setContentProvider(fContentProvider);
-		viewer.setComparator(new DecoratorIgnoringViewerSorter(fSortingLabelProvider));
+		viewer.setContentProvider(fContentProvider); // sorts the elements, the table is virtual
 		setSortOrder(fCurrentSortOrder);
 		addDragAdapters(viewer);
 	}
@@ -354,7 +352,11 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 
 	@Override
 	protected TableViewer createTableViewer(Composite parent) {
-		return new ProblemTableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		return new ProblemTableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL);
+	}
+
+	SortingLabelProvider getSortingLabelProvider() {
+		return fSortingLabelProvider;
 	}
 
 	void setSortOrder(int order) {
@@ -364,6 +366,9 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 			//viewer.getControl().setRedraw(false);
 			fSortingLabelProvider.setOrder(order);
 			//viewer.getControl().setRedraw(true);
+			if (fContentProvider instanceof JavaSearchTableContentProvider) {
+				((JavaSearchTableContentProvider) fContentProvider).resort();
+			}
 			viewer.refresh();
 			getSettings().put(KEY_SORTING, fCurrentSortOrder);
 		}
@@ -511,16 +516,6 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		return elements;
 	}
 
-	private Object[] getRootElements(TableViewer viewer) {
-		Table t= viewer.getTable();
-		Item[] roots= t.getItems();
-		Object[] elements= new Object[roots.length];
-		for (int i = 0; i < elements.length; i++) {
-			elements[i]= roots[i].getData();
-		}
-		return elements;
-	}
-
 
 	private int getMatchCount(ITreeContentProvider cp, Object[] elements) {
 		int count= 0;
@@ -534,7 +529,8 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 
 	private int getMatchCount(TableViewer viewer) {
 		int count= 0;
-		for (Object element : getRootElements(viewer)) {
+		// items of the virtual table are only filled once they are shown
+		for (Object element : ((JavaSearchTableContentProvider) viewer.getContentProvider()).getElements(viewer.getInput())) {
 			count+= getDisplayedMatchCount(element);
 		}
 		return count;
@@ -573,5 +569,8 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		int limit= elementLimit;
 		getSettings().put(KEY_LIMIT, limit);
 		getSettings().put(KEY_LIMIT_ENABLED, limit != -1 ? TRUE : FALSE);
+		if (fContentProvider instanceof JavaSearchTableContentProvider) {
+			fContentProvider.clear();
+		}
 	}
 }
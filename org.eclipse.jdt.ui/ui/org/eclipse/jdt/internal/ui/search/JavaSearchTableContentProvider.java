@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,84 +13,239 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.swt.widgets.Table;
+import org.eclipse.core.resources.IResource;
 
+import org.eclipse.jface.util.Policy;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 
-public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
+import org.eclipse.jdt.core.IJavaElement;
+
+/**
+ * Content provider for the flat layout of the Java search result page. The table is virtual: the
+ * provider keeps the displayed elements in a sorted list into which the elements reported by each
+ * batch of search results are inserted, and items are only created for the rows that are shown.
+ * Only the rows from the first changed position are cleared after a batch.
+ * <p>
+ * Sort keys are computed once per element and sort order, and recomputed only when the match count
+ * of an element changes.
+ * </p>
+ */
+public class JavaSearchTableContentProvider extends JavaSearchContentProvider implements ILazyContentProvider {
+
+	/**
+	 * Batches up to this size are inserted element by element, larger ones are merged.
+	 */
+	private static final int MAX_SINGLE_INSERTS= 32;
+
+	private final List<Object> fElements= new ArrayList<>();
+	private final Set<Object> fDisplayed= new HashSet<>();
+	private final Map<Object, String> fSortKeys= new HashMap<>();
+	private final Comparator<Object> fComparator= this::compare;
+
 	public JavaSearchTableContentProvider(JavaSearchResultPage page) {
 		super(page);
 	}
+
 	@Override
-	public Object[] getElements(Object inputElement) {
-		if (inputElement instanceof AbstractTextSearchResult) {
-			Set<Object> filteredElements= new HashSet<>();
-			int limit= getPage().getElementLimit();
-			for (Object rawElement : ((AbstractTextSearchResult)inputElement).getElements()) {
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		super.inputChanged(viewer, oldInput, newInput);
+		((TableViewer) viewer).setItemCount(getItemCount());
+	}
+
+	@Override
+	protected void initialize(AbstractTextSearchResult result) {
+		super.initialize(result);
+		fElements.clear();
+		fDisplayed.clear();
+		fSortKeys.clear();
+		if (result != null) {
+			for (Object rawElement : result.getElements()) {
 				if (getPage().getDisplayedMatchCount(rawElement) > 0) {
-					filteredElements.add(rawElement);
-					if (limit != -1 && limit < filteredElements.size()) {
-						break;
-					}
+					fElements.add(rawElement);
+					fDisplayed.add(rawElement);
 				}
 			}
-			return filteredElements.toArray();
+			fElements.sort(fComparator);
+		}
+	}
+
+	@Override
+	public Object[] getElements(Object inputElement) {
+		if (inputElement instanceof AbstractTextSearchResult) {
+			return fElements.subList(0, getItemCount()).toArray();
 		}
 		return EMPTY_ARR;
 	}
 
+	@Override
+	public void updateElement(int index) {
+		if (index < fElements.size()) {
+			((TableViewer) getPage().getViewer()).replace(fElements.get(index), index);
+		}
+	}
+
 	@Override
 	public void elementsChanged(Object[] updatedElements) {
 		if (getSearchResult() == null)
 			return;
 
-		int addLimit= getAddLimit();
-
-		TableViewer viewer= (TableViewer) getPage().getViewer();
-		Set<Object> updated= new HashSet<>();
-		Set<Object> added= new HashSet<>();
-		Set<Object> removed= new HashSet<>();
+		// the match count is part of the label, so updated elements can change their position
+		int firstChanged= Integer.MAX_VALUE;
+		List<Object> added= new ArrayList<>();
 		for (Object updatedElement : updatedElements) {
-			if (getPage().getDisplayedMatchCount(updatedElement) > 0) {
-				if (viewer.testFindItem(updatedElement) != null) {
-					updated.add(updatedElement);
-				} else {
-					if (addLimit > 0) {
-						added.add(updatedElement);
-						addLimit--;
-					}
+			if (fDisplayed.remove(updatedElement)) {
+				int index= indexOf(updatedElement);
+				if (index >= 0) {
+					fElements.remove(index);
+					firstChanged= Math.min(firstChanged, index);
 				}
+				fSortKeys.remove(updatedElement);
+			}
+			if (getPage().getDisplayedMatchCount(updatedElement) > 0) {
+				added.add(updatedElement);
+			}
+		}
+		firstChanged= Math.min(firstChanged, insert(added));
+		fDisplayed.addAll(added);
+
+		// only the rows from the first changed position are cleared, and the virtual table
+		// requests the ones that are shown again
+		TableViewer viewer= (TableViewer) getPage().getViewer();
+		int itemCount= getItemCount();
+		viewer.setItemCount(itemCount);
+		if (firstChanged < itemCount) {
+			viewer.getTable().clear(firstChanged, itemCount - 1);
+		}
+	}
+
+	/**
+	 * Sorts the elements again, e.g. after the sort order of the page has changed.
+	 */
+	public void resort() {
+		fSortKeys.clear();
+		fElements.sort(fComparator);
+	}
+
+	@Override
+	public void clear() {
+		initialize(getSearchResult());
+		TableViewer viewer= (TableViewer) getPage().getViewer();
+		viewer.setItemCount(getItemCount());
+		viewer.refresh();
+	}
+
+	/*
+	 * Finds the element by its cached sort key. Elements with equal keys are adjacent.
+	 */
+	private int indexOf(Object element) {
+		int index= Collections.binarySearch(fElements, element, fComparator);
+		if (index < 0) {
+			return fElements.indexOf(element);
+		}
+		for (int i= index; i >= 0 && compare(fElements.get(i), element) == 0; i--) {
+			if (fElements.get(i).equals(element)) {
+				return i;
+			}
+		}
+		for (int i= index + 1; i < fElements.size() && compare(fElements.get(i), element) == 0; i++) {
+			if (fElements.get(i).equals(element)) {
+				return i;
+			}
+		}
+		return fElements.indexOf(element);
+	}
+
+	/*
+	 * Inserts the elements at their sorted positions and returns the first position that changed.
+	 * Large batches are merged in one pass instead.
+	 */
+	private int insert(List<Object> added) {
+		if (added.isEmpty())
+			return Integer.MAX_VALUE;
+		added.sort(fComparator);
+		int first= insertionPoint(added.get(0));
+		if (added.size() <= MAX_SINGLE_INSERTS) {
+			for (Object element : added) {
+				fElements.add(insertionPoint(element), element);
+			}
+			return first;
+		}
+		List<Object> merged= new ArrayList<>(fElements.size() + added.size());
+		merged.addAll(fElements.subList(0, first));
+		int i= first, j= 0;
+		while (i < fElements.size() && j < added.size()) {
+			if (compare(fElements.get(i), added.get(j)) <= 0) {
+				merged.add(fElements.get(i++));
 			} else {
-				removed.add(updatedElement);
+				merged.add(added.get(j++));
 			}
 		}
+		merged.addAll(fElements.subList(i, fElements.size()));
+		merged.addAll(added.subList(j, added.size()));
+		fElements.clear();
+		fElements.addAll(merged);
+		return first;
+	}
 
-		viewer.add(added.toArray());
-		viewer.update(updated.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
-		viewer.remove(removed.toArray());
+	private int insertionPoint(Object element) {
+		int index= Collections.binarySearch(fElements, element, fComparator);
+		if (index < 0) {
+			return -index - 1;
+		}
+		while (index < fElements.size() && compare(fElements.get(index), element) <= 0) {
+			index++;
+		}
+		return index;
 	}
 
-	private int getAddLimit() {
+	private int getItemCount() {
 		int limit= getPage().getElementLimit();
-		if (limit != -1) {
-			Table table= (Table) getPage().getViewer().getControl();
-			int itemCount= table.getItemCount();
-			if (itemCount >= limit) {
-				return 0;
-			}
-			return limit - itemCount;
+		if (limit != -1 && limit < fElements.size()) {
+			return limit;
 		}
-		return Integer.MAX_VALUE;
+		return fElements.size();
 	}
 
-	@Override
-	public void clear() {
-		getPage().getViewer().refresh();
+	/*
+	 * Same order as JavaSearchResultPage.DecoratorIgnoringViewerSorter, on cached labels.
+	 */
+	private int compare(Object e1, Object e2) {
+		int cat1= category(e1);
+		int cat2= category(e2);
+		if (cat1 != cat2) {
+			return cat1 - cat2;
+		}
+		return Policy.getComparator().compare(getSortKey(e1), getSortKey(e2));
+	}
+
+	private static int category(Object element) {
+		if (element instanceof IJavaElement || element instanceof IResource)
+			return 1;
+		return 2;
 	}
 
+	private String getSortKey(Object element) {
+		String key= fSortKeys.get(element);
+		if (key == null) {
+			key= getPage().getSortingLabelProvider().getText(element);
+			if (key == null) {
+				key= ""; //$NON-NLS-1$
+			}
+			fSortKeys.put(element, key);
+		}
+		return key;
+	}
 }
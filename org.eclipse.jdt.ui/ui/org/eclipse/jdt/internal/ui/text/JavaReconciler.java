@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,6 +53,7 @@ import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
@@ -168,6 +169,10 @@ public class JavaReconciler extends MonoReconciler {
 				return;
 
 			setJavaModelChanged(true);
+			// the bindings of an AST that is kept for this editor may be outdated now
+			ITypeRoot reconciledElement= fReconciledElement;
+			if (reconciledElement != null)
+				CoreASTProvider.getInstance().disposeRecentAST(reconciledElement);
 			if (isEditorActive())
 				JavaReconciler.this.forceReconciling();
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,12 @@ import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 
 
+/**
+ * The invocation context of quick fix and quick assist processors. The AST and the node finder are
+ * computed on first use and shared by all processors using the context. Processors that run in
+ * the background, while others use the context, share a {@link #createPrivateCopy() private copy}
+ * and run one after the other.
+ */
 public class AssistContext extends TextInvocationContext implements IInvocationContext {
 
 	private final ICompilationUnit fCompilationUnit;
@@ -43,6 +49,11 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 	 * @since 3.6
 	 */
 	private NodeFinder fNodeFinder;
+	/**
+	 * Whether the AST is created for this context only, instead of taken from the shared AST provider.
+	 * @since 3.28
+	 */
+	private boolean fPrivateAST;
 
 
 	/*
@@ -123,8 +134,10 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 	}
 
 	@Override
-	public CompilationUnit getASTRoot() {
-		if (fASTRoot == null) {
+	public synchronized CompilationUnit getASTRoot() {
+		if (fASTRoot == null && fPrivateAST) {
+			fASTRoot= ASTResolving.createQuickFixAST(fCompilationUnit, null);
+		} else if (fASTRoot == null) {
 			fASTRoot= SharedASTProviderCore.getAST(fCompilationUnit, fWaitFlag, null);
 			if (fASTRoot == null) {
 				// see bug 63554
@@ -135,15 +148,29 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 	}
 
 
+	/**
+	 * Returns a context for the same location with an AST of its own, so that processors can use
+	 * it concurrently with the processors that use this context and the shared AST. The AST is
+	 * created on first use. Like any AST, it must not be used by several threads at once.
+	 *
+	 * @return a context that does not share its AST
+	 * @since 3.28
+	 */
+	public AssistContext createPrivateCopy() {
+		AssistContext copy= new AssistContext(fCompilationUnit, getSourceViewer(), fEditor, getOffset(), getLength(), fWaitFlag);
+		copy.fPrivateAST= true;
+		return copy;
+	}
+
 	/**
 	 * @param root The ASTRoot to set.
 	 */
-	public void setASTRoot(CompilationUnit root) {
+	public synchronized void setASTRoot(CompilationUnit root) {
 		fASTRoot= root;
 	}
 
 	@Override
-	public ASTNode getCoveringNode() {
+	public synchronized ASTNode getCoveringNode() {
 		if (fNodeFinder == null) {
 			fNodeFinder= new NodeFinder(getASTRoot(), getOffset(), getLength());
 		}
@@ -151,7 +178,7 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 	}
 
 	@Override
-	public ASTNode getCoveredNode() {
+	public synchronized ASTNode getCoveredNode() {
 		if (fNodeFinder == null) {
 			fNodeFinder= new NodeFinder(getASTRoot(), getOffset(), getLength());
 		}
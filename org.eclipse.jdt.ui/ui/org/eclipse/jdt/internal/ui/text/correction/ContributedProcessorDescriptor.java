@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -127,7 +127,7 @@ public final class ContributedProcessorDescriptor {
 		return false;
 	}
 
-	public Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
+	public synchronized Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
 		if (matches(cunit)) {
 			if (fProcessorInstance == null) {
 				try {
@@ -152,6 +152,22 @@ public final class ContributedProcessorDescriptor {
 		return null;
 	}
 
+	/**
+	 * @return the id of the processor
+	 * @since 3.28
+	 */
+	public String getId() {
+		return fConfigurationElement.getAttribute(ID);
+	}
+
+	/**
+	 * @return the name of the bundle that contributes the processor
+	 * @since 3.28
+	 */
+	public String getContributorName() {
+		return fConfigurationElement.getContributor().getName();
+	}
+
 	public boolean canHandleMarkerType(String markerType) {
 		return fHandledMarkerTypes == null || fHandledMarkerTypes.contains(markerType);
 	}
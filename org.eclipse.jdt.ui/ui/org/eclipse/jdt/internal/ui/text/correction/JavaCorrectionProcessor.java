@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,12 @@ package org.eclipse.jdt.internal.ui.text.correction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -48,6 +54,7 @@ import org.eclipse.ui.texteditor.ITextEditorActionDefinitionIds;
 import org.eclipse.ui.texteditor.SimpleMarkerAnnotation;
 
 import org.eclipse.ltk.core.refactoring.NullChange;
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 
@@ -72,6 +79,14 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
+	/**
+	 * The time in milliseconds that the quick assist popup waits for the processors that run
+	 * concurrently.
+	 *
+	 * @since 3.28
+	 */
+	private static final long COLLECT_BUDGET= Long.getLong("org.eclipse.jdt.ui.quickAssistBudget", 3000); //$NON-NLS-1$
+
 	private static ContributedProcessorDescriptor[] fgContributedAssistProcessors= null;
 	private static ContributedProcessorDescriptor[] fgContributedCorrectionProcessors= null;
 
@@ -244,7 +259,7 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		ICompletionProposal[] res= null;
 		if (model != null && context != null && annotations != null) {
 			ArrayList<IJavaCompletionProposal> proposals= new ArrayList<>(10);
-			IStatus status= collectProposals(context, model, annotations, true, !fAssistant.isUpdatedOffset(), proposals);
+			IStatus status= collectProposalsConcurrently(context, model, annotations, true, !fAssistant.isUpdatedOffset(), proposals, COLLECT_BUDGET);
 			res= proposals.toArray(new ICompletionProposal[proposals.size()]);
 			if (!status.isOK()) {
 				fErrorMessage= status.getMessage();
@@ -262,24 +277,9 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	}
 
 	public static IStatus collectProposals(IInvocationContext context, IAnnotationModel model, Annotation[] annotations, boolean addQuickFixes, boolean addQuickAssists, Collection<IJavaCompletionProposal> proposals) {
-		ArrayList<ProblemLocation> problems= new ArrayList<>();
+		IProblemLocation[] problemLocations= collectProblemLocations(model, annotations, addQuickFixes, proposals);
 
-		// collect problem locations and corrections from marker annotations
-		for (Annotation curr : annotations) {
-			ProblemLocation problemLocation= null;
-			if (curr instanceof IJavaAnnotation) {
-				problemLocation= getProblemLocation((IJavaAnnotation) curr, model);
-				if (problemLocation != null) {
-					problems.add(problemLocation);
-				}
-			}
-			if (problemLocation == null && addQuickFixes && curr instanceof SimpleMarkerAnnotation) {
-				collectMarkerProposals((SimpleMarkerAnnotation) curr, proposals);
-			}
-		}
 		MultiStatus resStatus= null;
-
-		IProblemLocation[] problemLocations= problems.toArray(new IProblemLocation[problems.size()]);
 		if (addQuickFixes) {
 			IStatus status= collectCorrections(context, problemLocations, proposals);
 			if (!status.isOK()) {
@@ -302,6 +302,237 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Collects the proposals like
+	 * {@link #collectProposals(IInvocationContext, IAnnotationModel, Annotation[], boolean, boolean, Collection)},
+	 * but runs the quick fix and quick assist processors of other bundles in the background while
+	 * the processors of this bundle run on the calling thread. The processors of this bundle use the
+	 * AST of the context. The processors of other bundles run one after the other and share one
+	 * private copy of it, so an AST is never used by two threads at once, and at most one additional
+	 * AST is created. The proposals are added in the same order as by
+	 * {@link #collectProposals(IInvocationContext, IAnnotationModel, Annotation[], boolean, boolean, Collection)}.
+	 * Processors that have not finished within the budget are left out, which is logged. A late
+	 * processor is not interrupted, and processors that have not started yet are skipped.
+	 *
+	 * @param context the invocation context
+	 * @param model the annotation model
+	 * @param annotations the annotations at the invocation location
+	 * @param addQuickFixes whether to collect quick fixes
+	 * @param addQuickAssists whether to collect quick assists
+	 * @param proposals the collection to add the proposals to
+	 * @param budget the time in milliseconds to wait for the processors
+	 * @return the status of the collection
+	 * @since 3.28
+	 */
+	public static IStatus collectProposalsConcurrently(IInvocationContext context, IAnnotationModel model, Annotation[] annotations, boolean addQuickFixes, boolean addQuickAssists, Collection<IJavaCompletionProposal> proposals, long budget) {
+		long deadline= System.currentTimeMillis() + budget;
+		IProblemLocation[] problemLocations= collectProblemLocations(model, annotations, addQuickFixes, proposals);
+		IInvocationContext backgroundContext= context instanceof AssistContext ? ((AssistContext) context).createPrivateCopy() : null;
+
+		List<ProcessorRun> corrections= new ArrayList<>();
+		if (addQuickFixes) {
+			for (ContributedProcessorDescriptor curr : getCorrectionProcessors()) {
+				IProblemLocation[] handled= getHandledProblems(problemLocations, curr);
+				if (handled != null) {
+					boolean concurrent= runsConcurrently(curr, context);
+					SafeCorrectionCollector collector= new SafeCorrectionCollector(concurrent ? backgroundContext : context, new ArrayList<>());
+					collector.setProblemLocations(handled);
+					corrections.add(new ProcessorRun(curr, collector, concurrent));
+				}
+			}
+		}
+		List<ProcessorRun> assists= new ArrayList<>();
+		if (addQuickAssists) {
+			for (ContributedProcessorDescriptor curr : getAssistProcessors()) {
+				boolean concurrent= runsConcurrently(curr, context);
+				SafeAssistCollector collector= new SafeAssistCollector(concurrent ? backgroundContext : context, problemLocations, new ArrayList<>());
+				assists.add(new ProcessorRun(curr, collector, concurrent));
+			}
+		}
+
+		List<ProcessorRun> runs= new ArrayList<>(corrections);
+		runs.addAll(assists);
+		CompletableFuture<?> previous= CompletableFuture.completedFuture(null);
+		for (ProcessorRun run : runs) {
+			previous= run.start(previous);
+		}
+		for (ProcessorRun run : runs) {
+			run.runOnCallingThread();
+		}
+
+		MultiStatus resStatus= null;
+		IStatus status= collectFinished(corrections, deadline, budget, proposals);
+		if (!status.isOK()) {
+			resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickfix_message, null);
+			resStatus.add(status);
+		}
+		status= collectFinished(assists, deadline, budget, proposals);
+		if (!status.isOK()) {
+			if (resStatus == null) {
+				resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickassist_message, null);
+			}
+			resStatus.add(status);
+		}
+		if (resStatus != null) {
+			return resStatus;
+		}
+		return Status.OK_STATUS;
+	}
+
+	/*
+	 * The processors of this bundle work on the shared AST and are not safe to run concurrently.
+	 */
+	private static boolean runsConcurrently(ContributedProcessorDescriptor descriptor, IInvocationContext context) {
+		return context instanceof AssistContext && !JavaUI.ID_PLUGIN.equals(descriptor.getContributorName());
+	}
+
+	private static IStatus collectFinished(List<ProcessorRun> runs, long deadline, long budget, Collection<IJavaCompletionProposal> proposals) {
+		MultiStatus resStatus= null;
+		for (int i= 0; i < runs.size(); i++) {
+			ProcessorRun run= runs.get(i);
+			try {
+				if (!run.join(deadline, budget)) {
+					continue;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (ProcessorRun remaining : runs.subList(i, runs.size())) {
+					remaining.cancel();
+				}
+				break;
+			}
+			SafeCorrectionProcessorAccess collector= run.getCollector();
+			proposals.addAll(collector.getProposals());
+			IStatus status= collector.getStatus();
+			if (!status.isOK()) {
+				if (resStatus == null) {
+					resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, CorrectionMessages.JavaCorrectionProcessor_error_status, null);
+				}
+				resStatus.merge(status);
+			}
+		}
+		if (resStatus == null) {
+			return Status.OK_STATUS;
+		}
+		return resStatus;
+	}
+
+	/**
+	 * A run of a quick fix or quick assist processor by
+	 * {@link JavaCorrectionProcessor#collectProposalsConcurrently(IInvocationContext, IAnnotationModel, Annotation[], boolean, boolean, Collection, long)}.
+	 *
+	 * @since 3.28
+	 */
+	private static final class ProcessorRun {
+		private final ContributedProcessorDescriptor fDescriptor;
+		private final SafeCorrectionProcessorAccess fCollector;
+		private final boolean fConcurrent;
+		/** Completed when a concurrent run has finished or has been skipped */
+		private CompletableFuture<?> fFuture;
+		private volatile boolean fCanceled;
+
+		ProcessorRun(ContributedProcessorDescriptor descriptor, SafeCorrectionProcessorAccess collector, boolean concurrent) {
+			fDescriptor= descriptor;
+			fCollector= collector;
+			fConcurrent= concurrent;
+		}
+
+		/**
+		 * Starts a concurrent run after the given previous run has finished, since the concurrent
+		 * runs share the AST of their context.
+		 *
+		 * @param previous completed when the previous concurrent run has finished
+		 * @return completed when this run has finished, or <code>previous</code> if this run does
+		 *         not run concurrently
+		 */
+		CompletableFuture<?> start(CompletableFuture<?> previous) {
+			if (!fConcurrent) {
+				return previous;
+			}
+			fFuture= previous.handleAsync((result, exception) -> {
+				if (!fCanceled) {
+					fCollector.process(fDescriptor);
+				}
+				return null;
+			}, SharedExecutor.getExecutor());
+			return fFuture;
+		}
+
+		void runOnCallingThread() {
+			if (!fConcurrent) {
+				fCollector.process(fDescriptor);
+			}
+		}
+
+		/**
+		 * Waits for a concurrent run until the deadline. A run that is late is canceled, which is
+		 * logged. Its proposals are left out.
+		 *
+		 * @param deadline the time to wait until
+		 * @param budget the budget of the collection, for the log
+		 * @return <code>true</code> if the run finished, <code>false</code> if it was canceled
+		 * @throws InterruptedException if the calling thread was interrupted while waiting
+		 */
+		boolean join(long deadline, long budget) throws InterruptedException {
+			if (fFuture == null) {
+				return true;
+			}
+			try {
+				fFuture.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				cancel();
+				String message= Messages.format(CorrectionMessages.JavaCorrectionProcessor_processor_canceled, new Object[] { fDescriptor.getId(), Long.valueOf(budget) });
+				JavaPlugin.log(new Status(IStatus.WARNING, JavaUI.ID_PLUGIN, message));
+				return false;
+			} catch (ExecutionException e) {
+				// failures of the processor are reported through the collector status
+			}
+			return true;
+		}
+
+		/**
+		 * Skips the run if it has not started yet. A running processor is not interrupted, as
+		 * interrupting it could break the I/O it is doing, but its proposals are not used.
+		 */
+		void cancel() {
+			fCanceled= true;
+		}
+
+		SafeCorrectionProcessorAccess getCollector() {
+			return fCollector;
+		}
+	}
+
+	/**
+	 * Returns the problem locations of the given annotations. Resolutions of marker annotations
+	 * that are not Java problems are added to the proposals.
+	 *
+	 * @param model the annotation model
+	 * @param annotations the annotations
+	 * @param addQuickFixes whether to add the resolutions of marker annotations
+	 * @param proposals the collection to add the marker resolutions to
+	 * @return the problem locations
+	 * @since 3.28
+	 */
+	private static IProblemLocation[] collectProblemLocations(IAnnotationModel model, Annotation[] annotations, boolean addQuickFixes, Collection<IJavaCompletionProposal> proposals) {
+		ArrayList<ProblemLocation> problems= new ArrayList<>();
+
+		// collect problem locations and corrections from marker annotations
+		for (Annotation curr : annotations) {
+			ProblemLocation problemLocation= null;
+			if (curr instanceof IJavaAnnotation) {
+				problemLocation= getProblemLocation((IJavaAnnotation) curr, model);
+				if (problemLocation != null) {
+					problems.add(problemLocation);
+				}
+			}
+			if (problemLocation == null && addQuickFixes && curr instanceof SimpleMarkerAnnotation) {
+				collectMarkerProposals((SimpleMarkerAnnotation) curr, proposals);
+			}
+		}
+		return problems.toArray(new IProblemLocation[problems.size()]);
+	}
+
 	private static ProblemLocation getProblemLocation(IJavaAnnotation javaAnnotation, IAnnotationModel model) {
 		int problemId= javaAnnotation.getId();
 		if (problemId != -1) {
@@ -358,6 +589,14 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 			return fMulti;
 		}
 
+		/**
+		 * @return the collected proposals, empty if this access does not collect proposals
+		 * @since 3.28
+		 */
+		public Collection<IJavaCompletionProposal> getProposals() {
+			return Collections.emptyList();
+		}
+
 	}
 
 	private static class SafeCorrectionCollector extends SafeCorrectionProcessorAccess {
@@ -384,6 +623,11 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 				}
 			}
 		}
+
+		@Override
+		public Collection<IJavaCompletionProposal> getProposals() {
+			return fProposals;
+		}
 	}
 
 	private static class SafeAssistCollector extends SafeCorrectionProcessorAccess {
@@ -407,6 +651,11 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 				}
 			}
 		}
+
+		@Override
+		public Collection<IJavaCompletionProposal> getProposals() {
+			return fProposals;
+		}
 	}
 
 	private static class SafeHasAssist extends SafeCorrectionProcessorAccess {
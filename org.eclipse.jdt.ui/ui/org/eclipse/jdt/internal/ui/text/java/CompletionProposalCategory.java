@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -344,6 +344,23 @@ public final class CompletionProposalCategory {
 		return result;
 	}
 
+	/**
+	 * Returns the descriptors of the computers of this category that contribute to the given
+	 * partition.
+	 *
+	 * @param partition the partition type
+	 * @return the computer descriptors of this category for <code>partition</code>
+	 * @since 3.28
+	 */
+	List<CompletionProposalComputerDescriptor> getComputerDescriptors(String partition) {
+		List<CompletionProposalComputerDescriptor> result= new ArrayList<>();
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this)
+				result.add(desc);
+		}
+		return result;
+	}
+
 	/**
 	 * Safely computes context information objects of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.osgi.framework.Bundle;
 
@@ -71,6 +73,13 @@ final class CompletionProposalComputerDescriptor {
 	private static final String PARTITION= "partition"; //$NON-NLS-1$
 	/** The extension schema name of the requiresUIThread attribute. */
 	private static final String REQUIRES_UI_THREAD= "requiresUIThread"; //$NON-NLS-1$
+	/** The extension schema name of the budget attribute. */
+	private static final String BUDGET= "budget"; //$NON-NLS-1$
+	/**
+	 * The default time in milliseconds that content assist waits for the proposals of a computer
+	 * that runs concurrently with other computers.
+	 */
+	private static final long DEFAULT_BUDGET= Long.getLong("org.eclipse.jdt.ui.codeAssistComputerBudget", 5000); //$NON-NLS-1$
 	/** Set of Java partition types. */
 	private static final Set<String> PARTITION_SET;
 	/** The name of the performance event used to trace extensions. */
@@ -155,7 +164,87 @@ final class CompletionProposalComputerDescriptor {
 	 */
 	private final boolean fRequiresUIThread;
 
+	/**
+	 * The time in milliseconds that content assist waits for the proposals of this computer when
+	 * it runs concurrently with other computers.
+	 * @since 3.28
+	 */
+	private final long fBudget;
+
+	/**
+	 * The last scheduled concurrent computation. Computations of the same computer are chained, so
+	 * that a computer never runs concurrently with itself.
+	 * @since 3.28
+	 */
+	private CompletableFuture<?> fLastComputation= CompletableFuture.completedFuture(null);
+
+	/* statistics, guarded by this */
+	private int fComputationCount;
+	private long fTotalTime;
+	private long fMaxTime;
+	private long fLastTime;
+	private int fOverBudgetCount;
+
+	/**
+	 * Timing statistics of the completion proposal computations of a computer.
+	 *
+	 * @since 3.28
+	 */
+	static final class Statistics {
+		private final int fComputationCount;
+		private final long fTotalTime;
+		private final long fMaxTime;
+		private final long fLastTime;
+		private final int fOverBudgetCount;
+
+		Statistics(int computationCount, long totalTime, long maxTime, long lastTime, int overBudgetCount) {
+			fComputationCount= computationCount;
+			fTotalTime= totalTime;
+			fMaxTime= maxTime;
+			fLastTime= lastTime;
+			fOverBudgetCount= overBudgetCount;
+		}
+
+		/**
+		 * @return the number of completion proposal computations
+		 */
+		public int getComputationCount() {
+			return fComputationCount;
+		}
+
+		/**
+		 * @return the total time of all computations in milliseconds
+		 */
+		public long getTotalTime() {
+			return fTotalTime;
+		}
+
+		/**
+		 * @return the time of the slowest computation in milliseconds
+		 */
+		public long getMaxTime() {
+			return fMaxTime;
+		}
 
+		/**
+		 * @return the time of the last computation in milliseconds
+		 */
+		public long getLastTime() {
+			return fLastTime;
+		}
+
+		/**
+		 * @return the number of computations that took longer than the budget of the computer
+		 */
+		public int getOverBudgetCount() {
+			return fOverBudgetCount;
+		}
+
+		@Override
+		public String toString() {
+			return "last: " + fLastTime + "ms, max: " + fMaxTime + "ms, total: " + fTotalTime + "ms, computations: " + fComputationCount + ", over budget: " + fOverBudgetCount; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		}
+	}
 
 
 	/**
@@ -208,6 +297,17 @@ final class CompletionProposalComputerDescriptor {
 		// Not Boolean.parse() to ensure fRequiresUIThread is true if attribute is not set/null
 		fRequiresUIThread = !Boolean.FALSE.toString().equals(element.getAttribute(REQUIRES_UI_THREAD));
 
+		long budget= DEFAULT_BUDGET;
+		String budgetAttribute= element.getAttribute(BUDGET);
+		if (budgetAttribute != null) {
+			try {
+				budget= Long.parseLong(budgetAttribute);
+			} catch (NumberFormatException e) {
+				// keep the default budget
+			}
+		}
+		fBudget= budget;
+
 		String categoryId= element.getAttribute(CATEGORY_ID);
 		if (categoryId == null)
 			categoryId= DEFAULT_CATEGORY_ID;
@@ -345,7 +445,9 @@ final class CompletionProposalComputerDescriptor {
 
 			try {
 				PerformanceStats stats= startMeter(context, computer);
+				long start= System.currentTimeMillis();
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
+				recordComputation(System.currentTimeMillis() - start);
 				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS);
 
 				if (proposals != null) {
@@ -373,6 +475,49 @@ final class CompletionProposalComputerDescriptor {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Safely computes completion proposals through the described extension on the given executor.
+	 * The computation starts when the previous concurrent computation of this computer has
+	 * finished.
+	 * <p>
+	 * Callers wait for the result only up to the {@link #getBudget() budget} of this computer and
+	 * then cancel the monitor. The proposals of a computation that misses its budget are lost: they
+	 * are neither added to a proposal popup that is already shown nor kept for a later invocation.
+	 * </p>
+	 *
+	 * @param context the invocation context passed on to the extension
+	 * @param monitor the progress monitor passed on to the extension
+	 * @param executor the executor to run the computation
+	 * @return the future list of computed completion proposals
+	 * @see #computeCompletionProposals(ContentAssistInvocationContext, IProgressMonitor)
+	 * @since 3.28
+	 */
+	synchronized CompletableFuture<List<ICompletionProposal>> computeCompletionProposalsAsync(ContentAssistInvocationContext context, IProgressMonitor monitor, Executor executor) {
+		CompletableFuture<List<ICompletionProposal>> computation= fLastComputation.handleAsync((result, exception) -> computeCompletionProposals(context, monitor), executor);
+		fLastComputation= computation;
+		return computation;
+	}
+
+	/**
+	 * Runs the given notification after the last concurrent computation of this computer, so that
+	 * the computer sees session notifications and computations in order.
+	 *
+	 * @param notification the notification
+	 * @since 3.28
+	 */
+	private void runAfterLastComputation(Runnable notification) {
+		synchronized (this) {
+			if (!fLastComputation.isDone()) {
+				fLastComputation= fLastComputation.handleAsync((result, exception) -> {
+					notification.run();
+					return null;
+				}, fRegistry.getComputerExecutor());
+				return;
+			}
+		}
+		notification.run();
+	}
+
 	/**
 	 * Safely computes context information objects through the described extension. If the extension
 	 * is disabled, throws an exception or otherwise does not adhere to the contract described in
@@ -430,7 +575,10 @@ final class CompletionProposalComputerDescriptor {
 		if (!isEnabled())
 			return;
 
+		runAfterLastComputation(this::notifySessionStarted);
+	}
 
+	private void notifySessionStarted() {
 		IStatus status;
 		try {
 			IJavaCompletionProposalComputer computer= getComputer(true);
@@ -464,6 +612,10 @@ final class CompletionProposalComputerDescriptor {
 		if (!isEnabled())
 			return;
 
+		runAfterLastComputation(this::notifySessionEnded);
+	}
+
+	private void notifySessionEnded() {
 		IStatus status;
 		try {
 			IJavaCompletionProposalComputer computer= getComputer(false);
@@ -607,6 +759,36 @@ final class CompletionProposalComputerDescriptor {
 		return fNeedsSortingAfterFiltering;
 	}
 
+	/**
+	 * Returns the time in milliseconds that content assist waits for the proposals of this
+	 * computer when it runs concurrently with other computers.
+	 *
+	 * @return the budget in milliseconds
+	 * @since 3.28
+	 */
+	long getBudget() {
+		return fBudget;
+	}
+
+	private synchronized void recordComputation(long time) {
+		fComputationCount++;
+		fTotalTime+= time;
+		fMaxTime= Math.max(fMaxTime, time);
+		fLastTime= time;
+		if (time > fBudget)
+			fOverBudgetCount++;
+	}
+
+	/**
+	 * Returns the timing statistics of the completion proposal computations of this computer.
+	 *
+	 * @return the statistics
+	 * @since 3.28
+	 */
+	synchronized Statistics getStatistics() {
+		return new Statistics(fComputationCount, fTotalTime, fMaxTime, fLastTime, fOverBudgetCount);
+	}
+
 	/**
 	 * Returns the <code>requiresUIThread</code> flag of the described extension.
 	 *
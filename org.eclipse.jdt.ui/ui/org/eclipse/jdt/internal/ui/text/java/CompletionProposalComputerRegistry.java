@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 import org.eclipse.swt.SWT;
@@ -53,6 +54,8 @@ import org.eclipse.jface.text.IDocument;
 
 import org.eclipse.ui.dialogs.PreferencesUtil;
 
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
+
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
@@ -521,6 +524,18 @@ public final class CompletionProposalComputerRegistry {
 		MessageDialog.openError(JavaPlugin.getActiveWorkbenchShell(), title, message);
 	}
 
+	/**
+	 * Returns the executor that runs the computers that do not require the UI thread concurrently
+	 * with other computers. This is the executor shared with the Java refactorings, so the number
+	 * of threads stays bounded.
+	 *
+	 * @return the executor for concurrent computers
+	 * @since 3.28
+	 */
+	ExecutorService getComputerExecutor() {
+		return SharedExecutor.getExecutor();
+	}
+
 	/**
 	 * @return whether any of the computers require the UI Thread. See {@link CompletionProposalComputerDescriptor#requiresUIThread()}.
 	 */
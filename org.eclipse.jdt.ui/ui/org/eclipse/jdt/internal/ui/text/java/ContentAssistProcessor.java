@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,10 +19,16 @@ package org.eclipse.jdt.internal.ui.text.java;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -73,6 +79,7 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIMessages;
@@ -329,13 +336,20 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+		List<List<ICompletionProposal>> computedByCategory= isConcurrentComputation() ? computeProposalsConcurrently(providers, monitor, context) : null;
+		for (int i= 0; i < providers.size(); i++) {
+			CompletionProposalCategory cat= providers.get(i);
+			List<ICompletionProposal> computed;
+			if (computedByCategory != null) {
+				computed= computedByCategory.get(i);
+			} else {
+				computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+				if (fErrorMessage == null) {
+					fErrorMessage= cat.getErrorMessage();
+				}
+			}
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
-			if (fErrorMessage == null) {
-				fErrorMessage= cat.getErrorMessage();
-			}
 		}
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
 			fAssistant.setSorter(null);
@@ -344,6 +358,95 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	private boolean isConcurrentComputation() {
+		return JavaPlugin.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+	}
+
+	/**
+	 * Computes the proposals of the given categories concurrently. Computers that do not require
+	 * the UI thread are started on the computer executor of the registry, the others run on the
+	 * calling thread in the meantime. The core completion context is computed up front on the
+	 * calling thread, so that the computers share it. Every computer gets its budget, counted from
+	 * the start of the computation; the monitor of a computer that is not done by then is canceled
+	 * and its proposals are left out. They are not merged later: the proposal popup cannot be
+	 * extended once it is shown, and a canceled computation has no complete result to keep for the
+	 * next invocation. Instead, the error message names the computer that was left out.
+	 *
+	 * @param categories the categories to compute the proposals of
+	 * @param monitor the progress monitor
+	 * @param context the code assist invocation context
+	 * @return the proposals of each category, in the order of <code>categories</code>
+	 * @since 3.28
+	 */
+	private List<List<ICompletionProposal>> computeProposalsConcurrently(List<CompletionProposalCategory> categories, IProgressMonitor monitor, ContentAssistInvocationContext context) {
+		if (context instanceof JavaContentAssistInvocationContext)
+			((JavaContentAssistInvocationContext) context).getCoreContext(); // runs code completion once, before any computer starts
+
+		long start= System.currentTimeMillis();
+		List<List<CompletionProposalComputerDescriptor>> descriptorsByCategory= new ArrayList<>(categories.size());
+		Map<CompletionProposalComputerDescriptor, CompletableFuture<List<ICompletionProposal>>> computations= new HashMap<>();
+		Map<CompletionProposalComputerDescriptor, IProgressMonitor> monitors= new HashMap<>();
+		for (CompletionProposalCategory cat : categories) {
+			List<CompletionProposalComputerDescriptor> descriptors= cat.getComputerDescriptors(fPartition);
+			descriptorsByCategory.add(descriptors);
+			for (CompletionProposalComputerDescriptor desc : descriptors) {
+				if (!desc.requiresUIThread()) {
+					IProgressMonitor computerMonitor= new NullProgressMonitor();
+					monitors.put(desc, computerMonitor);
+					computations.put(desc, desc.computeCompletionProposalsAsync(context, computerMonitor, fComputerRegistry.getComputerExecutor()));
+				}
+			}
+		}
+
+		Map<CompletionProposalComputerDescriptor, List<ICompletionProposal>> computed= new HashMap<>();
+		for (List<CompletionProposalComputerDescriptor> descriptors : descriptorsByCategory) {
+			for (CompletionProposalComputerDescriptor desc : descriptors) {
+				if (desc.requiresUIThread())
+					computed.put(desc, desc.computeCompletionProposals(context, new NullProgressMonitor()));
+			}
+		}
+
+		List<List<ICompletionProposal>> result= new ArrayList<>(categories.size());
+		for (List<CompletionProposalComputerDescriptor> descriptors : descriptorsByCategory) {
+			List<ICompletionProposal> proposals= new ArrayList<>();
+			for (CompletionProposalComputerDescriptor desc : descriptors) {
+				List<ICompletionProposal> computedByDescriptor= computed.get(desc);
+				if (computedByDescriptor == null)
+					computedByDescriptor= waitForProposals(computations.get(desc), monitors.get(desc), start + desc.getBudget());
+				if (computedByDescriptor == null) {
+					if (fErrorMessage == null)
+						fErrorMessage= Messages.format(JavaTextMessages.ContentAssistProcessor_computer_over_budget, desc.getName());
+					continue;
+				}
+				proposals.addAll(computedByDescriptor);
+				if (fErrorMessage == null)
+					fErrorMessage= desc.getErrorMessage();
+				if (JavaPlugin.DEBUG_RESULT_COLLECTOR)
+					System.err.println("Code Assist (" + desc.getId() + "):\t" + desc.getStatistics()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			result.add(proposals);
+			monitor.worked(1);
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the proposals of the given computation, or null if it is not done by the deadline.
+	 */
+	private static List<ICompletionProposal> waitForProposals(CompletableFuture<List<ICompletionProposal>> computation, IProgressMonitor monitor, long deadline) {
+		try {
+			return computation.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			monitor.setCanceled(true); // the computer is over budget, stop it
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// the descriptor reports failures of the computer itself
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
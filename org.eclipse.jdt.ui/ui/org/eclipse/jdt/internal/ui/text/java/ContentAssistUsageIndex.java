@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * A per project index of how often types and members have been selected in content assist.
+ * <p>
+ * Every selection adds a weight to the selected element. The weight grows geometrically with each
+ * selection in the same project, which makes older selections decay relative to newer ones without
+ * having to touch all entries on every selection.
+ * </p>
+ * <p>
+ * Elements are identified by a 64 bit hash of their name, so neither the index nor its lookups
+ * need to hold on to the names. Each project table is an immutable pair of sorted arrays that is
+ * replaced as a whole on change; lookups read the published tables without locking. The tables are
+ * stored in a binary file in the plug-in state location in the same layout, so loading only copies
+ * the arrays in bulk.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class ContentAssistUsageIndex {
+
+	/**
+	 * The immutable usage table of one project.
+	 */
+	private static final class UsageTable {
+		static final UsageTable EMPTY= new UsageTable(new long[0], new float[0], 1.0f);
+
+		final long[] fKeys;
+		final float[] fScores;
+		final float fIncrement;
+		final float fMaxScore;
+
+		UsageTable(long[] keys, float[] scores, float increment) {
+			fKeys= keys;
+			fScores= scores;
+			fIncrement= increment;
+			float max= 0.0f;
+			for (float score : scores)
+				max= Math.max(max, score);
+			fMaxScore= max;
+		}
+
+		float getRank(long key) {
+			if (fMaxScore <= 0.0f)
+				return 0.0f;
+			int index= Arrays.binarySearch(fKeys, key);
+			return index < 0 ? 0.0f : fScores[index] / fMaxScore;
+		}
+
+		UsageTable add(long key) {
+			float increment= fIncrement;
+			long[] keys;
+			float[] scores;
+			int index= Arrays.binarySearch(fKeys, key);
+			if (index >= 0) {
+				keys= fKeys;
+				scores= fScores.clone();
+				scores[index]+= increment;
+			} else {
+				int insertion= -(index + 1);
+				keys= new long[fKeys.length + 1];
+				scores= new float[fScores.length + 1];
+				System.arraycopy(fKeys, 0, keys, 0, insertion);
+				System.arraycopy(fScores, 0, scores, 0, insertion);
+				keys[insertion]= key;
+				scores[insertion]= increment;
+				System.arraycopy(fKeys, insertion, keys, insertion + 1, fKeys.length - insertion);
+				System.arraycopy(fScores, insertion, scores, insertion + 1, fScores.length - insertion);
+			}
+
+			increment/= DECAY;
+			if (increment > RESCALE_THRESHOLD) {
+				// rescale before the scores lose precision
+				for (int i= 0; i < scores.length; i++)
+					scores[i]/= increment;
+				increment= 1.0f;
+			}
+			if (keys.length > MAX_ENTRIES)
+				return new UsageTable(keys, scores, increment).prune(MAX_ENTRIES * 3 / 4);
+			return new UsageTable(keys, scores, increment);
+		}
+
+		/**
+		 * Returns a table that only keeps the <code>size</code> highest scored entries.
+		 *
+		 * @param size the number of entries to keep
+		 * @return the pruned table
+		 */
+		UsageTable prune(int size) {
+			float[] sorted= fScores.clone();
+			Arrays.sort(sorted);
+			float threshold= sorted[sorted.length - size];
+			long[] keys= new long[size];
+			float[] scores= new float[size];
+			int count= 0;
+			for (int i= 0; i < fKeys.length && count < size; i++) {
+				if (fScores[i] >= threshold) {
+					keys[count]= fKeys[i];
+					scores[count]= fScores[i];
+					count++;
+				}
+			}
+			return new UsageTable(keys, scores, fIncrement);
+		}
+	}
+
+	/**
+	 * The factor by which the weight of earlier selections decays with each new selection. A
+	 * selection loses half of its weight after about 70 further selections in the same project.
+	 */
+	private static final float DECAY= 0.99f;
+	private static final float RESCALE_THRESHOLD= 1.0e6f;
+	private static final int MAX_ENTRIES= 4096;
+
+	private static final int MAGIC= 0x4A435549; // "JCUI"
+	private static final int VERSION= 1;
+	private static final String FILE_NAME= "ContentAssistUsageIndex.bin"; //$NON-NLS-1$
+
+	private static final long FNV_OFFSET= 0xcbf29ce484222325L;
+	private static final long FNV_PRIME= 0x100000001b3L;
+
+	private static ContentAssistUsageIndex fgInstance;
+
+	private final File fFile;
+
+	/**
+	 * The published tables, keyed by project name. Replaced as a whole under the lock of the index
+	 * and read without locking.
+	 */
+	private volatile Map<String, UsageTable> fTables= Collections.emptyMap();
+	private boolean fDirty;
+
+	/**
+	 * Returns the shared index, loading it from the plug-in state location on first access.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized ContentAssistUsageIndex getDefault() {
+		if (fgInstance == null) {
+			IPath stateLocation= JavaPlugin.getDefault().getStateLocation();
+			fgInstance= new ContentAssistUsageIndex(stateLocation.append(FILE_NAME).toFile());
+			fgInstance.load();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Saves and releases the shared index.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		fgInstance.save();
+		fgInstance= null;
+	}
+
+	/**
+	 * Creates an empty index that is stored in the given file.
+	 *
+	 * @param file the file to load the index from and save it to
+	 */
+	public ContentAssistUsageIndex(File file) {
+		Assert.isLegal(file != null);
+		fFile= file;
+	}
+
+	/**
+	 * Returns the rank of a type in [0.0,&nbsp;1.0]. The most frequently selected type of the
+	 * project has rank 1.0, a type that has never been selected in the project has rank zero.
+	 *
+	 * @param project the project content assist is invoked in, or <code>null</code>
+	 * @param qualifiedTypeName the fully qualified type name
+	 * @return the rank of the type
+	 */
+	public float getTypeRank(IJavaProject project, String qualifiedTypeName) {
+		if (project == null || qualifiedTypeName == null)
+			return 0.0f;
+		UsageTable table= fTables.get(project.getElementName());
+		return table == null ? 0.0f : table.getRank(typeKey(qualifiedTypeName));
+	}
+
+	/**
+	 * Returns the rank of a member in [0.0,&nbsp;1.0], see {@link #getTypeRank(IJavaProject, String)}.
+	 *
+	 * @param project the project content assist is invoked in, or <code>null</code>
+	 * @param declarationSignature the signature of the declaring type, or <code>null</code>
+	 * @param name the name of the member
+	 * @param signature the signature of the member, or <code>null</code>
+	 * @return the rank of the member
+	 */
+	public float getMemberRank(IJavaProject project, char[] declarationSignature, char[] name, char[] signature) {
+		if (project == null || name == null)
+			return 0.0f;
+		UsageTable table= fTables.get(project.getElementName());
+		return table == null ? 0.0f : table.getRank(memberKey(declarationSignature, name, signature));
+	}
+
+	/**
+	 * Remembers the selection of a type in content assist.
+	 *
+	 * @param project the project content assist was invoked in, or <code>null</code>
+	 * @param qualifiedTypeName the fully qualified name of the selected type
+	 */
+	public void rememberType(IJavaProject project, String qualifiedTypeName) {
+		if (project != null && qualifiedTypeName != null)
+			remember(project.getElementName(), typeKey(qualifiedTypeName));
+	}
+
+	/**
+	 * Remembers the selection of a member in content assist.
+	 *
+	 * @param project the project content assist was invoked in, or <code>null</code>
+	 * @param declarationSignature the signature of the declaring type, or <code>null</code>
+	 * @param name the name of the selected member
+	 * @param signature the signature of the selected member, or <code>null</code>
+	 */
+	public void rememberMember(IJavaProject project, char[] declarationSignature, char[] name, char[] signature) {
+		if (project != null && name != null)
+			remember(project.getElementName(), memberKey(declarationSignature, name, signature));
+	}
+
+	private synchronized void remember(String projectName, long key) {
+		UsageTable table= fTables.get(projectName);
+		if (table == null)
+			table= UsageTable.EMPTY;
+		Map<String, UsageTable> tables= new HashMap<>(fTables);
+		tables.put(projectName, table.add(key));
+		fTables= tables;
+		fDirty= true;
+	}
+
+	private static long typeKey(String qualifiedTypeName) {
+		long hash= FNV_OFFSET;
+		for (int i= 0, length= qualifiedTypeName.length(); i < length; i++) {
+			hash= (hash ^ qualifiedTypeName.charAt(i)) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private static long memberKey(char[] declarationSignature, char[] name, char[] signature) {
+		long hash= hash(FNV_OFFSET, declarationSignature);
+		hash= (hash ^ '#') * FNV_PRIME;
+		hash= hash(hash, name);
+		hash= (hash ^ '(') * FNV_PRIME;
+		return hash(hash, signature);
+	}
+
+	private static long hash(long hash, char[] chars) {
+		if (chars != null) {
+			for (char c : chars) {
+				hash= (hash ^ c) * FNV_PRIME;
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Loads the index from its file. An unreadable or outdated file results in an empty index.
+	 */
+	public synchronized void load() {
+		if (!fFile.isFile())
+			return;
+		try (FileChannel channel= FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+			// read in one go rather than mapping the file, a mapped file cannot be replaced on save on all platforms
+			ByteBuffer buffer= ByteBuffer.allocate((int) channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// read fully
+			}
+			buffer.flip();
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				return;
+			int projectCount= buffer.getInt();
+			Map<String, UsageTable> tables= new HashMap<>();
+			for (int i= 0; i < projectCount; i++) {
+				char[] name= new char[buffer.getInt()];
+				buffer.asCharBuffer().get(name);
+				buffer.position(buffer.position() + name.length * Character.BYTES);
+				float increment= buffer.getFloat();
+				int count= buffer.getInt();
+				long[] keys= new long[count];
+				buffer.asLongBuffer().get(keys);
+				buffer.position(buffer.position() + count * Long.BYTES);
+				float[] scores= new float[count];
+				buffer.asFloatBuffer().get(scores);
+				buffer.position(buffer.position() + count * Float.BYTES);
+				tables.put(new String(name), new UsageTable(keys, scores, increment));
+			}
+			fTables= tables;
+			fDirty= false;
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Saves the index to its file if it has changed. Tables of projects that no longer exist in
+	 * the workspace are dropped.
+	 */
+	public synchronized void save() {
+		if (!fDirty)
+			return;
+		Map<String, UsageTable> tables= new HashMap<>(fTables);
+		tables.keySet().removeIf(name -> !ResourcesPlugin.getWorkspace().getRoot().getProject(name).exists());
+
+		File temp= new File(fFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(tables.size());
+				for (Map.Entry<String, UsageTable> entry : tables.entrySet()) {
+					String name= entry.getKey();
+					UsageTable table= entry.getValue();
+					out.writeInt(name.length());
+					out.writeChars(name);
+					out.writeFloat(table.fIncrement);
+					out.writeInt(table.fKeys.length);
+					for (long key : table.fKeys)
+						out.writeLong(key);
+					for (float score : table.fScores)
+						out.writeFloat(score);
+				}
+			}
+			Files.move(temp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			fDirty= false;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -67,6 +67,7 @@ public class JavaMethodCompletionProposal extends LazyJavaCompletionProposal {
 		if (trigger == ' ' || trigger == '(')
 			trigger= '\0';
 		super.apply(document, trigger, offset);
+		ContentAssistUsageIndex.getDefault().rememberMember(fInvocationContext.getProject(), fProposal.getDeclarationSignature(), fProposal.getName(), fProposal.getSignature());
 		if (needsLinkedMode()) {
 			setUpLinkedMode(document, ')');
 		} else if (!fProposal.isConstructor() && getReplacementString().endsWith(";")) { //$NON-NLS-1$
@@ -74,6 +75,17 @@ public class JavaMethodCompletionProposal extends LazyJavaCompletionProposal {
 		}
 	}
 
+	/*
+	 * @see org.eclipse.jdt.internal.ui.text.java.LazyJavaCompletionProposal#computeRelevance()
+	 * @since 3.28
+	 */
+	@Override
+	protected int computeRelevance() {
+		// like for types, the selection frequency must not override the other relevance factors
+		float usageRank= ContentAssistUsageIndex.getDefault().getMemberRank(fInvocationContext.getProject(), fProposal.getDeclarationSignature(), fProposal.getName(), fProposal.getSignature());
+		return super.computeRelevance() + Math.round(usageRank * 5);
+	}
+
 	protected boolean needsLinkedMode() {
 		return hasArgumentList() && hasParameters();
 	}
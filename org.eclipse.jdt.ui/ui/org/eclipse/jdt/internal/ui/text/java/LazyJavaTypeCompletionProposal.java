@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -252,6 +252,7 @@ public class LazyJavaTypeCompletionProposal extends LazyJavaCompletionProposal {
 			JavaPlugin.getDefault().getContentAssistHistory().remember(lhs, rhs);
 
 		QualifiedTypeNameHistory.remember(getQualifiedTypeName());
+		ContentAssistUsageIndex.getDefault().rememberType(fInvocationContext.getProject(), getQualifiedTypeName());
 	}
 
 	/**
@@ -386,23 +387,28 @@ public class LazyJavaTypeCompletionProposal extends LazyJavaCompletionProposal {
 	@Override
 	protected int computeRelevance() {
 		/*
-		 * There are two histories: the RHS history remembers types used for the current expected
-		 * type (left hand side), while the type history remembers recently used types in general).
+		 * The RHS history remembers types used for the current expected type (left hand side),
+		 * while the usage index ranks the types selected in the current project by how often and
+		 * how recently they have been selected. The usage index replaces the general type history,
+		 * which is only used for import choices now.
 		 *
 		 * The presence of an RHS ranking is a much more precise sign for relevance as it proves the
 		 * subtype relationship between the proposed type and the expected type.
 		 *
-		 * The "recently used" factor (of either the RHS or general history) is less important, it should
-		 * not override other relevance factors such as if the type is already imported etc.
+		 * The "recently used" factor of the RHS history is less important, it should not override
+		 * other relevance factors such as if the type is already imported etc. The same holds for
+		 * the rank in the usage index.
 		 */
-		float rhsHistoryRank= fInvocationContext.getHistoryRelevance(getQualifiedTypeName());
-		float typeHistoryRank= QualifiedTypeNameHistory.getDefault().getNormalizedPosition(getQualifiedTypeName());
+		String qualifiedTypeName= getQualifiedTypeName();
+		float rhsHistoryRank= fInvocationContext.getHistoryRelevance(qualifiedTypeName);
+		float usageRank= ContentAssistUsageIndex.getDefault().getTypeRank(fInvocationContext.getProject(), qualifiedTypeName);
 
-		int recencyBoost= Math.round((rhsHistoryRank + typeHistoryRank) * 5);
+		int recencyBoost= Math.round(rhsHistoryRank * 5);
+		int frequencyBoost= Math.round(usageRank * 5);
 		int rhsBoost= rhsHistoryRank > 0.0f ? 50 : 0;
 		int baseRelevance= super.computeRelevance();
 
-		return baseRelevance +  rhsBoost + recencyBoost;
+		return baseRelevance +  rhsBoost + recencyBoost + frequencyBoost;
 	}
 
 	/*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,6 +98,7 @@ import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.javadoc.AttachedJavadocIndex;
 import org.eclipse.jdt.internal.corext.javadoc.JavaDocLocations;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
@@ -505,6 +506,7 @@ public class JavadocContentAccess2 {
 	 * @return the Javadoc comment content in HTML or <code>null</code> if the element
 	 * 			does not have a Javadoc comment or if no source is available
 	 * @throws CoreException is thrown when the element's Javadoc cannot be accessed
+	 * @see JavadocHTMLCache
 	 */
 	public static String getHTMLContent(IJavaElement element, boolean useAttachedJavadoc) throws CoreException {
 		if (element instanceof IPackageFragment) {
@@ -518,11 +520,15 @@ public class JavadocContentAccess2 {
 				&& (!(element instanceof ILocalVariable) || !(((ILocalVariable) element).isParameter()))) {
 			return null;
 		}
+		return JavadocHTMLCache.getDefault().getHTMLContent(element, useAttachedJavadoc, () -> computeHTMLContent(element, useAttachedJavadoc));
+	}
+
+	private static String computeHTMLContent(IJavaElement element, boolean useAttachedJavadoc) throws CoreException {
 		String sourceJavadoc= getHTMLContentFromSource(element);
 		if (sourceJavadoc == null || sourceJavadoc.length() == 0 || "{@inheritDoc}".equals(sourceJavadoc.trim())) { //$NON-NLS-1$
 			if (useAttachedJavadoc) {
 				if (element.getOpenable().getBuffer() == null) { // only if no source available
-					return element.getAttachedJavadoc(null);
+					return getAttachedJavadoc(element);
 				}
 				IMember member= null;
 				if (element instanceof ILocalVariable) {
@@ -551,6 +557,19 @@ public class JavadocContentAccess2 {
 		return sourceJavadoc;
 	}
 
+	/**
+	 * Returns the attached Javadoc of the element, preferably from the index of its Javadoc
+	 * archive.
+	 *
+	 * @param element the element
+	 * @return the attached Javadoc, or <code>null</code> if none
+	 * @throws JavaModelException if the attached Javadoc cannot be accessed
+	 */
+	private static String getAttachedJavadoc(IJavaElement element) throws JavaModelException {
+		String javadoc= AttachedJavadocIndex.getDefault().getAttachedJavadoc(element);
+		return javadoc != null ? javadoc : element.getAttachedJavadoc(null);
+	}
+
 	private static StringBuffer createSuperMethodReferences(final IMethod method) throws JavaModelException {
 		IType type= method.getDeclaringType();
 		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(type);
@@ -826,7 +845,7 @@ public class JavadocContentAccess2 {
 					return InheritDocVisitor.CONTINUE;
 
 				if (overridden.getOpenable().getBuffer() == null) { // only if no source available
-					String attachedJavadoc= overridden.getAttachedJavadoc(null);
+					String attachedJavadoc= getAttachedJavadoc(overridden);
 					if (attachedJavadoc != null) {
 						// BaseURL for the original method can be wrong for attached Javadoc from overridden
 						// (e.g. when overridden is from rt.jar).
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.javadoc;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Caches the HTML rendered by {@link JavadocContentAccess2#getHTMLContent(IJavaElement, boolean)}.
+ * <p>
+ * Entries are keyed by the handle of the element and whether attached Javadoc may be used, and are
+ * only valid for the modification stamp of the unit or library the element was read from. The
+ * cache is bounded by the total length of the cached keys and HTML plus a fixed overhead per
+ * entry, and evicts the least recently used entries first.
+ * </p>
+ * <p>
+ * Rendered Javadoc of source elements may have been inherited from any other source, so all of
+ * them are discarded when a compilation unit changes on disk. Reconciling a working copy discards
+ * the entries of that unit and the entries of all source methods, since a method may inherit its
+ * Javadoc from a method of the reconciled unit, and inherited Javadoc is read from the working copy
+ * of the super type. Entries of source types and fields in other units are kept, as they do not
+ * inherit Javadoc. Class path changes, which include changes of the Javadoc and source
+ * attachments, discard the whole cache.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavadocHTMLCache implements IElementChangedListener {
+
+	/**
+	 * Renders the HTML of an element on a cache miss.
+	 */
+	@FunctionalInterface
+	interface HTMLRenderer {
+		String render() throws CoreException;
+	}
+
+	private static final class Key {
+		final String fHandle;
+		final boolean fUseAttachedJavadoc;
+
+		Key(String handle, boolean useAttachedJavadoc) {
+			fHandle= handle;
+			fUseAttachedJavadoc= useAttachedJavadoc;
+		}
+
+		@Override
+		public int hashCode() {
+			return fHandle.hashCode() * 31 + (fUseAttachedJavadoc ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fUseAttachedJavadoc == other.fUseAttachedJavadoc && fHandle.equals(other.fHandle);
+		}
+	}
+
+	private static final class Entry {
+		final String fHTML;
+		final long fStamp;
+		final boolean fFromSource;
+		/** Whether the HTML may contain Javadoc inherited from another source element */
+		final boolean fMayInherit;
+		final int fSize;
+
+		Entry(Key key, String html, long stamp, boolean fromSource, boolean mayInherit) {
+			fHTML= html;
+			fStamp= stamp;
+			fFromSource= fromSource;
+			fMayInherit= mayInherit;
+			fSize= ENTRY_OVERHEAD + key.fHandle.length() + (html == null ? 0 : html.length());
+		}
+
+		int getSize() {
+			return fSize;
+		}
+	}
+
+	/**
+	 * Maximum total number of cached characters.
+	 */
+	private static final int MAX_SIZE= Integer.getInteger("org.eclipse.jdt.ui.javadocCacheSize", 4 * 1024 * 1024).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Size in characters that is counted for each entry in addition to its key and HTML, so that
+	 * entries without Javadoc are bounded as well.
+	 */
+	private static final int ENTRY_OVERHEAD= 64;
+
+	/**
+	 * Stamp of elements whose HTML must not be cached, i.e. of elements in working copies with
+	 * unsaved changes, for which no stamp is available.
+	 */
+	private static final long UNCACHEABLE= Long.MIN_VALUE;
+
+	private static final int CHANGE_NONE= 0;
+	private static final int CHANGE_SOURCE= 1;
+	private static final int CHANGE_ALL= 2;
+
+	private static final int CLASSPATH_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+	private static JavadocHTMLCache fgInstance;
+
+	private final LinkedHashMap<Key, Entry> fEntries= new LinkedHashMap<>(64, 0.75f, true);
+	private long fSize;
+
+	/**
+	 * Incremented whenever entries are discarded, so that HTML rendered concurrently from the
+	 * discarded state is not cached.
+	 */
+	private int fGeneration;
+
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+
+	private JavadocHTMLCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized JavadocHTMLCache getDefault() {
+		if (fgInstance == null)
+			fgInstance= new JavadocHTMLCache();
+		return fgInstance;
+	}
+
+	/**
+	 * Releases the shared cache.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		JavaCore.removeElementChangedListener(fgInstance);
+		fgInstance.clear();
+		fgInstance= null;
+	}
+
+	/**
+	 * Returns the cached HTML of the given element, rendering it on a miss.
+	 *
+	 * @param element the element
+	 * @param useAttachedJavadoc whether attached Javadoc may be used
+	 * @param renderer renders the HTML on a cache miss
+	 * @return the HTML, or <code>null</code> if the element has no Javadoc
+	 * @throws CoreException if rendering fails
+	 */
+	String getHTMLContent(IJavaElement element, boolean useAttachedJavadoc, HTMLRenderer renderer) throws CoreException {
+		Key key= new Key(element.getHandleIdentifier(), useAttachedJavadoc);
+		long stamp= getModificationStamp(element);
+		if (stamp == UNCACHEABLE)
+			return renderer.render();
+
+		int generation;
+		synchronized (this) {
+			Entry entry= fEntries.get(key);
+			if (entry != null && entry.fStamp == stamp) {
+				fHits++;
+				return entry.fHTML;
+			}
+			fMisses++;
+			generation= fGeneration;
+		}
+
+		String html= renderer.render();
+		boolean fromSource= !isBinary(element);
+		Entry entry= new Entry(key, html, stamp, fromSource, fromSource && element.getElementType() == IJavaElement.METHOD && !((IMethod) element).isConstructor());
+		if (entry.getSize() > MAX_SIZE / 4)
+			return html; // would push out too much
+
+		synchronized (this) {
+			if (generation != fGeneration)
+				return html;
+			Entry old= fEntries.put(key, entry);
+			if (old != null)
+				fSize-= old.getSize();
+			fSize+= entry.getSize();
+			for (Iterator<Entry> iterator= fEntries.values().iterator(); fSize > MAX_SIZE && iterator.hasNext();) {
+				Entry eldest= iterator.next();
+				iterator.remove();
+				fSize-= eldest.getSize();
+				fEvictions++;
+			}
+		}
+		return html;
+	}
+
+	private static boolean isBinary(IJavaElement element) {
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		try {
+			return root != null && root.getKind() == IPackageFragmentRoot.K_BINARY;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * Returns the modification stamp of the unit for source elements, and of the library for binary
+	 * elements. External archives can be replaced without a delta, so their file time is used.
+	 */
+	private static long getModificationStamp(IJavaElement element) throws JavaModelException {
+		ICompilationUnit cu= (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (cu != null) {
+			if (cu.isWorkingCopy() && cu.hasUnsavedChanges())
+				return UNCACHEABLE;
+			IResource resource= cu.getResource();
+			return resource == null ? IResource.NULL_STAMP : resource.getModificationStamp();
+		}
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null)
+			return IResource.NULL_STAMP;
+		IResource resource= root.getResource();
+		if (resource == null) {
+			File file= root.getPath().toFile();
+			return file.lastModified();
+		}
+		return resource.getModificationStamp();
+	}
+
+	/**
+	 * Discards all cached HTML.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fSize= 0;
+		fGeneration++;
+	}
+
+	/**
+	 * Returns the number of requests served from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of requests that had to render the HTML.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of entries that were evicted to stay within the size bound.
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictionCount() {
+		return fEvictions;
+	}
+
+	/**
+	 * Returns the total size of the cached entries, in characters.
+	 *
+	 * @return the size of the cache
+	 */
+	public synchronized long getSize() {
+		return fSize;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+			List<String> units= new ArrayList<>();
+			collectUnits(event.getDelta(), units);
+			if (!units.isEmpty()) {
+				discardUnits(units);
+				return;
+			}
+		}
+		int change= getChange(event.getDelta());
+		if (change == CHANGE_ALL) {
+			clear();
+		} else if (change == CHANGE_SOURCE) {
+			synchronized (this) {
+				fGeneration++;
+				for (Iterator<Entry> iterator= fEntries.values().iterator(); iterator.hasNext();) {
+					Entry entry= iterator.next();
+					if (entry.fFromSource) {
+						iterator.remove();
+						fSize-= entry.getSize();
+					}
+				}
+			}
+		}
+	}
+
+	private static void collectUnits(IJavaElementDelta delta, List<String> units) {
+		IJavaElement element= delta.getElement();
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			units.add(element.getHandleIdentifier());
+		} else if (element.getElementType() < IJavaElement.COMPILATION_UNIT) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				collectUnits(child, units);
+			}
+		}
+	}
+
+	/*
+	 * Discards the entries of the elements in the compilation units with the given handles, and
+	 * the entries that may have inherited Javadoc from them.
+	 */
+	private synchronized void discardUnits(List<String> units) {
+		fGeneration++;
+		for (Iterator<Map.Entry<Key, Entry>> iterator= fEntries.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<Key, Entry> entry= iterator.next();
+			if (entry.getValue().fMayInherit) {
+				iterator.remove();
+				fSize-= entry.getValue().getSize();
+				continue;
+			}
+			for (String unit : units) {
+				if (isInUnit(entry.getKey().fHandle, unit)) {
+					iterator.remove();
+					fSize-= entry.getValue().getSize();
+					break;
+				}
+			}
+		}
+	}
+
+	private static boolean isInUnit(String handle, String unit) {
+		if (!handle.startsWith(unit))
+			return false;
+		if (handle.length() == unit.length())
+			return true;
+		char next= handle.charAt(unit.length());
+		return next != '.' && !Character.isJavaIdentifierPart(next); // a member delimiter, not a longer unit name
+	}
+
+	private static int getChange(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if ((delta.getFlags() & CLASSPATH_FLAGS) != 0)
+					return CHANGE_ALL;
+				if (delta.getKind() != IJavaElementDelta.CHANGED && element.getElementType() != IJavaElement.PACKAGE_FRAGMENT)
+					return CHANGE_ALL;
+				int change= delta.getKind() == IJavaElementDelta.CHANGED ? CHANGE_NONE : CHANGE_SOURCE;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					change= Math.max(change, getChange(child));
+					if (change == CHANGE_ALL)
+						break;
+				}
+				return change;
+			case IJavaElement.COMPILATION_UNIT:
+				return CHANGE_SOURCE;
+			case IJavaElement.CLASS_FILE:
+				return CHANGE_ALL;
+			default:
+				return CHANGE_SOURCE;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "JavadocHTMLCache [size=" + getSize() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,13 +16,18 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
@@ -32,6 +37,7 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
@@ -45,6 +51,7 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -53,10 +60,52 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
+ * <p>
+ * Changes reported by the hierarchy are checked against the Java element delta that caused them.
+ * Edits that do not touch the declarations of types (e.g. changes of method bodies or members) do
+ * not require the hierarchy to be recomputed; only added or removed types and changed super types
+ * lead to a refresh.
+ * </p>
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
+	/** The name of the performance event used to trace hierarchy refreshes. */
+	private static final String PERF_REFRESH= JavaPlugin.getPluginId() + "/perf/typehierarchy/refresh"; //$NON-NLS-1$
+
+	private static final int ACC_TYPE_KIND= Flags.AccInterface | Flags.AccEnum | Flags.AccAnnotation;
+
 	private boolean fHierarchyRefreshNeeded;
+
+	/**
+	 * Set when the hierarchy reported a change. The element changed event for the same delta,
+	 * which is always delivered after the hierarchy's notification, decides whether the change
+	 * requires a refresh.
+	 */
+	private boolean fHierarchyChangePending;
+
+	/**
+	 * Set when a reported change has been handled without a refresh. The hierarchy then considers
+	 * itself out of date and does not report further changes until it is refreshed, so the element
+	 * changed events are classified directly.
+	 */
+	private boolean fHierarchyStale;
+
+	/**
+	 * The types of the hierarchy by their compilation unit, or <code>null</code> if not yet
+	 * computed for the current hierarchy.
+	 */
+	private Map<ICompilationUnit, List<IType>> fTypesByCompilationUnit;
+
+	/**
+	 * The simple names of all types of the hierarchy, computed together with
+	 * {@link #fTypesByCompilationUnit}.
+	 */
+	private Set<String> fTypeNames;
+
+	private int fRebuildCount;
+	private long fRebuildTime;
+	private int fIncrementalUpdateCount;
+
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -123,6 +172,8 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			JavaCore.removeElementChangedListener(this);
 			fHierarchy= null;
 			fInputElements= null;
+			fTypesByCompilationUnit= null;
+			fTypeNames= null;
 		}
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
@@ -132,6 +183,33 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * Returns the number of times the hierarchy has been created or refreshed.
+	 *
+	 * @return the number of rebuilds
+	 */
+	public int getRebuildCount() {
+		return fRebuildCount;
+	}
+
+	/**
+	 * Returns the accumulated time spent creating and refreshing the hierarchy.
+	 *
+	 * @return the rebuild time in milliseconds
+	 */
+	public long getRebuildTime() {
+		return fRebuildTime;
+	}
+
+	/**
+	 * Returns the number of hierarchy changes that have been handled without a refresh.
+	 *
+	 * @return the number of incremental updates
+	 */
+	public int getIncrementalUpdateCount() {
+		return fIncrementalUpdateCount;
+	}
+
 	public void removeChangedListener(ITypeHierarchyLifeCycleListener listener) {
 		fChangeListeners.remove(listener);
 	}
@@ -321,6 +399,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 		}
+		PerformanceStats stats= PerformanceStats.getStats(PERF_REFRESH, this);
+		stats.startRun();
+		long start= System.currentTimeMillis();
 		if (hierachyCreationNeeded) {
 			fHierarchy= createTypeHierarchy(elements, pm);
 			if (pm != null && pm.isCanceled()) {
@@ -332,6 +413,13 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
+		fRebuildCount++;
+		fRebuildTime+= System.currentTimeMillis() - start;
+		stats.endRun();
+		fTypesByCompilationUnit= null;
+		fTypeNames= null;
+		fHierarchyChangePending= false;
+		fHierarchyStale= false;
 		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
@@ -342,8 +430,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-	 	fHierarchyRefreshNeeded= true;
- 		fireChange(null);
+		if (!fHierarchyRefreshNeeded) {
+			fHierarchyChangePending= true;
+		}
 	}
 
 	/*
@@ -351,6 +440,20 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
+		if (fHierarchyChangePending || fHierarchyStale && !fHierarchyRefreshNeeded) {
+			boolean reported= fHierarchyChangePending;
+			fHierarchyChangePending= false;
+			if (fChangeListeners.isEmpty() || isHierarchyChange(event.getDelta())) {
+				fHierarchyRefreshNeeded= true;
+				fireChange(null);
+				return;
+			}
+			if (reported) {
+				fHierarchyStale= true;
+				fIncrementalUpdateCount++;
+			}
+		}
+
 		if (fChangeListeners.isEmpty()) {
 			return;
 		}
@@ -430,5 +533,213 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/*
+	 * Returns true if the delta adds or removes types, or changes the declaration of a type in a
+	 * way that can change the shape of the hierarchy. Member-only edits return false.
+	 */
+	private boolean isHierarchyChange(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+					return true; // class path changes, added or removed containers
+				}
+				return isHierarchyChildrenChange(delta);
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!JavaModelUtil.isPrimary(cu)) {
+					return false;
+				}
+				if (delta.getKind() == IJavaElementDelta.ADDED) {
+					try {
+						return declaresHierarchySubtype(cu);
+					} catch (JavaModelException e) {
+						return true;
+					}
+				}
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					return declaresHierarchyType(cu);
+				}
+				if (isPossibleStructuralChange(delta.getFlags()) || hasImportChange(delta)) {
+					// no fine-grained delta, or the super type names may resolve differently:
+					// compare the declarations with the hierarchy
+					try {
+						return !hasSameTypeDeclarations(cu);
+					} catch (JavaModelException e) {
+						return true;
+					}
+				}
+				return isHierarchyChildrenChange(delta);
+			case IJavaElement.TYPE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0) {
+					return true;
+				}
+				return isHierarchyChildrenChange(delta); // (inner types)
+			case IJavaElement.CLASS_FILE:
+				return true;
+			default:
+				return false; // members, imports, package declarations
+		}
+	}
+
+	private boolean hasImportChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			switch (child.getElement().getElementType()) {
+				case IJavaElement.IMPORT_CONTAINER:
+				case IJavaElement.IMPORT_DECLARATION:
+				case IJavaElement.PACKAGE_DECLARATION:
+					return true;
+				default:
+					break;
+			}
+		}
+		return false;
+	}
+
+	private boolean isHierarchyChildrenChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isHierarchyChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Compares the current type declarations of the compilation unit with the types and super
+	 * types recorded in the hierarchy. Super types are compared by their names as resolved in the
+	 * compilation unit, so changed imports are detected. Types that are not part of the
+	 * hierarchy yet are matched against the hierarchy by simple name, which can only cause
+	 * unnecessary refreshes.
+	 */
+	private boolean hasSameTypeDeclarations(ICompilationUnit cu) throws JavaModelException {
+		if (!cu.exists()) {
+			return false;
+		}
+		if (fTypesByCompilationUnit == null) {
+			computeTypesByCompilationUnit();
+		}
+		List<IType> hierarchyTypes= fTypesByCompilationUnit.get(cu);
+		if (hierarchyTypes != null) {
+			for (IType type : hierarchyTypes) {
+				if (!type.exists()) {
+					return false; // removed or renamed
+				}
+			}
+		}
+		for (IType type : cu.getAllTypes()) {
+			if (hierarchyTypes != null && hierarchyTypes.contains(type)) {
+				if (!hasSameSupertypes(type)) {
+					return false;
+				}
+			} else if (extendsHierarchyType(type)) {
+				return false; // a new type that may belong to the hierarchy
+			}
+		}
+		return true;
+	}
+
+	private boolean declaresHierarchyType(ICompilationUnit cu) {
+		if (fTypesByCompilationUnit == null) {
+			computeTypesByCompilationUnit();
+		}
+		return fTypesByCompilationUnit.containsKey(cu);
+	}
+
+	private boolean declaresHierarchySubtype(ICompilationUnit cu) throws JavaModelException {
+		if (!cu.exists()) {
+			return false;
+		}
+		if (fTypeNames == null) {
+			computeTypesByCompilationUnit();
+		}
+		for (IType type : cu.getAllTypes()) {
+			if (extendsHierarchyType(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSameSupertypes(IType type) throws JavaModelException {
+		ITypeHierarchy hierarchy= fHierarchy;
+		if (((hierarchy.getCachedFlags(type) ^ type.getFlags()) & ACC_TYPE_KIND) != 0) {
+			return false;
+		}
+		IType superclass= hierarchy.getSuperclass(type);
+		String superclassName= type.getSuperclassName();
+		if (superclassName == null) {
+			// implicit super class, e.g. java.lang.Object or java.lang.Enum
+			if (superclass != null && !"java.lang".equals(superclass.getPackageFragment().getElementName())) { //$NON-NLS-1$
+				return false;
+			}
+		} else if (superclass == null || !superclass.getFullyQualifiedName('.').equals(resolveTypeName(type, superclassName))) {
+			return false;
+		}
+		Set<String> oldInterfaces= new HashSet<>();
+		for (IType superInterface : hierarchy.getSuperInterfaces(type)) {
+			oldInterfaces.add(superInterface.getFullyQualifiedName('.'));
+		}
+		if (type.isAnnotation()) {
+			oldInterfaces.remove("java.lang.annotation.Annotation"); //$NON-NLS-1$
+		}
+		Set<String> newInterfaces= new HashSet<>();
+		for (String superInterfaceName : type.getSuperInterfaceNames()) {
+			String resolved= resolveTypeName(type, superInterfaceName);
+			if (resolved == null) {
+				return false;
+			}
+			newInterfaces.add(resolved);
+		}
+		return oldInterfaces.equals(newInterfaces);
+	}
+
+	/*
+	 * Returns the fully qualified name the given super type name refers to, or null if it cannot
+	 * be resolved unambiguously.
+	 */
+	private static String resolveTypeName(IType type, String typeName) throws JavaModelException {
+		String[][] resolved= type.resolveType(Signature.getTypeErasure(typeName));
+		if (resolved == null || resolved.length != 1) {
+			return null;
+		}
+		return JavaModelUtil.concatenateName(resolved[0][0], resolved[0][1]);
+	}
+
+	private boolean extendsHierarchyType(IType type) throws JavaModelException {
+		String superclassName= type.getSuperclassName();
+		if (superclassName != null && fTypeNames.contains(getSimpleName(superclassName))) {
+			return true;
+		}
+		for (String superInterfaceName : type.getSuperInterfaceNames()) {
+			if (fTypeNames.contains(getSimpleName(superInterfaceName))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void computeTypesByCompilationUnit() {
+		Map<ICompilationUnit, List<IType>> typesByCompilationUnit= new HashMap<>();
+		Set<String> typeNames= new HashSet<>();
+		for (IType type : fHierarchy.getAllTypes()) {
+			typeNames.add(type.getElementName());
+			ICompilationUnit cu= type.getCompilationUnit();
+			if (cu != null) {
+				typesByCompilationUnit.computeIfAbsent(cu, k -> new ArrayList<>(1)).add(type);
+			}
+		}
+		fTypesByCompilationUnit= typesByCompilationUnit;
+		fTypeNames= typeNames;
+	}
+
+	private static String getSimpleName(String typeName) {
+		return Signature.getSimpleName(Signature.getTypeErasure(typeName));
+	}
+
 
 }
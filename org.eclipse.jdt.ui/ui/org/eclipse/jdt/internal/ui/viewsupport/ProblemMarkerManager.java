@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,11 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -42,6 +46,7 @@ import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.JavaUIMessages;
 import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEvent;
 
 /**
@@ -57,9 +62,11 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
+		private final ProblemSeverityIndex fSeverityIndex;
 
-		public ProjectErrorVisitor(HashSet<IResource> changedElements) {
+		public ProjectErrorVisitor(HashSet<IResource> changedElements, ProblemSeverityIndex severityIndex) {
 			fChangedElements= changedElements;
+			fSeverityIndex= severityIndex;
 		}
 
 		@Override
@@ -69,6 +76,9 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 				IProject project= (IProject) res;
 				if (!project.isAccessible()) {
 					// only track open Java projects
+					if (fSeverityIndex != null && (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+						fSeverityIndex.remove(project, fChangedElements);
+					}
 					return false;
 				}
 			}
@@ -76,13 +86,22 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 			return true;
 		}
 
-		private void checkInvalidate(IResourceDelta delta, IResource resource) {
+		private void checkInvalidate(IResourceDelta delta, IResource resource) throws CoreException {
 			int kind= delta.getKind();
-			if (kind == IResourceDelta.REMOVED || kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
-				// invalidate the resource and all parents
-				while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
-					resource= resource.getParent();
+			if (fSeverityIndex == null) {
+				if (kind == IResourceDelta.REMOVED || kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
+					// invalidate the resource and all parents
+					while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
+						resource= resource.getParent();
+					}
 				}
+			} else if (kind == IResourceDelta.REMOVED) {
+				// the index reports the ancestors whose severity changed
+				fChangedElements.add(resource);
+				fSeverityIndex.remove(resource, fChangedElements);
+			} else if (kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
+				fChangedElements.add(resource);
+				fSeverityIndex.update(resource, fChangedElements);
 			}
 		}
 
@@ -109,6 +128,16 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
+	/**
+	 * The severities of the problem markers, maintained while there are listeners.
+	 */
+	private volatile ProblemSeverityIndex fSeverityIndex;
+
+	/**
+	 * The job that builds {@link #fSeverityIndex}, or <code>null</code>.
+	 */
+	private Job fBuildIndexJob;
+
 	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
 
 	public ProblemMarkerManager() {
@@ -119,12 +148,13 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	 */
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
+		ProblemSeverityIndex severityIndex= fSeverityIndex; // also kept up to date while it is built
 		HashSet<IResource> changedElements= new HashSet<>();
 
 		try {
 			IResourceDelta delta= event.getDelta();
 			if (delta != null)
-				delta.accept(new ProjectErrorVisitor(changedElements));
+				delta.accept(new ProjectErrorVisitor(changedElements, severityIndex));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
@@ -159,12 +189,42 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	 */
 	public void addListener(IProblemChangedListener listener) {
 		if (fListeners.isEmpty()) {
+			ProblemSeverityIndex severityIndex= new ProblemSeverityIndex();
+			fSeverityIndex= severityIndex;
 			JavaPlugin.getWorkspace().addResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().addGlobalAnnotationModelListener(this);
+			scheduleBuildIndex(severityIndex);
 		}
 		fListeners.add(listener);
 	}
 
+	/*
+	 * Finding all problem markers of the workspace can take a while in large workspaces, so the
+	 * index is built in the background. Until it is available, the decorators read the markers.
+	 */
+	private synchronized void scheduleBuildIndex(ProblemSeverityIndex severityIndex) {
+		if (fBuildIndexJob != null)
+			fBuildIndexJob.cancel();
+		fBuildIndexJob= new Job(JavaUIMessages.ProblemMarkerManager_build_index_job_title) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				if (monitor.isCanceled() || fSeverityIndex != severityIndex)
+					return Status.CANCEL_STATUS;
+				try {
+					severityIndex.build(JavaPlugin.getWorkspace().getRoot());
+				} catch (CoreException e) {
+					JavaPlugin.log(e);
+					if (fSeverityIndex == severityIndex)
+						fSeverityIndex= null;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fBuildIndexJob.setPriority(Job.DECORATE);
+		fBuildIndexJob.setSystem(true);
+		fBuildIndexJob.schedule();
+	}
+
 	/**
 	 * Removes a <code>IProblemChangedListener</code>.
 	 * @param listener the listener to remove
@@ -172,11 +232,31 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	public void removeListener(IProblemChangedListener listener) {
 		fListeners.remove(listener);
 		if (fListeners.isEmpty()) {
+			fSeverityIndex= null;
+			synchronized (this) {
+				if (fBuildIndexJob != null) {
+					fBuildIndexJob.cancel();
+					fBuildIndexJob= null;
+				}
+			}
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
 		}
 	}
 
+	/**
+	 * Returns the index of the problem marker severities. The index is only maintained while
+	 * there are listeners, and is built in the background.
+	 *
+	 * @return the index, or <code>null</code> if there are no listeners or the index is not
+	 *         built yet
+	 * @since 3.28
+	 */
+	public ProblemSeverityIndex getSeverityIndex() {
+		ProblemSeverityIndex severityIndex= fSeverityIndex;
+		return severityIndex != null && severityIndex.isAvailable() ? severityIndex : null;
+	}
+
 	private void fireChanges() {
 		throttledUpdates.throttledExec();
 	}
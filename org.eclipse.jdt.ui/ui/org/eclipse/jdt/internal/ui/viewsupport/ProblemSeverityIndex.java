@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+
+/**
+ * Index of the maximum problem marker severity per resource, maintained by the
+ * {@link ProblemMarkerManager} from marker deltas.
+ * <p>
+ * Every container additionally counts the severities of its children and of all its descendants,
+ * so that the maximum severity of a resource can be answered for {@link IResource#DEPTH_ZERO},
+ * {@link IResource#DEPTH_ONE} and {@link IResource#DEPTH_INFINITE} in constant time, like
+ * {@link IResource#findMaxProblemSeverity(String, boolean, int)} answers it for
+ * {@link IMarker#PROBLEM} and its subtypes.
+ * </p>
+ * <p>
+ * The index is only {@link #isAvailable() available} once it has been {@link #build(IWorkspaceRoot)
+ * built}, which the {@link ProblemMarkerManager} does in a background job.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class ProblemSeverityIndex {
+
+	private static final int NO_SEVERITY= -1;
+
+	private static final class Node {
+		int fOwn= NO_SEVERITY;
+		final int[] fChildren= new int[IMarker.SEVERITY_ERROR + 1];
+		final int[] fDescendants= new int[IMarker.SEVERITY_ERROR + 1];
+
+		boolean isEmpty() {
+			if (fOwn != NO_SEVERITY)
+				return false;
+			for (int count : fDescendants) {
+				if (count != 0)
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Orders paths segment by segment, so that the paths below a path directly follow it.
+	 */
+	private static final Comparator<IPath> PATH_ORDER= (path1, path2) -> {
+		int count= Math.min(path1.segmentCount(), path2.segmentCount());
+		for (int i= 0; i < count; i++) {
+			int result= path1.segment(i).compareTo(path2.segment(i));
+			if (result != 0)
+				return result;
+		}
+		return path1.segmentCount() - path2.segmentCount();
+	};
+
+	private final Map<IResource, Node> fNodes= new HashMap<>();
+
+	/**
+	 * The resources that have problem markers themselves, sorted by their full path.
+	 */
+	private final TreeMap<IPath, IResource> fMarkedResources= new TreeMap<>(PATH_ORDER);
+
+	/**
+	 * Resources that have been updated from deltas while the index was built. The markers found by
+	 * the build are outdated for them. <code>null</code> once the index is built.
+	 */
+	private Set<IResource> fUpdatedDuringBuild= new HashSet<>();
+
+	/**
+	 * Fills the index with the problem markers of the workspace. Updates that arrive concurrently
+	 * take precedence over the markers found here.
+	 *
+	 * @param root the workspace root
+	 * @throws CoreException if the markers cannot be read
+	 */
+	public void build(IWorkspaceRoot root) throws CoreException {
+		Map<IResource, Integer> severities= new HashMap<>();
+		for (IMarker marker : root.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE)) {
+			int severity= marker.getAttribute(IMarker.SEVERITY, NO_SEVERITY);
+			if (isValid(severity))
+				severities.merge(marker.getResource(), Integer.valueOf(severity), (a, b) -> a.intValue() >= b.intValue() ? a : b);
+		}
+		synchronized (this) {
+			Set<IResource> updated= fUpdatedDuringBuild;
+			fUpdatedDuringBuild= null;
+			for (Map.Entry<IResource, Integer> entry : severities.entrySet()) {
+				if (!isUpdated(entry.getKey(), updated))
+					setSeverity(entry.getKey(), entry.getValue().intValue(), null);
+			}
+		}
+	}
+
+	private static boolean isUpdated(IResource resource, Set<IResource> updated) {
+		for (IResource curr= resource; curr != null; curr= curr.getParent()) {
+			if (updated.contains(curr))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tells whether the index has been built. Severities are only known for resources that have
+	 * been updated or removed before that.
+	 *
+	 * @return <code>true</code> if the index has been built
+	 */
+	public synchronized boolean isAvailable() {
+		return fUpdatedDuringBuild == null;
+	}
+
+	/**
+	 * Returns the maximum severity of the problem markers on the resource, like
+	 * {@link IResource#findMaxProblemSeverity(String, boolean, int)}.
+	 *
+	 * @param resource the resource
+	 * @param depth the depth, one of the <code>IResource.DEPTH_*</code> constants
+	 * @return the maximum severity, or -1 if there are no problem markers
+	 */
+	public synchronized int getMaxSeverity(IResource resource, int depth) {
+		Node node= fNodes.get(resource);
+		if (node == null)
+			return NO_SEVERITY;
+		switch (depth) {
+			case IResource.DEPTH_ZERO:
+				return node.fOwn;
+			case IResource.DEPTH_ONE:
+				return Math.max(node.fOwn, getMax(node.fChildren));
+			default:
+				return Math.max(node.fOwn, getMax(node.fDescendants));
+		}
+	}
+
+	/**
+	 * Re-reads the maximum severity of the problem markers on the given resource.
+	 *
+	 * @param resource the resource whose markers changed
+	 * @param changed collects the resources whose own or rolled up severity changed
+	 * @throws CoreException if the markers cannot be read
+	 */
+	public void update(IResource resource, Set<IResource> changed) throws CoreException {
+		int severity= resource.isAccessible() ? resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ZERO) : NO_SEVERITY;
+		synchronized (this) {
+			setSeverity(resource, severity, changed);
+		}
+	}
+
+	/**
+	 * Removes the given resource and all resources below it, e.g. when a folder has been deleted
+	 * or a project has been closed.
+	 *
+	 * @param resource the removed resource
+	 * @param changed collects the resources whose own or rolled up severity changed
+	 */
+	public synchronized void remove(IResource resource, Set<IResource> changed) {
+		IPath path= resource.getFullPath();
+		List<IResource> removed= new ArrayList<>();
+		for (Map.Entry<IPath, IResource> entry : fMarkedResources.tailMap(path, true).entrySet()) {
+			if (!path.isPrefixOf(entry.getKey()))
+				break;
+			removed.add(entry.getValue());
+		}
+		for (IResource curr : removed) {
+			setSeverity(curr, NO_SEVERITY, changed);
+		}
+		if (fUpdatedDuringBuild != null)
+			fUpdatedDuringBuild.add(resource);
+	}
+
+	private void setSeverity(IResource resource, int severity, Set<IResource> changed) {
+		if (fUpdatedDuringBuild != null && changed != null)
+			fUpdatedDuringBuild.add(resource);
+
+		Node node= fNodes.get(resource);
+		int old= node == null ? NO_SEVERITY : node.fOwn;
+		if (old == severity)
+			return;
+		if (node == null) {
+			node= new Node();
+			fNodes.put(resource, node);
+		}
+		node.fOwn= severity;
+		if (severity != NO_SEVERITY)
+			fMarkedResources.put(resource.getFullPath(), resource);
+		else
+			fMarkedResources.remove(resource.getFullPath(), resource);
+		if (changed != null)
+			changed.add(resource);
+
+		boolean isChild= true;
+		for (IResource curr= resource.getParent(); curr != null; curr= curr.getParent()) {
+			Node ancestor= fNodes.get(curr);
+			if (ancestor == null) {
+				ancestor= new Node();
+				fNodes.put(curr, ancestor);
+			}
+			int oldChildren= getMax(ancestor.fChildren);
+			int oldDescendants= getMax(ancestor.fDescendants);
+			if (isChild)
+				adjust(ancestor.fChildren, old, severity);
+			adjust(ancestor.fDescendants, old, severity);
+			if (changed != null && (oldChildren != getMax(ancestor.fChildren) || oldDescendants != getMax(ancestor.fDescendants)))
+				changed.add(curr);
+			if (ancestor.isEmpty())
+				fNodes.remove(curr);
+			isChild= false;
+		}
+		if (node.isEmpty())
+			fNodes.remove(resource);
+	}
+
+	private static void adjust(int[] counts, int oldSeverity, int newSeverity) {
+		if (isValid(oldSeverity))
+			counts[oldSeverity]--;
+		if (isValid(newSeverity))
+			counts[newSeverity]++;
+	}
+
+	private static int getMax(int[] counts) {
+		for (int severity= counts.length - 1; severity >= 0; severity--) {
+			if (counts[severity] > 0)
+				return severity;
+		}
+		return NO_SEVERITY;
+	}
+
+	private static boolean isValid(int severity) {
+		return severity >= IMarker.SEVERITY_INFO && severity <= IMarker.SEVERITY_ERROR;
+	}
+}
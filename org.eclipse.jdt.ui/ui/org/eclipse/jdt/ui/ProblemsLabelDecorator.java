@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -82,6 +82,7 @@ import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityIndex;
 
 /**
  * LabelDecorator that decorates an element's image with error and warning overlays that
@@ -555,6 +556,14 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		if (resource == null) {
 			return 0;
 		}
+		if (getSeverityIndex() != null) {
+			// the rolled up severity is available without visiting the markers of the subtree
+			try {
+				return getErrorTicksFromMarkers(resource, IResource.DEPTH_INFINITE);
+			} catch (CoreException e) {
+				// fall back to the background computation, which handles concurrent deletion
+			}
+		}
 		Integer cachedAdornment = AdornmentCacheManager.getAdornment(resource);
 		int adornment = cachedAdornment != null ? cachedAdornment.intValue() : 0;
 		AdornmentCacheManager.scheduleTask(resource, adornmentUpdateJob);
@@ -597,10 +606,16 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 				return ERRORTICK_BUILDPATH_ERROR;
 			}
 		}
-		severity= res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		ProblemSeverityIndex index= getSeverityIndex();
+		severity= index != null ? index.getMaxSeverity(res, depth) : res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
 		return convertToTick(severity);
 	}
 
+	private static ProblemSeverityIndex getSeverityIndex() {
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		return plugin != null ? plugin.getProblemMarkerManager().getSeverityIndex() : null;
+	}
+
 	private int getErrorTicksFromMarkers(IResource res, int depth, ISourceReference sourceElement) throws CoreException {
 		if (res == null || !res.isAccessible()) {
 			return 0;
@@ -675,6 +690,11 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 	}
 
 	private int findMaxProblemSeverity (IResource res, String type, boolean includeSubtypes, int depth) throws CoreException {
+		if (includeSubtypes && IMarker.PROBLEM.equals(type)) {
+			ProblemSeverityIndex index= getSeverityIndex();
+			if (index != null)
+				return res != null ? index.getMaxSeverity(res, depth) : -1;
+		}
 		try {
 			return res.findMaxProblemSeverity(type, includeSubtypes, depth);
 		} catch (CoreException e) {
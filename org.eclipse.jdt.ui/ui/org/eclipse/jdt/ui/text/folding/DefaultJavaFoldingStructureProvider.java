@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,6 @@ package org.eclipse.jdt.ui.text.folding;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -25,8 +24,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.PerformanceStats;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
@@ -73,6 +74,9 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.DirtyRegionTracker;
+import org.eclipse.jdt.internal.ui.javaeditor.DirtyRegionTracker.DirtyRegion;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.text.DocumentCharacterIterator;
@@ -287,6 +291,44 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * Annotation / position tuples sorted by the offsets of their positions.
+	 *
+	 * @since 3.28
+	 */
+	private static final class TupleIndex {
+		private final TreeMap<Integer, List<Tuple>> fTuples= new TreeMap<>();
+
+		void add(JavaProjectionAnnotation annotation, Position position) {
+			fTuples.computeIfAbsent(Integer.valueOf(position.getOffset()), offset -> new ArrayList<>(2)).add(new Tuple(annotation, position));
+		}
+
+		/**
+		 * Removes and returns a tuple that has the same comment flag and position offset as
+		 * <code>tuple</code>.
+		 *
+		 * @param tuple the tuple to match
+		 * @return the matching tuple or <code>null</code> for no match
+		 */
+		Tuple removeMatch(Tuple tuple) {
+			Integer offset= Integer.valueOf(tuple.position.getOffset());
+			List<Tuple> tuples= fTuples.get(offset);
+			if (tuples == null)
+				return null;
+
+			for (Iterator<Tuple> it= tuples.iterator(); it.hasNext();) {
+				Tuple candidate= it.next();
+				if (candidate.annotation.isComment() == tuple.annotation.isComment()) {
+					it.remove();
+					if (tuples.isEmpty())
+						fTuples.remove(offset);
+					return candidate;
+				}
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Filter for annotations.
 	 */
@@ -365,7 +407,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					update(createContext(false), delta);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -727,6 +769,15 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private volatile int fUpdatingCount= 0;
 
+	/**
+	 * Tracks the modified lines for incremental updates, <code>null</code> if the editor does not
+	 * report reconciles.
+	 * @since 3.28
+	 */
+	private DirtyRegionTracker fDirtyRegionTracker;
+
+	private static final String PERF_UPDATE= JavaPlugin.getPluginId() + "/perf/folding/update"; //$NON-NLS-1$
+
 	/**
 	 * Creates a new folding provider. It must be
 	 * {@link #install(ITextEditor, ProjectionViewer) installed} on an editor/viewer pair before it
@@ -810,6 +861,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		handleProjectionDisabled();
 
 		if (isInstalled()) {
+			if (fEditor instanceof CompilationUnitEditor)
+				fDirtyRegionTracker= new DirtyRegionTracker((CompilationUnitEditor) fEditor);
 			initialize();
 			fElementListener= new ElementChangedListener();
 			JavaCore.addElementChangedListener(fElementListener);
@@ -831,6 +884,10 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			JavaCore.removeElementChangedListener(fElementListener);
 			fElementListener= null;
 		}
+		if (fDirtyRegionTracker != null) {
+			fDirtyRegionTracker.dispose();
+			fDirtyRegionTracker= null;
+		}
 	}
 
 	/*
@@ -840,7 +897,10 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	public final void initialize() {
 		fUpdatingCount++;
 		try {
-			update(createInitialContext());
+			DirtyRegionTracker tracker= fDirtyRegionTracker;
+			if (tracker != null)
+				tracker.reset(getDocument());
+			update(createInitialContext(), null);
 		} finally {
 			fUpdatingCount--;
 		}
@@ -887,17 +947,54 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		fCollapseHeaderComments= store.getBoolean(PreferenceConstants.EDITOR_FOLDING_HEADERS);
 	}
 
+	/**
+	 * Updates the folding structure. If the delta of the reconciled compilation unit and the
+	 * modified lines allow it, only the projection annotations of the modified members are
+	 * recomputed.
+	 *
+	 * @param ctx the context, may be <code>null</code>
+	 * @param delta the delta of the input element, or <code>null</code> to recompute all
+	 * @since 3.28
+	 */
+	private void update(FoldingStructureComputationContext ctx, IJavaElementDelta delta) {
+		if (ctx == null)
+			return;
+
+		PerformanceStats stats= PerformanceStats.getStats(PERF_UPDATE, this);
+		stats.startRun();
+		try {
+			DirtyRegionTracker tracker= fDirtyRegionTracker;
+			DirtyRegion dirtyRegion= tracker != null ? tracker.takeReconcilingRegion() : null;
+			if (delta != null && dirtyRegion != null && updateIncrementally(ctx, delta, dirtyRegion))
+				return;
+			// an incremental update may have given up after using the context
+			update(ctx.hasFirstType() ? createContext(ctx.allowCollapsing()) : ctx);
+		} finally {
+			stats.endRun();
+		}
+	}
+
 	private void update(FoldingStructureComputationContext ctx) {
 		if (ctx == null)
 			return;
 
+		computeFoldingStructure(ctx);
+		updateAnnotations(ctx, computeCurrentStructure(ctx));
+	}
+
+	/**
+	 * Updates the projection annotation model from the annotations collected in the context.
+	 *
+	 * @param ctx the context
+	 * @param oldStructure the existing annotations that may be changed or deleted, by element
+	 * @since 3.28
+	 */
+	private void updateAnnotations(FoldingStructureComputationContext ctx, Map<IJavaElement, List<Tuple>> oldStructure) {
 		Map<JavaProjectionAnnotation, Position> additions= new HashMap<>();
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -965,7 +1062,153 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		Annotation[] changedArray= updates.toArray(new Annotation[updates.size()]);
 		ctx.getModel().modifyAnnotations(deletedArray, additions, changedArray);
 
-		ctx.fScanner.setSource(null);
+		ctx.getScanner().setSource(null);
+	}
+
+	/**
+	 * Recomputes the projection annotations of the members whose declarations or ends are on
+	 * modified lines, and of the members that the fine-grained delta reports as added or changed.
+	 * The positions of the other annotations have been kept up to date by the document.
+	 * <p>
+	 * Modifications before the first type or of its declaration are not handled, as they may
+	 * affect the header comment.
+	 * </p>
+	 *
+	 * @param ctx the context
+	 * @param delta the delta of the input element
+	 * @param dirtyRegion the lines modified since the last update
+	 * @return <code>true</code> if the folding structure has been updated, <code>false</code> if
+	 *         the whole structure needs to be recomputed
+	 * @since 3.28
+	 */
+	private boolean updateIncrementally(FoldingStructureComputationContext ctx, IJavaElementDelta delta, DirtyRegion dirtyRegion) {
+		if (!(fInput instanceof ICompilationUnit) || (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0)
+			return false;
+
+		Set<IJavaElement> changed= new HashSet<>();
+		Set<IJavaElement> changedParents= new HashSet<>();
+		collectChanges(delta, changed, changedParents);
+		if (changedParents.contains(fInput))
+			return false;
+
+		try {
+			ICompilationUnit unit= (ICompilationUnit) fInput;
+			IType[] types= unit.getTypes();
+			ISourceRange unitRange= unit.getSourceRange();
+			String source= unit.getSource();
+			if (types.length == 0 || !SourceRange.isAvailable(unitRange) || source == null)
+				return false;
+
+			IType firstType= types[0];
+			int length= unitRange.getLength();
+			ISourceRange firstTypeRange= firstType.getSourceRange();
+			if (!SourceRange.isAvailable(firstTypeRange) || dirtyRegion.intersects(0, firstTypeRange.getOffset(), length)
+					|| changed.contains(firstType) || isHeadOrTailModified(firstType, dirtyRegion, length))
+				return false;
+
+			ctx.setFirstType(firstType);
+			ctx.getScanner().setSource(source.toCharArray());
+			Set<IJavaElement> kept= new HashSet<>();
+			Set<IJavaElement> keptSubtrees= new HashSet<>();
+			computeFoldingStructure(unit.getChildren(), false, ctx, dirtyRegion, length, changed, changedParents, kept, keptSubtrees);
+
+			Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
+			oldStructure.keySet().removeIf(element -> isKept(element, kept, keptSubtrees));
+			updateAnnotations(ctx, oldStructure);
+			return true;
+		} catch (JavaModelException x) {
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the elements that the delta reports as added or changed, and the parents of
+	 * added, removed or reordered elements.
+	 *
+	 * @param delta the delta
+	 * @param changed the added or changed elements
+	 * @param changedParents the parents whose children have been added, removed or reordered
+	 * @since 3.28
+	 */
+	private void collectChanges(IJavaElementDelta delta, Set<IJavaElement> changed, Set<IJavaElement> changedParents) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			switch (child.getKind()) {
+				case IJavaElementDelta.ADDED:
+					changed.add(child.getElement());
+					changedParents.add(delta.getElement());
+					changedParents.add(child.getElement());
+					break;
+				case IJavaElementDelta.REMOVED:
+					changedParents.add(delta.getElement());
+					break;
+				default:
+					if ((child.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)
+						changed.add(child.getElement());
+					if ((child.getFlags() & IJavaElementDelta.F_REORDER) != 0)
+						changedParents.add(delta.getElement());
+					collectChanges(child, changed, changedParents);
+			}
+		}
+	}
+
+	private void computeFoldingStructure(IJavaElement[] elements, boolean parentChanged, FoldingStructureComputationContext ctx, DirtyRegion dirtyRegion, int length,
+			Set<IJavaElement> changed, Set<IJavaElement> changedParents, Set<IJavaElement> kept, Set<IJavaElement> keptSubtrees) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			if (!(element instanceof ISourceReference))
+				continue;
+
+			ISourceRange range= ((ISourceReference) element).getSourceRange();
+			if (!parentChanged && !changed.contains(element) && SourceRange.isAvailable(range)
+					&& !dirtyRegion.intersects(range.getOffset(), range.getOffset() + range.getLength(), length)) {
+				keptSubtrees.add(element);
+				continue;
+			}
+
+			if (parentChanged || changed.contains(element) || isHeadOrTailModified((ISourceReference) element, dirtyRegion, length))
+				computeFoldingStructure(element, ctx);
+			else
+				kept.add(element);
+
+			if (element instanceof IParent)
+				computeFoldingStructure(((IParent) element).getChildren(), changedParents.contains(element), ctx, dirtyRegion, length, changed, changedParents, kept, keptSubtrees);
+		}
+	}
+
+	/**
+	 * Tells whether the lines from the start of the element to the end of its name, or the last
+	 * line of the element have been modified. Modifications to the lines in between do not change
+	 * the folding regions of the element.
+	 *
+	 * @param reference the element
+	 * @param dirtyRegion the modified lines
+	 * @param length the length of the source of the compilation unit
+	 * @return <code>true</code> if the folding regions of the element may have changed
+	 * @throws JavaModelException if the element does not exist
+	 * @since 3.28
+	 */
+	private static boolean isHeadOrTailModified(ISourceReference reference, DirtyRegion dirtyRegion, int length) throws JavaModelException {
+		ISourceRange range= reference.getSourceRange();
+		if (!SourceRange.isAvailable(range))
+			return true;
+
+		int end= range.getOffset() + range.getLength();
+		ISourceRange nameRange= reference.getNameRange();
+		if (!SourceRange.isAvailable(nameRange))
+			return dirtyRegion.intersects(range.getOffset(), end, length);
+
+		return dirtyRegion.intersects(range.getOffset(), nameRange.getOffset() + nameRange.getLength(), length)
+				|| dirtyRegion.intersects(end - 1, end, length);
+	}
+
+	private static boolean isKept(IJavaElement element, Set<IJavaElement> kept, Set<IJavaElement> keptSubtrees) {
+		if (kept.contains(element))
+			return true;
+
+		for (IJavaElement e= element; e != null; e= e.getParent()) {
+			if (keptSubtrees.contains(e))
+				return true;
+		}
+		return false;
 	}
 
 	private void computeFoldingStructure(FoldingStructureComputationContext ctx) {
@@ -1311,6 +1554,19 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		List<JavaProjectionAnnotation> newDeletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> newChanges= new ArrayList<>();
 
+		TupleIndex changeIndex= new TupleIndex();
+		for (JavaProjectionAnnotation annotation : changes) {
+			Position position= ctx.getModel().getPosition(annotation);
+			if (position != null)
+				changeIndex.add(annotation, position);
+		}
+		TupleIndex additionIndex= new TupleIndex();
+		for (Map.Entry<JavaProjectionAnnotation, Position> entry : additions.entrySet()) {
+			if (entry.getValue() != null)
+				additionIndex.add(entry.getKey(), entry.getValue());
+		}
+		Set<JavaProjectionAnnotation> matchedChanges= new HashSet<>();
+
 		Iterator<JavaProjectionAnnotation> deletionIterator= deletions.iterator();
 		while (deletionIterator.hasNext()) {
 			JavaProjectionAnnotation deleted= deletionIterator.next();
@@ -1320,10 +1576,14 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 			Tuple deletedTuple= new Tuple(deleted, deletedPosition);
 
-			Tuple match= findMatch(deletedTuple, changes, null, ctx);
+			Tuple match= changeIndex.removeMatch(deletedTuple);
 			boolean addToDeletions= true;
-			if (match == null) {
-				match= findMatch(deletedTuple, additions.keySet(), additions, ctx);
+			if (match != null) {
+				matchedChanges.add(match.annotation);
+			} else {
+				match= additionIndex.removeMatch(deletedTuple);
+				if (match != null)
+					additions.remove(match.annotation);
 				addToDeletions= false;
 			}
 
@@ -1344,53 +1604,11 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			}
 		}
 
+		changes.removeAll(matchedChanges);
 		deletions.addAll(newDeletions);
 		changes.addAll(newChanges);
 	}
 
-	/**
-	 * Finds a match for <code>tuple</code> in a collection of
-	 * annotations. The positions for the
-	 * <code>JavaProjectionAnnotation</code> instances in
-	 * <code>annotations</code> can be found in the passed
-	 * <code>positionMap</code> or <code>fCachedModel</code> if
-	 * <code>positionMap</code> is <code>null</code>.
-	 * <p>
-	 * A tuple is said to match another if their annotations have the
-	 * same comment flag and their position offsets are equal.
-	 * </p>
-	 * <p>
-	 * If a match is found, the annotation gets removed from
-	 * <code>annotations</code>.
-	 * </p>
-	 *
-	 * @param tuple the tuple for which we want to find a match
-	 * @param annotations collection of
-	 *        <code>JavaProjectionAnnotation</code>
-	 * @param positionMap a <code>Map&lt;Annotation, Position&gt;</code>
-	 *        or <code>null</code>
-	 * @param ctx the context
-	 * @return a matching tuple or <code>null</code> for no match
-	 */
-	private Tuple findMatch(Tuple tuple, Collection<JavaProjectionAnnotation> annotations, Map<JavaProjectionAnnotation, Position> positionMap, FoldingStructureComputationContext ctx) {
-		Iterator<JavaProjectionAnnotation> it= annotations.iterator();
-		while (it.hasNext()) {
-			JavaProjectionAnnotation annotation= it.next();
-			if (tuple.annotation.isComment() == annotation.isComment()) {
-				Position position= positionMap == null ? ctx.getModel().getPosition(annotation) : positionMap.get(annotation);
-				if (position == null)
-					continue;
-
-				if (tuple.position.getOffset() == position.getOffset()) {
-					it.remove();
-					return new Tuple(annotation, position);
-				}
-			}
-		}
-
-		return null;
-	}
-
 	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
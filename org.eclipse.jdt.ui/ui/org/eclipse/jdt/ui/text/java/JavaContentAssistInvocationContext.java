@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,11 @@ import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
  * <p>
  * Clients may use but not subclass this class.
  * </p>
+ * <p>
+ * The lazily computed values are guarded by the context itself, as computers that do not require
+ * the UI thread may access the context concurrently. Code completion and type lookups run outside
+ * of that lock, so a computer never waits for another computer's code completion.
+ * </p>
  *
  * @since 3.2
  *
@@ -103,7 +108,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the compilation unit that content assist is invoked in, possibly <code>null</code>
 	 */
-	public ICompilationUnit getCompilationUnit() {
+	public synchronized ICompilationUnit getCompilationUnit() {
 		if (!fCUComputed) {
 			fCUComputed= true;
 			if (fCollector != null) {
@@ -140,17 +145,21 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the available keyword proposals
 	 */
 	public IJavaCompletionProposal[] getKeywordProposals() {
-		if (fKeywordProposals == null) {
+		synchronized (this) {
+			if (fKeywordProposals != null)
+				return fKeywordProposals;
 			if (fCollector != null && !fCollector.isIgnored(CompletionProposal.KEYWORD) && fCollector.getContext() != null) {
 				// use the existing collector if it exists, collects keywords, and has already been invoked
 				fKeywordProposals= fCollector.getKeywordCompletionProposals();
-			} else {
-				// otherwise, retrieve keywords ourselves
-				computeKeywordsAndContext();
+				return fKeywordProposals;
 			}
 		}
 
-		return fKeywordProposals;
+		// otherwise, retrieve keywords ourselves
+		computeKeywordsAndContext();
+		synchronized (this) {
+			return fKeywordProposals;
+		}
 	}
 
 	/**
@@ -165,21 +174,24 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the core completion context if available, <code>null</code> otherwise
 	 */
 	public CompletionContext getCoreContext() {
-		if (fCollector != null) {
-			CompletionContext context= fCollector.getContext();
-			if (context != null) {
-				if (fCoreContext == null) {
-					fCoreContext= context;
+		synchronized (this) {
+			if (fCollector != null) {
+				CompletionContext context= fCollector.getContext();
+				if (context != null) {
+					if (fCoreContext == null) {
+						fCoreContext= context;
+					}
+					return context;
 				}
-				return context;
 			}
+			if (fCoreContext != null)
+				return fCoreContext;
 		}
 
-		if (fCoreContext == null) {
-			computeKeywordsAndContext(); // Retrieve the context ourselves
+		computeKeywordsAndContext(); // Retrieve the context ourselves
+		synchronized (this) {
+			return fCoreContext;
 		}
-
-		return fCoreContext;
 	}
 
 	/**
@@ -206,20 +218,27 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the content assist type history for the expected type
 	 */
 	private RHSHistory getRHSHistory() {
-		if (fRHSHistory == null) {
-			CompletionContext context= getCoreContext();
-			if (context != null) {
-				char[][] expectedTypes= context.getExpectedTypesSignatures();
-				if (expectedTypes != null && expectedTypes.length > 0) {
-					String expected= SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0]));
-					fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expected);
-				}
-			}
-			if (fRHSHistory == null) {
-				fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(null);
+		synchronized (this) {
+			if (fRHSHistory != null)
+				return fRHSHistory;
+		}
+		RHSHistory history= null;
+		CompletionContext context= getCoreContext();
+		if (context != null) {
+			char[][] expectedTypes= context.getExpectedTypesSignatures();
+			if (expectedTypes != null && expectedTypes.length > 0) {
+				String expected= SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0]));
+				history= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expected);
 			}
 		}
-		return fRHSHistory;
+		if (history == null) {
+			history= JavaPlugin.getDefault().getContentAssistHistory().getHistory(null);
+		}
+		synchronized (this) {
+			if (fRHSHistory == null)
+				fRHSHistory= history;
+			return fRHSHistory;
+		}
 	}
 
 	/**
@@ -233,7 +252,12 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the expected type if any, <code>null</code> otherwise
 	 */
 	public IType getExpectedType() {
-		if (fType == null && getCompilationUnit() != null) {
+		synchronized (this) {
+			if (fType != null)
+				return fType;
+		}
+		IType type= null;
+		if (getCompilationUnit() != null) {
 			CompletionContext context= getCoreContext();
 			if (context != null) {
 				char[][] expectedTypes= context.getExpectedTypesSignatures();
@@ -241,7 +265,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 					IJavaProject project= getCompilationUnit().getJavaProject();
 					if (project != null) {
 						try {
-							fType= project.findType(SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0])));
+							type= project.findType(SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0])));
 						} catch (JavaModelException x) {
 							JavaPlugin.log(x);
 						}
@@ -249,7 +273,11 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 				}
 			}
 		}
-		return fType;
+		synchronized (this) {
+			if (fType == null)
+				fType= type;
+			return fType;
+		}
 	}
 
 	/**
@@ -257,7 +285,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return a label provider that can be used to compute proposal labels
 	 */
-	public CompletionProposalLabelProvider getLabelProvider() {
+	public synchronized CompletionProposalLabelProvider getLabelProvider() {
 		if (fLabelProvider == null) {
 			if (fCollector != null) {
 				fLabelProvider= fCollector.getLabelProvider();
@@ -280,22 +308,25 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @param collector the collector
 	 */
-	void setCollector(CompletionProposalCollector collector) {
+	synchronized void setCollector(CompletionProposalCollector collector) {
 		fCollector= collector;
 	}
 
 	/**
 	 * Fallback to retrieve a core context and keyword proposals when no collector is available.
 	 * Runs code completion on the cu and collects keyword proposals. {@link #fKeywordProposals} is
-	 * non-<code>null</code> after this call.
+	 * non-<code>null</code> after this call. Code completion runs without holding the lock of this
+	 * context; only the results are published under it.
 	 *
 	 * @since 3.3
 	 */
 	private void computeKeywordsAndContext() {
 		ICompilationUnit cu= getCompilationUnit();
 		if (cu == null) {
-			if (fKeywordProposals == null) {
-				fKeywordProposals= new IJavaCompletionProposal[0];
+			synchronized (this) {
+				if (fKeywordProposals == null) {
+					fKeywordProposals= new IJavaCompletionProposal[0];
+				}
 			}
 			return;
 		}
@@ -305,21 +336,25 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 
 		try {
 			cu.codeComplete(getInvocationOffset(), collector, new CompletionTimeoutProgressMonitor());
-			if (fCoreContext == null) {
-				fCoreContext= collector.getContext();
-			}
-			if (fKeywordProposals == null) {
-				fKeywordProposals= collector.getKeywordCompletionProposals();
-			}
-			if (fLabelProvider == null) {
-				fLabelProvider= collector.getLabelProvider();
+			synchronized (this) {
+				if (fCoreContext == null) {
+					fCoreContext= collector.getContext();
+				}
+				if (fKeywordProposals == null) {
+					fKeywordProposals= collector.getKeywordCompletionProposals();
+				}
+				if (fLabelProvider == null) {
+					fLabelProvider= collector.getLabelProvider();
+				}
 			}
 		} catch (JavaModelException x) {
 			if (!x.isDoesNotExist() || cu.getJavaProject() == null || cu.getJavaProject().isOnClasspath(cu)) {
 				JavaPlugin.log(x);
 			}
-			if (fKeywordProposals == null) {
-				fKeywordProposals= new IJavaCompletionProposal[0];
+			synchronized (this) {
+				if (fKeywordProposals == null) {
+					fKeywordProposals= new IJavaCompletionProposal[0];
+				}
 			}
 		}
 	}
@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.ContentStamp;
+import org.eclipse.ltk.core.refactoring.NullChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.UndoTextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class BulkTextFileChangeTests {
+
+	/**
+	 * Only changes how the undo change is created, and records whether the document was
+	 * acquired at that time, which it is not when the change is performed in bulk.
+	 */
+	private static class UndoRecordingChange extends TextFileChange {
+		boolean fDocumentAcquired;
+		boolean fUndoCreated;
+		boolean fDisposed;
+		IProgressMonitor fMonitorToCancel;
+
+		UndoRecordingChange(IFile file) {
+			super(file.getName(), file);
+			setEdit(new ReplaceEdit(0, 5, "bye"));
+		}
+
+		@Override
+		protected boolean canPerformWithoutBuffer() {
+			return true;
+		}
+
+		@Override
+		public void dispose() {
+			fDisposed= true;
+			super.dispose();
+		}
+
+		@Override
+		protected Change createUndoChange(UndoEdit edit, ContentStamp stampToRestore) {
+			fDocumentAcquired= isDocumentAcquired();
+			fUndoCreated= true;
+			if (fMonitorToCancel != null)
+				fMonitorToCancel.setCanceled(true);
+			return super.createUndoChange(edit, stampToRestore);
+		}
+	}
+
+	private static class AcquiringChange extends TextFileChange {
+		int fAcquireCount;
+
+		AcquiringChange(IFile file) {
+			super(file.getName(), file);
+			setEdit(new ReplaceEdit(0, 5, "bye"));
+		}
+
+		@Override
+		protected IDocument acquireDocument(IProgressMonitor pm) throws CoreException {
+			fAcquireCount++;
+			return super.acquireDocument(pm);
+		}
+	}
+
+	private static class ContinuingCompositeChange extends CompositeChange {
+		private final Change fProcessOnCancel;
+
+		ContinuingCompositeChange(Change processOnCancel) {
+			super("bulk");
+			fProcessOnCancel= processOnCancel;
+		}
+
+		@Override
+		protected boolean internalContinueOnCancel() {
+			return true;
+		}
+
+		@Override
+		protected boolean internalProcessOnCancel(Change change) {
+			return change == fProcessOnCancel;
+		}
+	}
+
+	private static final int FILE_COUNT= 150;
+
+	private SimpleTestProject fProject;
+
+	private IFile[] fFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("folder");
+		fFiles= new IFile[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++) {
+			fFiles[i]= fProject.createFile(folder, "file" + i + ".txt", "hello " + i);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	private Change perform(Change change) throws CoreException {
+		NullProgressMonitor pm= new NullProgressMonitor();
+		change.initializeValidationData(pm);
+		RefactoringStatus status= change.isValid(pm);
+		assertFalse(status.toString(), status.hasFatalError());
+		Change[] undo= new Change[1];
+		ResourcesPlugin.getWorkspace().run(monitor -> undo[0]= change.perform(monitor), pm);
+		change.dispose();
+		return undo[0];
+	}
+
+	@Test
+	public void testPerformAndUndo() throws Exception {
+		CompositeChange change= new CompositeChange("bulk");
+		for (IFile file : fFiles) {
+			TextFileChange textFileChange= new TextFileChange(file.getName(), file);
+			textFileChange.setEdit(new ReplaceEdit(0, 5, "bye"));
+			change.add(textFileChange);
+		}
+
+		Change undo= perform(change);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals("bye " + i, fProject.getContent(fFiles[i]));
+		}
+
+		assertTrue(undo instanceof CompositeChange);
+		Change[] undoChildren= ((CompositeChange) undo).getChildren();
+		assertEquals(FILE_COUNT, undoChildren.length);
+		for (Change child : undoChildren) {
+			assertTrue(child instanceof UndoTextFileChange);
+		}
+		// undo changes are in reverse order of execution
+		assertEquals(fFiles[FILE_COUNT - 1], undoChildren[0].getModifiedElement());
+
+		Change redo= perform(undo);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals("hello " + i, fProject.getContent(fFiles[i]));
+		}
+		assertTrue(redo instanceof CompositeChange);
+	}
+
+	@Test
+	public void testFailingChange() throws Exception {
+		CompositeChange change= new CompositeChange("bulk");
+		for (int i= 0; i < FILE_COUNT; i++) {
+			TextFileChange textFileChange= new TextFileChange(fFiles[i].getName(), fFiles[i]);
+			// the edit of the file in the middle is out of range
+			textFileChange.setEdit(i == FILE_COUNT / 2 ? new ReplaceEdit(100, 5, "bye") : new ReplaceEdit(0, 5, "bye"));
+			change.add(textFileChange);
+		}
+
+		NullProgressMonitor pm= new NullProgressMonitor();
+		change.initializeValidationData(pm);
+		boolean failed= false;
+		try {
+			ResourcesPlugin.getWorkspace().run(monitor -> change.perform(monitor), pm);
+		} catch (CoreException e) {
+			failed= true;
+		}
+		assertTrue(failed);
+
+		// the changes before the failing one have been performed
+		for (int i= 0; i < FILE_COUNT; i++) {
+			String expected= (i < FILE_COUNT / 2 ? "bye " : "hello ") + i;
+			assertEquals(expected, fProject.getContent(fFiles[i]));
+		}
+		Change undo= change.getUndoUntilException();
+		assertEquals(FILE_COUNT / 2, ((CompositeChange) undo).getChildren().length);
+		change.dispose();
+	}
+
+	@Test
+	public void testPerformedChangesDisposedOnFailure() throws Exception {
+		CompositeChange change= new CompositeChange("bulk");
+		UndoRecordingChange[] changes= new UndoRecordingChange[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++) {
+			changes[i]= new UndoRecordingChange(fFiles[i]);
+			if (i == FILE_COUNT / 2)
+				changes[i].setEdit(new ReplaceEdit(100, 5, "bye"));
+			change.add(changes[i]);
+		}
+
+		NullProgressMonitor pm= new NullProgressMonitor();
+		change.initializeValidationData(pm);
+		try {
+			ResourcesPlugin.getWorkspace().run(monitor -> change.perform(monitor), pm);
+			fail("no exception");
+		} catch (CoreException e) {
+			// expected
+		}
+
+		// the performed changes are disposed and no longer children, their undo changes are
+		// returned as the undo until the exception
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals(String.valueOf(i), i < FILE_COUNT / 2, changes[i].fDisposed);
+		}
+		assertEquals(FILE_COUNT - FILE_COUNT / 2, change.getChildren().length);
+		Change undo= change.getUndoUntilException();
+		assertEquals(FILE_COUNT / 2, ((CompositeChange) undo).getChildren().length);
+		perform(undo);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals("hello " + i, fProject.getContent(fFiles[i]));
+		}
+		change.dispose();
+	}
+
+	@Test
+	public void testSubclassPerformedInBulk() throws Exception {
+		CompositeChange change= new CompositeChange("bulk");
+		UndoRecordingChange[] changes= new UndoRecordingChange[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++) {
+			changes[i]= new UndoRecordingChange(fFiles[i]);
+			change.add(changes[i]);
+		}
+
+		Change undo= perform(change);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals("bye " + i, fProject.getContent(fFiles[i]));
+			assertTrue(changes[i].fUndoCreated);
+			assertFalse(changes[i].fDocumentAcquired);
+		}
+		assertEquals(FILE_COUNT, ((CompositeChange) undo).getChildren().length);
+	}
+
+	@Test
+	public void testOverridingSubclassPerformedAsUsual() throws Exception {
+		CompositeChange change= new CompositeChange("bulk");
+		AcquiringChange[] changes= new AcquiringChange[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++) {
+			changes[i]= new AcquiringChange(fFiles[i]);
+			change.add(changes[i]);
+		}
+
+		perform(change);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals("bye " + i, fProject.getContent(fFiles[i]));
+			assertEquals(1, changes[i].fAcquireCount);
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		NullProgressMonitor pm= new NullProgressMonitor();
+		CompositeChange change= new CompositeChange("bulk");
+		for (int i= 0; i < FILE_COUNT; i++) {
+			UndoRecordingChange textFileChange= new UndoRecordingChange(fFiles[i]);
+			if (i == FILE_COUNT / 2)
+				textFileChange.fMonitorToCancel= pm;
+			change.add(textFileChange);
+		}
+
+		change.initializeValidationData(pm);
+		try {
+			ResourcesPlugin.getWorkspace().run(monitor -> change.perform(monitor), pm);
+			fail("not canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+
+		// the files up to the one that canceled have been written
+		for (int i= 0; i < FILE_COUNT; i++) {
+			String expected= (i <= FILE_COUNT / 2 ? "bye " : "hello ") + i;
+			assertEquals(expected, fProject.getContent(fFiles[i]));
+		}
+		Change undo= change.getUndoUntilException();
+		assertEquals(FILE_COUNT / 2 + 1, ((CompositeChange) undo).getChildren().length);
+		change.dispose();
+	}
+
+	@Test
+	public void testProcessOnCancel() throws Exception {
+		NullProgressMonitor pm= new NullProgressMonitor();
+		boolean[] processed= new boolean[1];
+		Change processOnCancel= new NullChange("processOnCancel") {
+			@Override
+			public Change perform(IProgressMonitor monitor) {
+				processed[0]= true;
+				return null;
+			}
+		};
+		CompositeChange change= new ContinuingCompositeChange(processOnCancel);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			UndoRecordingChange textFileChange= new UndoRecordingChange(fFiles[i]);
+			if (i == FILE_COUNT / 2)
+				textFileChange.fMonitorToCancel= pm;
+			change.add(textFileChange);
+		}
+		change.add(processOnCancel);
+
+		change.initializeValidationData(pm);
+		try {
+			ResourcesPlugin.getWorkspace().run(monitor -> change.perform(monitor), pm);
+			fail("not canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+
+		// the remaining changes of the run are skipped, the change that is processed on
+		// cancel is still performed
+		for (int i= 0; i < FILE_COUNT; i++) {
+			String expected= (i <= FILE_COUNT / 2 ? "bye " : "hello ") + i;
+			assertEquals(expected, fProject.getContent(fFiles[i]));
+		}
+		assertTrue(processed[0]);
+		change.dispose();
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.StoredUndoEdit;
+
+public class StoredUndoEditTests {
+
+	private static String createContent(int length) {
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++) {
+			buffer.append((char) ('a' + i % 26));
+		}
+		return buffer.toString();
+	}
+
+	private static String createRandomContent(int length, Random random) {
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++) {
+			buffer.append((char) ('a' + random.nextInt(26)));
+		}
+		return buffer.toString();
+	}
+
+	@Test
+	public void testLargeUndoEdit() throws Exception {
+		String content= createContent(100000);
+		IDocument document= new Document(content);
+		MultiTextEdit edit= new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(10, 40000, "first"));
+		edit.addChild(new ReplaceEdit(50000, 30000, "second"));
+		edit.addChild(new ReplaceEdit(90000, 0, "third"));
+		UndoEdit undo= edit.apply(document, TextEdit.CREATE_UNDO);
+		String changed= document.get();
+
+		StoredUndoEdit stored= StoredUndoEdit.create(undo);
+		try {
+			UndoEdit restored= stored.get();
+			UndoEdit redo= restored.apply(document, TextEdit.CREATE_UNDO);
+			assertEquals(content, document.get());
+			redo.apply(document);
+			assertEquals(changed, document.get());
+
+			// can be read again
+			stored.get().apply(document);
+			assertEquals(content, document.get());
+		} finally {
+			stored.dispose();
+		}
+	}
+
+	@Test
+	public void testSmallUndoEditIsKeptInMemory() throws Exception {
+		IDocument document= new Document("hello world");
+		UndoEdit undo= new ReplaceEdit(0, 5, "bye").apply(document, TextEdit.CREATE_UNDO);
+
+		StoredUndoEdit stored= StoredUndoEdit.create(undo);
+		try {
+			assertSame(undo, stored.get());
+		} finally {
+			stored.dispose();
+		}
+	}
+
+	@Test
+	public void testUndoEditsAreIndependent() throws CoreException, BadLocationException {
+		String content1= createContent(50000);
+		String content2= createContent(60000);
+		IDocument document1= new Document(content1);
+		IDocument document2= new Document(content2);
+		StoredUndoEdit stored1= StoredUndoEdit.create(new ReplaceEdit(0, content1.length(), "1").apply(document1, TextEdit.CREATE_UNDO));
+		StoredUndoEdit stored2= StoredUndoEdit.create(new ReplaceEdit(0, content2.length(), "2").apply(document2, TextEdit.CREATE_UNDO));
+		try {
+			stored1.get().apply(document1);
+			stored1.dispose();
+			stored2.get().apply(document2);
+			assertEquals(content1, document1.get());
+			assertEquals(content2, document2.get());
+		} finally {
+			stored1.dispose();
+			stored2.dispose();
+		}
+	}
+
+	@Test
+	public void testFileSizeBoundedAcrossUndoRedo() throws Exception {
+		// random content compresses poorly, so every stored edit takes tens of kilobytes
+		Random random= new Random(42);
+		String content= createRandomContent(50000, random);
+		IDocument document= new Document(content);
+		File file= RefactoringCorePlugin.getDefault().getStateLocation().append("undo.bin").toFile();
+
+		String replacement= createRandomContent(50000, random);
+		StoredUndoEdit stored= StoredUndoEdit.create(new ReplaceEdit(0, content.length(), replacement).apply(document, TextEdit.CREATE_UNDO));
+		long maxSize= 0;
+		try {
+			for (int i= 0; i < 200; i++) {
+				// performing an undo or redo change stores the edit of its inverse change before
+				// the performed one is disposed, so there is always a live edit in the file
+				StoredUndoEdit next= StoredUndoEdit.create(stored.get().apply(document, TextEdit.CREATE_UNDO));
+				stored.dispose();
+				stored= next;
+				maxSize= Math.max(maxSize, file.length());
+			}
+			stored.get().apply(document);
+			assertEquals(content, document.get());
+		} finally {
+			stored.dispose();
+		}
+		// without compaction, the file would grow to several megabytes
+		assertTrue("file size " + maxSize, maxSize < 2 * 1024 * 1024);
+		assertEquals(0, file.length());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,21 +13,38 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring.tests.history;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.junit.Test;
 
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DefaultLineTracker;
@@ -35,11 +52,15 @@ import org.eclipse.jface.text.ILineTracker;
 import org.eclipse.jface.text.IRegion;
 
 import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.PerformRefactoringHistoryOperation;
+import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
 import org.eclipse.ltk.core.refactoring.RefactoringSessionDescriptor;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistory;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionReader;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringDescriptorProxyAdapter;
 
 public class RefactoringHistorySerializationTests {
@@ -470,4 +491,154 @@ public class RefactoringHistorySerializationTests {
 		compareWrittenDescriptor(session, true, xml);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testReadSessionIncrementally() throws Exception {
+		String xml= "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + "<session comment=\"A session\" version=\"1.0\">\n" + "<refactoring arg0=\"value 0\" description=\"A mock refactoring\" id=\"org.eclipse.ltk.core.mock\" stamp=\"1\"/>\n" + "<refactoring arg1=\"value&#x0A;1\" description=\"Another mock refactoring\" flags=\"1\" id=\"org.eclipse.ltk.core.mock\" stamp=\"2\"/>\n" + "</session>\n" + "";
+		RefactoringSessionReader reader= new RefactoringSessionReader(true, null);
+		reader.beginSession(new InputSource(new ByteArrayInputStream(xml.getBytes("utf-8"))));
+		try {
+			RefactoringDescriptor first= reader.nextRefactoring();
+			assertEquals("A session", reader.getComment());
+			assertEquals("1.0", reader.getVersion());
+			assertEquals("A mock refactoring", first.getDescription());
+			assertEquals(1, first.getTimeStamp());
+			RefactoringDescriptor second= reader.nextRefactoring();
+			assertEquals("Another mock refactoring", second.getDescription());
+			assertEquals(RefactoringDescriptor.BREAKING_CHANGE, second.getFlags());
+			assertNull(reader.nextRefactoring());
+		} finally {
+			reader.endSession();
+		}
+	}
+
+	@Test
+	public void testReadSessionIncrementallyUnsupportedVersion() throws Exception {
+		String xml= "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + "<session version=\"2.0\">\n" + "<refactoring description=\"A mock refactoring\" id=\"org.eclipse.ltk.core.mock\"/>\n" + "</session>\n" + "";
+		RefactoringSessionReader reader= new RefactoringSessionReader(true, null);
+		reader.beginSession(new InputSource(new ByteArrayInputStream(xml.getBytes("utf-8"))));
+		try {
+			reader.nextRefactoring();
+			fail("Unsupported version has not been detected.");
+		} catch (CoreException exception) {
+			assertEquals("Wrong status code for unsupported version:", IRefactoringCoreStatusCodes.UNSUPPORTED_REFACTORING_HISTORY_VERSION, exception.getStatus().getCode());
+		} finally {
+			reader.endSession();
+		}
+	}
+
+	/*
+	 * Writes the session like the DOM based writer that was used before the streaming one:
+	 * the session is built as a DOM document and printed like the refactoring history does.
+	 */
+	private static byte[] writeWithDOM(RefactoringSessionDescriptor session) throws Exception {
+		Document document= DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element root= document.createElement("session");
+		root.setAttribute("version", session.getVersion());
+		if (session.getComment() != null && !session.getComment().isEmpty())
+			root.setAttribute("comment", session.getComment());
+		document.appendChild(root);
+		for (RefactoringDescriptor descriptor : session.getRefactorings()) {
+			Element element= document.createElement("refactoring");
+			element.setAttribute("id", descriptor.getID());
+			element.setAttribute("stamp", Long.toString(descriptor.getTimeStamp()));
+			element.setAttribute("flags", String.valueOf(descriptor.getFlags()));
+			element.setAttribute("description", descriptor.getDescription());
+			element.setAttribute("comment", descriptor.getComment());
+			element.setAttribute("project", descriptor.getProject());
+			for (Entry<String, String> argument : ((MockRefactoringDescriptor) descriptor).getArguments().entrySet())
+				element.setAttribute(argument.getKey(), argument.getValue());
+			root.appendChild(element);
+		}
+
+		String delimiter= System.lineSeparator();
+		StringBuilder buffer= new StringBuilder();
+		buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(delimiter);
+		appendStartTag(buffer, root);
+		buffer.append('>');
+		NodeList children= root.getChildNodes();
+		for (int i= 0; i < children.getLength(); i++) {
+			buffer.append(delimiter);
+			appendStartTag(buffer, (Element) children.item(i));
+			buffer.append("/>");
+		}
+		buffer.append(delimiter).append("</session>");
+		return buffer.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendStartTag(StringBuilder buffer, Element element) {
+		buffer.append('<').append(element.getTagName());
+		NamedNodeMap attributes= element.getAttributes();
+		for (int i= 0; i < attributes.getLength(); i++) {
+			Attr attribute= (Attr) attributes.item(i);
+			buffer.append(' ').append(attribute.getName()).append("=\"");
+			for (char c : attribute.getValue().toCharArray()) {
+				switch (c) {
+					case '<': buffer.append("&lt;"); break;
+					case '>': buffer.append("&gt;"); break;
+					case '"': buffer.append("&quot;"); break;
+					case '\'': buffer.append("&apos;"); break;
+					case '&': buffer.append("&amp;"); break;
+					case '\r': buffer.append("&#x0D;"); break;
+					case '\n': buffer.append("&#x0A;"); break;
+					case '\t': buffer.append("&#x09;"); break;
+					default: buffer.append(c);
+				}
+			}
+			buffer.append('"');
+		}
+	}
+
+	@Test
+	public void testWriterMatchesDOMOutput() throws Exception {
+		MockRefactoringDescriptor first= new MockRefactoringDescriptor("proj\u00E9ct", "A <mock> & \"quoted\" 'refactoring'", "line 1\r\nline 2\tend", RefactoringDescriptor.BREAKING_CHANGE | RefactoringDescriptor.STRUCTURAL_CHANGE);
+		first.setTimeStamp(12345);
+		Map<String, String> arguments= first.getArguments();
+		// upper case names sort before lower case ones, and numbers sort by character
+		arguments.put("Zeta", "\uD83D\uDE00 \u20AC");
+		arguments.put("arg10", "]]> <![CDATA[");
+		arguments.put("arg2", "a\nb\rc");
+		arguments.put("a-b.c", "");
+		arguments.put("_x", "&amp;");
+		MockRefactoringDescriptor second= new MockRefactoringDescriptor("test", "Second", "Another comment", RefactoringDescriptor.MULTI_CHANGE);
+		second.setTimeStamp(67890);
+		second.getArguments().put("input", "p/A.java");
+		RefactoringSessionDescriptor session= new RefactoringSessionDescriptor(new RefactoringDescriptor[] { first, second }, "1.0", "A session with <special> & \"characters\"\n");
+
+		ByteArrayOutputStream stream= new ByteArrayOutputStream();
+		RefactoringCore.getHistoryService().writeRefactoringSession(session, stream, true);
+		assertArrayEquals(writeWithDOM(session), stream.toByteArray());
+	}
+
+	@Test
+	public void testPerformScriptFromStream() throws Exception {
+		String xml= "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + "<session version=\"1.0\">\n"
+				+ "<refactoring description=\"No flags\" id=\"org.eclipse.ltk.core.mock\" stamp=\"1\"/>\n"
+				+ "<refactoring description=\"Breaking\" flags=\"1\" id=\"org.eclipse.ltk.core.mock\" stamp=\"2\"/>\n"
+				+ "<refactoring description=\"Structural\" flags=\"2\" id=\"org.eclipse.ltk.core.mock\" stamp=\"3\"/>\n"
+				+ "<refactoring description=\"Breaking and structural\" flags=\"3\" id=\"org.eclipse.ltk.core.mock\" stamp=\"4\"/>\n"
+				+ "</session>\n";
+		boolean[] closed= new boolean[1];
+		ByteArrayInputStream stream= new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public void close() throws IOException {
+				closed[0]= true;
+				super.close();
+			}
+		};
+		List<String> performed= new ArrayList<>();
+		PerformRefactoringHistoryOperation operation= new PerformRefactoringHistoryOperation(stream, RefactoringDescriptor.BREAKING_CHANGE) {
+			@Override
+			protected RefactoringStatus aboutToPerformRefactoring(Refactoring refactoring, RefactoringDescriptor descriptor, IProgressMonitor monitor) {
+				performed.add(descriptor.getDescription());
+				// stop here, so that the workspace and its refactoring history are not changed
+				return RefactoringStatus.createFatalErrorStatus(descriptor.getDescription());
+			}
+		};
+		ResourcesPlugin.getWorkspace().run(operation, null);
+
+		// only the refactorings with the breaking change flag, in the order of the script
+		assertEquals(List.of("Breaking", "Breaking and structural"), performed);
+		assertEquals(2, operation.getExecutionStatus().getEntries().length);
+		assertTrue("stream closed", !closed[0]);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,7 +30,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.osgi.service.prefs.BackingStoreException;
 
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 
 import org.eclipse.core.resources.IFolder;
@@ -53,6 +58,8 @@ import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringDescriptorProxyAdapter;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryImplementation;
+import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryManager;
+import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryQueue;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryService;
 
 public class RefactoringHistoryServiceTests {
@@ -205,6 +212,7 @@ public class RefactoringHistoryServiceTests {
 		IFolder folder= fProject.getProject().getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER);
 		assertFalse("Refactoring history folder should not exist.", folder.exists());
 		setUpTestProjectRefactorings();
+		RefactoringHistoryQueue.getInstance().flush();
 		assertTrue("Refactoring history folder should exist", folder.exists());
 	}
 
@@ -525,6 +533,166 @@ public class RefactoringHistoryServiceTests {
 		}
 	}
 
+	@Test
+	public void testQueuedChangesWrittenInOrder() throws Exception {
+		final IProject project= fProject.getProject();
+		final String name= project.getName();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		RefactoringHistory previousProjectHistory= service.getProjectHistory(project, null);
+		RefactoringDescriptor firstDescriptor;
+		RefactoringDescriptor thirdDescriptor;
+		RefactoringDescriptor addedDescriptor;
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			firstDescriptor= executeRefactoring(name, 1000000, CUSTOM_FLAG);
+			executeRefactoring(name, 1000001, RefactoringDescriptor.BREAKING_CHANGE);
+			RefactoringCore.getUndoManager().performUndo(null, null);
+			RefactoringCore.getUndoManager().performUndo(null, null);
+			RefactoringCore.getUndoManager().performRedo(null, null);
+			thirdDescriptor= executeRefactoring(name, 1000002, RefactoringDescriptor.NONE);
+			addedDescriptor= new MockRefactoringDescriptor(name, "An added mock description", "An added mock comment", RefactoringDescriptor.NONE);
+			addedDescriptor.setTimeStamp(STAMP_FACTOR / 2);
+			service.addRefactoringDescriptor(new RefactoringDescriptorProxyAdapter(addedDescriptor), null);
+			assertTrue("Changes should not have been written yet", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+			assertEquals("Pending changes should be visible:", previousProjectHistory.getDescriptors().length + 3, service.getProjectHistory(project, null).getDescriptors().length);
+			assertTrue("Reading should not write the changes", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+			RefactoringHistoryQueue.getInstance().flush();
+		} finally {
+			manager.resume();
+		}
+		RefactoringHistory nextProjectHistory= service.getProjectHistory(project, null);
+		assertFalse("Changes should have been written", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+		assertEquals("Length of refactoring history should be three more:", previousProjectHistory.getDescriptors().length + 3, nextProjectHistory.getDescriptors().length);
+		assertEquals("Refactoring history should be the same:", nextProjectHistory.removeAll(new RefactoringHistoryImplementation(new RefactoringDescriptorProxyAdapter[] { new RefactoringDescriptorProxyAdapter(firstDescriptor), new RefactoringDescriptorProxyAdapter(thirdDescriptor), new RefactoringDescriptorProxyAdapter(addedDescriptor)})), previousProjectHistory);
+		assertDescendingSortOrder(nextProjectHistory.getDescriptors());
+	}
+
+	@Test
+	public void testQueuedChangesVisible() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		RefactoringHistory previousProjectHistory= service.getProjectHistory(project, null);
+		RefactoringHistory previousWorkspaceHistory= service.getWorkspaceHistory(null);
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			RefactoringDescriptor descriptor= executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+			assertTrue("Changes should not have been written yet", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+			RefactoringHistory nextProjectHistory= service.getProjectHistory(project, null);
+			assertTrue("Reading should not write the changes", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+			assertEquals("Refactoring history should be the same:", nextProjectHistory.removeAll(new RefactoringHistoryImplementation(new RefactoringDescriptorProxyAdapter[] { new RefactoringDescriptorProxyAdapter(descriptor)})), previousProjectHistory);
+			assertEquals("Length of refactoring history should be one more:", previousProjectHistory.getDescriptors().length + 1, nextProjectHistory.getDescriptors().length);
+			assertEquals("Pending descriptor should be resolved:", descriptor, service.requestDescriptor(new RefactoringDescriptorProxyAdapter(descriptor), null));
+			RefactoringCore.getUndoManager().performUndo(null, null);
+			assertTrue("Changes should not have been written yet", RefactoringHistoryQueue.getInstance().hasPendingChanges());
+			assertEquals("Refactoring history should be the same:", previousWorkspaceHistory, service.getWorkspaceHistory(null));
+		} finally {
+			manager.resume();
+		}
+	}
+
+	@Test
+	public void testQueuedChangesRetried() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
+		RefactoringHistory previousProjectHistory= service.getProjectHistory(project, null);
+		final int index= 1000000;
+		// A file in place of the history entry folder lets writing the entry fail
+		final IFileStore entry= EFS.getStore(project.getLocationURI()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getFileStore(RefactoringHistoryManager.stampToPath((index + 1) * STAMP_FACTOR));
+		entry.getParent().mkdir(EFS.NONE, null);
+		entry.openOutputStream(EFS.NONE, null).close();
+		RefactoringDescriptor descriptor;
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			try {
+				descriptor= executeRefactoring(project.getName(), index, CUSTOM_FLAG);
+				queue.flush();
+				assertTrue("Failed changes should be queued again", queue.hasPendingChanges());
+				assertEquals("Failed changes should be visible:", previousProjectHistory.getDescriptors().length + 1, service.getProjectHistory(project, null).getDescriptors().length);
+			} finally {
+				entry.delete(EFS.NONE, null);
+			}
+			queue.flush();
+			assertFalse("Changes should have been written", queue.hasPendingChanges());
+		} finally {
+			manager.resume();
+		}
+		RefactoringHistory nextProjectHistory= service.getProjectHistory(project, null);
+		assertEquals("Refactoring history should be the same:", nextProjectHistory.removeAll(new RefactoringHistoryImplementation(new RefactoringDescriptorProxyAdapter[] { new RefactoringDescriptorProxyAdapter(descriptor)})), previousProjectHistory);
+	}
+
+	@Test
+	public void testQueuedChangesMovedWithSharedHistory() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
+		RefactoringHistory previousProjectHistory= service.getProjectHistory(project, null);
+		RefactoringDescriptor descriptor;
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			descriptor= executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+			setSharedRefactoringHistory(false);
+			assertTrue("Changes should not have been written yet", queue.hasPendingChanges());
+			assertEquals("Length of refactoring history should be one more:", previousProjectHistory.getDescriptors().length + 1, service.getProjectHistory(project, null).getDescriptors().length);
+			queue.flush();
+		} finally {
+			manager.resume();
+		}
+		assertFalse("Refactoring history folder should not exist", project.getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER).exists());
+		RefactoringHistory nextProjectHistory= service.getProjectHistory(project, null);
+		assertEquals("Refactoring history should be the same:", nextProjectHistory.removeAll(new RefactoringHistoryImplementation(new RefactoringDescriptorProxyAdapter[] { new RefactoringDescriptorProxyAdapter(descriptor)})), previousProjectHistory);
+	}
+
+	@Test
+	public void testQueuedChangesDiscardedWithHistory() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+			assertTrue("Changes should not have been written yet", queue.hasPendingChanges());
+			service.deleteRefactoringHistory(project, null);
+			assertFalse("Changes should have been discarded", queue.hasPendingChanges());
+		} finally {
+			manager.resume();
+		}
+		assertTrue("Refactoring history should be empty", service.getProjectHistory(project, null).isEmpty());
+	}
+
+	@Test
+	public void testQueueRestarted() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
+		RefactoringHistory previousProjectHistory= service.getProjectHistory(project, null);
+		RefactoringDescriptor firstDescriptor;
+		RefactoringDescriptor secondDescriptor;
+		final IJobManager manager= Job.getJobManager();
+		manager.suspend();
+		try {
+			try {
+				queue.shutdown();
+				firstDescriptor= executeRefactoring(project.getName(), 1000000, CUSTOM_FLAG);
+				assertFalse("Changes should be written immediately after shutdown", queue.hasPendingChanges());
+			} finally {
+				queue.startup();
+			}
+			secondDescriptor= executeRefactoring(project.getName(), 1000001, CUSTOM_FLAG);
+			assertTrue("Changes should be queued again after startup", queue.hasPendingChanges());
+		} finally {
+			manager.resume();
+		}
+		RefactoringHistory nextProjectHistory= service.getProjectHistory(project, null);
+		assertEquals("Length of refactoring history should be two more:", previousProjectHistory.getDescriptors().length + 2, nextProjectHistory.getDescriptors().length);
+		assertEquals("Refactoring history should be the same:", nextProjectHistory.removeAll(new RefactoringHistoryImplementation(new RefactoringDescriptorProxyAdapter[] { new RefactoringDescriptorProxyAdapter(firstDescriptor), new RefactoringDescriptorProxyAdapter(secondDescriptor)})), previousProjectHistory);
+	}
+
 	@Test
 	public void testReadProjectHistory0() throws Exception {
 		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+/**
+ * An element whose participants are contributed with cacheable and non-cacheable enablements.
+ */
+public class CacheTestElement {
+
+	private boolean fEnabled;
+
+	public CacheTestElement(boolean enabled) {
+		fEnabled= enabled;
+	}
+
+	public boolean isEnabled() {
+		return fEnabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		fEnabled= enabled;
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import org.eclipse.core.expressions.PropertyTester;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
+
+/**
+ * Participants for {@link CacheTestElement}s, contributed in the plugin.xml with different kinds
+ * of enablement expressions.
+ */
+public class CacheTestParticipants {
+
+	public static final String CACHEABLE_ID= "org.eclipse.ltk.core.refactoring.tests.participants.CacheableParticipant";
+	public static final String TESTED_ID= "org.eclipse.ltk.core.refactoring.tests.participants.TestedParticipant";
+	public static final String SYSTEM_TEST_ID= "org.eclipse.ltk.core.refactoring.tests.participants.SystemTestParticipant";
+	public static final String FAILING_ID= "org.eclipse.ltk.core.refactoring.tests.participants.FailingInitializeParticipant";
+
+	public static final String CACHE_NATURE= "org.eclipse.ltk.core.refactoring.tests.cacheNature";
+	public static final String SYSTEM_PROPERTY= "org.eclipse.ltk.core.refactoring.tests.enabled";
+	public static final String FAILING_PROCESSOR_ID= "org.eclipse.ltk.core.refactoring.tests.participants.FailingInitializeProcessor";
+
+	private static abstract class AbstractParticipant extends RenameParticipant {
+		@Override
+		protected boolean initialize(Object element) {
+			return true;
+		}
+
+		@Override
+		public String getName() {
+			return getClass().getName();
+		}
+
+		@Override
+		public RefactoringStatus checkConditions(IProgressMonitor pm, CheckConditionsContext context) {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public Change createChange(IProgressMonitor pm) {
+			return null;
+		}
+	}
+
+	/**
+	 * Enabled for elements of a class and an affected nature.
+	 */
+	public static class CacheableParticipant extends AbstractParticipant {
+	}
+
+	/**
+	 * Enabled by a property tester, which tests the state of the element.
+	 */
+	public static class TestedParticipant extends AbstractParticipant {
+	}
+
+	/**
+	 * Enabled by a system property.
+	 */
+	public static class SystemTestParticipant extends AbstractParticipant {
+	}
+
+	/**
+	 * Fails to initialize, which removes the participant.
+	 */
+	public static class FailingInitializeParticipant extends AbstractParticipant {
+		@Override
+		protected boolean initialize(Object element) {
+			throw new RuntimeException("failing initialize");
+		}
+	}
+
+	public static class EnabledPropertyTester extends PropertyTester {
+		@Override
+		public boolean test(Object receiver, String property, Object[] args, Object expectedValue) {
+			return ((CacheTestElement) receiver).isEnabled();
+		}
+	}
+}
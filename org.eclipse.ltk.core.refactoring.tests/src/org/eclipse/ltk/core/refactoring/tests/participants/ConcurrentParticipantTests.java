@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.NullChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.IConcurrentParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameProcessor;
+import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+
+public class ConcurrentParticipantTests {
+
+	private class TestParticipant extends RenameParticipant {
+		private final String fName;
+
+		TestParticipant(String name) {
+			fName= name;
+		}
+		@Override
+		protected boolean initialize(Object element) {
+			return true;
+		}
+		@Override
+		public String getName() {
+			return fName;
+		}
+		@Override
+		public RefactoringStatus checkConditions(IProgressMonitor pm, CheckConditionsContext context) throws OperationCanceledException {
+			return RefactoringStatus.createInfoStatus(fName);
+		}
+		@Override
+		public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new NullChange(fName);
+		}
+	}
+
+	private class ConcurrentParticipant extends TestParticipant implements IConcurrentParticipant {
+		ConcurrentParticipant(String name) {
+			super(name);
+		}
+		@Override
+		public RefactoringStatus checkConditions(IProgressMonitor pm, CheckConditionsContext context) throws OperationCanceledException {
+			fLatch.countDown();
+			try {
+				// only finishes in time if all concurrent participants run at the same time
+				fAllStarted&= fLatch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			}
+			if (getName().startsWith("failing"))
+				throw new NullPointerException();
+			return super.checkConditions(pm, context);
+		}
+	}
+
+	private class TestProcessor extends RenameProcessor {
+		private Object fElement= Boolean.TRUE;
+		private final List<TestParticipant> fLoadedParticipants;
+
+		TestProcessor(List<TestParticipant> participants) {
+			fLoadedParticipants= participants;
+		}
+		@Override
+		public Object[] getElements() {
+			return new Object[] { fElement };
+		}
+		@Override
+		public String getIdentifier() {
+			return "org.eclipse.ltk.core.refactoring.tests.TestProcessor";
+		}
+		@Override
+		public String getProcessorName() {
+			return "processor";
+		}
+		@Override
+		public boolean isApplicable() throws CoreException {
+			return true;
+		}
+		@Override
+		public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new NullChange("test change");
+		}
+		@Override
+		public RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants sharedParticipants) throws CoreException {
+			for (TestParticipant participant : fLoadedParticipants) {
+				participant.initialize(this, fElement, new RenameArguments("", false));
+			}
+			return fLoadedParticipants.toArray(new RefactoringParticipant[fLoadedParticipants.size()]);
+		}
+	}
+
+	private CountDownLatch fLatch;
+
+	private volatile boolean fAllStarted= true;
+
+	private static List<String> getMessages(RefactoringStatus status) {
+		List<String> result= new ArrayList<>();
+		for (RefactoringStatusEntry entry : status.getEntries()) {
+			result.add(entry.getMessage());
+		}
+		return result;
+	}
+
+	@Test
+	public void testStatusesAreMergedInLoadOrder() throws Exception {
+		List<TestParticipant> participants= new ArrayList<>();
+		participants.add(new ConcurrentParticipant("c1"));
+		participants.add(new TestParticipant("s1"));
+		participants.add(new ConcurrentParticipant("c2"));
+		participants.add(new ConcurrentParticipant("c3"));
+		participants.add(new TestParticipant("s2"));
+		fLatch= new CountDownLatch(3);
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor(participants));
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertTrue(fAllStarted);
+		assertEquals(List.of("c1", "s1", "c2", "c3", "s2"), getMessages(status));
+	}
+
+	@Test
+	public void testFailingParticipantIsRemoved() throws Exception {
+		List<TestParticipant> participants= new ArrayList<>();
+		participants.add(new ConcurrentParticipant("c1"));
+		participants.add(new ConcurrentParticipant("failing"));
+		fLatch= new CountDownLatch(2);
+
+		RenameRefactoring refactoring= new RenameRefactoring(new TestProcessor(participants));
+		RefactoringStatus status= refactoring.checkFinalConditions(new NullProgressMonitor());
+
+		assertTrue(fAllStarted);
+		assertTrue(status.hasError());
+		assertEquals("c1", status.getEntries()[0].getMessage());
+
+		Change change= refactoring.createChange(new NullProgressMonitor());
+		assertTrue(change.toString(), change instanceof CompositeChange);
+		List<String> names= new ArrayList<>();
+		for (Change child : ((CompositeChange) change).getChildren()) {
+			names.add(child.getName());
+		}
+		assertEquals(List.of("test change", "c1"), names);
+	}
+}
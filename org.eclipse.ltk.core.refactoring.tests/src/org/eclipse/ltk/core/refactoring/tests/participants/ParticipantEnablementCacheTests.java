@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.ParticipantManager;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.RenameProcessor;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
+
+import org.eclipse.ltk.core.refactoring.tests.participants.CacheTestParticipants.CacheableParticipant;
+import org.eclipse.ltk.core.refactoring.tests.participants.CacheTestParticipants.FailingInitializeParticipant;
+import org.eclipse.ltk.core.refactoring.tests.participants.CacheTestParticipants.SystemTestParticipant;
+import org.eclipse.ltk.core.refactoring.tests.participants.CacheTestParticipants.TestedParticipant;
+
+/**
+ * Tests the analysis of the enablement expressions of participants, and the caching of the
+ * participants that can match an element.
+ */
+public class ParticipantEnablementCacheTests {
+
+	private static class CacheTestProcessor extends RenameProcessor {
+		private final String fIdentifier;
+
+		CacheTestProcessor(String identifier) {
+			fIdentifier= identifier;
+		}
+		@Override
+		public Object[] getElements() {
+			return new Object[0];
+		}
+		@Override
+		public String getIdentifier() {
+			return fIdentifier;
+		}
+		@Override
+		public String getProcessorName() {
+			return fIdentifier;
+		}
+		@Override
+		public boolean isApplicable() throws CoreException {
+			return true;
+		}
+		@Override
+		public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+		@Override
+		public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return null;
+		}
+		@Override
+		public RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants sharedParticipants) throws CoreException {
+			return new RefactoringParticipant[0];
+		}
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CacheTestParticipants.SYSTEM_PROPERTY);
+	}
+
+	private static ParticipantDescriptor getDescriptor(String id) {
+		for (IConfigurationElement element : Platform.getExtensionRegistry().getConfigurationElementsFor("org.eclipse.ltk.core.refactoring", "renameParticipants")) {
+			if (id.equals(element.getAttribute("id")))
+				return new ParticipantDescriptor(element);
+		}
+		return null;
+	}
+
+	private static RefactoringParticipant[] loadParticipants(RefactoringStatus status, String processorId, Object element, String... natures) {
+		return ParticipantManager.loadRenameParticipants(status, new CacheTestProcessor(processorId), element, new RenameArguments("newName", true), natures, new SharableParticipants());
+	}
+
+	private static RefactoringParticipant[] loadParticipants(Object element, String... natures) {
+		return loadParticipants(new RefactoringStatus(), CacheTestProcessor.class.getName(), element, natures);
+	}
+
+	private static boolean contains(RefactoringParticipant[] participants, Class<?> participantClass) {
+		for (RefactoringParticipant participant : participants) {
+			if (participantClass.isInstance(participant))
+				return true;
+		}
+		return false;
+	}
+
+	private static void assertCacheable(String id, boolean expected) {
+		ParticipantDescriptor descriptor= getDescriptor(id);
+		assertNotNull(id, descriptor);
+		assertEquals(id, expected, descriptor.isEnablementCacheable());
+	}
+
+	@Test
+	public void testCacheableEnablements() throws Exception {
+		assertCacheable(CacheTestParticipants.CACHEABLE_ID, true);
+		assertCacheable(CacheTestParticipants.FAILING_ID, true);
+		assertCacheable("org.eclipse.ltk.core.refactoring.tests.participants.WorkingParticipant", true);
+	}
+
+	@Test
+	public void testNonCacheableEnablements() throws Exception {
+		assertCacheable(CacheTestParticipants.TESTED_ID, false);
+		assertCacheable(CacheTestParticipants.SYSTEM_TEST_ID, false);
+	}
+
+	@Test
+	public void testCandidatesKeyedByNatures() throws Exception {
+		CacheTestElement element= new CacheTestElement(false);
+		assertTrue(contains(loadParticipants(element, CacheTestParticipants.CACHE_NATURE), CacheableParticipant.class));
+		assertFalse(contains(loadParticipants(element, "org.eclipse.ltk.core.refactoring.tests.otherNature"), CacheableParticipant.class));
+		assertFalse(contains(loadParticipants(element), CacheableParticipant.class));
+		assertTrue(contains(loadParticipants(new CacheTestElement(false), "org.eclipse.ltk.core.refactoring.tests.otherNature", CacheTestParticipants.CACHE_NATURE), CacheableParticipant.class));
+
+		// the key only holds the class of the element
+		assertFalse(contains(loadParticipants(new Element(), CacheTestParticipants.CACHE_NATURE), CacheableParticipant.class));
+	}
+
+	@Test
+	public void testPropertyTesterEvaluatedPerElement() throws Exception {
+		CacheTestElement enabled= new CacheTestElement(true);
+		CacheTestElement disabled= new CacheTestElement(false);
+		assertTrue(contains(loadParticipants(enabled), TestedParticipant.class));
+		assertFalse(contains(loadParticipants(disabled), TestedParticipant.class));
+
+		disabled.setEnabled(true);
+		assertTrue(contains(loadParticipants(disabled), TestedParticipant.class));
+		enabled.setEnabled(false);
+		assertFalse(contains(loadParticipants(enabled), TestedParticipant.class));
+	}
+
+	@Test
+	public void testSystemTestEvaluatedPerElement() throws Exception {
+		CacheTestElement element= new CacheTestElement(false);
+		assertFalse(contains(loadParticipants(element), SystemTestParticipant.class));
+
+		System.setProperty(CacheTestParticipants.SYSTEM_PROPERTY, "true");
+		assertTrue(contains(loadParticipants(element), SystemTestParticipant.class));
+
+		System.clearProperty(CacheTestParticipants.SYSTEM_PROPERTY);
+		assertFalse(contains(loadParticipants(element), SystemTestParticipant.class));
+	}
+
+	@Test
+	public void testRemovedParticipantInvalidatesCandidates() throws Exception {
+		CacheTestElement element= new CacheTestElement(true);
+
+		RefactoringStatus status= new RefactoringStatus();
+		RefactoringParticipant[] participants= loadParticipants(status, CacheTestParticipants.FAILING_PROCESSOR_ID, element, CacheTestParticipants.CACHE_NATURE);
+		assertFalse(contains(participants, FailingInitializeParticipant.class));
+		assertTrue(contains(participants, CacheableParticipant.class));
+		assertTrue(contains(participants, TestedParticipant.class));
+		assertTrue(status.toString(), status.hasError());
+
+		// the participant is removed, and the remaining ones are still found
+		status= new RefactoringStatus();
+		participants= loadParticipants(status, CacheTestParticipants.FAILING_PROCESSOR_ID, element, CacheTestParticipants.CACHE_NATURE);
+		assertFalse(contains(participants, FailingInitializeParticipant.class));
+		assertTrue(contains(participants, CacheableParticipant.class));
+		assertTrue(contains(participants, TestedParticipant.class));
+		assertTrue(status.toString(), status.isOK());
+	}
+}
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.core.runtime.content.IContentDescription;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.ltk.internal.core.refactoring.Changes;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
+
+/**
+ * Performs a run of {@link TextFileChange}s on distinct files at once. The contents of
+ * the files are read and edited concurrently, without connecting file buffers, and are
+ * then written in batched workspace operations.
+ * <p>
+ * Only {@link TextFileChange}s that {@linkplain TextFileChange#canPerformWithoutBuffer() allow
+ * it} are performed this way, and only if no file buffer is connected for their file and
+ * they will save it. Files with a byte order mark or content that
+ * cannot be decoded are performed as usual. The undo changes are the same as the ones
+ * created when the changes are performed one after another.
+ * </p>
+ * <p>
+ * The files are edited and written in batches, and the next batch is edited while the
+ * current one is written, so that at most two batches of contents are held in memory.
+ * Cancellation is checked before each file is written.
+ * </p>
+ */
+final class BulkTextFileChangePerformer {
+
+	/**
+	 * Minimum number of consecutive changes for which the bulk mode is used.
+	 */
+	static final int THRESHOLD= Integer.getInteger("org.eclipse.ltk.core.refactoring.bulkPerformThreshold", 64).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of files written in one workspace operation.
+	 */
+	private static final int BATCH_SIZE= 256;
+
+	private static final boolean DEBUG= RefactoringCorePlugin.getDefault() != null && RefactoringCorePlugin.getDefault().isDebugging()
+			&& "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.ltk.core.refactoring/debug/bulkPerform")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * The edited contents of a file, or the reason why it could not be edited.
+	 */
+	private static final class EditedContents {
+		byte[] fContents;
+		UndoEdit fUndo;
+		/** <code>true</code> if the change has to be performed as usual */
+		boolean fPerformChange;
+		CoreException fException;
+	}
+
+	private final List<TextFileChange> fChanges;
+	private final List<Change> fUndos;
+	private TextFileChange fCurrentChange;
+
+	private BulkTextFileChangePerformer(List<TextFileChange> changes) {
+		fChanges= changes;
+		fUndos= new ArrayList<>(changes.size());
+	}
+
+	/**
+	 * Collects the run of consecutive bulk changes that starts with the given change.
+	 * If the run is long enough, the iterator is positioned behind its last change.
+	 * Otherwise the iterator is left unchanged.
+	 *
+	 * @param first the change returned last by the iterator
+	 * @param iterator the iterator over the children of a composite change
+	 * @return the performer for the run, or <code>null</code> if the changes are to be
+	 *  performed one after another
+	 */
+	static BulkTextFileChangePerformer create(Change first, ListIterator<Change> iterator) {
+		if (THRESHOLD <= 0 || !isCandidate(first))
+			return null;
+		List<TextFileChange> run= new ArrayList<>();
+		Set<IFile> files= new HashSet<>();
+		run.add((TextFileChange) first);
+		files.add(((TextFileChange) first).getFile());
+		while (iterator.hasNext()) {
+			Change next= iterator.next();
+			if (!isCandidate(next) || !files.add(((TextFileChange) next).getFile())) {
+				iterator.previous();
+				break;
+			}
+			run.add((TextFileChange) next);
+		}
+		if (run.size() < THRESHOLD) {
+			for (int i= 1; i < run.size(); i++) {
+				iterator.previous();
+			}
+			return null;
+		}
+		return new BulkTextFileChangePerformer(run);
+	}
+
+	private static boolean isCandidate(Change change) {
+		if (!(change instanceof TextFileChange) || !change.isEnabled())
+			return false;
+		TextFileChange textFileChange= (TextFileChange) change;
+		IFile file= textFileChange.getFile();
+		return textFileChange.canPerformWithoutBuffer() && textFileChange.needsSaving() && file.isAccessible()
+				&& FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) == null;
+	}
+
+	/**
+	 * Returns the changes of the run.
+	 *
+	 * @return the changes
+	 */
+	List<TextFileChange> getChanges() {
+		return fChanges;
+	}
+
+	/**
+	 * Returns the undo changes of the changes that have been performed, in the order
+	 * in which the changes have been performed. A <code>null</code> element means that
+	 * a change could not create its undo change. The changes of the run up to the size of
+	 * this list have been performed.
+	 *
+	 * @return the undo changes
+	 */
+	List<Change> getUndos() {
+		return fUndos;
+	}
+
+	/**
+	 * Returns the change that was being performed last. If performing the run fails,
+	 * this is the change that failed.
+	 *
+	 * @return the current change
+	 */
+	TextFileChange getCurrentChange() {
+		return fCurrentChange;
+	}
+
+	/**
+	 * Performs the changes of the run.
+	 *
+	 * @param pm the progress monitor, which receives two units of work per change
+	 * @throws CoreException if one of the changes fails. The changes before it have been
+	 *  performed and their undo changes are available.
+	 * @throws OperationCanceledException if the monitor has been canceled. The changes
+	 *  before the current change have been performed and their undo changes are available.
+	 */
+	void perform(IProgressMonitor pm) throws CoreException {
+		long start= System.currentTimeMillis();
+		pm.beginTask("", 2 * fChanges.size()); //$NON-NLS-1$
+		List<Future<EditedContents>> next= null;
+		try {
+			IWorkspace workspace= ResourcesPlugin.getWorkspace();
+			next= submitEdits(0);
+			for (int offset= 0; offset < fChanges.size(); offset+= BATCH_SIZE) {
+				int from= offset;
+				int to= Math.min(offset + BATCH_SIZE, fChanges.size());
+				List<Future<EditedContents>> current= next;
+				// edit the next batch while this one is written
+				next= to < fChanges.size() ? submitEdits(to) : null;
+				List<EditedContents> contents= getResults(current, from, pm);
+				workspace.run(monitor -> write(contents, from, to, monitor), null, IWorkspace.AVOID_UPDATE, new SubProgressMonitor(pm, to - from));
+			}
+		} finally {
+			if (next != null) {
+				for (Future<EditedContents> edit : next) {
+					edit.cancel(false);
+				}
+			}
+			pm.done();
+			if (DEBUG) {
+				long time= Math.max(1, System.currentTimeMillis() - start);
+				System.out.println("CompositeChange: performed " + fUndos.size() + " text file changes in " + time + " ms (" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ (fUndos.size() * 1000L / time) + " files/s)"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private List<Future<EditedContents>> submitEdits(int from) {
+		int to= Math.min(from + BATCH_SIZE, fChanges.size());
+		List<Future<EditedContents>> edits= new ArrayList<>(to - from);
+		for (TextFileChange change : fChanges.subList(from, to)) {
+			edits.add(SharedExecutor.getExecutor().submit(() -> editContents(change)));
+		}
+		return edits;
+	}
+
+	private List<EditedContents> getResults(List<Future<EditedContents>> edits, int from, IProgressMonitor pm) {
+		List<EditedContents> contents= new ArrayList<>(edits.size());
+		try {
+			for (int i= 0; i < edits.size(); i++) {
+				fCurrentChange= fChanges.get(from + i);
+				if (pm.isCanceled())
+					throw new OperationCanceledException();
+				contents.add(getResult(edits.get(i)));
+				pm.worked(1);
+			}
+		} finally {
+			for (int i= contents.size(); i < edits.size(); i++) {
+				edits.get(i).cancel(false);
+			}
+		}
+		return contents;
+	}
+
+	private void write(List<EditedContents> contents, int from, int to, IProgressMonitor pm) throws CoreException {
+		pm.beginTask("", to - from); //$NON-NLS-1$
+		for (int i= from; i < to; i++) {
+			TextFileChange change= fChanges.get(i);
+			EditedContents edited= contents.get(i - from);
+			fCurrentChange= change;
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+			if (edited.fException != null)
+				throw edited.fException;
+			if (edited.fPerformChange) {
+				fUndos.add(change.perform(new SubProgressMonitor(pm, 1)));
+			} else {
+				change.getFile().setContents(new ByteArrayInputStream(edited.fContents), IResource.KEEP_HISTORY, new SubProgressMonitor(pm, 1));
+				fUndos.add(change.createUndoChange(edited.fUndo));
+			}
+			// the contents are no longer needed
+			contents.set(i - from, null);
+		}
+		pm.done();
+	}
+
+	/*
+	 * Runs in a worker thread. Failures to read the file are left to the usual performing
+	 * of the change; failures of the edits are reported like they are when performing it.
+	 */
+	private static EditedContents editContents(TextFileChange change) {
+		EditedContents result= new EditedContents();
+		IFile file= change.getFile();
+		Charset charset;
+		String content;
+		try {
+			IContentDescription description= file.getContentDescription();
+			if (description != null && description.getProperty(IContentDescription.BYTE_ORDER_MARK) != null) {
+				result.fPerformChange= true;
+				return result;
+			}
+			charset= Charset.forName(file.getCharset());
+			byte[] bytes;
+			try (InputStream stream= file.getContents()) {
+				bytes= stream.readAllBytes();
+			}
+			content= charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT)
+					.decode(ByteBuffer.wrap(bytes)).toString();
+		} catch (CoreException | IOException | RuntimeException e) {
+			result.fPerformChange= true;
+			return result;
+		}
+
+		Document document= new Document();
+		document.set(content, file.getModificationStamp());
+		try {
+			result.fUndo= change.performEditsWithoutBuffer(document);
+			ByteBuffer encoded= charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT)
+					.encode(CharBuffer.wrap(document.get()));
+			result.fContents= new byte[encoded.remaining()];
+			encoded.get(result.fContents);
+		} catch (BadLocationException | MalformedTreeException e) {
+			result.fException= Changes.asCoreException(e);
+		} catch (CharacterCodingException e) {
+			result.fException= new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), e.getLocalizedMessage(), e));
+		}
+		return result;
+	}
+
+	private static EditedContents getResult(Future<EditedContents> edit) {
+		try {
+			return SharedExecutor.join(edit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -258,6 +259,15 @@ public class CompositeChange extends Change {
 	 * undo objects of all executed children.
 	 * </p>
 	 * <p>
+	 * Long runs of consecutive {@link TextFileChange}s on distinct files whose
+	 * file buffers are not connected, and which
+	 * {@linkplain TextFileChange#canPerformWithoutBuffer() allow it}, are
+	 * performed at once: their edits are applied
+	 * concurrently and the files are written in batched workspace operations. The
+	 * resulting undo changes are the same. Cancellation is checked before each file
+	 * of such a run is written.
+	 * </p>
+	 * <p>
 	 * Client are allowed to extend this method.
 	 * </p>
 	 */
@@ -270,11 +280,48 @@ public class CompositeChange extends Change {
 		Change change= null;
 		boolean canceled= false;
 		try {
-			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext();) {
+			for (ListIterator<Change> iter= fChanges.listIterator(); iter.hasNext();) {
 				change= iter.next();
 				if (canceled && !internalProcessOnCancel(change))
 					continue;
 
+				BulkTextFileChangePerformer bulkPerformer= canceled ? null : BulkTextFileChangePerformer.create(change, iter);
+				if (bulkPerformer != null) {
+					try {
+						bulkPerformer.perform(new SubProgressMonitor(pm, bulkPerformer.getChanges().size()));
+					} catch (OperationCanceledException e) {
+						canceled= true;
+						if (!internalContinueOnCancel())
+							throw e;
+						undos= null;
+					} finally {
+						change= bulkPerformer.getCurrentChange();
+						for (Change undoChange : bulkPerformer.getUndos()) {
+							if (undos != null) {
+								if (undoChange == null) {
+									undos= null;
+								} else {
+									undos.add(undoChange);
+								}
+							}
+						}
+						// the iterator is positioned behind the run. Remove and dispose the performed
+						// changes also if the run failed, their undo changes are part of the undo
+						// until the exception. The changes left after a cancellation are handled
+						// like the following changes
+						List<TextFileChange> run= bulkPerformer.getChanges();
+						int performed= bulkPerformer.getUndos().size();
+						for (int i= run.size() - 1; i >= 0; i--) {
+							iter.previous();
+							if (i < performed) {
+								iter.remove();
+								disposeChange(run.get(i));
+							}
+						}
+					}
+					continue;
+				}
+
 				if (change.isEnabled()) {
 					Change undoChange= null;
 					try {
@@ -300,17 +347,7 @@ public class CompositeChange extends Change {
 				iter.remove();
 				// Make sure we dispose the change since it will now longer be
 				// in the list of children when call CompositeChange#dispose()
-				final Change changeToDispose= change;
-				SafeRunner.run(new ISafeRunnable() {
-					@Override
-					public void run() throws Exception {
-						changeToDispose.dispose();
-					}
-					@Override
-					public void handleException(Throwable exception) {
-						RefactoringCorePlugin.log(exception);
-					}
-				});
+				disposeChange(change);
 			}
 			if (canceled)
 				throw new OperationCanceledException();
@@ -327,6 +364,19 @@ public class CompositeChange extends Change {
 		}
 	}
 
+	private static void disposeChange(final Change change) {
+		SafeRunner.run(new ISafeRunnable() {
+			@Override
+			public void run() throws Exception {
+				change.dispose();
+			}
+			@Override
+			public void handleException(Throwable exception) {
+				RefactoringCorePlugin.log(exception);
+			}
+		});
+	}
+
 	private void handleUndos(Change failedChange, List<Change> undos) {
 		if (undos == null) {
 			fUndoUntilException= null;
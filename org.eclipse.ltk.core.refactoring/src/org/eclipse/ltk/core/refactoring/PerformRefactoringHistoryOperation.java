@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,10 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.io.InputStream;
+
+import org.xml.sax.InputSource;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -25,6 +29,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryService;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistory;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionReader;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryService;
 
 /**
@@ -54,9 +59,15 @@ public class PerformRefactoringHistoryOperation implements IWorkspaceRunnable {
 	/** The status of the execution */
 	private RefactoringStatus fExecutionStatus= new RefactoringStatus();
 
-	/** The refactoring history */
+	/** The refactoring history, or <code>null</code> if a refactoring script is performed */
 	private final RefactoringHistory fRefactoringHistory;
 
+	/** The refactoring script, or <code>null</code> if a refactoring history is performed */
+	private final InputStream fScript;
+
+	/** The flags which must be present for refactorings of the script to be performed */
+	private final int fFlags;
+
 	/**
 	 * Creates a new perform refactoring history operation.
 	 *
@@ -66,6 +77,37 @@ public class PerformRefactoringHistoryOperation implements IWorkspaceRunnable {
 	public PerformRefactoringHistoryOperation(final RefactoringHistory history) {
 		Assert.isNotNull(history);
 		fRefactoringHistory= history;
+		fScript= null;
+		fFlags= RefactoringDescriptor.NONE;
+	}
+
+	/**
+	 * Creates a new perform refactoring history operation which performs the
+	 * refactorings of a refactoring script.
+	 * <p>
+	 * The refactorings are read from the script one after another while they
+	 * are performed, so that scripts of any size can be performed without
+	 * reading them into memory first. The refactorings are filtered like by
+	 * {@link IRefactoringHistoryService#readRefactoringHistory(InputStream, int)}.
+	 * </p>
+	 *
+	 * @param stream
+	 *            the input stream of the refactoring script. The stream is not
+	 *            closed by the operation.
+	 * @param flags
+	 *            the refactoring descriptor flags which must be present in
+	 *            order to perform a refactoring, or
+	 *            <code>RefactoringDescriptor#NONE</code> to perform all
+	 *            refactorings
+	 *
+	 * @since 3.13
+	 */
+	public PerformRefactoringHistoryOperation(final InputStream stream, final int flags) {
+		Assert.isNotNull(stream);
+		Assert.isTrue(flags >= RefactoringDescriptor.NONE);
+		fRefactoringHistory= null;
+		fScript= stream;
+		fFlags= flags;
 	}
 
 	/**
@@ -211,47 +253,81 @@ public class PerformRefactoringHistoryOperation implements IWorkspaceRunnable {
 	@Override
 	public void run(final IProgressMonitor monitor) throws CoreException {
 		fExecutionStatus= new RefactoringStatus();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		try {
+			service.connect();
+			service.fireRefactoringHistoryExecution(false);
+			try {
+				if (fScript != null)
+					performScript(monitor);
+				else
+					performHistory(monitor);
+			} finally {
+				service.fireRefactoringHistoryExecution(true);
+			}
+		} finally {
+			service.disconnect();
+			monitor.done();
+		}
+	}
+
+	private void performHistory(final IProgressMonitor monitor) throws CoreException {
 		final RefactoringDescriptorProxy[] proxies= fRefactoringHistory.getDescriptors();
 		monitor.beginTask(RefactoringCoreMessages.PerformRefactoringHistoryOperation_perform_refactorings, 170 * proxies.length);
-		final IRefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		for (RefactoringDescriptorProxy proxie : proxies) {
+			final RefactoringDescriptor descriptor= proxie.requestDescriptor(new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (descriptor != null)
+				performRefactoring(descriptor, monitor);
+		}
+	}
+
+	private void performScript(final IProgressMonitor monitor) throws CoreException {
+		monitor.beginTask(RefactoringCoreMessages.PerformRefactoringHistoryOperation_perform_refactorings, IProgressMonitor.UNKNOWN);
+		final RefactoringSessionReader reader= new RefactoringSessionReader(false, null);
+		reader.beginSession(new InputSource(fScript));
 		try {
-			service.connect();
-			for (RefactoringDescriptorProxy proxie : proxies) {
-				final RefactoringDescriptor descriptor= proxie.requestDescriptor(new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-				if (descriptor != null) {
-					RefactoringContext context= null;
-					RefactoringStatus status= new RefactoringStatus();
-					try {
-						try {
-							context= createRefactoringContext(descriptor, status, new SubProgressMonitor(monitor, 30, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-						} catch (CoreException exception) {
-							status.merge(RefactoringStatus.create(exception.getStatus()));
-						}
-						if (context != null && !status.hasFatalError()) {
-							Refactoring refactoring= context.getRefactoring();
-							final PerformRefactoringOperation operation= new PerformRefactoringOperation(refactoring, CheckConditionsOperation.ALL_CONDITIONS);
-							try {
-								status.merge(aboutToPerformRefactoring(refactoring, descriptor, new SubProgressMonitor(monitor, 30, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
-								if (!status.hasFatalError()) {
-									ResourcesPlugin.getWorkspace().run(operation, new SubProgressMonitor(monitor, 90, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-									status.merge(operation.getConditionStatus());
-									if (!status.hasFatalError())
-										status.merge(operation.getValidationStatus());
-								}
-							} finally {
-								refactoringPerformed(refactoring, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-							}
-						}
-					} finally {
-						fExecutionStatus.merge(status);
-						if (context != null)
-							context.dispose();
+			RefactoringDescriptor descriptor;
+			while ((descriptor= reader.nextRefactoring()) != null) {
+				final int flags= descriptor.getFlags();
+				if ((flags | fFlags) == flags)
+					performRefactoring(descriptor, monitor);
+			}
+		} finally {
+			reader.endSession();
+		}
+	}
+
+	/*
+	 * Performs the refactoring of the given descriptor, using 160 units of work of the monitor.
+	 */
+	private void performRefactoring(final RefactoringDescriptor descriptor, final IProgressMonitor monitor) throws CoreException {
+		RefactoringContext context= null;
+		RefactoringStatus status= new RefactoringStatus();
+		try {
+			try {
+				context= createRefactoringContext(descriptor, status, new SubProgressMonitor(monitor, 30, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			} catch (CoreException exception) {
+				status.merge(RefactoringStatus.create(exception.getStatus()));
+			}
+			if (context != null && !status.hasFatalError()) {
+				Refactoring refactoring= context.getRefactoring();
+				final PerformRefactoringOperation operation= new PerformRefactoringOperation(refactoring, CheckConditionsOperation.ALL_CONDITIONS);
+				try {
+					status.merge(aboutToPerformRefactoring(refactoring, descriptor, new SubProgressMonitor(monitor, 30, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
+					if (!status.hasFatalError()) {
+						ResourcesPlugin.getWorkspace().run(operation, new SubProgressMonitor(monitor, 90, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+						status.merge(operation.getConditionStatus());
+						if (!status.hasFatalError())
+							status.merge(operation.getValidationStatus());
 					}
+				} finally {
+					refactoringPerformed(refactoring, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 				}
 			}
 		} finally {
-			service.disconnect();
-			monitor.done();
+			fExecutionStatus.merge(status);
+			if (context != null)
+				context.dispose();
 		}
 	}
 }
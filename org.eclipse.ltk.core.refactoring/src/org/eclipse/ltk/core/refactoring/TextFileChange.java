@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -294,6 +294,45 @@ public class TextFileChange extends TextChange {
 		return result[0];
 	}
 
+	/**
+	 * Performs the edits on a document that holds the contents of the file without
+	 * connecting a file buffer. Used by {@link CompositeChange} to perform many
+	 * text file changes at once.
+	 *
+	 * @param document the document with the contents of the file, carrying the
+	 *  modification stamp of the file
+	 * @return the undo edit
+	 * @throws BadLocationException if the edits cannot be executed
+	 * @throws MalformedTreeException if the edit tree is not in a valid state
+	 */
+	UndoEdit performEditsWithoutBuffer(IDocument document) throws BadLocationException, MalformedTreeException {
+		fContentStamp= ContentStamps.get(fFile, document);
+		return super.performEdits(document);
+	}
+
+	/**
+	 * Returns whether this change may be performed together with a long run of other text file
+	 * changes by {@link CompositeChange}. Such a change is not performed through
+	 * {@link #perform(IProgressMonitor)}: its edits are applied to the contents of the file
+	 * without connecting a file buffer, the file is written directly, and the undo change is
+	 * created by {@link #createUndoChange(UndoEdit, ContentStamp)}. None of
+	 * {@link #acquireDocument(IProgressMonitor)}, {@link #performEdits(IDocument)},
+	 * {@link #commit(IDocument, IProgressMonitor)} and
+	 * {@link #releaseDocument(IDocument, IProgressMonitor)} is called.
+	 * <p>
+	 * The default implementation returns <code>true</code> for instances of this class, and
+	 * <code>false</code> for instances of subclasses. Subclasses that override one of the above
+	 * methods may return <code>true</code> if skipping it is correct when no file buffer is
+	 * connected for the file.
+	 * </p>
+	 *
+	 * @return <code>true</code> if this change may be performed without acquiring its document
+	 * @since 3.13
+	 */
+	protected boolean canPerformWithoutBuffer() {
+		return getClass() == TextFileChange.class;
+	}
+
 	/**
 	 * Is the document currently acquired?
 	 *
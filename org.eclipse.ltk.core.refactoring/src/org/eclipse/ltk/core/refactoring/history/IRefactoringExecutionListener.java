@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2008 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,4 +45,40 @@ public interface IRefactoringExecutionListener {
 	 *            the refactoring execution event
 	 */
 	void executionNotification(RefactoringExecutionEvent event);
+
+	/**
+	 * Gets called before the refactorings of a refactoring history or script
+	 * are performed one after the other.
+	 * <p>
+	 * The notification is sent in the thread which performs the refactorings,
+	 * and is followed by the execution events of the individual refactorings,
+	 * and finally by a call to {@link #historyPerformed()}. Listeners may use it
+	 * to keep information across the refactorings of the history, as long as it
+	 * is not invalidated by the changes they perform.
+	 * </p>
+	 * <p>
+	 * The default implementation does nothing.
+	 * </p>
+	 *
+	 * @since 3.13
+	 */
+	default void historyAboutToBePerformed() {
+		// Do nothing
+	}
+
+	/**
+	 * Gets called after the refactorings of a refactoring history or script
+	 * have been performed, regardless of whether they have been performed
+	 * successfully.
+	 * <p>
+	 * The default implementation does nothing.
+	 * </p>
+	 *
+	 * @see #historyAboutToBePerformed()
+	 *
+	 * @since 3.13
+	 */
+	default void historyPerformed() {
+		// Do nothing
+	}
 }
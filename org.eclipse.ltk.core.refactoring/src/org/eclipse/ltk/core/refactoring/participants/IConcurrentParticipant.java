@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.participants;
+
+/**
+ * A tagging interface for {@link RefactoringParticipant}s whose
+ * {@link RefactoringParticipant#checkConditions(org.eclipse.core.runtime.IProgressMonitor, CheckConditionsContext)
+ * checkConditions} method is thread safe. If a refactoring loads more than one
+ * participant tagged with this interface, {@link ProcessorBasedRefactoring} checks
+ * their conditions concurrently, before the conditions of all other participants
+ * are checked one after another.
+ * <p>
+ * A concurrent condition check runs in a worker thread. It must not rely on locks
+ * or scheduling rules held by the thread that checks the final conditions of the
+ * refactoring, and it must not modify the workspace. Condition checkers obtained
+ * from the {@link CheckConditionsContext} are shared with the other participants;
+ * modifications of a checker, for example of the delta factory of the
+ * {@link ResourceChangeChecker}, have to be synchronized on the checker. The
+ * progress monitor passed to a concurrent check only reports cancelation.
+ * </p>
+ * <p>
+ * The statuses of all participants are merged in the order in which the
+ * participants have been loaded, regardless of the order in which the checks
+ * finish.
+ * </p>
+ * <p>
+ * Clients may implement this interface to tag participants as concurrent.
+ * </p>
+ *
+ * @see RefactoringParticipant
+ * @since 3.13
+ */
+public interface IConcurrentParticipant {
+}
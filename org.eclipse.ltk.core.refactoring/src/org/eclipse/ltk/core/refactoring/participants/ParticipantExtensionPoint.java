@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,13 @@ package org.eclipse.ltk.core.refactoring.participants;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.core.expressions.EvaluationContext;
+import org.eclipse.core.expressions.EvaluationResult;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -51,6 +54,52 @@ public class ParticipantExtensionPoint {
 	private Class<?> fParticipantClass;
 	private String fPluginId;
 
+	/**
+	 * The descriptors that may match, by element class, affected natures and processor.
+	 * Descriptors whose enablement only depends on these are evaluated once per key.
+	 */
+	private Map<CandidatesKey, List<Candidate>> fCandidates;
+
+	private static final class CandidatesKey {
+		private final Class<?> fElementClass;
+		private final List<String> fAffectedNatures;
+		private final String fProcessorIdentifier;
+
+		CandidatesKey(Object element, String[] affectedNatures, String processorIdentifier) {
+			fElementClass= element != null ? element.getClass() : null;
+			fAffectedNatures= Arrays.asList(affectedNatures);
+			fProcessorIdentifier= processorIdentifier;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fElementClass, fAffectedNatures, fProcessorIdentifier);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CandidatesKey))
+				return false;
+			CandidatesKey other= (CandidatesKey) obj;
+			return fElementClass == other.fElementClass && fAffectedNatures.equals(other.fAffectedNatures)
+					&& Objects.equals(fProcessorIdentifier, other.fProcessorIdentifier);
+		}
+	}
+
+	private static final class Candidate {
+		final ParticipantDescriptor fDescriptor;
+		/**
+		 * <code>true</code> if the enablement is known to match, <code>false</code> if it
+		 * has to be evaluated for each element
+		 */
+		final boolean fEnabled;
+
+		Candidate(ParticipantDescriptor descriptor, boolean enabled) {
+			fDescriptor= descriptor;
+			fEnabled= enabled;
+		}
+	}
+
 	/**
 	 * Creates a {@link ParticipantExtensionPoint}.
 	 *
@@ -81,19 +130,17 @@ public class ParticipantExtensionPoint {
 	 * @return an array of participants
 	 */
 	public RefactoringParticipant[] getParticipants(RefactoringStatus status, RefactoringProcessor processor, Object element, RefactoringArguments arguments, IParticipantDescriptorFilter filter, String[] affectedNatures, SharableParticipants shared) {
-		if (fParticipants == null)
-			init();
-
 		EvaluationContext evalContext= createEvaluationContext(processor, element, affectedNatures);
 		List<RefactoringParticipant> result= new ArrayList<>();
-		for (Iterator<ParticipantDescriptor> iter= fParticipants.iterator(); iter.hasNext();) {
-			ParticipantDescriptor descriptor= iter.next();
+		for (Candidate candidate : getCandidates(evalContext, element, affectedNatures, processor.getIdentifier())) {
+			ParticipantDescriptor descriptor= candidate.fDescriptor;
 			if (!descriptor.isEnabled()) {
-				iter.remove();
+				removeParticipant(descriptor);
 			} else {
 				try {
 					RefactoringStatus filterStatus= new RefactoringStatus();
-					if (descriptor.matches(evalContext, filter, filterStatus)) {
+					boolean matches= candidate.fEnabled ? descriptor.matchesFilter(filter, filterStatus) : descriptor.matches(evalContext, filter, filterStatus);
+					if (matches) {
 						RefactoringParticipant participant= shared.get(descriptor);
 						if (participant != null) {
 							((ISharableParticipant)participant).addElement(element, arguments);
@@ -114,7 +161,7 @@ public class ParticipantExtensionPoint {
 									Messages.format(
 										RefactoringCoreMessages.ParticipantExtensionPoint_wrong_type,
 										new String[] {descriptor.getName(), fParticipantClass.getName()}));
-								iter.remove();
+								removeParticipant(descriptor);
 							}
 						}
 					} else {
@@ -122,7 +169,7 @@ public class ParticipantExtensionPoint {
 					}
 				} catch (CoreException | RuntimeException e) {
 					logMalfunctioningParticipant(status, descriptor, e);
-					iter.remove();
+					removeParticipant(descriptor);
 				}
 			}
 		}
@@ -130,6 +177,46 @@ public class ParticipantExtensionPoint {
 		return result.toArray(new RefactoringParticipant[result.size()]);
 	}
 
+	/*
+	 * Returns the descriptors that may match elements of the class of the given element.
+	 * Descriptors with a cacheable enablement are evaluated once for all elements of that
+	 * class; they are left out if they do not match, and do not need to be evaluated again
+	 * if they do.
+	 */
+	private synchronized List<Candidate> getCandidates(EvaluationContext evalContext, Object element, String[] affectedNatures, String processorIdentifier) {
+		if (fParticipants == null)
+			init();
+
+		CandidatesKey key= new CandidatesKey(element, affectedNatures, processorIdentifier);
+		List<Candidate> result= fCandidates.get(key);
+		if (result == null) {
+			result= new ArrayList<>(fParticipants.size());
+			for (ParticipantDescriptor descriptor : fParticipants) {
+				if (descriptor.isEnabled() && descriptor.isEnablementCacheable()) {
+					EvaluationResult enablement;
+					try {
+						enablement= descriptor.evaluateEnablement(evalContext);
+					} catch (CoreException | RuntimeException e) {
+						// evaluate again for the element, which reports the problem
+						enablement= EvaluationResult.NOT_LOADED;
+					}
+					if (enablement == EvaluationResult.FALSE)
+						continue;
+					result.add(new Candidate(descriptor, enablement == EvaluationResult.TRUE));
+				} else {
+					result.add(new Candidate(descriptor, false));
+				}
+			}
+			fCandidates.put(key, result);
+		}
+		return result;
+	}
+
+	private synchronized void removeParticipant(ParticipantDescriptor descriptor) {
+		if (fParticipants.remove(descriptor))
+			fCandidates.clear();
+	}
+
 	private void logMalfunctioningParticipant(RefactoringStatus status, ParticipantDescriptor descriptor, Throwable e) {
 		status.addError(Messages.format(
 			RefactoringCoreMessages.ParticipantExtensionPoint_participant_removed,
@@ -141,6 +228,7 @@ public class ParticipantExtensionPoint {
 		IExtensionRegistry registry= Platform.getExtensionRegistry();
 		IConfigurationElement[] ces= registry.getConfigurationElementsFor(fPluginId, fParticipantID);
 		fParticipants= new ArrayList<>(ces.length);
+		fCandidates= new HashMap<>();
 		for (IConfigurationElement ce : ces) {
 			ParticipantDescriptor descriptor= new ParticipantDescriptor(ce);
 			IStatus status= descriptor.checkSyntax();
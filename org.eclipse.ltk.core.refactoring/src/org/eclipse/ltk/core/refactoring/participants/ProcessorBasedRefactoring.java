@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,6 +50,7 @@ import org.eclipse.ltk.internal.core.refactoring.Messages;
 import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.SharedExecutor;
 
 /**
  * An base implementation for refactorings that are split into
@@ -75,6 +80,30 @@ public class ProcessorBasedRefactoring extends Refactoring {
 
 	private static final List<RefactoringParticipant> EMPTY_PARTICIPANTS= Collections.emptyList();
 
+	/**
+	 * Interval in milliseconds in which cancelation is polled while waiting for
+	 * concurrent condition checks.
+	 */
+	private static final long CANCEL_POLL_INTERVAL= 50;
+
+	/**
+	 * The monitor shared by concurrent condition checks. It only reports the
+	 * cancelation, which is forwarded from the monitor of the refactoring.
+	 */
+	private static class ConcurrentCheckMonitor extends NullProgressMonitor {
+		private volatile boolean fCanceled;
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled= canceled;
+		}
+	}
+
 	private static class ProcessorChange extends CompositeChange {
 		private Map<Change, RefactoringParticipant> fParticipantMap;
 		private List<RefactoringParticipant> fPreChangeParticipants; // can be null
@@ -246,15 +275,21 @@ public class ProcessorBasedRefactoring extends Refactoring {
 		IProgressMonitor sm= new SubProgressMonitor(pm, 2);
 
 		sm.beginTask("", fParticipants.size()); //$NON-NLS-1$
+		Map<RefactoringParticipant, Future<RefactoringStatus>> concurrentChecks= checkConditionsConcurrently(sm, context);
 		for (Iterator<RefactoringParticipant> iter= fParticipants.iterator(); iter.hasNext() && !result.hasFatalError(); ) {
 
 			RefactoringParticipant participant= iter.next();
+			Future<RefactoringStatus> concurrentCheck= concurrentChecks.get(participant);
 
 			final PerformanceStats stats= PerformanceStats.getStats(PERF_CHECK_CONDITIONS, getName() + ", " + participant.getName()); //$NON-NLS-1$
-			stats.startRun();
+			if (concurrentCheck == null)
+				stats.startRun();
 
 			try {
-				result.merge(participant.checkConditions(new SubProgressMonitor(sm, 1), context));
+				if (concurrentCheck != null)
+					result.merge(getResult(concurrentCheck));
+				else
+					result.merge(participant.checkConditions(new SubProgressMonitor(sm, 1), context));
 			} catch (OperationCanceledException e) {
 				throw e;
 			} catch (RuntimeException e) {
@@ -266,7 +301,8 @@ public class ProcessorBasedRefactoring extends Refactoring {
 				iter.remove();
 			}
 
-			stats.endRun();
+			if (concurrentCheck == null)
+				stats.endRun();
 
 			if (sm.isCanceled())
 				throw new OperationCanceledException();
@@ -407,6 +443,89 @@ public class ProcessorBasedRefactoring extends Refactoring {
 
 	//---- Helper methods ---------------------------------------------------------------------
 
+	/**
+	 * Checks the conditions of all participants tagged as {@link IConcurrentParticipant}
+	 * concurrently, if there are at least two of them, and waits for the checks to finish.
+	 *
+	 * @param pm the progress monitor, which receives one unit of work per finished check
+	 * @param context the condition checking context
+	 * @return the finished checks by participant, empty if no check ran concurrently
+	 */
+	private Map<RefactoringParticipant, Future<RefactoringStatus>> checkConditionsConcurrently(IProgressMonitor pm, CheckConditionsContext context) {
+		List<RefactoringParticipant> participants= new ArrayList<>();
+		for (RefactoringParticipant participant : fParticipants) {
+			if (participant instanceof IConcurrentParticipant)
+				participants.add(participant);
+		}
+		if (participants.size() < 2)
+			return Collections.emptyMap();
+
+		ConcurrentCheckMonitor monitor= new ConcurrentCheckMonitor();
+		Map<RefactoringParticipant, Future<RefactoringStatus>> result= new HashMap<>();
+		for (RefactoringParticipant participant : participants) {
+			final PerformanceStats stats= PerformanceStats.getStats(PERF_CHECK_CONDITIONS, getName() + ", " + participant.getName()); //$NON-NLS-1$
+			result.put(participant, SharedExecutor.getExecutor().submit(() -> {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				stats.startRun();
+				try {
+					return participant.checkConditions(monitor, context);
+				} finally {
+					stats.endRun();
+				}
+			}));
+		}
+		for (Future<RefactoringStatus> check : result.values()) {
+			while (!check.isDone()) {
+				try {
+					check.get(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (pm.isCanceled())
+						cancel(monitor, result);
+					SharedExecutor.runInCallingThread(check);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					cancel(monitor, result);
+				} catch (ExecutionException e) {
+					// reported when the result is merged
+				}
+			}
+			pm.worked(1);
+		}
+		if (monitor.isCanceled()) {
+			// a participant canceled the refactoring
+			pm.setCanceled(true);
+			throw new OperationCanceledException();
+		}
+		return result;
+	}
+
+	private static void cancel(ConcurrentCheckMonitor monitor, Map<RefactoringParticipant, Future<RefactoringStatus>> checks) {
+		monitor.setCanceled(true);
+		for (Future<RefactoringStatus> check : checks.values()) {
+			check.cancel(false);
+		}
+		throw new OperationCanceledException();
+	}
+
+	private static RefactoringStatus getResult(Future<RefactoringStatus> check) throws CoreException {
+		try {
+			return check.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
 	private CheckConditionsContext createCheckConditionsContext() throws CoreException {
 		CheckConditionsContext result= new CheckConditionsContext();
 		result.add(new ValidateEditChecker(getValidationContext()));
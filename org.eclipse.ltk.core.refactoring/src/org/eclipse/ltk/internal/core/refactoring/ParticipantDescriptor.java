@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,11 +34,23 @@ public class ParticipantDescriptor {
 	private IConfigurationElement fConfigurationElement;
 	private boolean fEnabled;
 
+	private Expression fEnablement;
+	private Boolean fEnablementCacheable;
+
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String NAME= "name";  //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 	private static final String PROCESS_ON_CANCEL= "processOnCancel";  //$NON-NLS-1$
 
+	private static final String VARIABLE= "variable"; //$NON-NLS-1$
+
+	/**
+	 * Variables of the evaluation context whose values are part of the key under
+	 * which the enablement results are cached.
+	 */
+	private static final String[] KEY_VARIABLES= { "affectedNatures", "processorIdentifier" }; //$NON-NLS-1$ //$NON-NLS-2$
+	private static final String ELEMENT_VARIABLE= "element"; //$NON-NLS-1$
+
 	public ParticipantDescriptor(IConfigurationElement element) {
 		fConfigurationElement= element;
 		fEnabled= true;
@@ -71,19 +83,102 @@ public class ParticipantDescriptor {
 	}
 
 	public boolean matches(IEvaluationContext context, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
-		IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
-		if (elements.length == 0)
-			return false;
-		Assert.isTrue(elements.length == 1);
-		Expression exp= ExpressionConverter.getDefault().perform(elements[0]);
-		if (!convert(exp.evaluate(context)))
+		if (!convert(evaluateEnablement(context)))
 			return false;
+		return matchesFilter(filter, status);
+	}
+
+	/**
+	 * Evaluates the enablement expression of the participant.
+	 *
+	 * @param context the evaluation context
+	 * @return the result of the evaluation, {@link EvaluationResult#FALSE} if the
+	 *  participant has no enablement
+	 * @throws CoreException if the expression cannot be evaluated
+	 */
+	public EvaluationResult evaluateEnablement(IEvaluationContext context) throws CoreException {
+		Expression enablement= getEnablement();
+		if (enablement == null)
+			return EvaluationResult.FALSE;
+		return enablement.evaluate(context);
+	}
+
+	/**
+	 * Checks the given filter, which is consulted after the enablement matched.
+	 *
+	 * @param filter the filter, or <code>null</code>
+	 * @param status the status to report problems
+	 * @return whether the filter accepts the participant
+	 */
+	public boolean matchesFilter(IParticipantDescriptorFilter filter, RefactoringStatus status) {
 		if (filter != null && !filter.select(fConfigurationElement, status))
 			return false;
+		return true;
+	}
+
+	/**
+	 * Returns whether the result of the enablement expression only depends on the
+	 * class of the element, the affected natures and the processor identifier. This
+	 * is the case if the element is only tested with <code>instanceof</code>, and
+	 * no property testers, adapters, system properties or other variables are
+	 * involved.
+	 *
+	 * @return <code>true</code> if the enablement result can be cached per element
+	 *  class, affected natures and processor
+	 */
+	public synchronized boolean isEnablementCacheable() {
+		if (fEnablementCacheable == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			fEnablementCacheable= Boolean.valueOf(elements.length == 1 && isCacheable(elements[0], true));
+		}
+		return fEnablementCacheable.booleanValue();
+	}
 
+	private static boolean isCacheable(IConfigurationElement element, boolean testsElement) {
+		String name= element.getName();
+		if (ExpressionTagNames.WITH.equals(name)) {
+			String variable= element.getAttribute(VARIABLE);
+			if (ELEMENT_VARIABLE.equals(variable)) {
+				testsElement= true;
+			} else if (isKeyVariable(variable)) {
+				testsElement= false;
+			} else {
+				return false;
+			}
+		} else if (ExpressionTagNames.EQUALS.equals(name) || ExpressionTagNames.ITERATE.equals(name) || ExpressionTagNames.COUNT.equals(name)) {
+			// these depend on the value, which is only part of the key for the other variables
+			if (testsElement)
+				return false;
+		} else if (!ExpressionTagNames.ENABLEMENT.equals(name) && !ExpressionTagNames.AND.equals(name) && !ExpressionTagNames.OR.equals(name)
+				&& !ExpressionTagNames.NOT.equals(name) && !ExpressionTagNames.INSTANCEOF.equals(name)) {
+			return false;
+		}
+		for (IConfigurationElement child : element.getChildren()) {
+			if (!isCacheable(child, testsElement))
+				return false;
+		}
 		return true;
 	}
 
+	private static boolean isKeyVariable(String variable) {
+		for (String keyVariable : KEY_VARIABLES) {
+			if (keyVariable.equals(variable))
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized Expression getEnablement() throws CoreException {
+		if (fEnablement == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			if (elements.length == 0)
+				return null;
+			Assert.isTrue(elements.length == 1);
+			fEnablement= ExpressionConverter.getDefault().perform(elements[0]);
+		}
+		return fEnablement;
+	}
+
 	public RefactoringParticipant createParticipant() throws CoreException {
 		return (RefactoringParticipant)fConfigurationElement.createExecutableExtension(CLASS);
 	}
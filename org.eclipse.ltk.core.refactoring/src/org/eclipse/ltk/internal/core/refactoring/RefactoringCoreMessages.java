@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -225,6 +225,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String RefactoringSessionReader_unsupported_version_information;
 
+	public static String RefactoringSessionWriter_invalid_argument_name;
+
 	public static String RefactoringUndoContext_label;
 
 	public static String Resources_fileModified;
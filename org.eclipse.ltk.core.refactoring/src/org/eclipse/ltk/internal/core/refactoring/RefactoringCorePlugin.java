@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.ltk.core.refactoring.IUndoManager;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryListener;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringContributionManager;
+import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryQueue;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistorySerializer;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryService;
 
@@ -116,6 +117,7 @@ public class RefactoringCorePlugin extends Plugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		RefactoringHistoryQueue.getInstance().startup();
 		RefactoringContributionManager.getInstance().connect();
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
 		service.connect();
@@ -137,7 +139,10 @@ public class RefactoringCorePlugin extends Plugin {
 		service.disconnect();
 		if (fRefactoringHistoryListener != null)
 			service.removeHistoryListener(fRefactoringHistoryListener);
+		RefactoringHistoryQueue.getInstance().shutdown();
 		RefactoringContributionManager.getInstance().disconnect();
+		StoredUndoEdit.shutdown();
+		SharedExecutor.shutdown();
 		super.stop(context);
 	}
 
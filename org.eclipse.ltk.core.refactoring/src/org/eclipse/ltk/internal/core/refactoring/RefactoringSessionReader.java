@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2008 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,25 +13,19 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
-import org.xml.sax.Locator;
-import org.xml.sax.SAXException;
-import org.xml.sax.SAXNotRecognizedException;
-import org.xml.sax.SAXNotSupportedException;
-import org.xml.sax.SAXParseException;
-import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.DefaultHandler;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -46,10 +40,16 @@ import org.eclipse.ltk.internal.core.refactoring.history.RefactoringContribution
 
 /**
  * Refactoring session reader for XML-based refactoring sessions.
+ * <p>
+ * The session is read with a streaming parser. Clients may either read it at once with
+ * {@link #readSession(InputSource)}, or read one refactoring after the other with
+ * {@link #beginSession(InputSource)}, {@link #nextRefactoring()} and
+ * {@link #endSession()}, without keeping the refactorings read before in memory.
+ * </p>
  *
  * @since 3.2
  */
-public final class RefactoringSessionReader extends DefaultHandler {
+public final class RefactoringSessionReader {
 
 	/** The comment of the refactoring session, or <code>null</code> */
 	private String fComment= null;
@@ -62,20 +62,18 @@ public final class RefactoringSessionReader extends DefaultHandler {
 
 	private final boolean fCreateDefaultDescriptors;
 
-	/**
-	 * The current list of refactoring descriptors, or <code>null</code>
-	 * (element type: <code>RefactoringDescriptor</code>)
-	 */
-	private List<RefactoringDescriptor> fRefactoringDescriptors= null;
+	/** The parser of the current session, or <code>null</code> */
+	private XMLStreamReader fReader= null;
 
 	/** Has a session been found during parsing? */
 	private boolean fSessionFound= false;
 
+	/** Has the version of the session been checked? */
+	private boolean fVersionChecked= false;
+
 	/** The current version of the refactoring script, or <code>null</code> */
 	private String fVersion= null;
 
-	private Locator fLocator;
-
 	/**
 	 * Creates a new refactoring session reader.
 	 *
@@ -96,30 +94,27 @@ public final class RefactoringSessionReader extends DefaultHandler {
 	}
 
 	/**
-	 * Creates a new parser from the specified factory.
+	 * Creates a new parser for the specified input source.
 	 *
-	 * @param factory
-	 *            the parser factoring to use
+	 * @param source
+	 *            the input source
 	 * @return the created parser
-	 * @throws ParserConfigurationException
-	 *             if no parser is available with the given configuration
-	 * @throws SAXException
+	 * @throws XMLStreamException
 	 *             if an error occurs while creating the parser
 	 */
-	private SAXParser createParser(final SAXParserFactory factory) throws ParserConfigurationException, SAXException {
-
-		final SAXParser parser= factory.newSAXParser();
-		final XMLReader reader= parser.getXMLReader();
-
+	private static XMLStreamReader createParser(final InputSource source) throws XMLStreamException {
+		final XMLInputFactory factory= XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
 		try {
-
-			reader.setFeature("http://xml.org/sax/features/validation", false); //$NON-NLS-1$
-			reader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false); //$NON-NLS-1$
-
-		} catch (SAXNotRecognizedException | SAXNotSupportedException exception) {
+			factory.setProperty("http://java.sun.com/xml/stream/properties/ignore-external-dtd", Boolean.TRUE); //$NON-NLS-1$
+		} catch (IllegalArgumentException exception) {
 			// Do nothing
 		}
-		return parser;
+		if (source.getCharacterStream() != null)
+			return factory.createXMLStreamReader("/", source.getCharacterStream()); //$NON-NLS-1$
+		return factory.createXMLStreamReader("/", source.getByteStream()); //$NON-NLS-1$
 	}
 
 	/**
@@ -133,125 +128,218 @@ public final class RefactoringSessionReader extends DefaultHandler {
 	 *             if an error occurs while reading form the input source
 	 */
 	public RefactoringSessionDescriptor readSession(final InputSource source) throws CoreException {
-		fSessionFound= false;
+		List<RefactoringDescriptor> descriptors= null;
+		beginSession(source);
 		try {
-			source.setSystemId("/"); //$NON-NLS-1$
-			createParser(SAXParserFactory.newInstance()).parse(source, this);
-			if (!fSessionFound)
-				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_FORMAT_ERROR, RefactoringCoreMessages.RefactoringSessionReader_no_session, null));
-			if (fRefactoringDescriptors != null) {
-				if (fVersion == null || "".equals(fVersion)) //$NON-NLS-1$
-					throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.MISSING_REFACTORING_HISTORY_VERSION, RefactoringCoreMessages.RefactoringSessionReader_missing_version_information, null));
-				if (!IRefactoringSerializationConstants.CURRENT_VERSION.equals(fVersion))
-					throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.UNSUPPORTED_REFACTORING_HISTORY_VERSION, RefactoringCoreMessages.RefactoringSessionReader_unsupported_version_information, null));
-				return new RefactoringSessionDescriptor(fRefactoringDescriptors.toArray(new RefactoringDescriptor[fRefactoringDescriptors.size()]), fVersion, fComment);
+			RefactoringDescriptor descriptor;
+			while ((descriptor= nextRefactoring()) != null) {
+				if (descriptors == null)
+					descriptors= new ArrayList<>();
+				descriptors.add(descriptor);
 			}
-		} catch (SAXParseException exception) {
-			String message= Messages.format(RefactoringCoreMessages.RefactoringSessionReader_invalid_contents_at,
-					new Object[] {
-							Integer.toString(exception.getLineNumber()),
-							Integer.toString(exception.getColumnNumber())
-			});
-			throwCoreException(exception, message);
-		} catch (IOException | ParserConfigurationException | SAXException exception) {
-			throwCoreException(exception, exception.getLocalizedMessage());
+			if (descriptors != null)
+				return new RefactoringSessionDescriptor(descriptors.toArray(new RefactoringDescriptor[descriptors.size()]), fVersion, fComment);
 		} finally {
-			fRefactoringDescriptors= null;
-			fVersion= null;
-			fComment= null;
-			fLocator= null;
+			endSession();
 		}
 		return null;
 	}
 
-	private void throwCoreException(Exception exception, String message) throws CoreException {
-		throw new CoreException(new Status(IStatus.ERROR,
-				RefactoringCorePlugin.getPluginId(),
-				IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR,
-				message,
-				exception));
-	}
-
-	/*
-	 * @see org.xml.sax.helpers.DefaultHandler#setDocumentLocator(org.xml.sax.Locator)
+	/**
+	 * Begins reading a refactoring session from the specified input object.
+	 * <p>
+	 * Calls to this method must be balanced with calls to {@link #endSession()}.
+	 * </p>
+	 *
+	 * @param source
+	 *            the input source, which is not closed by this reader
+	 * @throws CoreException
+	 *             if an error occurs while reading from the input source
 	 */
-	@Override
-	public void setDocumentLocator(Locator locator) {
-		fLocator= locator;
+	public void beginSession(final InputSource source) throws CoreException {
+		endSession();
+		try {
+			fReader= createParser(source);
+		} catch (XMLStreamException exception) {
+			throwCoreException(exception);
+		}
 	}
 
-	@Override
-	public void startElement(final String uri, final String localName, final String qualifiedName, final Attributes attributes) throws SAXException {
-		if (IRefactoringSerializationConstants.ELEMENT_REFACTORING.equals(qualifiedName)) {
-			final int length= attributes.getLength();
-			final Map<String, String> map= new HashMap<>(length);
-			String id= ""; //$NON-NLS-1$
-			String stamp= ""; //$NON-NLS-1$
-			String description= ""; //$NON-NLS-1$
-			String comment= null;
-			String flags= "0"; //$NON-NLS-1$
-			String project= null;
-			for (int index= 0; index < length; index++) {
-				final String name= attributes.getQName(index);
-				final String value= attributes.getValue(index);
-				if (IRefactoringSerializationConstants.ATTRIBUTE_ID.equals(name)) {
-					id= value;
-				} else if (IRefactoringSerializationConstants.ATTRIBUTE_STAMP.equals(name)) {
-					stamp= value;
-				} else if (IRefactoringSerializationConstants.ATTRIBUTE_DESCRIPTION.equals(name)) {
-					description= value;
-				} else if (IRefactoringSerializationConstants.ATTRIBUTE_FLAGS.equals(name)) {
-					flags= value;
-				} else if (IRefactoringSerializationConstants.ATTRIBUTE_COMMENT.equals(name)) {
-					if (!"".equals(value)) //$NON-NLS-1$
-						comment= value;
-				} else if (IRefactoringSerializationConstants.ATTRIBUTE_PROJECT.equals(name)) {
-					project= value;
-				} else if (!"".equals(name)) { //$NON-NLS-1$
-					map.put(name, value);
+	/**
+	 * Reads the next refactoring of the current session.
+	 *
+	 * @return the next refactoring descriptor, or <code>null</code> if all refactorings
+	 *         have been read
+	 * @throws CoreException
+	 *             if an error occurs while reading from the input source, or if the
+	 *             session is not supported
+	 */
+	public RefactoringDescriptor nextRefactoring() throws CoreException {
+		if (fReader == null)
+			return null;
+		try {
+			while (fReader.hasNext()) {
+				if (fReader.next() != XMLStreamConstants.START_ELEMENT)
+					continue;
+				final String name= getName(fReader.getName());
+				if (IRefactoringSerializationConstants.ELEMENT_REFACTORING.equals(name)) {
+					checkVersion();
+					return createDescriptor();
+				} else if (IRefactoringSerializationConstants.ELEMENT_SESSION.equals(name)) {
+					fSessionFound= true;
+					final String version= getAttribute(IRefactoringSerializationConstants.ATTRIBUTE_VERSION);
+					if (version != null && !"".equals(version)) //$NON-NLS-1$
+						fVersion= version;
+					fComment= getAttribute(IRefactoringSerializationConstants.ATTRIBUTE_COMMENT);
 				}
 			}
-			int flag= 0;
+			if (!fSessionFound)
+				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_FORMAT_ERROR, RefactoringCoreMessages.RefactoringSessionReader_no_session, null));
+		} catch (XMLStreamException exception) {
+			throwCoreException(exception);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the comment of the current session.
+	 *
+	 * @return the comment, or <code>null</code>
+	 */
+	public String getComment() {
+		return fComment;
+	}
+
+	/**
+	 * Returns the version of the current session.
+	 *
+	 * @return the version, or <code>null</code>
+	 */
+	public String getVersion() {
+		return fVersion;
+	}
+
+	/**
+	 * Ends reading the current refactoring session.
+	 * <p>
+	 * If no refactoring session is currently read, this call has no effect.
+	 * </p>
+	 */
+	public void endSession() {
+		if (fReader != null) {
 			try {
-				flag= Integer.parseInt(flags);
-			} catch (NumberFormatException exception) {
+				fReader.close();
+			} catch (XMLStreamException exception) {
 				// Do nothing
 			}
+		}
+		fReader= null;
+		fSessionFound= false;
+		fVersionChecked= false;
+		fVersion= null;
+		fComment= null;
+	}
 
-			RefactoringDescriptor descriptor= null;
-			if (fCreateDefaultDescriptors) {
-				descriptor= new DefaultRefactoringDescriptor(id, project, description, comment, map, flag);
-			} else {
-				if (fProject != null && project == null) {
-					project= fProject; // override project from file if fProject != null
-				}
-				try {
-					descriptor= RefactoringContributionManager.getInstance().createDescriptor(id, project, description, comment, map, flag);
-				} catch (RuntimeException e) {
-					throw new SAXParseException(RefactoringCoreMessages.RefactoringSessionReader_invalid_values_in_xml, fLocator, e) {
-						private static final long serialVersionUID= 1L;
-						@Override
-						public Throwable getCause() { // support proper 1.4-style exception chaining
-							return getException();
-						}
-					};
-				}
+	private void checkVersion() throws CoreException {
+		if (fVersionChecked)
+			return;
+		if (!fSessionFound)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_FORMAT_ERROR, RefactoringCoreMessages.RefactoringSessionReader_no_session, null));
+		if (fVersion == null || "".equals(fVersion)) //$NON-NLS-1$
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.MISSING_REFACTORING_HISTORY_VERSION, RefactoringCoreMessages.RefactoringSessionReader_missing_version_information, null));
+		if (!IRefactoringSerializationConstants.CURRENT_VERSION.equals(fVersion))
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.UNSUPPORTED_REFACTORING_HISTORY_VERSION, RefactoringCoreMessages.RefactoringSessionReader_unsupported_version_information, null));
+		fVersionChecked= true;
+	}
+
+	private RefactoringDescriptor createDescriptor() throws XMLStreamException {
+		final int length= fReader.getAttributeCount();
+		final Map<String, String> map= new HashMap<>(length);
+		String id= ""; //$NON-NLS-1$
+		String stamp= ""; //$NON-NLS-1$
+		String description= ""; //$NON-NLS-1$
+		String comment= null;
+		String flags= "0"; //$NON-NLS-1$
+		String project= null;
+		for (int index= 0; index < length; index++) {
+			final String name= getName(fReader.getAttributeName(index));
+			final String value= fReader.getAttributeValue(index);
+			if (IRefactoringSerializationConstants.ATTRIBUTE_ID.equals(name)) {
+				id= value;
+			} else if (IRefactoringSerializationConstants.ATTRIBUTE_STAMP.equals(name)) {
+				stamp= value;
+			} else if (IRefactoringSerializationConstants.ATTRIBUTE_DESCRIPTION.equals(name)) {
+				description= value;
+			} else if (IRefactoringSerializationConstants.ATTRIBUTE_FLAGS.equals(name)) {
+				flags= value;
+			} else if (IRefactoringSerializationConstants.ATTRIBUTE_COMMENT.equals(name)) {
+				if (!"".equals(value)) //$NON-NLS-1$
+					comment= value;
+			} else if (IRefactoringSerializationConstants.ATTRIBUTE_PROJECT.equals(name)) {
+				project= value;
+			} else if (!"".equals(name)) { //$NON-NLS-1$
+				map.put(name, value);
+			}
+		}
+		int flag= 0;
+		try {
+			flag= Integer.parseInt(flags);
+		} catch (NumberFormatException exception) {
+			// Do nothing
+		}
+
+		RefactoringDescriptor descriptor= null;
+		if (fCreateDefaultDescriptors) {
+			descriptor= new DefaultRefactoringDescriptor(id, project, description, comment, map, flag);
+		} else {
+			if (fProject != null && project == null) {
+				project= fProject; // override project from file if fProject != null
 			}
 			try {
-				descriptor.setTimeStamp(Long.parseLong(stamp));
-			} catch (NumberFormatException exception) {
-				// Do nothing
+				descriptor= RefactoringContributionManager.getInstance().createDescriptor(id, project, description, comment, map, flag);
+			} catch (RuntimeException e) {
+				throw new XMLStreamException(RefactoringCoreMessages.RefactoringSessionReader_invalid_values_in_xml, fReader.getLocation(), e);
 			}
-			if (fRefactoringDescriptors == null)
-				fRefactoringDescriptors= new ArrayList<>();
-			fRefactoringDescriptors.add(descriptor);
+		}
+		try {
+			descriptor.setTimeStamp(Long.parseLong(stamp));
+		} catch (NumberFormatException exception) {
+			// Do nothing
+		}
+		return descriptor;
+	}
+
+	private String getAttribute(final String name) {
+		for (int index= 0; index < fReader.getAttributeCount(); index++) {
+			if (name.equals(getName(fReader.getAttributeName(index))))
+				return fReader.getAttributeValue(index);
+		}
+		return null;
+	}
+
+	private static String getName(final QName name) {
+		final String prefix= name.getPrefix();
+		if (prefix == null || "".equals(prefix)) //$NON-NLS-1$
+			return name.getLocalPart();
+		return prefix + ':' + name.getLocalPart();
+	}
 
-		} else if (IRefactoringSerializationConstants.ELEMENT_SESSION.equals(qualifiedName)) {
-			fSessionFound= true;
-			final String version= attributes.getValue(IRefactoringSerializationConstants.ATTRIBUTE_VERSION);
-			if (version != null && !"".equals(version)) //$NON-NLS-1$
-				fVersion= version;
-			fComment= attributes.getValue(IRefactoringSerializationConstants.ATTRIBUTE_COMMENT);
+	private static void throwCoreException(final XMLStreamException exception) throws CoreException {
+		final Location location= exception.getLocation();
+		String message;
+		if (location != null && location.getLineNumber() >= 0) {
+			message= Messages.format(RefactoringCoreMessages.RefactoringSessionReader_invalid_contents_at,
+					new Object[] {
+							Integer.toString(location.getLineNumber()),
+							Integer.toString(location.getColumnNumber())
+			});
+		} else {
+			message= exception.getLocalizedMessage();
 		}
+		throw new CoreException(new Status(IStatus.ERROR,
+				RefactoringCorePlugin.getPluginId(),
+				IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR,
+				message,
+				exception));
 	}
 }
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
+
+/**
+ * Streaming writer for XML-based refactoring sessions.
+ * <p>
+ * Each refactoring is written as soon as it has been ended, so sessions of any size can
+ * be written without keeping them in memory. The output is the same as the one of the
+ * DOM based refactoring history: attributes are written in ascending order of their
+ * names, and line delimiters and special characters in attribute values are written as
+ * character references.
+ * </p>
+ */
+public final class RefactoringSessionWriter {
+
+	/** The XML declaration */
+	private static final String XML_VERSION= "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"; //$NON-NLS-1$
+
+	/** The line delimiter */
+	private static final String LINE_DELIMITER= System.lineSeparator();
+
+	/** Should project information be included? */
+	private final boolean fProjects;
+
+	/** The writer to write to */
+	private final Writer fWriter;
+
+	/** The attributes of the current refactoring, or <code>null</code> */
+	private Map<String, String> fRefactoringArguments= null;
+
+	/**
+	 * The attributes of the current session if its start tag has not been written yet,
+	 * or <code>null</code>
+	 */
+	private Map<String, String> fSessionArguments= null;
+
+	/** Is a session currently written? */
+	private boolean fSession= false;
+
+	/**
+	 * Creates a new refactoring session writer.
+	 *
+	 * @param stream
+	 *            the output stream to write to. The stream is flushed but not closed by
+	 *            {@link #endSession()}.
+	 * @param projects
+	 *            <code>true</code> to include project information,
+	 *            <code>false</code> otherwise
+	 */
+	public RefactoringSessionWriter(final OutputStream stream, final boolean projects) {
+		Assert.isNotNull(stream);
+		fWriter= new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+		fProjects= projects;
+	}
+
+	/**
+	 * Begins writing a refactoring session.
+	 * <p>
+	 * Calls to {@link #beginSession(String, String)} must be balanced with calls to
+	 * {@link #endSession()}. If the writer is already writing a session, nothing
+	 * happens.
+	 * </p>
+	 *
+	 * @param comment
+	 *            the comment associated with the refactoring session, or
+	 *            <code>null</code>
+	 * @param version
+	 *            the non-empty version tag
+	 * @throws CoreException
+	 *             if an error occurs while writing the session
+	 */
+	public void beginSession(final String comment, final String version) throws CoreException {
+		Assert.isNotNull(version);
+		if (!fSession) {
+			fSession= true;
+			fSessionArguments= new TreeMap<>();
+			fSessionArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_VERSION, version);
+			if (comment != null && !"".equals(comment)) //$NON-NLS-1$
+				fSessionArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_COMMENT, comment);
+			try {
+				fWriter.write(XML_VERSION);
+				fWriter.write(LINE_DELIMITER);
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			}
+		}
+	}
+
+	/**
+	 * Begins writing a refactoring specified by the given arguments.
+	 * <p>
+	 * Calls to {@link #beginRefactoring(String, long, String, String, String, int)} must
+	 * be balanced with calls to {@link #endRefactoring()}. If the writer is already
+	 * writing a refactoring, or is not writing a session, nothing happens.
+	 * </p>
+	 *
+	 * @param id
+	 *            the unique identifier of the refactoring
+	 * @param stamp
+	 *            the time stamp of the refactoring, or <code>-1</code>
+	 * @param project
+	 *            the non-empty name of the project this refactoring is
+	 *            associated with, or <code>null</code>
+	 * @param description
+	 *            a human-readable description of the refactoring
+	 * @param comment
+	 *            the comment associated with the refactoring, or
+	 *            <code>null</code>
+	 * @param flags
+	 *            the flags associated with refactoring
+	 */
+	public void beginRefactoring(final String id, final long stamp, final String project, final String description, final String comment, final int flags) {
+		Assert.isNotNull(id);
+		Assert.isNotNull(description);
+		Assert.isTrue(flags >= RefactoringDescriptor.NONE);
+		if (fSession && fRefactoringArguments == null) {
+			fRefactoringArguments= new TreeMap<>();
+			fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_ID, id);
+			if (stamp >= 0)
+				fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_STAMP, Long.toString(stamp));
+			if (flags != RefactoringDescriptor.NONE)
+				fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_FLAGS, String.valueOf(flags));
+			fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_DESCRIPTION, description);
+			if (comment != null && !"".equals(comment)) //$NON-NLS-1$
+				fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_COMMENT, comment);
+			if (project != null && fProjects)
+				fRefactoringArguments.put(IRefactoringSerializationConstants.ATTRIBUTE_PROJECT, project);
+		}
+	}
+
+	/**
+	 * Creates a refactoring argument with the specified name and value.
+	 * <p>
+	 * If no refactoring is currently written, this call has no effect.
+	 * </p>
+	 *
+	 * @param name
+	 *            the non-empty name of the argument
+	 * @param value
+	 *            the value of the argument
+	 * @throws CoreException
+	 *             if the name is not a valid attribute name
+	 */
+	public void createArgument(final String name, final String value) throws CoreException {
+		Assert.isNotNull(name);
+		Assert.isTrue(!"".equals(name)); //$NON-NLS-1$
+		Assert.isNotNull(value);
+		if (fRefactoringArguments != null) {
+			if (!isValidName(name))
+				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_FORMAT_ERROR, Messages.format(RefactoringCoreMessages.RefactoringSessionWriter_invalid_argument_name, name), null));
+			fRefactoringArguments.put(name, value);
+		}
+	}
+
+	private static boolean isValidName(final String name) {
+		final char first= name.charAt(0);
+		if (!Character.isLetter(first) && first != '_' && first != ':')
+			return false;
+		for (int index= 1; index < name.length(); index++) {
+			final char character= name.charAt(index);
+			if (!Character.isLetterOrDigit(character) && character != '_' && character != ':' && character != '-' && character != '.')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Ends and writes the current refactoring.
+	 * <p>
+	 * If no refactoring is currently written, this call has no effect.
+	 * </p>
+	 *
+	 * @throws CoreException
+	 *             if an error occurs while writing the refactoring
+	 */
+	public void endRefactoring() throws CoreException {
+		if (fRefactoringArguments != null) {
+			final Map<String, String> arguments= fRefactoringArguments;
+			fRefactoringArguments= null;
+			try {
+				if (fSessionArguments != null) {
+					writeStartTag(IRefactoringSerializationConstants.ELEMENT_SESSION, fSessionArguments, false);
+					fSessionArguments= null;
+				}
+				fWriter.write(LINE_DELIMITER);
+				writeStartTag(IRefactoringSerializationConstants.ELEMENT_REFACTORING, arguments, true);
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			}
+		}
+	}
+
+	/**
+	 * Ends writing the current refactoring session, and flushes the output stream.
+	 * <p>
+	 * If no refactoring session is currently written, this call has no effect.
+	 * </p>
+	 *
+	 * @throws CoreException
+	 *             if an error occurs while writing the session
+	 */
+	public void endSession() throws CoreException {
+		if (fSession) {
+			fSession= false;
+			fRefactoringArguments= null;
+			try {
+				if (fSessionArguments != null) {
+					writeStartTag(IRefactoringSerializationConstants.ELEMENT_SESSION, fSessionArguments, true);
+					fSessionArguments= null;
+				} else {
+					fWriter.write(LINE_DELIMITER);
+					fWriter.write("</"); //$NON-NLS-1$
+					fWriter.write(IRefactoringSerializationConstants.ELEMENT_SESSION);
+					fWriter.write('>');
+				}
+				fWriter.flush();
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			}
+		}
+	}
+
+	private void writeStartTag(final String name, final Map<String, String> attributes, final boolean empty) throws IOException {
+		fWriter.write('<');
+		fWriter.write(name);
+		for (Entry<String, String> entry : attributes.entrySet()) {
+			fWriter.write(' ');
+			fWriter.write(entry.getKey());
+			fWriter.write("=\""); //$NON-NLS-1$
+			writeEscaped(entry.getValue());
+			fWriter.write('"');
+		}
+		fWriter.write(empty ? "/>" : ">"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void writeEscaped(final String value) throws IOException {
+		final int length= value.length();
+		int start= 0;
+		for (int index= 0; index < length; index++) {
+			final String replacement= getReplacement(value.charAt(index));
+			if (replacement != null) {
+				fWriter.write(value, start, index - start);
+				fWriter.write('&');
+				fWriter.write(replacement);
+				fWriter.write(';');
+				start= index + 1;
+			}
+		}
+		fWriter.write(value, start, length - start);
+	}
+
+	private static String getReplacement(final char character) {
+		// Encode special XML characters into the equivalent character references.
+		// The first five are defined by default for all XML documents.
+		// The next three (#xD, #xA, #x9) are encoded to avoid them
+		// being converted to spaces on deserialization
+		// (fixes bug 93720)
+		switch (character) {
+			case '<':
+				return "lt"; //$NON-NLS-1$
+			case '>':
+				return "gt"; //$NON-NLS-1$
+			case '"':
+				return "quot"; //$NON-NLS-1$
+			case '\'':
+				return "apos"; //$NON-NLS-1$
+			case '&':
+				return "amp"; //$NON-NLS-1$
+			case '\r':
+				return "#x0D"; //$NON-NLS-1$
+			case '\n':
+				return "#x0A"; //$NON-NLS-1$
+			case '\u0009':
+				return "#x09"; //$NON-NLS-1$
+		}
+		return null;
+	}
+
+	private static CoreException createCoreException(final IOException exception) {
+		return new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * The executor shared by all work which refactorings, and the Java tooling built on them,
+ * distribute over several threads. It lives in this bundle, the lowest one these clients have in
+ * common, and the package is only exported to the friend bundles that submit work to it.
+ * <p>
+ * The number of threads is bounded by the number of processors, so concurrent work of different
+ * clients does not oversubscribe the machine. Since tasks may submit nested tasks and wait for
+ * them, tasks must be waited for with {@link #join(Future)} or
+ * {@link #takeCompleted(List, IProgressMonitor)}, which run a task in the waiting thread if no
+ * thread of the executor has started it yet. Waiting with a timeout is fine as well. Idle threads
+ * terminate after a while. The executor is shut down when the plug-in is stopped.
+ * </p>
+ *
+ * @since 3.13
+ */
+public final class SharedExecutor {
+
+	/** The interval in milliseconds at which waiting threads check for cancellation */
+	private static final long POLL_INTERVAL= 50;
+
+	/** The time in seconds after which idle threads terminate */
+	private static final long KEEP_ALIVE= 60;
+
+	private static ThreadPoolExecutor fgExecutor;
+
+	private SharedExecutor() {
+	}
+
+	/**
+	 * Returns the shared executor.
+	 *
+	 * @return the executor
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			int threads= Math.max(2, Runtime.getRuntime().availableProcessors());
+			AtomicInteger count= new AtomicInteger();
+			fgExecutor= new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Refactoring Worker " + count.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			fgExecutor.allowCoreThreadTimeOut(true);
+		}
+		return fgExecutor;
+	}
+
+	/**
+	 * Waits for the given task and returns its result. If no thread of the executor has started
+	 * the task yet, it is run in the calling thread.
+	 *
+	 * @param future the task, which has been submitted to the shared executor
+	 * @return the result of the task
+	 * @throws InterruptedException if the calling thread has been interrupted while waiting
+	 * @throws ExecutionException if the task has thrown an exception
+	 */
+	public static <T> T join(Future<T> future) throws InterruptedException, ExecutionException {
+		runInCallingThread(future);
+		return future.get();
+	}
+
+	/**
+	 * Waits until one of the given tasks has completed, and removes it from the list. If no thread
+	 * of the executor has started one of the tasks yet, it is run in the calling thread.
+	 *
+	 * @param futures the tasks, which have been submitted to the shared executor, not empty
+	 * @param monitor the progress monitor, which is checked for cancellation while waiting
+	 * @return the completed task
+	 * @throws OperationCanceledException if the monitor has been canceled, or the calling thread has
+	 *             been interrupted while waiting
+	 */
+	public static <T> Future<T> takeCompleted(List<Future<T>> futures, IProgressMonitor monitor) {
+		while (true) {
+			for (Iterator<Future<T>> iterator= futures.iterator(); iterator.hasNext();) {
+				Future<T> future= iterator.next();
+				if (future.isDone()) {
+					iterator.remove();
+					return future;
+				}
+			}
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			for (Iterator<Future<T>> iterator= futures.iterator(); iterator.hasNext();) {
+				Future<T> future= iterator.next();
+				if (runInCallingThread(future)) {
+					iterator.remove();
+					return future;
+				}
+			}
+			try {
+				// all tasks are running
+				futures.get(0).get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException | ExecutionException e) {
+				// checked again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+	}
+
+	/**
+	 * Runs the given task in the calling thread, unless it has already been started.
+	 *
+	 * @param future the task, which has been submitted to the shared executor
+	 * @return <code>true</code> if the task is done
+	 */
+	public static boolean runInCallingThread(Future<?> future) {
+		if (future instanceof RunnableFuture && !future.isDone())
+			((RunnableFuture<?>) future).run(); // does nothing if the task has been started
+		return future.isDone();
+	}
+
+	/**
+	 * Stops all threads of the executor. Called when the plug-in is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (fgExecutor != null) {
+			fgExecutor.shutdownNow();
+			fgExecutor= null;
+		}
+	}
+}
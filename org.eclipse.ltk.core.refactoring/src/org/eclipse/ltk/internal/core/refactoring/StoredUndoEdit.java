@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+/**
+ * Holds the undo edit of an undo change. Undo edits that restore a large amount of text
+ * are compressed and appended to a file in the state location of the plug-in, and are
+ * read back when the undo change is performed. Small undo edits, and undo edits that
+ * cannot be restored exactly, are kept in memory.
+ * <p>
+ * The file is shared by all stored undo edits. It is emptied as soon as all stored edits
+ * have been disposed, and compacted when most of it is taken by disposed edits, for
+ * example after many undo and redo cycles, which keep replacing one stored edit with
+ * another.
+ * </p>
+ */
+public final class StoredUndoEdit {
+
+	/**
+	 * Minimum number of characters an undo edit has to restore to be written to disk.
+	 */
+	static final int THRESHOLD= Integer.getInteger("org.eclipse.ltk.core.refactoring.undoSpillThreshold", 16 * 1024).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Minimum size of the file before it is compacted.
+	 */
+	private static final long COMPACT_SIZE= 1024 * 1024;
+
+	private static final String FILE_NAME= "undo.bin"; //$NON-NLS-1$
+
+	private static ContentFile fgFile;
+
+	private static boolean fgFileUnavailable;
+
+	/**
+	 * The location of a stored undo edit in the file. Moves when the file is compacted.
+	 */
+	private static final class Entry {
+		long fPosition;
+		final int fLength;
+		boolean fLive= true;
+
+		Entry(long position, int length) {
+			fPosition= position;
+			fLength= length;
+		}
+	}
+
+	/**
+	 * The file containing the stored undo edits. New edits are appended. The space of
+	 * disposed edits is reclaimed when the file is compacted.
+	 */
+	private static final class ContentFile {
+		private final Path fPath;
+		private final FileChannel fChannel;
+		private long fSize;
+		private long fLiveSize;
+		/** the live entries, in the order of their positions */
+		private final Set<Entry> fEntries= new LinkedHashSet<>();
+
+		ContentFile(Path path) throws IOException {
+			fPath= path;
+			// contents left over from a previous session are discarded
+			fChannel= FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+
+		synchronized Entry append(byte[] bytes) throws IOException {
+			Entry entry= new Entry(fSize, bytes.length);
+			write(bytes, fSize);
+			fSize+= bytes.length;
+			fLiveSize+= bytes.length;
+			fEntries.add(entry);
+			return entry;
+		}
+
+		synchronized byte[] read(Entry entry) throws IOException {
+			if (!entry.fLive || !fChannel.isOpen())
+				throw new IOException("Stored undo edit has been disposed"); //$NON-NLS-1$
+			return read(entry.fPosition, entry.fLength);
+		}
+
+		synchronized void release(Entry entry) {
+			if (!entry.fLive)
+				return;
+			entry.fLive= false;
+			fEntries.remove(entry);
+			fLiveSize-= entry.fLength;
+			try {
+				if (fEntries.isEmpty()) {
+					fSize= 0;
+					fChannel.truncate(0);
+				} else if (fSize >= COMPACT_SIZE && fLiveSize < fSize / 2) {
+					compact();
+				}
+			} catch (IOException e) {
+				RefactoringCorePlugin.log(e);
+			}
+		}
+
+		/*
+		 * Moves the live entries to the front of the file, in the order of their positions,
+		 * so that no entry is overwritten before it has been moved.
+		 */
+		private void compact() throws IOException {
+			long position= 0;
+			for (Entry entry : fEntries) {
+				if (entry.fPosition != position) {
+					write(read(entry.fPosition, entry.fLength), position);
+					entry.fPosition= position;
+				}
+				position+= entry.fLength;
+			}
+			fSize= position;
+			fChannel.truncate(position);
+		}
+
+		private byte[] read(long position, int length) throws IOException {
+			ByteBuffer buffer= ByteBuffer.allocate(length);
+			while (buffer.hasRemaining()) {
+				if (fChannel.read(buffer, position + buffer.position()) < 0)
+					throw new IOException("Stored undo edit is truncated"); //$NON-NLS-1$
+			}
+			return buffer.array();
+		}
+
+		private void write(byte[] bytes, long position) throws IOException {
+			ByteBuffer buffer= ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				fChannel.write(buffer, position + buffer.position());
+			}
+		}
+
+		synchronized void close() {
+			for (Entry entry : fEntries) {
+				entry.fLive= false;
+			}
+			fEntries.clear();
+			try {
+				fChannel.close();
+				Files.deleteIfExists(fPath);
+			} catch (IOException e) {
+				RefactoringCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * The undo edit if it is kept in memory, or a copy of it without children if it
+	 * has been written to the file.
+	 */
+	private final UndoEdit fEdit;
+	private final Entry fEntry;
+	private ContentFile fFile;
+
+	private StoredUndoEdit(UndoEdit edit) {
+		this(edit, null, null);
+	}
+
+	private StoredUndoEdit(UndoEdit template, ContentFile file, Entry entry) {
+		fEdit= template;
+		fFile= file;
+		fEntry= entry;
+	}
+
+	/**
+	 * Creates a stored undo edit for the given undo edit.
+	 *
+	 * @param edit the undo edit
+	 * @return the stored undo edit
+	 */
+	public static StoredUndoEdit create(UndoEdit edit) {
+		TextEdit[] children= edit.getChildren();
+		if (THRESHOLD <= 0 || !isRestorable(children))
+			return new StoredUndoEdit(edit);
+		ContentFile file= getFile();
+		if (file == null)
+			return new StoredUndoEdit(edit);
+		try {
+			UndoEdit template= (UndoEdit) edit.copy();
+			template.removeChildren();
+			if (!isRestoredExactly(template, children))
+				return new StoredUndoEdit(edit);
+			return new StoredUndoEdit(template, file, file.append(write(children)));
+		} catch (IOException e) {
+			RefactoringCorePlugin.log(e);
+			return new StoredUndoEdit(edit);
+		}
+	}
+
+	/**
+	 * Returns the undo edit. If the edit has been written to disk, a new copy of it is
+	 * read every time this method is called.
+	 *
+	 * @return the undo edit
+	 * @throws CoreException if the undo edit cannot be read
+	 */
+	public UndoEdit get() throws CoreException {
+		if (fEntry == null)
+			return fEdit;
+		ContentFile file;
+		synchronized (this) {
+			file= fFile;
+		}
+		try {
+			if (file == null)
+				throw new IOException("Stored undo edit has been disposed"); //$NON-NLS-1$
+			return restore(fEdit, read(file.read(fEntry)));
+		} catch (IOException | MalformedTreeException e) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IStatus.ERROR, e.getLocalizedMessage(), e));
+		}
+	}
+
+	/**
+	 * Releases the disk space used by this undo edit. The undo edit must not be accessed
+	 * anymore afterwards.
+	 */
+	public void dispose() {
+		ContentFile file;
+		synchronized (this) {
+			file= fFile;
+			fFile= null;
+		}
+		if (file != null)
+			file.release(fEntry);
+	}
+
+	/**
+	 * Deletes the file containing the stored undo edits. Called when the plug-in is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (fgFile != null) {
+			fgFile.close();
+			fgFile= null;
+		}
+		fgFileUnavailable= true;
+	}
+
+	private static synchronized ContentFile getFile() {
+		if (fgFile == null && !fgFileUnavailable) {
+			try {
+				RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+				if (plugin != null) {
+					File location= plugin.getStateLocation().toFile();
+					fgFile= new ContentFile(new File(location, FILE_NAME).toPath());
+				}
+			} catch (IOException | IllegalStateException e) {
+				RefactoringCorePlugin.log(e);
+				fgFileUnavailable= true;
+			}
+		}
+		return fgFile;
+	}
+
+	/*
+	 * Only undo edits consisting of plain replace edits are written to disk, and only if
+	 * they restore enough text to be worth it.
+	 */
+	private static boolean isRestorable(TextEdit[] children) {
+		long length= 0;
+		for (TextEdit child : children) {
+			if (child.getClass() != ReplaceEdit.class || child.hasChildren())
+				return false;
+			length+= ((ReplaceEdit) child).getText().length();
+		}
+		return length >= THRESHOLD;
+	}
+
+	/*
+	 * The children are added back in the order of their offsets, so the restored undo edit
+	 * only equals the original one if the children are in that order already.
+	 */
+	private static boolean isRestoredExactly(UndoEdit template, TextEdit[] children) {
+		TextEdit[] restored;
+		try {
+			UndoEdit edit= (UndoEdit) template.copy();
+			for (TextEdit child : children) {
+				edit.addChild(new ReplaceEdit(child.getOffset(), child.getLength(), ((ReplaceEdit) child).getText()));
+			}
+			restored= edit.getChildren();
+		} catch (MalformedTreeException e) {
+			return false;
+		}
+		if (restored.length != children.length)
+			return false;
+		for (int i= 0; i < children.length; i++) {
+			if (restored[i].getOffset() != children[i].getOffset() || restored[i].getLength() != children[i].getLength()
+					|| !((ReplaceEdit) restored[i]).getText().equals(((ReplaceEdit) children[i]).getText()))
+				return false;
+		}
+		return true;
+	}
+
+	private static UndoEdit restore(UndoEdit template, ReplaceEdit[] children) {
+		UndoEdit result= (UndoEdit) template.copy();
+		for (ReplaceEdit child : children) {
+			result.addChild(child);
+		}
+		return result;
+	}
+
+	private static byte[] write(TextEdit[] children) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream stream= new DataOutputStream(new DeflaterOutputStream(bytes))) {
+			stream.writeInt(children.length);
+			for (TextEdit child : children) {
+				String text= ((ReplaceEdit) child).getText();
+				stream.writeInt(child.getOffset());
+				stream.writeInt(child.getLength());
+				stream.writeInt(text.length());
+				stream.writeChars(text);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static ReplaceEdit[] read(byte[] bytes) throws IOException {
+		try (DataInputStream stream= new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+			ReplaceEdit[] result= new ReplaceEdit[stream.readInt()];
+			for (int i= 0; i < result.length; i++) {
+				int offset= stream.readInt();
+				int length= stream.readInt();
+				char[] text= new char[stream.readInt()];
+				for (int j= 0; j < text.length; j++) {
+					text[j]= stream.readChar();
+				}
+				result[i]= new ReplaceEdit(offset, length, new String(text));
+			}
+			return result;
+		}
+	}
+}
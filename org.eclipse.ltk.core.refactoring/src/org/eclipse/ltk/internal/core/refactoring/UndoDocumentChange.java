@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,13 +34,13 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 public class UndoDocumentChange extends Change {
 
 	private String fName;
-	private UndoEdit fUndo;
+	private StoredUndoEdit fUndo;
 	private IDocument fDocument;
 	private int fLength;
 
 	public UndoDocumentChange(String name, IDocument document, UndoEdit undo) {
 		fName= name;
-		fUndo= undo;
+		fUndo= StoredUndoEdit.create(undo);
 		fDocument= document;
 	}
 
@@ -72,7 +72,7 @@ public class UndoDocumentChange extends Change {
 	@Override
 	public Change perform(IProgressMonitor pm) throws CoreException {
 		try {
-			UndoEdit redo= performEdits();
+			UndoEdit redo= performEdits(fUndo.get());
 			Change result= new UndoDocumentChange(getName(), fDocument, redo);
 			return result;
 		} catch (MalformedTreeException e) {
@@ -82,12 +82,12 @@ public class UndoDocumentChange extends Change {
 		}
 	}
 
-	private UndoEdit performEdits() throws BadLocationException, MalformedTreeException {
+	private UndoEdit performEdits(UndoEdit undo) throws BadLocationException, MalformedTreeException {
 		ITextFileBufferManager fileBufferManager= FileBuffers.getTextFileBufferManager();
 
 		ITextFileBuffer fileBuffer= fileBufferManager.getTextFileBuffer(fDocument);
 		if (fileBuffer == null || ! fileBuffer.isSynchronizationContextRequested()) {
-			return fUndo.apply(fDocument, TextEdit.CREATE_UNDO);
+			return undo.apply(fDocument, TextEdit.CREATE_UNDO);
 		}
 
 		/** The lock for waiting for computation in the UI thread to complete. */
@@ -97,7 +97,7 @@ public class UndoDocumentChange extends Change {
 		Runnable runnable= () -> {
 			synchronized (completionLock) {
 				try {
-					result[0]= fUndo.apply(fDocument, TextEdit.CREATE_UNDO);
+					result[0]= undo.apply(fDocument, TextEdit.CREATE_UNDO);
 				} catch (BadLocationException e) {
 					exception[0]= e;
 				} finally {
@@ -124,4 +124,8 @@ public class UndoDocumentChange extends Change {
 		return result[0];
 	}
 
+	@Override
+	public void dispose() {
+		fUndo.dispose();
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.ltk.internal.core.refactoring.history;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -32,6 +33,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,6 +49,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 import org.w3c.dom.Attr;
+import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -83,7 +86,7 @@ import org.eclipse.ltk.internal.core.refactoring.Messages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionReader;
-import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionTransformer;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionWriter;
 
 /**
  * Manager for persistable refactoring histories.
@@ -417,38 +420,69 @@ public final class RefactoringHistoryManager {
 	}
 
 	/**
-	 * Transforms the specified refactoring descriptor into a DOM node.
+	 * Creates the DOM element representing the specified refactoring descriptor
+	 * in the given history document. Project information is not included.
 	 *
+	 * @param document
+	 *            the history document
 	 * @param descriptor
 	 *            the descriptor to transform
-	 * @param projects
-	 *            <code>true</code> to include project information,
-	 *            <code>false</code> otherwise
-	 * @return the DOM node representing the refactoring descriptor
+	 * @return the element representing the refactoring descriptor
 	 * @throws CoreException
 	 *             if an error occurs while transforming the descriptor
 	 */
-	private static Document transformDescriptor(final RefactoringDescriptor descriptor, final boolean projects) throws CoreException {
-		final RefactoringSessionTransformer transformer= new RefactoringSessionTransformer(projects);
+	private static Element createRefactoringElement(final Document document, final RefactoringDescriptor descriptor) throws CoreException {
 		try {
-			transformer.beginSession(null, IRefactoringSerializationConstants.CURRENT_VERSION);
-			try {
-				final String id= descriptor.getID();
-				transformer.beginRefactoring(id, descriptor.getTimeStamp(), descriptor.getProject(), descriptor.getDescription(), descriptor.getComment(), descriptor.getFlags());
-				final Map<String, String> arguments= getArgumentMap(descriptor);
-				if (arguments != null) {
-					checkArgumentMap(arguments);
-					for (Entry<String, String> entry : arguments.entrySet()) {
-						transformer.createArgument(entry.getKey(), entry.getValue());
-					}
+			final Element element= document.createElement(IRefactoringSerializationConstants.ELEMENT_REFACTORING);
+			element.setAttribute(IRefactoringSerializationConstants.ATTRIBUTE_ID, descriptor.getID());
+			final long stamp= descriptor.getTimeStamp();
+			if (stamp >= 0)
+				element.setAttribute(IRefactoringSerializationConstants.ATTRIBUTE_STAMP, Long.toString(stamp));
+			final int flags= descriptor.getFlags();
+			if (flags != RefactoringDescriptor.NONE)
+				element.setAttribute(IRefactoringSerializationConstants.ATTRIBUTE_FLAGS, String.valueOf(flags));
+			element.setAttribute(IRefactoringSerializationConstants.ATTRIBUTE_DESCRIPTION, descriptor.getDescription());
+			final String comment= descriptor.getComment();
+			if (comment != null && !"".equals(comment)) //$NON-NLS-1$
+				element.setAttribute(IRefactoringSerializationConstants.ATTRIBUTE_COMMENT, comment);
+			final Map<String, String> arguments= getArgumentMap(descriptor);
+			if (arguments != null) {
+				checkArgumentMap(arguments);
+				for (Entry<String, String> entry : arguments.entrySet()) {
+					element.setAttribute(entry.getKey(), entry.getValue());
 				}
-			} finally {
-				transformer.endRefactoring();
 			}
-		} finally {
-			transformer.endSession();
+			return element;
+		} catch (DOMException exception) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_FORMAT_ERROR, exception.getLocalizedMessage(), null));
+		}
+	}
+
+	/**
+	 * Writes the specified refactoring descriptor to the specified refactoring
+	 * session writer.
+	 *
+	 * @param writer
+	 *            the refactoring session writer
+	 * @param descriptor
+	 *            the refactoring descriptor to write
+	 * @param stamps
+	 *            <code>true</code> to write the time stamp as well,
+	 *            <code>false</code> otherwise
+	 * @throws CoreException
+	 *             if an error occurs while writing the descriptor
+	 */
+	private static void writeRefactoringDescriptor(final RefactoringSessionWriter writer, final RefactoringDescriptor descriptor, final boolean stamps) throws CoreException {
+		final long stamp= stamps ? descriptor.getTimeStamp() : -1;
+		writer.beginRefactoring(descriptor.getID(), stamp, descriptor.getProject(), descriptor.getDescription(), descriptor.getComment(), descriptor.getFlags());
+		final Map<String, String> arguments= getArgumentMap(descriptor);
+		if (arguments != null) {
+			checkArgumentMap(arguments);
+			for (Entry<String, String> entry : arguments.entrySet()) {
+				writer.createArgument(entry.getKey(), entry.getValue());
+			}
 		}
-		return transformer.getResult();
+		writer.endRefactoring();
 	}
 
 	/**
@@ -682,33 +716,14 @@ public final class RefactoringHistoryManager {
 	 *             descriptor
 	 */
 	public static void writeRefactoringSession(final OutputStream stream, final RefactoringSessionDescriptor descriptor, final boolean stamps) throws CoreException {
-		final RefactoringSessionTransformer transformer= new RefactoringSessionTransformer(true);
-		final RefactoringDescriptor[] descriptors= descriptor.getRefactorings();
-		try {
-			transformer.beginSession(descriptor.getComment(), descriptor.getVersion());
-			for (RefactoringDescriptor current : descriptors) {
-				if (current != null) {
-					try {
-						long stamp= stamps ? current.getTimeStamp() : -1;
-						transformer.beginRefactoring(current.getID(), stamp, current.getProject(), current.getDescription(), current.getComment(), current.getFlags());
-						final Map<String, String> arguments= getArgumentMap(current);
-						if (arguments != null) {
-							checkArgumentMap(arguments);
-							for (Entry<String, String> entry : arguments.entrySet()) {
-								transformer.createArgument(entry.getKey(), entry.getValue());
-							}
-						}
-					} finally {
-						transformer.endRefactoring();
-					}
-				}
-			}
-		} finally {
-			transformer.endSession();
+		final RefactoringSessionWriter writer= new RefactoringSessionWriter(stream, true);
+		writer.beginSession(descriptor.getComment(), descriptor.getVersion());
+		for (RefactoringDescriptor current : descriptor.getRefactorings()) {
+			if (current != null)
+				writeRefactoringDescriptor(writer, current, stamps);
 		}
-		final Document result= transformer.getResult();
-		writeNode(stream, result);
-			}
+		writer.endSession();
+	}
 
 	private static void writeNode(final OutputStream stream, Document document) {
 		OutputStreamWriter outputStreamWriter= new OutputStreamWriter(stream, Charset.forName("UTF-8")); //$NON-NLS-1$
@@ -774,74 +789,129 @@ public final class RefactoringHistoryManager {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 18);
 			final long stamp= descriptor.getTimeStamp();
-			if (stamp >= 0) {
-				final IPath path= stampToPath(stamp);
-				final IFileStore folder= fHistoryStore.getFileStore(path);
-				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
-				final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
-				final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[] { new DefaultRefactoringDescriptorProxy(descriptor.getDescription(), descriptor.getProject(), descriptor.getTimeStamp())};
-				if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
-					InputStream input= null;
+			if (stamp >= 0)
+				addRefactoringDescriptors(Collections.singletonList(descriptor), stampToPath(stamp), sort, new SubProgressMonitor(monitor, 18, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Appends the specified refactoring descriptors to the refactoring history.
+	 * <p>
+	 * The descriptors are assumed to be the most recent ones, in the order of
+	 * their time stamps. Each history entry and its index is written only once,
+	 * regardless of the number of descriptors added to it.
+	 * </p>
+	 *
+	 * @param descriptors
+	 *            the refactoring descriptors to add
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while adding the descriptors to the
+	 *             history
+	 */
+	void addRefactoringDescriptors(final RefactoringDescriptor[] descriptors, final IProgressMonitor monitor) throws CoreException {
+		try {
+			final Map<IPath, List<RefactoringDescriptor>> paths= new LinkedHashMap<>();
+			for (RefactoringDescriptor descriptor : descriptors) {
+				final long stamp= descriptor.getTimeStamp();
+				if (stamp >= 0) {
+					final IPath path= stampToPath(stamp);
+					List<RefactoringDescriptor> list= paths.get(path);
+					if (list == null) {
+						list= new ArrayList<>();
+						paths.put(path, list);
+					}
+					list.add(descriptor);
+				}
+			}
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, paths.size() * 18);
+			for (Entry<IPath, List<RefactoringDescriptor>> entry : paths.entrySet())
+				addRefactoringDescriptors(entry.getValue(), entry.getKey(), false, new SubProgressMonitor(monitor, 18, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Adds the specified refactoring descriptors to the history entry denoted
+	 * by the specified path.
+	 *
+	 * @param descriptors
+	 *            the refactoring descriptors to add, which all belong to the
+	 *            history entry
+	 * @param path
+	 *            the path of the history entry
+	 * @param sort
+	 *            <code>true</code> if the index should be sorted according to
+	 *            the time stamps, <code>false</code> if the descriptors are
+	 *            simply appended
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while adding the descriptors to the
+	 *             history
+	 */
+	private void addRefactoringDescriptors(final List<RefactoringDescriptor> descriptors, final IPath path, final boolean sort, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 18);
+			final IFileStore folder= fHistoryStore.getFileStore(path);
+			final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
+			final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
+			final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[descriptors.size()];
+			for (int offset= 0; offset < proxies.length; offset++) {
+				final RefactoringDescriptor descriptor= descriptors.get(offset);
+				proxies[offset]= new DefaultRefactoringDescriptorProxy(descriptor.getDescription(), descriptor.getProject(), descriptor.getTimeStamp());
+			}
+			if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
+				InputStream input= null;
+				try {
+					input= new BufferedInputStream(history.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
+					final Document document= getCachedDocument(path, input);
 					try {
-						input= new BufferedInputStream(history.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
-						final Document document= getCachedDocument(path, input);
+						input.close();
+						input= null;
+					} catch (IOException exception) {
+						// Do nothing
+					}
+					monitor.worked(1);
+					for (RefactoringDescriptor descriptor : descriptors) {
+						final Element element= createRefactoringElement(document, descriptor);
+						document.getDocumentElement().appendChild(element);
+					}
+					writeHistoryEntry(history, document, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+					if (sort) {
+						final Set<RefactoringDescriptorProxy> set= new HashSet<>(64);
+						readRefactoringDescriptorProxies(index, null, set, 0, Long.MAX_VALUE, new SubProgressMonitor(monitor, 2), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						writeIndexEntry(index, set.toArray(new RefactoringDescriptorProxy[set.size()]), EFS.NONE, new SubProgressMonitor(monitor, 3, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+					} else
+						writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+				} catch (ParserConfigurationException | IOException | SAXException exception) {
+					throw createCoreException(exception);
+				} finally {
+					if (input != null) {
 						try {
 							input.close();
-							input= null;
 						} catch (IOException exception) {
 							// Do nothing
 						}
-						monitor.worked(1);
-						final Document result= transformDescriptor(descriptor, false);
-						if (result != null) {
-							boolean found= false;
-							final NodeList list= result.getElementsByTagName(IRefactoringSerializationConstants.ELEMENT_REFACTORING);
-							final Element root= document.getDocumentElement();
-							if (sort) {
-								final String string= Long.toString(stamp);
-								int length= list.getLength();
-								for (int offset= 0; offset < length; offset++) {
-									final Element element= (Element) list.item(offset);
-									final String attribute= element.getAttribute(IRefactoringSerializationConstants.ATTRIBUTE_STAMP);
-									if (attribute != null) {
-										if (string.compareTo(attribute) > 0) {
-											root.insertBefore(document.importNode(element, true), element);
-											found= true;
-											break;
-										}
-									}
-								}
-							}
-							if (!found)
-								root.appendChild(document.importNode(list.item(0), true));
-							writeHistoryEntry(history, document, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-							if (sort) {
-								final Set<RefactoringDescriptorProxy> set= new HashSet<>(64);
-								readRefactoringDescriptorProxies(index, null, set, 0, Long.MAX_VALUE, new SubProgressMonitor(monitor, 2), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-								writeIndexEntry(index, set.toArray(new RefactoringDescriptorProxy[set.size()]), EFS.NONE, new SubProgressMonitor(monitor, 3, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-							} else
-								writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-						}
-					} catch (ParserConfigurationException | IOException | SAXException exception) {
-						throw createCoreException(exception);
-					} finally {
-						if (input != null) {
-							try {
-								input.close();
-							} catch (IOException exception) {
-								// Do nothing
-							}
-						}
-					}
-				} else {
-					try {
-						final Document result= transformDescriptor(descriptor, false);
-						writeHistoryEntry(history, result, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-							writeIndexEntry(index, proxies, EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
-					} catch (IOException exception) {
-						throw createCoreException(exception);
 					}
 				}
+			} else {
+				try {
+					final ByteArrayOutputStream result= new ByteArrayOutputStream();
+					final RefactoringSessionWriter writer= new RefactoringSessionWriter(result, false);
+					writer.beginSession(null, IRefactoringSerializationConstants.CURRENT_VERSION);
+					for (RefactoringDescriptor descriptor : descriptors)
+						writeRefactoringDescriptor(writer, descriptor, true);
+					writer.endSession();
+					writeHistoryEntry(history, result.toByteArray(), new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+					writeIndexEntry(index, proxies, EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
 			}
 		} finally {
 			monitor.done();
@@ -1065,6 +1135,15 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Returns the history file store.
+	 *
+	 * @return the history file store
+	 */
+	IFileStore getHistoryStore() {
+		return fHistoryStore;
+	}
+
 	/**
 	 * Requests the resolved refactoring descriptor associated with the given
 	 * proxy.
@@ -1173,6 +1252,45 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Writes the specified contents into the refactoring history.
+	 *
+	 * @param file
+	 *            the refactoring history file
+	 * @param contents
+	 *            the contents of the history entry
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @param task
+	 *            the task label
+	 * @throws CoreException
+	 *             if an error occurs while adding the history entry
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void writeHistoryEntry(final IFileStore file, final byte[] contents, final IProgressMonitor monitor, final String task) throws CoreException, IOException {
+		OutputStream output= null;
+		try {
+			monitor.beginTask(task, 2);
+			file.getParent().mkdir(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			output= file.openOutputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			output.write(contents);
+		} finally {
+			fCachedDocument= null;
+			fCachedPath= null;
+			fCachedDescriptor= null;
+			fCachedStore= null;
+			if (output != null) {
+				try {
+					output.close();
+				} catch (IOException exception) {
+					// Do nothing
+				}
+			}
+			monitor.done();
+		}
+	}
+
 	/**
 	 * Writes the specified document node into the refactoring history.
 	 *
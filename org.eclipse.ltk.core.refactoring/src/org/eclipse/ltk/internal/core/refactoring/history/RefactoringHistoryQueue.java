@@ -0,0 +1,586 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ICoreRunnable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.core.refactoring.history.RefactoringHistory;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Write-behind queue for the persistent refactoring history.
+ * <p>
+ * Changes to the history are queued in the order they occur, and are written
+ * to disk by a background job once no further changes have been queued for a
+ * short while. All changes queued for the same history location are written
+ * together, in their original order, so that consecutively appended
+ * refactorings only cause one write of each affected history entry and index.
+ * </p>
+ * <p>
+ * Reads of the history go through the queue, which applies the pending changes
+ * to what has been read from disk, instead of writing them first. Operations
+ * moving or deleting a history location on disk are run by the queue as well,
+ * which moves or discards the pending changes of the location accordingly.
+ * Changes which cannot be written are queued again and retried a few times
+ * before they are dropped.
+ * </p>
+ *
+ * @since 3.13
+ */
+public final class RefactoringHistoryQueue {
+
+	/** A pending change of a history location */
+	private static final class PendingChange {
+
+		/** The refactoring descriptor to add, or <code>null</code> */
+		private final RefactoringDescriptor fDescriptor;
+
+		/** The refactoring descriptor proxy to remove, or <code>null</code> */
+		private final RefactoringDescriptorProxy fProxy;
+
+		/**
+		 * <code>true</code> if the descriptor is inserted according to its time
+		 * stamp, <code>false</code> if it is appended
+		 */
+		private final boolean fSort;
+
+		/** The number of failed attempts to write the change */
+		private int fAttempts= 0;
+
+		private PendingChange(final RefactoringDescriptor descriptor, final boolean sort, final RefactoringDescriptorProxy proxy) {
+			fDescriptor= descriptor;
+			fSort= sort;
+			fProxy= proxy;
+		}
+
+		private long getTimeStamp() {
+			return fDescriptor != null ? fDescriptor.getTimeStamp() : fProxy.getTimeStamp();
+		}
+
+		private boolean isAppend() {
+			return fDescriptor != null && !fSort;
+		}
+	}
+
+	/** The pending changes of a history location */
+	private static final class PendingChanges {
+
+		/** The pending changes, in the order they have been queued */
+		private final List<PendingChange> fChanges= new ArrayList<>();
+
+		/** The non-empty project name, or <code>null</code> for the workspace */
+		private final String fName;
+
+		/**
+		 * The projects to refresh once the changes have been written, in case of
+		 * a shared refactoring history
+		 */
+		private final Set<IProject> fProjects= new LinkedHashSet<>(2);
+
+		private PendingChanges(final String name) {
+			fName= name;
+		}
+	}
+
+	/** The delay in milliseconds before pending changes are written */
+	private static final long FLUSH_DELAY= 500;
+
+	/** The number of attempts to write a change before it is dropped */
+	private static final int MAX_ATTEMPTS= 3;
+
+	/** The delay in milliseconds before changes which failed are written again */
+	private static final long RETRY_DELAY= 5000;
+
+	/** The singleton queue */
+	private static RefactoringHistoryQueue fInstance= null;
+
+	/**
+	 * Returns the singleton instance of the refactoring history queue.
+	 *
+	 * @return the singleton instance
+	 */
+	public static synchronized RefactoringHistoryQueue getInstance() {
+		if (fInstance == null)
+			fInstance= new RefactoringHistoryQueue();
+		return fInstance;
+	}
+
+	/** The job writing the pending changes */
+	private final Job fJob= new Job(RefactoringCoreMessages.RefactoringHistoryService_updating_history) {
+
+		@Override
+		protected IStatus run(final IProgressMonitor monitor) {
+			writePendingChanges();
+			return Status.OK_STATUS;
+		}
+	};
+
+	/** The pending changes, keyed by history location */
+	private Map<IFileStore, PendingChanges> fPending= new LinkedHashMap<>();
+
+	/** Has the queue been shut down? */
+	private boolean fShutdown= false;
+
+	/** The lock held while writing changes */
+	private final Object fWriteLock= new Object();
+
+	/**
+	 * Creates a new refactoring history queue.
+	 */
+	private RefactoringHistoryQueue() {
+		fJob.setSystem(true);
+	}
+
+	/**
+	 * Queues the addition of a refactoring descriptor to a history location.
+	 *
+	 * @param store
+	 *            the file store of the history location
+	 * @param name
+	 *            the non-empty project name, or <code>null</code> for the
+	 *            workspace
+	 * @param project
+	 *            the project to refresh after writing the change, or
+	 *            <code>null</code>
+	 * @param descriptor
+	 *            the refactoring descriptor to add
+	 * @param sort
+	 *            <code>true</code> if the refactoring descriptor should be
+	 *            inserted into the history according to its time stamp,
+	 *            <code>false</code> if the descriptor is the most recent one,
+	 *            and is simply appended
+	 */
+	void addRefactoringDescriptor(final IFileStore store, final String name, final IProject project, final RefactoringDescriptor descriptor, final boolean sort) {
+		Assert.isNotNull(descriptor);
+		queue(store, name, project, new PendingChange(descriptor, sort, null));
+	}
+
+	/**
+	 * Queues the removal of a refactoring descriptor from a history location.
+	 *
+	 * @param store
+	 *            the file store of the history location
+	 * @param name
+	 *            the non-empty project name, or <code>null</code> for the
+	 *            workspace
+	 * @param project
+	 *            the project to refresh after writing the change, or
+	 *            <code>null</code>
+	 * @param proxy
+	 *            the refactoring descriptor proxy to remove
+	 */
+	void removeRefactoringDescriptor(final IFileStore store, final String name, final IProject project, final RefactoringDescriptorProxy proxy) {
+		Assert.isNotNull(proxy);
+		queue(store, name, project, new PendingChange(null, false, proxy));
+	}
+
+	private void queue(final IFileStore store, final String name, final IProject project, final PendingChange change) {
+		Assert.isNotNull(store);
+		final boolean shutdown;
+		synchronized (this) {
+			PendingChanges changes= fPending.get(store);
+			if (changes == null) {
+				changes= new PendingChanges(name);
+				fPending.put(store, changes);
+			}
+			changes.fChanges.add(change);
+			if (project != null)
+				changes.fProjects.add(project);
+			shutdown= fShutdown;
+		}
+		if (shutdown)
+			flush();
+		else
+			fJob.schedule(FLUSH_DELAY);
+	}
+
+	/**
+	 * Returns whether there are changes which have not been written yet.
+	 *
+	 * @return <code>true</code> if there are pending changes,
+	 *         <code>false</code> otherwise
+	 */
+	public synchronized boolean hasPendingChanges() {
+		return !fPending.isEmpty();
+	}
+
+	/**
+	 * Writes all pending changes to disk. Returns once all changes queued
+	 * before this call have been written, or have failed to be written and
+	 * are queued again.
+	 */
+	public void flush() {
+		while (writePendingChanges() && isShutdown()) {
+			// No job retries the changes after shutdown
+		}
+	}
+
+	private synchronized boolean isShutdown() {
+		return fShutdown;
+	}
+
+	/**
+	 * Writes all pending changes to disk. Changes which fail to be written are
+	 * queued again in front of the changes queued in the meantime.
+	 *
+	 * @return <code>true</code> if changes have been queued again,
+	 *         <code>false</code> otherwise
+	 */
+	private boolean writePendingChanges() {
+		final Set<IProject> projects= new LinkedHashSet<>();
+		boolean retry= false;
+		synchronized (fWriteLock) {
+			final Map<IFileStore, PendingChanges> pending;
+			synchronized (this) {
+				if (fPending.isEmpty())
+					return false;
+				pending= fPending;
+				fPending= new LinkedHashMap<>();
+			}
+			final NullProgressMonitor monitor= new NullProgressMonitor();
+			for (Entry<IFileStore, PendingChanges> entry : pending.entrySet()) {
+				final PendingChanges changes= entry.getValue();
+				final int written= write(new RefactoringHistoryManager(entry.getKey(), changes.fName), changes.fChanges, monitor);
+				if (written < changes.fChanges.size()) {
+					requeue(entry.getKey(), changes, changes.fChanges.subList(written, changes.fChanges.size()));
+					retry= true;
+				}
+				projects.addAll(changes.fProjects);
+			}
+		}
+		if (retry && !isShutdown())
+			fJob.schedule(RETRY_DELAY);
+		// Refresh outside of the lock, since refreshing may have to wait for scheduling rules
+		for (IProject project : projects)
+			refresh(project);
+		return retry;
+	}
+
+	/**
+	 * Queues changes of a history location again, in front of the changes
+	 * which have been queued in the meantime.
+	 *
+	 * @param store
+	 *            the file store of the history location
+	 * @param changes
+	 *            the pending changes the failed changes belong to
+	 * @param failed
+	 *            the changes to queue again
+	 */
+	private synchronized void requeue(final IFileStore store, final PendingChanges changes, final List<PendingChange> failed) {
+		PendingChanges current= fPending.get(store);
+		if (current == null) {
+			current= new PendingChanges(changes.fName);
+			fPending.put(store, current);
+		}
+		current.fChanges.addAll(0, failed);
+		current.fProjects.addAll(changes.fProjects);
+	}
+
+	/**
+	 * Reads the refactoring history of a history location, including its
+	 * pending changes.
+	 *
+	 * @param manager
+	 *            the history manager of the location
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the refactoring history
+	 */
+	RefactoringHistory readRefactoringHistory(final RefactoringHistoryManager manager, final long start, final long end, final IProgressMonitor monitor) {
+		synchronized (fWriteLock) {
+			final RefactoringHistory history= manager.readRefactoringHistory(start, end, monitor);
+			final List<PendingChange> changes= new ArrayList<>();
+			synchronized (this) {
+				final IFileStore store= manager.getHistoryStore();
+				// Like the manager, also read the workspace history
+				final IFileStore workspace= getWorkspaceStore();
+				PendingChanges pending= fPending.get(workspace);
+				if (pending != null)
+					changes.addAll(pending.fChanges);
+				pending= fPending.get(store);
+				if (pending != null && !store.equals(workspace))
+					changes.addAll(pending.fChanges);
+			}
+			if (changes.isEmpty())
+				return history;
+			final Set<RefactoringDescriptorProxy> set= new HashSet<>(Arrays.asList(history.getDescriptors()));
+			for (PendingChange change : changes) {
+				final long stamp= change.getTimeStamp();
+				if (change.fDescriptor == null)
+					set.removeIf(proxy -> proxy.getTimeStamp() == stamp);
+				else if (stamp >= start && stamp <= end)
+					set.add(new RefactoringDescriptorProxyAdapter(change.fDescriptor));
+			}
+			return new RefactoringHistoryImplementation(set.toArray(new RefactoringDescriptorProxy[set.size()]));
+		}
+	}
+
+	/**
+	 * Requests the refactoring descriptor associated with the given proxy from
+	 * a history location, including its pending changes.
+	 *
+	 * @param manager
+	 *            the history manager of the location
+	 * @param proxy
+	 *            the refactoring descriptor proxy
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the associated refactoring descriptor, or <code>null</code>
+	 */
+	RefactoringDescriptor requestDescriptor(final RefactoringHistoryManager manager, final RefactoringDescriptorProxy proxy, final IProgressMonitor monitor) {
+		final long stamp= proxy.getTimeStamp();
+		synchronized (fWriteLock) {
+			synchronized (this) {
+				final PendingChanges pending= fPending.get(manager.getHistoryStore());
+				if (pending != null) {
+					for (int index= pending.fChanges.size() - 1; index >= 0; index--) {
+						final PendingChange change= pending.fChanges.get(index);
+						if (change.getTimeStamp() == stamp)
+							return change.fDescriptor;
+					}
+				}
+			}
+			return manager.requestDescriptor(proxy, monitor);
+		}
+	}
+
+	/**
+	 * Removes refactoring descriptors from a history location. Pending
+	 * changes of the descriptors are discarded instead of being written.
+	 *
+	 * @param manager
+	 *            the history manager of the location
+	 * @param proxies
+	 *            the refactoring descriptor proxies to remove
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @param task
+	 *            the task label to use
+	 * @throws CoreException
+	 *             if an error occurs while removing the refactoring
+	 *             descriptors
+	 */
+	void removeRefactoringDescriptors(final RefactoringHistoryManager manager, final RefactoringDescriptorProxy[] proxies, final IProgressMonitor monitor, final String task) throws CoreException {
+		synchronized (fWriteLock) {
+			synchronized (this) {
+				final IFileStore store= manager.getHistoryStore();
+				final PendingChanges pending= fPending.get(store);
+				if (pending != null) {
+					final Set<Long> stamps= new HashSet<>(proxies.length);
+					for (RefactoringDescriptorProxy proxy : proxies)
+						stamps.add(Long.valueOf(proxy.getTimeStamp()));
+					pending.fChanges.removeIf(change -> stamps.contains(Long.valueOf(change.getTimeStamp())));
+					if (pending.fChanges.isEmpty())
+						fPending.remove(store);
+				}
+			}
+			manager.removeRefactoringDescriptors(proxies, monitor, task);
+		}
+	}
+
+	/**
+	 * Runs an operation moving a history location on disk, and moves the
+	 * pending changes of the location along if the operation succeeds.
+	 *
+	 * @param source
+	 *            the file store of the old history location
+	 * @param destination
+	 *            the file store of the new history location
+	 * @param name
+	 *            the non-empty project name of the new location, or
+	 *            <code>null</code> for the workspace
+	 * @param project
+	 *            the project to refresh after writing the moved changes, or
+	 *            <code>null</code>
+	 * @param operation
+	 *            the operation to run
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if the operation fails
+	 */
+	void move(final IFileStore source, final IFileStore destination, final String name, final IProject project, final ICoreRunnable operation, final IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(source);
+		Assert.isNotNull(destination);
+		synchronized (fWriteLock) {
+			operation.run(monitor);
+			synchronized (this) {
+				final PendingChanges pending= fPending.remove(source);
+				if (pending != null) {
+					PendingChanges current= fPending.get(destination);
+					if (current == null) {
+						current= new PendingChanges(name);
+						fPending.put(destination, current);
+					}
+					current.fChanges.addAll(pending.fChanges);
+					if (project != null)
+						current.fProjects.add(project);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs an operation deleting history locations on disk, and discards the
+	 * pending changes of the locations.
+	 *
+	 * @param stores
+	 *            the file stores of the history locations
+	 * @param operation
+	 *            the operation to run
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if the operation fails
+	 */
+	void delete(final IFileStore[] stores, final ICoreRunnable operation, final IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(stores);
+		synchronized (fWriteLock) {
+			synchronized (this) {
+				for (IFileStore store : stores)
+					fPending.remove(store);
+			}
+			operation.run(monitor);
+		}
+	}
+
+	private static IFileStore getWorkspaceStore() {
+		return EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
+	}
+
+	/**
+	 * Refreshes the shared refactoring history of the specified project. If
+	 * the current thread owns a scheduling rule which does not allow to
+	 * refresh the project, the refresh is performed later.
+	 *
+	 * @param project
+	 *            the project to refresh
+	 */
+	private static void refresh(final IProject project) {
+		final ISchedulingRule rule= ResourcesPlugin.getWorkspace().getRuleFactory().refreshRule(project);
+		final ISchedulingRule current= Job.getJobManager().currentRule();
+		if (current == null || current.contains(rule)) {
+			try {
+				project.refreshLocal(IResource.DEPTH_INFINITE, null);
+			} catch (CoreException exception) {
+				RefactoringCorePlugin.log(exception);
+			}
+		} else {
+			final Job job= Job.create(RefactoringCoreMessages.RefactoringHistoryService_updating_history, monitor -> {
+				project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+			});
+			job.setRule(rule);
+			job.setSystem(true);
+			job.schedule();
+		}
+	}
+
+	/**
+	 * Writes changes in the background again after the queue has been shut
+	 * down. Called when the plug-in is started, since the queue outlives a
+	 * restart of the plug-in.
+	 */
+	public synchronized void startup() {
+		fShutdown= false;
+	}
+
+	/**
+	 * Writes all pending changes, and writes any further changes immediately
+	 * until the queue is started again. Called when the plug-in is stopped.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			fShutdown= true;
+		}
+		fJob.cancel();
+		flush();
+	}
+
+	/**
+	 * Writes the specified changes of a history location, in their order.
+	 * Consecutive appends are written together. A change which fails to be
+	 * written stops the writing, so that it can be retried later together with
+	 * the following changes. After {@link #MAX_ATTEMPTS} attempts, the error is
+	 * logged and the change is dropped.
+	 *
+	 * @param manager
+	 *            the history manager of the location
+	 * @param changes
+	 *            the changes to write
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the number of leading changes which have been written or
+	 *         dropped
+	 */
+	private static int write(final RefactoringHistoryManager manager, final List<PendingChange> changes, final IProgressMonitor monitor) {
+		final int size= changes.size();
+		int index= 0;
+		while (index < size) {
+			final PendingChange change= changes.get(index);
+			int end= index + 1;
+			try {
+				if (change.isAppend()) {
+					while (end < size && changes.get(end).isAppend())
+						end++;
+					final RefactoringDescriptor[] descriptors= new RefactoringDescriptor[end - index];
+					for (int offset= 0; offset < descriptors.length; offset++)
+						descriptors[offset]= changes.get(index + offset).fDescriptor;
+					manager.addRefactoringDescriptors(descriptors, monitor);
+				} else if (change.fDescriptor != null)
+					manager.addRefactoringDescriptor(change.fDescriptor, true, monitor);
+				else
+					manager.removeRefactoringDescriptors(new RefactoringDescriptorProxy[] { change.fProxy}, monitor, RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+			} catch (CoreException exception) {
+				if (++change.fAttempts < MAX_ATTEMPTS)
+					return index;
+				RefactoringCorePlugin.log(exception);
+			}
+			index= end;
+		}
+		return size;
+	}
+}
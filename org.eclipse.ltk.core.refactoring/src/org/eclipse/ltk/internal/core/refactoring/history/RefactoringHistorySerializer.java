@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2008 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,19 +23,20 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryListener;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistoryEvent;
-import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 
 /**
  * Refactoring history listener which continuously persists the global
  * refactoring history in the different history locations.
+ * <p>
+ * The changes are written by the {@link RefactoringHistoryQueue}.
+ * </p>
  *
  * @since 3.2
  */
@@ -60,39 +61,24 @@ public final class RefactoringHistorySerializer implements IRefactoringHistoryLi
 								final URI uri= project.getLocationURI();
 								if (uri != null) {
 									try {
-										processHistoryNotification(EFS.getStore(uri).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER), event, name);
+										processHistoryNotification(EFS.getStore(uri).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER), event, name, project);
 									} catch (CoreException exception) {
 										RefactoringCorePlugin.log(exception);
-									} finally {
-										try {
-											project.refreshLocal(IResource.DEPTH_INFINITE, null);
-										} catch (CoreException exception) {
-											RefactoringCorePlugin.log(exception);
-										}
 									}
 								}
-							} else {
-								try {
-									processHistoryNotification(store.getChild(name), event, name);
-								} catch (CoreException exception) {
-									RefactoringCorePlugin.log(exception);
-								}
-							}
-						}
-					} else {
-						try {
-							processHistoryNotification(store.getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT), event, name);
-						} catch (CoreException exception) {
-							RefactoringCorePlugin.log(exception);
+							} else
+								processHistoryNotification(store.getChild(name), event, name, null);
 						}
-					}
+					} else
+						processHistoryNotification(store.getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT), event, name, null);
 				}
 			}
 		}
 	}
 
 	/**
-	 * Processes the history event.
+	 * Processes the history event by queuing the corresponding change of the
+	 * history location.
 	 *
 	 * @param store
 	 *            the file store
@@ -100,19 +86,19 @@ public final class RefactoringHistorySerializer implements IRefactoringHistoryLi
 	 *            the history event
 	 * @param name
 	 *            the project name, or <code>null</code>
-	 * @throws CoreException
-	 *             if an error occurs
+	 * @param project
+	 *            the project to refresh after the change has been written, or
+	 *            <code>null</code>
 	 */
-	private void processHistoryNotification(final IFileStore store, final RefactoringHistoryEvent event, final String name) throws CoreException {
+	private void processHistoryNotification(final IFileStore store, final RefactoringHistoryEvent event, final String name, final IProject project) {
 		final RefactoringDescriptorProxy proxy= event.getDescriptor();
 		final int type= event.getEventType();
-		final RefactoringHistoryManager manager= new RefactoringHistoryManager(store, name);
-		final NullProgressMonitor monitor= new NullProgressMonitor();
+		final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
 		if (type == RefactoringHistoryEvent.PUSHED || type == RefactoringHistoryEvent.ADDED) {
-			final RefactoringDescriptor descriptor= proxy.requestDescriptor(monitor);
+			final RefactoringDescriptor descriptor= proxy.requestDescriptor(new NullProgressMonitor());
 			if (descriptor != null)
-				manager.addRefactoringDescriptor(descriptor, type == RefactoringHistoryEvent.ADDED, monitor);
+				queue.addRefactoringDescriptor(store, name, project, descriptor, type == RefactoringHistoryEvent.ADDED);
 		} else if (type == RefactoringHistoryEvent.POPPED)
-			manager.removeRefactoringDescriptors(new RefactoringDescriptorProxy[] { proxy}, monitor, RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+			queue.removeRefactoringDescriptor(store, name, project, proxy);
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -249,27 +249,25 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			if (uri != null) {
 				try {
 					final IFileStore history= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(NAME_HISTORY_FOLDER);
+					final IFileStore source;
+					final IFileStore destination;
 					if (enable) {
-						final IFileStore source= history.getChild(name);
-						if (source.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20)).exists()) {
-							IFileStore destination= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
-							if (destination.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20)).exists())
-								destination.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
-							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
-							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
-							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
-						}
+						source= history.getChild(name);
+						destination= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
 					} else {
-						final IFileStore source= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
-						if (source.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20)).exists()) {
-							IFileStore destination= history.getChild(name);
-							if (destination.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20)).exists())
-								destination.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
-							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
-							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
-							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
-						}
+						source= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
+						destination= history.getChild(name);
 					}
+					// Pending changes of the history are moved along instead of being written first
+					RefactoringHistoryQueue.getInstance().move(source, destination, name, enable ? project : null, operationMonitor -> {
+						if (source.fetchInfo(EFS.NONE, new SubProgressMonitor(operationMonitor, 20)).exists()) {
+							if (destination.fetchInfo(EFS.NONE, new SubProgressMonitor(operationMonitor, 20)).exists())
+								destination.delete(EFS.NONE, new SubProgressMonitor(operationMonitor, 20));
+							destination.mkdir(EFS.NONE, new SubProgressMonitor(operationMonitor, 20));
+							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(operationMonitor, 20));
+							source.delete(EFS.NONE, new SubProgressMonitor(operationMonitor, 20));
+						}
+					}, monitor);
 				} finally {
 					if (enable)
 						project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 30));
@@ -422,7 +420,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 						project= null;
 					final RefactoringHistoryManager manager= getManager(project);
 					if (manager != null)
-						manager.removeRefactoringDescriptors(collection.toArray(new RefactoringDescriptorProxy[collection.size()]), new SubProgressMonitor(subMonitor, 1), RefactoringCoreMessages.RefactoringHistoryService_deleting_refactorings);
+						RefactoringHistoryQueue.getInstance().removeRefactoringDescriptors(manager, collection.toArray(new RefactoringDescriptorProxy[collection.size()]), new SubProgressMonitor(subMonitor, 1), RefactoringCoreMessages.RefactoringHistoryService_deleting_refactorings);
 					else
 						subMonitor.worked(1);
 				}
@@ -513,17 +511,20 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_deleting_refactorings, 100);
 			final String name= project.getName();
 			final IFileStore stateStore= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation());
+			final RefactoringHistoryQueue queue= RefactoringHistoryQueue.getInstance();
 			if (NAME_WORKSPACE_PROJECT.equals(name)) {
 				final IFileStore metaStore= stateStore.getChild(NAME_HISTORY_FOLDER).getChild(name);
-				metaStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 100));
+				queue.delete(new IFileStore[] { metaStore}, operationMonitor -> metaStore.delete(EFS.NONE, operationMonitor), new SubProgressMonitor(monitor, 100));
 			} else {
 				final URI uri= project.getLocationURI();
 				if (uri != null && project.isAccessible()) {
 					try {
 						final IFileStore metaStore= stateStore.getChild(NAME_HISTORY_FOLDER).getChild(name);
-						metaStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
 						final IFileStore projectStore= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
-						projectStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+						queue.delete(new IFileStore[] { metaStore, projectStore}, operationMonitor -> {
+							metaStore.delete(EFS.NONE, new SubProgressMonitor(operationMonitor, 20));
+							projectStore.delete(EFS.NONE, new SubProgressMonitor(operationMonitor, 20));
+						}, monitor);
 					} finally {
 						project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 60));
 					}
@@ -567,6 +568,34 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		}
 	}
 
+	/**
+	 * Notifies the execution listeners that the refactorings of a refactoring
+	 * history are about to be performed, or have been performed.
+	 *
+	 * @param performed
+	 *            <code>true</code> if the refactorings have been performed,
+	 *            <code>false</code> if they are about to be performed
+	 */
+	public void fireRefactoringHistoryExecution(final boolean performed) {
+		for (final IRefactoringExecutionListener listener : fExecutionListeners) {
+			SafeRunner.run(new ISafeRunnable() {
+
+				@Override
+				public void handleException(final Throwable throwable) {
+					RefactoringCorePlugin.log(throwable);
+				}
+
+				@Override
+				public void run() throws Exception {
+					if (performed)
+						listener.historyPerformed();
+					else
+						listener.historyAboutToBePerformed();
+				}
+			});
+		}
+	}
+
 	private void fireRefactoringHistoryEvent(final RefactoringDescriptorProxy proxy, final int eventType) {
 		Assert.isNotNull(proxy);
 		for (final IRefactoringHistoryListener listener : fHistoryListeners) {
@@ -632,7 +661,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 				final String name= project.getName();
 				final RefactoringHistoryManager manager= getManager(name);
 				if (manager != null) {
-					RefactoringHistory history= manager.readRefactoringHistory(start, end, new SubProgressMonitor(monitor, 20));
+					RefactoringHistory history= RefactoringHistoryQueue.getInstance().readRefactoringHistory(manager, start, end, new SubProgressMonitor(monitor, 20));
 					if (flags > RefactoringDescriptor.NONE) {
 						final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 						filterRefactoringDescriptors(history.getDescriptors(), set, false, flags, new SubProgressMonitor(monitor, 100));
@@ -728,18 +757,17 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		Assert.isNotNull(stream);
 		Assert.isTrue(flags >= RefactoringDescriptor.NONE);
 		final List<RefactoringDescriptor> list= new ArrayList<>();
-		final RefactoringSessionDescriptor descriptor= new RefactoringSessionReader(false, null).readSession(new InputSource(stream));
-		if (descriptor != null) {
-			final RefactoringDescriptor[] descriptors= descriptor.getRefactorings();
-			if (flags > RefactoringDescriptor.NONE) {
-				for (RefactoringDescriptor d : descriptors) {
-					final int current= d.getFlags();
-					if ((current | flags) == current) {
-						list.add(d);
-					}
-				}
-			} else
-				list.addAll(Arrays.asList(descriptors));
+		final RefactoringSessionReader reader= new RefactoringSessionReader(false, null);
+		reader.beginSession(new InputSource(stream));
+		try {
+			RefactoringDescriptor descriptor;
+			while ((descriptor= reader.nextRefactoring()) != null) {
+				final int current= descriptor.getFlags();
+				if ((current | flags) == current)
+					list.add(descriptor);
+			}
+		} finally {
+			reader.endSession();
 		}
 		final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[list.size()];
 		for (int index= 0; index < list.size(); index++)
@@ -780,7 +808,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		try {
 			final RefactoringHistoryManager manager= getManager(proxy.getProject());
 			if (manager != null)
-				return manager.requestDescriptor(proxy, monitor);
+				return RefactoringHistoryQueue.getInstance().requestDescriptor(manager, proxy, monitor);
 		} finally {
 			monitor.done();
 		}
@@ -849,12 +877,14 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			final String oldName= oldProject.getName();
 			final String newName= newProject.getName();
 			final IFileStore oldStore= historyStore.getChild(oldName);
-			if (oldStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
-				final IFileStore newStore= historyStore.getChild(newName);
-				if (newStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					newStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-				oldStore.move(newStore, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
-			}
+			final IFileStore newStore= historyStore.getChild(newName);
+			RefactoringHistoryQueue.getInstance().move(oldStore, newStore, newName, null, operationMonitor -> {
+				if (oldStore.fetchInfo(EFS.NONE, new SubProgressMonitor(operationMonitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
+					if (newStore.fetchInfo(EFS.NONE, new SubProgressMonitor(operationMonitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
+						newStore.delete(EFS.NONE, new SubProgressMonitor(operationMonitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+					oldStore.move(newStore, EFS.OVERWRITE, new SubProgressMonitor(operationMonitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				}
+			}, monitor);
 		} catch (CoreException exception) {
 			RefactoringCorePlugin.log(exception);
 		} finally {
@@ -948,6 +978,10 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 	/**
 	 * Returns the refactoring history manager corresponding to the project
 	 * with the specified name.
+	 * <p>
+	 * The manager only sees the history on disk. Reads have to go through the
+	 * {@link RefactoringHistoryQueue}, which applies the pending changes.
+	 * </p>
 	 *
 	 * @param name
 	 *            the name of the project, or <code>null</code> for the